@@ -1,98 +1,69 @@
 package carte;
 
 import java.util.List;
-import com.google.gson.annotations.SerializedName;
 
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
-import gestoreEffetti.DurataEffetto;
 import gestoreEffetti.Effetto;
-import gestoreEffetti.EsecutoreEffetti;
 import gestoreEffetti.Trigger;
 
+/**
+ * Carta in gioco. I dati statici (nome, costo, effetti...) stanno nella
+ * DefinizioneCarta condivisa: l'istanza porta solo il riferimento, e le
+ * sottoclassi aggiungono lo stato che cambia durante la partita.
+ */
 public class Carta {
-	private final String nome;
-	private final String id;
-	@SerializedName("class")
-	private final String classe;
-	private final String descrizione;
-	private final int costo;
-	@SerializedName(value = "pathImmagine", alternate = {"path-img"})
-	private final String pathImmagine;
-	private List<Effetto> effetti;
-	private List<Trigger> triggers;
+	private final DefinizioneCarta definizione;
 	
-	public Carta(String nome, String id, String classe, String descrizione, int costo,String pathImmagine, 
-			List<Effetto> effetti, List<Trigger> triggers) {
-		this.nome = nome;
-		this.id = id;
-		this.classe = classe;
-		this.descrizione = descrizione;
-		this.costo = costo;
-		this.pathImmagine = pathImmagine;
-		this.setEffetti(effetti);
-		this.setTriggers(triggers);
+	public Carta(DefinizioneCarta definizione) {
+		this.definizione = definizione;
 	}
 	
 	public void applicaEffetto(StatoDiGioco stato, Giocatore attivo) {
-		if(this.getEffetti() != null && !(this.getEffetti().isEmpty())) {
-			for(Effetto effetto : this.getEffetti()) {
-				if(effetto.getDurata() == DurataEffetto.ISTANTANEO) {
-					EsecutoreEffetti.eseguiEffetto(effetto, stato, attivo, this);
-				}
-				else if(effetto.getDurata() == DurataEffetto.TEMPORANEO) {
-					stato.getGestoreEffetti().aggiungiEffettoTemporaneo(effetto.getType(), this);
-				}
-				else if(effetto.getDurata() == DurataEffetto.CONTINUO) {
-					stato.getGestoreEffetti().aggiungiEffetto(effetto.getType(), this);
-				}
-			}
-		}
+		definizione.getProgramma().applica(stato, attivo, this);
 		
-		if(this.getTriggers() != null && !(this.getTriggers().isEmpty())) {
-			for(Trigger trigger : this.getTriggers()) {
+		List<Trigger> triggers = this.getTriggers();
+		if(triggers != null) {
+			for(int i = 0; i < triggers.size(); i++) {
+				Trigger trigger = triggers.get(i);
 				stato.getGestoreTrigger().registraTrigger(trigger.getType(), trigger.getEffectToExecute(), this, trigger.getDurata());
 			}
 		}
 	}
 	
+	public DefinizioneCarta getDefinizione() {
+		return definizione;
+	}
+
 	public String getNome() {
-		return nome;
+		return definizione.getNome();
 	}
 
 	public String getId() {
-		return id;
+		return definizione.getId();
 	}
 
 	public String getClasse() {
-		return classe;
+		return definizione.getClasse();
 	}
 
 	public String getDescrizione() {
-		return descrizione;
+		return definizione.getDescrizione();
 	}
 
 	public int getCosto() {
-		return costo;
+		return definizione.getCosto();
 	}
 
 	public String getPathImmagine() {
-		return pathImmagine;
+		return definizione.getPathImmagine();
 	}
 
 	public List<Effetto> getEffetti() {
-		return effetti;
-	}
-
-	public void setEffetti(List<Effetto> effetti) {
-		this.effetti = effetti;
+		return definizione.getEffetti();
 	}
 
 	public List<Trigger> getTriggers() {
-		return triggers;
-	}
-
-	public void setTriggers(List<Trigger> triggers) {
-		this.triggers = triggers;
+		return definizione.getTriggers();
 	}
 }
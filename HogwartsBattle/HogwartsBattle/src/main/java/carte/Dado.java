@@ -1,14 +1,21 @@
 package carte;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Random;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 
 import gioco.StatoDiGioco;
 import gioco.Giocatore;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
+import gioco.TipoEventoPartita;
 import gestoreEffetti.Effetto;
+import gestoreEffetti.CodificaBinaria;
 import gestoreEffetti.EsecutoreEffetti;
+import gestoreEffetti.LettoreJson;
 
 /**
  * Rappresenta un dado del gioco Hogwarts Battle.
@@ -27,7 +34,66 @@ public class Dado {
     @SerializedName(value = "opzioni", alternate = {"options", "facce"})
     private List<Effetto> opzioni;
 
-    private transient Random random = new Random();
+    /**
+     * Legge un dado dal JSON senza riflessione (stessi nomi delle annotazioni
+     * @SerializedName)
+     */
+    public static final TypeAdapter<Dado> ADATTATORE_JSON = new LettoreJson.Adattatore<Dado>() {
+        @Override
+        protected Dado leggiOggetto(JsonReader in) throws IOException {
+            Dado dado = new Dado();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "nome":
+                    dado.nome = LettoreJson.leggiStringa(in);
+                    break;
+                case "id":
+                    dado.id = LettoreJson.leggiStringa(in);
+                    break;
+                case "pathImg":
+                case "path-img":
+                    dado.pathImg = LettoreJson.leggiStringa(in);
+                    break;
+                case "opzioni":
+                case "options":
+                case "facce":
+                    dado.opzioni = LettoreJson.leggiLista(in, Effetto.ADATTATORE_JSON);
+                    break;
+                default:
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return dado;
+        }
+    };
+
+    /**
+     * Formato nello SnapshotCataloghi
+     */
+    public static final CodificaBinaria.Formato<Dado> FORMATO_BINARIO = new CodificaBinaria.Formato<Dado>() {
+        @Override
+        public void scrivi(CodificaBinaria.Scrittore out, Dado dado) throws IOException {
+            out.scriviStringa(dado.nome);
+            out.scriviStringa(dado.id);
+            out.scriviStringa(dado.pathImg);
+            out.scriviLista(dado.opzioni, Effetto.FORMATO_BINARIO);
+        }
+
+        @Override
+        public Dado leggi(CodificaBinaria.Lettore in) throws IOException {
+            Dado dado = new Dado();
+            dado.nome = in.leggiStringa();
+            dado.id = in.leggiStringa();
+            dado.pathImg = in.leggiStringa();
+            dado.opzioni = in.leggiLista(Effetto.FORMATO_BINARIO);
+            return dado;
+        }
+    };
+
+    private Dado() {
+    }
 
     // ⭐ NUOVO COSTRUTTORE
     public Dado(String nome, String id, String pathImg, List<Effetto> opzioni) {
@@ -74,13 +140,17 @@ public class Dado {
             throw new IllegalArgumentException("Deve essere fornita una lista di almeno 6 effetti per il dado.");
         }
 
-        int indiceEffetto = random.nextInt(6);
+        // Sorgente della partita: stesso seme, stessi tiri
+        int indiceEffetto = stato.getGeneratore().intero(6);
         Effetto effettoSelezionato = opzioniEffetti.get(indiceEffetto);
 
         // ✅ Log migliorato
-        System.out.println(nome + " - Faccia " + (indiceEffetto + 1) + ": " + 
-                         effettoSelezionato.getType());
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info(nome + " - Faccia " + (indiceEffetto + 1) + ": " + 
+                             effettoSelezionato.getType());
+        }
 
+        stato.pubblicaEvento(TipoEventoPartita.DADO_LANCIATO, attivo, id, indiceEffetto + 1);
         EsecutoreEffetti.eseguiEffetto(effettoSelezionato, stato, attivo, null);
         
         return effettoSelezionato;  // ✅ Restituisce l'effetto eseguito
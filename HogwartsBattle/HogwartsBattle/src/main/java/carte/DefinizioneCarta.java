@@ -0,0 +1,327 @@
+package carte;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import gestoreEffetti.CodificaBinaria;
+import gestoreEffetti.Effetto;
+import gestoreEffetti.LettoreJson;
+import gestoreEffetti.ProgrammaEffetti;
+import gestoreEffetti.Trigger;
+import grafica.Entita;
+
+/**
+ * DefinizioneCarta - Dati statici di una carta, letti una volta dal JSON.
+ *
+ * Una definizione non cambia mai dopo il caricamento ed è condivisa da tutte le
+ * copie della carta, anche tra partite diverse in thread diversi. Lo stato che
+ * cambia durante la partita (danni di un malvagio, marchi neri di un luogo...)
+ * sta nell'istanza di Carta che la referenzia.
+ *
+ * I campi sono l'unione di quelli dei vari JSON (carte, malvagi, luoghi,
+ * horcrux, competenze, eroi): ogni tipo usa solo i suoi.
+ */
+public final class DefinizioneCarta {
+
+	// Indice denso nel CatalogoCarte, -1 per le definizioni fuori catalogo
+	private transient int ordinale = -1;
+	// Effetti compilati, creati da congela()
+	private transient ProgrammaEffetti programma = ProgrammaEffetti.VUOTO;
+
+	private String nome;
+	private String id;
+	@SerializedName("class")
+	private String classe;
+	private String descrizione;
+	private int costo;
+	@SerializedName(value = "pathImmagine", alternate = {"path-img"})
+	private String pathImmagine;
+	private List<Effetto> effetti;
+	private List<Trigger> triggers;
+
+	// Malvagi e Horcrux
+	private int vita;
+	private List<Effetto> reward;
+
+	// Horcrux
+	private List<Entita> segnaliniRichiesti;
+
+	// Luoghi
+	private int nDarkEvents;
+	private int marchiNeriMax;
+	private Effetto effettoEntrata;
+
+	// Competenze
+	private Boolean attivabile;
+	private String commento;
+
+	private static final Map<String, Entita> ENTITA = LettoreJson.tabellaEnum(Entita.class);
+
+	/**
+	 * Legge una definizione dal JSON campo per campo (stessi nomi delle
+	 * annotazioni @SerializedName), senza riflessione. Le definizioni lette
+	 * vanno poi congelate
+	 */
+	public static final TypeAdapter<DefinizioneCarta> ADATTATORE_JSON = new LettoreJson.Adattatore<DefinizioneCarta>() {
+		@Override
+		protected DefinizioneCarta leggiOggetto(JsonReader in) throws IOException {
+			DefinizioneCarta d = new DefinizioneCarta();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "nome":
+					d.nome = LettoreJson.leggiStringa(in);
+					break;
+				case "id":
+					d.id = LettoreJson.leggiStringa(in);
+					break;
+				case "class":
+					d.classe = LettoreJson.leggiStringa(in);
+					break;
+				case "descrizione":
+					d.descrizione = LettoreJson.leggiStringa(in);
+					break;
+				case "costo":
+					d.costo = intero(in, d.costo);
+					break;
+				case "pathImmagine":
+				case "path-img":
+					d.pathImmagine = LettoreJson.leggiStringa(in);
+					break;
+				case "effetti":
+					d.effetti = LettoreJson.leggiLista(in, Effetto.ADATTATORE_JSON);
+					break;
+				case "triggers":
+					d.triggers = LettoreJson.leggiLista(in, Trigger.ADATTATORE_JSON);
+					break;
+				case "vita":
+					d.vita = intero(in, d.vita);
+					break;
+				case "reward":
+					d.reward = LettoreJson.leggiLista(in, Effetto.ADATTATORE_JSON);
+					break;
+				case "segnaliniRichiesti":
+					d.segnaliniRichiesti = LettoreJson.leggiLista(in, ADATTATORE_ENTITA);
+					break;
+				case "nDarkEvents":
+					d.nDarkEvents = intero(in, d.nDarkEvents);
+					break;
+				case "marchiNeriMax":
+					d.marchiNeriMax = intero(in, d.marchiNeriMax);
+					break;
+				case "effettoEntrata":
+					d.effettoEntrata = Effetto.ADATTATORE_JSON.read(in);
+					break;
+				case "attivabile":
+					d.attivabile = LettoreJson.leggiBooleano(in);
+					break;
+				case "commento":
+					d.commento = LettoreJson.leggiStringa(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return d;
+		}
+
+		// Come Gson: un null nel JSON lascia il valore predefinito
+		private int intero(JsonReader in, int predefinito) throws IOException {
+			Integer letto = LettoreJson.leggiIntero(in);
+			return letto != null ? letto : predefinito;
+		}
+	};
+
+	private static final TypeAdapter<Entita> ADATTATORE_ENTITA = new LettoreJson.Adattatore<Entita>() {
+		@Override
+		protected Entita leggiOggetto(JsonReader in) throws IOException {
+			return LettoreJson.leggiEnum(in, ENTITA, "Entita");
+		}
+	};
+
+	private static final Entita[] VALORI_ENTITA = Entita.values();
+
+	/**
+	 * Formato nello SnapshotCataloghi, con gli stessi campi letti dal JSON
+	 */
+	public static final CodificaBinaria.Formato<DefinizioneCarta> FORMATO_BINARIO = new CodificaBinaria.Formato<DefinizioneCarta>() {
+		@Override
+		public void scrivi(CodificaBinaria.Scrittore out, DefinizioneCarta d) throws IOException {
+			out.scriviStringa(d.nome);
+			out.scriviStringa(d.id);
+			out.scriviStringa(d.classe);
+			out.scriviStringa(d.descrizione);
+			out.scriviNumero(d.costo);
+			out.scriviStringa(d.pathImmagine);
+			out.scriviLista(d.effetti, Effetto.FORMATO_BINARIO);
+			out.scriviLista(d.triggers, Trigger.FORMATO_BINARIO);
+			out.scriviNumero(d.vita);
+			out.scriviLista(d.reward, Effetto.FORMATO_BINARIO);
+			if (d.segnaliniRichiesti == null) {
+				out.scriviNumero(0);
+			} else {
+				out.scriviNumero(d.segnaliniRichiesti.size() + 1);
+				for (Entita entita : d.segnaliniRichiesti) {
+					out.scriviEnum(entita);
+				}
+			}
+			out.scriviNumero(d.nDarkEvents);
+			out.scriviNumero(d.marchiNeriMax);
+			out.scriviOggetto(d.effettoEntrata, Effetto.FORMATO_BINARIO);
+			out.scriviBooleano(d.attivabile);
+			out.scriviStringa(d.commento);
+		}
+
+		@Override
+		public DefinizioneCarta leggi(CodificaBinaria.Lettore in) throws IOException {
+			DefinizioneCarta d = new DefinizioneCarta();
+			d.nome = in.leggiStringa();
+			d.id = in.leggiStringa();
+			d.classe = in.leggiStringa();
+			d.descrizione = in.leggiStringa();
+			d.costo = in.leggiNumero();
+			d.pathImmagine = in.leggiStringa();
+			d.effetti = in.leggiLista(Effetto.FORMATO_BINARIO);
+			d.triggers = in.leggiLista(Trigger.FORMATO_BINARIO);
+			d.vita = in.leggiNumero();
+			d.reward = in.leggiLista(Effetto.FORMATO_BINARIO);
+			int segnalini = in.leggiNumero() - 1;
+			if (segnalini >= 0) {
+				d.segnaliniRichiesti = new ArrayList<>(segnalini);
+				for (int i = 0; i < segnalini; i++) {
+					d.segnaliniRichiesti.add(in.leggiEnum(VALORI_ENTITA));
+				}
+			}
+			d.nDarkEvents = in.leggiNumero();
+			d.marchiNeriMax = in.leggiNumero();
+			d.effettoEntrata = in.leggiOggetto(Effetto.FORMATO_BINARIO);
+			d.attivabile = in.leggiBooleano();
+			d.commento = in.leggiStringa();
+			return d;
+		}
+	};
+
+	private DefinizioneCarta() {
+	}
+
+	/**
+	 * Restituisce una copia immutabile di questa definizione letta dal JSON
+	 *
+	 * @param ordinale Indice nel catalogo, o -1 se fuori catalogo
+	 * @param classe   Classe normalizzata (es. "Alleato"), o null per tenere quella del JSON
+	 */
+	public DefinizioneCarta congela(int ordinale, String classe) {
+		DefinizioneCarta d = new DefinizioneCarta();
+		d.ordinale = ordinale;
+		d.nome = nome;
+		d.id = id;
+		d.classe = classe != null ? classe : this.classe;
+		d.descrizione = descrizione;
+		d.costo = costo;
+		d.pathImmagine = pathImmagine;
+		d.effetti = copiaImmutabile(effetti);
+		d.programma = ProgrammaEffetti.compila(d.effetti);
+		d.triggers = copiaImmutabile(triggers);
+		d.vita = vita;
+		d.reward = copiaImmutabile(reward);
+		d.segnaliniRichiesti = copiaImmutabile(segnaliniRichiesti);
+		d.nDarkEvents = nDarkEvents;
+		d.marchiNeriMax = marchiNeriMax;
+		d.effettoEntrata = effettoEntrata;
+		d.attivabile = attivabile;
+		d.commento = commento;
+		return d;
+	}
+
+	private static <T> List<T> copiaImmutabile(List<T> lista) {
+		return lista == null ? null : Collections.unmodifiableList(new ArrayList<>(lista));
+	}
+
+	public int getOrdinale() {
+		return ordinale;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getClasse() {
+		return classe;
+	}
+
+	public String getDescrizione() {
+		return descrizione;
+	}
+
+	public int getCosto() {
+		return costo;
+	}
+
+	public String getPathImmagine() {
+		return pathImmagine;
+	}
+
+	public List<Effetto> getEffetti() {
+		return effetti;
+	}
+
+	/**
+	 * Effetti della carta già compilati e divisi per durata
+	 */
+	public ProgrammaEffetti getProgramma() {
+		return programma;
+	}
+
+	public List<Trigger> getTriggers() {
+		return triggers;
+	}
+
+	public int getVita() {
+		return vita;
+	}
+
+	public List<Effetto> getReward() {
+		return reward;
+	}
+
+	public List<Entita> getSegnaliniRichiesti() {
+		return segnaliniRichiesti;
+	}
+
+	public int getNDarkEvents() {
+		return nDarkEvents;
+	}
+
+	public int getMarchiNeriMax() {
+		return marchiNeriMax;
+	}
+
+	public Effetto getEffettoEntrata() {
+		return effettoEntrata;
+	}
+
+	public Boolean getAttivabile() {
+		return attivabile;
+	}
+
+	public String getCommento() {
+		return commento;
+	}
+
+	@Override
+	public String toString() {
+		return "DefinizioneCarta{" + id + " #" + ordinale + "}";
+	}
+}
@@ -1,17 +1,24 @@
 package carte;
 
-import java.util.List;
-import gestoreEffetti.Effetto;
-import gestoreEffetti.Trigger;
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
 
 public class Eroe extends Carta {
 
-    public Eroe(String nome, String id, String classe, String descrizione, int costo,
-                String pathImmagine, List<Effetto> effetti, List<Trigger> triggers) {
+    // L'abilità dell'eroe si usa una volta per turno. Il flag sta qui e non
+    // nei trigger, che sono definizioni condivise da tutte le partite
+    private boolean abilitaUsata;
 
-        super(nome, id, classe, descrizione, costo, pathImmagine, effetti, triggers);
+    public Eroe(DefinizioneCarta definizione) {
+        super(definizione);
+    }
+
+    public boolean isAbilitaUsata() {
+        return abilitaUsata;
+    }
+
+    public void setAbilitaUsata(boolean abilitaUsata) {
+        this.abilitaUsata = abilitaUsata;
     }
 
     @Override
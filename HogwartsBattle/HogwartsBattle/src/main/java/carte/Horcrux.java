@@ -6,7 +6,6 @@ import java.util.Set;
 
 import gestoreEffetti.Effetto;
 import gestoreEffetti.EsecutoreEffetti;
-import gestoreEffetti.Trigger;
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
 import grafica.Entita;
@@ -14,22 +13,15 @@ import java.util.Collections; // assicurati che sia importato in testa al file
 
 public class Horcrux extends Carta {
 	
-	private List<Entita> segnaliniRichiesti;
-	
 	private Set<Entita> segnaliniAssegnati;
 	
-	private List<Effetto> reward;
-	
-	public Horcrux(String nome, String id, String classe, String descrizione, int costo, String pathImmagine,
-			List<Effetto> effetti, List<Trigger> triggers, List<Entita> segnaliniRichiesti, List<Effetto> reward) {
-		super(nome, id, classe, descrizione, costo, pathImmagine, effetti, triggers);
-		this.segnaliniRichiesti = segnaliniRichiesti;
+	public Horcrux(DefinizioneCarta definizione) {
+		super(definizione);
 		this.segnaliniAssegnati = new HashSet<>();
-		this.reward = reward;
 	}
 	
 	public Boolean applicaRisultatoDado(Entita facciaDado) {
-		if (segnaliniRichiesti.contains(facciaDado) && !segnaliniAssegnati.contains(facciaDado)) {
+		if (getSegnaliniRichiesti().contains(facciaDado) && !segnaliniAssegnati.contains(facciaDado)) {
 			segnaliniAssegnati.add(facciaDado);
 			return true;
 		}
@@ -38,12 +30,12 @@ public class Horcrux extends Carta {
     
     public Boolean horcruxDistrutto() {
         return segnaliniAssegnati != null
-        &&segnaliniRichiesti != null
-        &&segnaliniAssegnati.containsAll(segnaliniRichiesti);
+        &&getSegnaliniRichiesti() != null
+        &&segnaliniAssegnati.containsAll(getSegnaliniRichiesti());
     }
 
     public List<Entita> getSegnaliniRichiesti() {
-        return segnaliniRichiesti;
+        return getDefinizione().getSegnaliniRichiesti();
     }
     
     public Set<Entita> getSegnaliniAssegnati(){
@@ -51,12 +43,12 @@ public class Horcrux extends Carta {
     }
 
     public List<Effetto> getRicompensa() {
-        return reward == null ? Collections.emptyList() : Collections.unmodifiableList(reward);
+        List<Effetto> reward = getDefinizione().getReward();
+        return reward == null ? Collections.emptyList() : reward;
     }
 
     public void applicaRicompensa(StatoDiGioco stato, Giocatore g) {
-        if (reward == null) return;
-        for (Effetto e : reward) {
+        for (Effetto e : getRicompensa()) {
             if (e != null) {
                 EsecutoreEffetti.eseguiEffetto(e, stato, g, this);;
             }
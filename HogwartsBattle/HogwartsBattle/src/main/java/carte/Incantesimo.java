@@ -1,14 +1,9 @@
 package carte;
 
-import java.util.List;
-import gestoreEffetti.Effetto;
-import gestoreEffetti.Trigger;
-
 public class Incantesimo extends Carta {
 
-    public Incantesimo(String nome, String id, String classe, String descrizione, int costo,
-            String pathImmagine, List<Effetto> effetti, List<Trigger> triggers) {
-    	super(nome, id, classe, descrizione, costo, pathImmagine, effetti, triggers);
+    public Incantesimo(DefinizioneCarta definizione) {
+        super(definizione);
     }
 
     
@@ -1,8 +1,6 @@
 package carte;
 
-import java.util.List;
 import gestoreEffetti.Effetto;
-import gestoreEffetti.Trigger;
 
 public class Luogo extends Carta {
     private int numeroMarchiNeri;
@@ -10,25 +8,13 @@ public class Luogo extends Carta {
     private int marchiNeriMax;
     private Effetto effettoEntrata; // Puoi tipizzare con una classe EffettoEntrata se hai già una struttura
 
-    public Luogo(
-        String nome,
-        String id,
-        String classe,
-        String descrizione,
-        int costo,
-        String pathImmagine,
-        List<Effetto> effetti,
-        List<Trigger> triggers,
-        int numeroMarchiNeri,
-        int nDarkEvents,
-        int marchiNeriMax,
-        Effetto effettoEntrata
-    ) {
-        super(nome, id, classe, descrizione, costo, pathImmagine, effetti, triggers);
+    public Luogo(DefinizioneCarta definizione) {
+        super(definizione);
         this.numeroMarchiNeri = 0;
-        this.nDarkEvents = nDarkEvents;
-        this.marchiNeriMax = marchiNeriMax;
-        this.effettoEntrata = effettoEntrata;
+        // Valori iniziali dalla definizione, modificabili per questa partita
+        this.nDarkEvents = definizione.getNDarkEvents();
+        this.marchiNeriMax = definizione.getMarchiNeriMax();
+        this.effettoEntrata = definizione.getEffettoEntrata();
     }
 
     public int getNumeroMarchiNeri() {
@@ -3,25 +3,21 @@ import java.util.List;
 
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 import gestoreEffetti.Effetto;
 import gestoreEffetti.EsecutoreEffetti;
-import gestoreEffetti.Trigger;
 
 public class Malvagio extends Carta{
 	
-	private final int vita;
 	private int danno;
-    private List<Effetto> reward;
     private Boolean bloccoAbilita;
     private Giocatore giocatoreBloccante;
     private Boolean attaccoassegnato;
     
 	
-    public Malvagio(String nome, String id, String classe, String descrizione, int costo, String pathImmagine,
-			List<Effetto> effetti, List<Trigger> triggers, List<Effetto> reward, int vita) {
-		super(nome, id, classe, descrizione, costo, pathImmagine, effetti, triggers);
-		this.reward = reward;
-		this.vita = vita;
+    public Malvagio(DefinizioneCarta definizione) {
+		super(definizione);
 		this.danno = 0;
 		this.setBloccoAbilita(false);
 		this.giocatoreBloccante = null;
@@ -29,7 +25,9 @@ public class Malvagio extends Carta{
 	}
 
     public void defeat(StatoDiGioco stato, Giocatore g) {
-        System.out.println("Sconfitto " + this.getNome());
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("Sconfitto " + this.getNome());
+        }
         for(Effetto e : this.getReward()) {
         	EsecutoreEffetti.eseguiEffetto(e, stato, g, this);
         }
@@ -44,11 +42,11 @@ public class Malvagio extends Carta{
 	}
 
 	public int getVita() {
-		return vita;
+		return getDefinizione().getVita();
 	}
 
 	public List<Effetto> getReward() {
-		return reward;
+		return getDefinizione().getReward();
 	}
 
 	public boolean isSconfitto() {
@@ -1,87 +1,284 @@
 package carte;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.Collections;
+import java.util.RandomAccess;
 
 import data.CardFactory;
 import data.StarterPackLoader;
+import gioco.GeneratoreCasuale;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
+/**
+ * Mazzo (o pila degli scarti) di un giocatore.
+ *
+ * Le carte stanno in un buffer circolare: pescare dalla cima, mettere in cima
+ * e aggiungere in fondo costano O(1). Rimescolare gli scarti nel mazzo vuoto
+ * scambia i due buffer e mescola sul posto, senza copiare le carte.
+ *
+ * getCarte() restituisce una vista List sullo stesso buffer (indice 0 = cima),
+ * per il codice che scorre o modifica il mazzo come lista. La vista è
+ * fail-fast: ogni pescata o aggiunta, anche fatta direttamente sul Mazzo,
+ * invalida gli iteratori aperti.
+ */
 public class Mazzo {
-    private List<Carta> carte = new ArrayList<>();
-    
+    private static final int CAPACITA_INIZIALE = 16; // Sempre potenza di 2
+
+    private Carta[] elementi = new Carta[CAPACITA_INIZIALE];
+    private int testa;        // Posizione della cima nel buffer
+    private int dimensione;
+    private final VistaCarte vista = new VistaCarte();
+
     public Mazzo() {
         // Il costruttore serve solo per inizializzare la classe
     }
-    
+
     public List<Carta> inizializzaMazzo(String nomeEroe) {
         // 1. Svuota il mazzo attuale per sicurezza
-        this.carte.clear(); 
+        svuota();
 
         // 2. Chiede al Loader la lista degli ID (Stringhe)
         List<String> idStarterPack = StarterPackLoader.getIdsStarterPack(nomeEroe);
-        
+
         // 3. Converte ogni ID in una Carta vera e la aggiunge
         for(String id : idStarterPack) {
         	if(id.contains("Alohomora")) {
         		for(int i = 0; i < 7; i++) {
         			Carta c = CardFactory.creaCarta(id);
                     if (c != null) {
-                        this.carte.add(c);
+                        aggiungiCarta(c);
                     }
         		}
         	}
         	else {
         		Carta c = CardFactory.creaCarta(id);
                 if (c != null) {
-                    this.carte.add(c);
+                    aggiungiCarta(c);
                 } else {
                     System.err.println("Attenzione: Carta con ID '" + id + "' non trovata nella Factory.");
                 }
         	}
         }
-        
-        System.out.println("Mazzo inizializzato per " + nomeEroe + " con " + this.carte.size() + " carte.");
-        Collections.shuffle(carte);
-        return this.carte;
+
+        // Niente mescolata qui: la fa StatoDiGioco con la sorgente della partita
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("Mazzo inizializzato per " + nomeEroe + " con " + dimensione + " carte.");
+        }
+        return vista;
     }
 
+    /**
+     * Aggiunge una carta in fondo al mazzo
+     */
     public void aggiungiCarta(Carta carta) {
-        carte.add(carta);
+        assicuraCapacita();
+        elementi[indice(dimensione)] = carta;
+        dimensione++;
+        vista.modificata();
     }
 
+    /**
+     * Mette una carta in cima al mazzo: sarà la prossima pescata
+     */
+    public void aggiungiInCima(Carta carta) {
+        assicuraCapacita();
+        testa = (testa - 1) & (elementi.length - 1);
+        elementi[testa] = carta;
+        dimensione++;
+        vista.modificata();
+    }
+
+    /**
+     * Pesca la carta in cima al mazzo
+     *
+     * @return La carta pescata, o null se il mazzo è vuoto
+     */
     public Carta pescaCarta() {
-        if(!carte.isEmpty()) {
-        	Carta carta = carte.get(0);
-            carte.remove(0);
-            return carta;
+        if (dimensione == 0) {
+            return null;
+        }
+        Carta carta = elementi[testa];
+        elementi[testa] = null;
+        testa = (testa + 1) & (elementi.length - 1);
+        dimensione--;
+        vista.modificata();
+        return carta;
+    }
+
+    /**
+     * Mescola casualmente le carte nel mazzo, sul posto
+     *
+     * @param generatore Sorgente casuale della partita
+     */
+    public void mescola(GeneratoreCasuale generatore) {
+        for (int i = dimensione - 1; i > 0; i--) {
+            int j = generatore.intero(i + 1);
+            int a = indice(i);
+            int b = indice(j);
+            Carta temp = elementi[a];
+            elementi[a] = elementi[b];
+            elementi[b] = temp;
         }
-        else {
-        	return null;
+    }
+
+    /**
+     * Sposta tutti gli scarti nel mazzo e lo mescola.
+     * Se il mazzo è vuoto (il caso normale) i due buffer vengono scambiati.
+     *
+     * @param scarti Pila degli scarti, che resta vuota
+     * @param generatore Sorgente casuale della partita
+     */
+    public void ricicla(Mazzo scarti, GeneratoreCasuale generatore) {
+        if (dimensione == 0) {
+            Carta[] tempElementi = elementi;
+            elementi = scarti.elementi;
+            testa = scarti.testa;
+            dimensione = scarti.dimensione;
+
+            scarti.elementi = tempElementi;
+            scarti.testa = 0;
+            scarti.dimensione = 0;
+            vista.modificata();
+            scarti.vista.modificata();
+        } else {
+            while (!scarti.isEmpty()) {
+                aggiungiCarta(scarti.pescaCarta());
+            }
         }
+        mescola(generatore);
     }
+
     /**
-     * Mescola casualmente le carte nel mazzo
+     * Rimuove tutte le carte
      */
-    public void mescola() {
-        Collections.shuffle(carte);
+    public void svuota() {
+        for (int i = 0; i < dimensione; i++) {
+            elementi[indice(i)] = null;
+        }
+        testa = 0;
+        dimensione = 0;
+        vista.modificata();
     }
 
     /**
      * Verifica se il mazzo è vuoto
      */
     public boolean isEmpty() {
-        return carte.isEmpty();
+        return dimensione == 0;
     }
+
     public int size() {
-        return carte.size();
+        return dimensione;
     }
 
+    /**
+     * Vista modificabile sulle carte (indice 0 = cima del mazzo)
+     */
     public List<Carta> getCarte() {
-        return carte;
+        return vista;
     }
 
+    /**
+     * Carta in posizione index senza pescarla (0 = cima)
+     */
     public Carta get(int index) {
-        return carte.get(index);
+        return vista.get(index);
+    }
+
+    private int indice(int posizione) {
+        return (testa + posizione) & (elementi.length - 1);
+    }
+
+    private void assicuraCapacita() {
+        if (dimensione < elementi.length) {
+            return;
+        }
+        // Raddoppia e riporta la cima all'inizio del buffer
+        Carta[] nuovi = new Carta[elementi.length * 2];
+        for (int i = 0; i < dimensione; i++) {
+            nuovi[i] = elementi[indice(i)];
+        }
+        elementi = nuovi;
+        testa = 0;
+    }
+
+    /**
+     * Lista appoggiata al buffer circolare. Inserimenti e rimozioni in cima o in
+     * fondo sono O(1), quelli in mezzo spostano le carte successive.
+     */
+    private class VistaCarte extends AbstractList<Carta> implements RandomAccess {
+
+        @Override
+        public Carta get(int index) {
+            controllaIndice(index, dimensione);
+            return elementi[indice(index)];
+        }
+
+        @Override
+        public Carta set(int index, Carta carta) {
+            controllaIndice(index, dimensione);
+            int i = indice(index);
+            Carta precedente = elementi[i];
+            elementi[i] = carta;
+            return precedente;
+        }
+
+        @Override
+        public int size() {
+            return dimensione;
+        }
+
+        @Override
+        public void add(int index, Carta carta) {
+            controllaIndice(index, dimensione + 1);
+            if (index == 0) {
+                aggiungiInCima(carta);
+            } else if (index == dimensione) {
+                aggiungiCarta(carta);
+            } else {
+                aggiungiCarta(null);
+                for (int i = dimensione - 1; i > index; i--) {
+                    elementi[indice(i)] = elementi[indice(i - 1)];
+                }
+                elementi[indice(index)] = carta;
+            }
+        }
+
+        @Override
+        public Carta remove(int index) {
+            controllaIndice(index, dimensione);
+            Carta rimossa;
+            if (index == 0) {
+                rimossa = pescaCarta();
+            } else {
+                rimossa = elementi[indice(index)];
+                for (int i = index; i < dimensione - 1; i++) {
+                    elementi[indice(i)] = elementi[indice(i + 1)];
+                }
+                elementi[indice(dimensione - 1)] = null;
+                dimensione--;
+                modCount++;
+            }
+            return rimossa;
+        }
+
+        @Override
+        public void clear() {
+            svuota();
+        }
+
+        /**
+         * Chiamato dal Mazzo a ogni cambio di dimensione
+         */
+        void modificata() {
+            modCount++;
+        }
+
+        private void controllaIndice(int index, int limite) {
+            if (index < 0 || index >= limite) {
+                throw new IndexOutOfBoundsException("Indice " + index + ", carte " + dimensione);
+            }
+        }
     }
 }
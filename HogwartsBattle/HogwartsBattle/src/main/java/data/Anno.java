@@ -1,9 +1,15 @@
 package data;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import gestoreEffetti.CodificaBinaria;
+import gestoreEffetti.LettoreJson;
 
 public class Anno {
 	@SerializedName("anno")
@@ -34,6 +40,87 @@ public class Anno {
 	@SerializedName(value = "aggiuntaHorcrux", alternate = {"nuoviHorcrux", "horcruxToAdd"})
 	private List<String> nuoviHorcrux = new ArrayList<>();
 
+	/**
+	 * Legge un anno (json/livelli/giocoN.json) senza riflessione, con gli
+	 * stessi nomi e alternative delle annotazioni @SerializedName
+	 */
+	public static final TypeAdapter<Anno> ADATTATORE_JSON = new LettoreJson.Adattatore<Anno>() {
+		@Override
+		protected Anno leggiOggetto(JsonReader in) throws IOException {
+			Anno a = new Anno();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "anno":
+					Integer numero = LettoreJson.leggiIntero(in);
+					if (numero != null) {
+						a.anno = numero;
+					}
+					break;
+				case "meccaniche":
+					a.meccanica = Meccanica.ADATTATORE_JSON.read(in);
+					break;
+				case "luoghi":
+					a.luoghi = LettoreJson.leggiListaStringhe(in);
+					break;
+				case "aggiunteMazzoNegozio":
+				case "nuoveCarteNegozio":
+				case "hogwartsDeckToAdd":
+					a.nuoveCarteNegozio = LettoreJson.leggiListaStringhe(in);
+					break;
+				case "aggiuntaMalvagi":
+				case "nuoviMalvagi":
+				case "villainsToAdd":
+					a.nuoviMalvagi = LettoreJson.leggiListaStringhe(in);
+					break;
+				case "aggiuntaArtiOscure":
+				case "nuoveArtiOscure":
+				case "darkArtsToAdd":
+					a.nuoveArtiOscure = LettoreJson.leggiListaStringhe(in);
+					break;
+				case "aggiuntaHorcrux":
+				case "nuoviHorcrux":
+				case "horcruxToAdd":
+					a.nuoviHorcrux = LettoreJson.leggiListaStringhe(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return a;
+		}
+	};
+
+	/**
+	 * Formato nello SnapshotCataloghi
+	 */
+	public static final CodificaBinaria.Formato<Anno> FORMATO_BINARIO = new CodificaBinaria.Formato<Anno>() {
+		@Override
+		public void scrivi(CodificaBinaria.Scrittore out, Anno a) throws IOException {
+			out.scriviNumero(a.anno);
+			out.scriviOggetto(a.meccanica, Meccanica.FORMATO_BINARIO);
+			out.scriviListaStringhe(a.luoghi);
+			out.scriviListaStringhe(a.nuoveCarteNegozio);
+			out.scriviListaStringhe(a.nuoviMalvagi);
+			out.scriviListaStringhe(a.nuoveArtiOscure);
+			out.scriviListaStringhe(a.nuoviHorcrux);
+		}
+
+		@Override
+		public Anno leggi(CodificaBinaria.Lettore in) throws IOException {
+			Anno a = new Anno();
+			a.anno = in.leggiNumero();
+			a.meccanica = in.leggiOggetto(Meccanica.FORMATO_BINARIO);
+			a.luoghi = in.leggiListaStringhe();
+			a.nuoveCarteNegozio = in.leggiListaStringhe();
+			a.nuoviMalvagi = in.leggiListaStringhe();
+			a.nuoveArtiOscure = in.leggiListaStringhe();
+			a.nuoviHorcrux = in.leggiListaStringhe();
+			return a;
+		}
+	};
+
 	// Getters
 	public int getAnno() {
 		return anno;
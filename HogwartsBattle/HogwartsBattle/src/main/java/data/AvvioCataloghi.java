@@ -0,0 +1,131 @@
+package data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
+
+/**
+ * AvvioCataloghi - Carica tutti i cataloghi JSON (carte, eroi, dadi, luoghi,
+ * competenze, horcrux, starter pack) in parallelo su thread in background.
+ *
+ * L'interfaccia mostra subito il menu e chiama avvia; ciò che serve dei
+ * cataloghi aspetta il futuro restituito (la barriera), e getCompletati dà
+ * l'avanzamento. Il tempo di ogni fase resta in getTempiMillis.
+ *
+ * Le factory restano caricabili anche da sole: ognuna carica al primo uso
+ * se non è già stata caricata qui.
+ */
+public final class AvvioCataloghi {
+
+	private static final String[] FASI = { "Carte e malvagi", "Eroi", "Dadi", "Luoghi", "Competenze", "Horcrux",
+			"Starter pack" };
+	private static final Runnable[] CARICAMENTI = { CatalogoCarte::inizializza, HeroFactory::inizializza,
+			DiceFactory::inizializza, LocationFactory::inizializza, ProficiencyFactory::inizializza,
+			HorcruxFactory::inizializza, StarterPackLoader::inizializza };
+
+	private static final long[] durate = new long[FASI.length];
+	private static final AtomicInteger completati = new AtomicInteger();
+	private static CompletableFuture<Void> pronto;
+	private static long durataTotale;
+
+	private AvvioCataloghi() {
+	}
+
+	/**
+	 * Avvia il caricamento, se non è già partito
+	 *
+	 * @param suAvanzamento Chiamato (da un thread in background) alla fine di
+	 *                      ogni fase; può essere null
+	 * @return Completato quando tutti i cataloghi sono caricati
+	 */
+	public static synchronized CompletableFuture<Void> avvia(Runnable suAvanzamento) {
+		if (pronto != null) {
+			return pronto;
+		}
+
+		long inizio = System.nanoTime();
+		int thread = Math.max(1, Math.min(FASI.length, Runtime.getRuntime().availableProcessors()));
+		AtomicInteger numero = new AtomicInteger();
+		ExecutorService esecutore = Executors.newFixedThreadPool(thread, compito -> {
+			Thread t = new Thread(compito, "avvio-cataloghi-" + numero.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+
+		CompletableFuture<?>[] fasi = new CompletableFuture<?>[FASI.length];
+		for (int i = 0; i < FASI.length; i++) {
+			int fase = i;
+			fasi[i] = CompletableFuture.runAsync(() -> {
+				long t0 = System.nanoTime();
+				try {
+					CARICAMENTI[fase].run();
+				} catch (RuntimeException e) {
+					// Una fase fallita non blocca le altre: la factory riproverà al primo uso
+					System.err.println("Errore caricamento " + FASI[fase] + ": " + e.getMessage());
+					e.printStackTrace();
+				}
+				durate[fase] = System.nanoTime() - t0;
+				completati.incrementAndGet();
+				if (suAvanzamento != null) {
+					suAvanzamento.run();
+				}
+			}, esecutore);
+		}
+
+		pronto = CompletableFuture.allOf(fasi).whenComplete((nulla, errore) -> {
+			esecutore.shutdown();
+			durataTotale = System.nanoTime() - inizio;
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Cataloghi caricati in " + durataTotale / 1_000_000 + " ms " + getTempiMillis());
+			}
+		});
+		return pronto;
+	}
+
+	public static CompletableFuture<Void> avvia() {
+		return avvia(null);
+	}
+
+	/**
+	 * Avvia se serve e aspetta la fine del caricamento
+	 */
+	public static void attendi() {
+		avvia().join();
+	}
+
+	public static synchronized boolean isPronto() {
+		return pronto != null && pronto.isDone();
+	}
+
+	public static int getCompletati() {
+		return completati.get();
+	}
+
+	public static int getTotale() {
+		return FASI.length;
+	}
+
+	/**
+	 * @return Durata di ogni fase, in ordine, in millisecondi (0 se non è finita)
+	 */
+	public static Map<String, Long> getTempiMillis() {
+		Map<String, Long> tempi = new LinkedHashMap<>();
+		for (int i = 0; i < FASI.length; i++) {
+			tempi.put(FASI[i], durate[i] / 1_000_000);
+		}
+		return tempi;
+	}
+
+	/**
+	 * @return Dall'avvio alla fine dell'ultima fase, in millisecondi; 0 se non è finito
+	 */
+	public static long getDurataTotaleMillis() {
+		return isPronto() ? durataTotale / 1_000_000 : 0;
+	}
+}
@@ -0,0 +1,151 @@
+package data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import carte.DefinizioneCarta;
+import gestoreEffetti.LettoreJson;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
+
+/**
+ * CatalogoCarte - Definizioni immutabili di tutte le carte dei mazzi
+ * (negozio, starter pack, arti oscure) e dei malvagi.
+ *
+ * Ogni definizione ha un ordinale denso (0..n-1) assegnato nell'ordine dei
+ * file, utile per indicizzare array invece di mappe per id. Il catalogo viene
+ * caricato una volta e poi solo letto: partite diverse, anche su thread
+ * diversi, condividono le stesse definizioni senza copie e senza lock.
+ */
+public final class CatalogoCarte {
+
+	// L'ordine dei file determina gli ordinali
+	private static final String[] FILE_CARTE = { "alleato.json", "incantesimo.json", "oggetto.json",
+			"arti_oscure.json", "starter_pack.json", "malvagio.json" };
+
+	private static volatile CatalogoCarte istanza;
+
+	private final DefinizioneCarta[] definizioni;
+	private final Map<String, DefinizioneCarta> definizioniPerId;
+
+	private CatalogoCarte(Map<String, DefinizioneCarta> lette) {
+		this.definizioni = new DefinizioneCarta[lette.size()];
+		Map<String, DefinizioneCarta> perId = new HashMap<>();
+
+		int ordinale = 0;
+		for (DefinizioneCarta letta : lette.values()) {
+			DefinizioneCarta definizione = letta.congela(ordinale, normalizzaClasse(letta.getClasse()));
+			definizioni[ordinale++] = definizione;
+			perId.put(definizione.getId(), definizione);
+		}
+		this.definizioniPerId = Collections.unmodifiableMap(perId);
+	}
+
+	/**
+	 * Carica il catalogo se non è già stato caricato
+	 */
+	public static synchronized void inizializza() {
+		if (istanza != null) {
+			return;
+		}
+
+		// Un id ripetuto in un file successivo sostituisce la definizione precedente
+		Map<String, DefinizioneCarta> lette = new LinkedHashMap<>();
+		for (String nomeFile : FILE_CARTE) {
+			caricaFile(nomeFile, lette);
+		}
+
+		istanza = new CatalogoCarte(lette);
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("CatalogoCarte inizializzato. Definizioni caricate: " + lette.size());
+		}
+	}
+
+	public static boolean isInizializzato() {
+		return istanza != null;
+	}
+
+	/**
+	 * Catalogo condiviso, caricato al primo accesso
+	 */
+	public static CatalogoCarte get() {
+		CatalogoCarte catalogo = istanza;
+		if (catalogo == null) {
+			inizializza();
+			catalogo = istanza;
+		}
+		return catalogo;
+	}
+
+	private static void caricaFile(String nomeFile, Map<String, DefinizioneCarta> lette) {
+		try {
+			// Chiave del JSON (es. "gioco1", "harry") -> lista di carte
+			Map<String, List<DefinizioneCarta>> data = SnapshotCataloghi.leggiCarte(nomeFile);
+
+			if (data != null) {
+				for (List<DefinizioneCarta> lista : data.values()) {
+					for (DefinizioneCarta d : lista) {
+						if (d.getId() != null) {
+							lette.put(d.getId(), d);
+						}
+					}
+				}
+			}
+		} catch (Exception e) {
+			System.err.println("Errore caricamento " + nomeFile + ": " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Nome di classe uniforme per i tipi di carta del mazzo (nel JSON varia
+	 * maiuscole e separatori); null per gli altri tipi, che restano invariati
+	 */
+	private static String normalizzaClasse(String classe) {
+		if (classe == null) {
+			return null;
+		}
+		switch (classe.toLowerCase()) {
+		case "alleato":
+			return "Alleato";
+		case "incantesimo":
+			return "Incantesimo";
+		case "oggetto":
+			return "Oggetto";
+		case "artioscure":
+		case "arti_oscure":
+			return "ArtiOscure";
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return La definizione con questo id, o null se non esiste
+	 */
+	public DefinizioneCarta getDefinizione(String id) {
+		return definizioniPerId.get(id);
+	}
+
+	/**
+	 * @return La definizione con questo ordinale
+	 */
+	public DefinizioneCarta getDefinizione(int ordinale) {
+		return definizioni[ordinale];
+	}
+
+	/**
+	 * @return L'ordinale della carta, o -1 se l'id non è nel catalogo
+	 */
+	public int getOrdinale(String id) {
+		DefinizioneCarta definizione = definizioniPerId.get(id);
+		return definizione != null ? definizione.getOrdinale() : -1;
+	}
+
+	public int getNumeroDefinizioni() {
+		return definizioni.length;
+	}
+}
@@ -1,15 +1,11 @@
 package data;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 import carte.Dado;
+import gestoreEffetti.LettoreJson;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,19 +16,21 @@ import java.util.Map;
  */
 public class DiceFactory {
     private static Map<String, Dado> registroDadi = new HashMap<>();
-    private static Boolean inizializzata = false;
+    private static volatile boolean inizializzata;
     
     /**
      * Inizializza la factory caricando tutti i dadi dai JSON.
      */
-    public static void inizializza() {
+    public static synchronized void inizializza() {
         if (inizializzata) {
             return;
         }
         
         caricaDadi("dado.json");
         
-        System.out.println("DiceFactory inizializzata. Dadi caricati: " + registroDadi.size());
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("DiceFactory inizializzata. Dadi caricati: " + registroDadi.size());
+        }
         inizializzata = true;
     }
     
@@ -40,18 +38,8 @@ public class DiceFactory {
      * Carica i dadi da un file JSON.
      */
     private static void caricaDadi(String nomeFile) {
-    	InputStream is = DiceFactory.class.getClassLoader().getResourceAsStream("json/" + nomeFile);
-    	if (is == null) {
-    	    System.err.println("File non trovato: json/" + nomeFile);
-    	    return;
-    	}
-    	
-        try (Reader reader = new InputStreamReader(is)) {
-            
-            Gson gson = new Gson();
-            
-            Type type = new TypeToken<Map<String, List<Dado>>>(){}.getType();
-            Map<String, List<Dado>> data = gson.fromJson(reader, type);
+        try {
+            Map<String, List<Dado>> data = SnapshotCataloghi.leggiDadi(nomeFile);
             
             if (data != null) {
                 for (List<Dado> list : data.values()) {
@@ -59,8 +47,10 @@ public class DiceFactory {
                         registroDadi.put(datiDado.getId(), datiDado);
                         
                         if (System.getProperty("debug.loading") != null) {
-                            System.out.println("  Caricato dado: " + datiDado.getNome() + 
-                                             " (ID: " + datiDado.getId() + ")");
+                            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                                RegistroPartita.info("  Caricato dado: " + datiDado.getNome() + 
+                                                 " (ID: " + datiDado.getId() + ")");
+                            }
                         }
                     }
                 }
@@ -122,7 +112,9 @@ public class DiceFactory {
             try {
                 Dado dado = creaDado(casata);
                 dadiCasate.put(casata, dado);
-                System.out.println("✓ Caricato: " + dado.getNome() + " (ID: " + casata + ")");
+                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                    RegistroPartita.info("✓ Caricato: " + dado.getNome() + " (ID: " + casata + ")");
+                }
             } catch (IllegalArgumentException e) {
                 System.err.println("⚠️ Dado della casata " + casata + " non trovato");
             }
@@ -5,6 +5,8 @@ import java.util.List;
 
 import carte.Eroe;
 import carte.Luogo;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
 /**
  * GameConfig - Configurazione di gioco per un anno specifico
@@ -32,6 +34,30 @@ public class GameConfig {
     private Boolean contieneCompetenze = false;
     private Boolean contieneHorcrux = false;
     
+    // Seme della sorgente casuale della partita (null = seme nuovo a ogni partita)
+    private Long seme;
+    
+    /**
+     * Copia con liste proprie: modificarla non tocca l'originale
+     * (GameLoader tiene gli originali come modelli di ogni anno)
+     */
+    public GameConfig copia() {
+        GameConfig c = new GameConfig();
+        c.anno = anno;
+        c.carteNegozioId = new ArrayList<>(carteNegozioId);
+        c.malvagiId = new ArrayList<>(malvagiId);
+        c.artiOscureId = new ArrayList<>(artiOscureId);
+        c.luoghiId = luoghiId != null ? new ArrayList<>(luoghiId) : null;
+        c.horcruxId = horcruxId != null ? new ArrayList<>(horcruxId) : null;
+        c.eroiDisponibiliId = eroiDisponibiliId != null ? new ArrayList<>(eroiDisponibiliId) : null;
+        c.numeroGiocatori = numeroGiocatori;
+        c.contieneDadi = contieneDadi;
+        c.contieneCompetenze = contieneCompetenze;
+        c.contieneHorcrux = contieneHorcrux;
+        c.seme = seme;
+        return c;
+    }
+    
     public void aggiornaMeccaniche(Meccanica m) {
         if(m.getContieneDadi() == true) {
             this.contieneDadi = true;
@@ -77,7 +103,9 @@ public class GameConfig {
         
         // Se non ci sono ID specificati, carica tutti gli eroi di base
         if (eroiDisponibiliId.isEmpty()) {
-            System.out.println("Nessun eroe specificato nel JSON, carico i 4 eroi di base per anno " + anno);
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Nessun eroe specificato nel JSON, carico i 4 eroi di base per anno " + anno);
+            }
             
             // Carica i 4 eroi principali CON L'ANNO CORRETTO
             try {
@@ -86,14 +114,18 @@ public class GameConfig {
                 eroi.add(HeroFactory.creaEroe("Ron Weasley", anno));
                 eroi.add(HeroFactory.creaEroe("Neville Longbottom", anno));
                 
-                System.out.println("Caricati 4 eroi di base (versione anno " + anno + ")");
+                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                    RegistroPartita.info("Caricati 4 eroi di base (versione anno " + anno + ")");
+                }
                 
             } catch (Exception e) {
                 System.err.println("Errore caricamento eroi di default: " + e.getMessage());
                 e.printStackTrace();
             }
         } else {
-            System.out.println("Carico " + eroiDisponibiliId.size() + " eroi specificati per anno " + anno);
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Carico " + eroiDisponibiliId.size() + " eroi specificati per anno " + anno);
+            }
             
             // Carica eroi specificati CON L'ANNO CORRETTO
             for (String eroId : eroiDisponibiliId) {
@@ -103,7 +135,9 @@ public class GameConfig {
                     Eroe eroe = HeroFactory.creaEroe(nomeEroe, anno);
                     eroi.add(eroe);
                     
-                    System.out.println("Caricato: " + nomeEroe + " (anno " + anno + ")");
+                    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                        RegistroPartita.info("Caricato: " + nomeEroe + " (anno " + anno + ")");
+                    }
                     
                 } catch (IllegalArgumentException e) {
                     System.err.println("Eroe non trovato: " + eroId);
@@ -180,7 +214,9 @@ public class GameConfig {
 
     public void setAnno(int anno) {
         this.anno = anno;
-        System.out.println("📅 Anno impostato: " + anno);
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("📅 Anno impostato: " + anno);
+        }
     }
 
     public List<String> getCarteNegozioId() {
@@ -211,6 +247,17 @@ public class GameConfig {
 		this.horcruxId = horcruxId;
 	}
 
+	public Long getSeme() {
+		return seme;
+	}
+
+	/**
+	 * Imposta il seme per rigiocare una partita identica (es. da salvataggio)
+	 */
+	public void setSeme(Long seme) {
+		this.seme = seme;
+	}
+
 	public Boolean getContieneDadi() {
         return contieneDadi;
     }
@@ -1,88 +1,65 @@
 package data;
 
-import com.google.gson.Gson;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
 /**
  * Gestisce il caricamento della configurazione di un anno specifico.
+ *
+ * Ogni giocoN.json viene letto una volta sola per tutto il processo: la
+ * configurazione cumulativa di ogni anno (malvagi, arti oscure e horcrux
+ * degli anni 1..N, luoghi e meccaniche) resta come modello, e ogni partita
+ * ne riceve una copia.
  */
 public class GameLoader {
 
+	// Anno -> configurazione modello, mai data fuori: si consegnano copie
+	private static final Map<Integer, GameConfig> modelli = new HashMap<>();
+
 	public GameConfig caricaConfigurazione(int annoTarget, List<String> carteNegozioSalvate) {
-	    System.out.println("--- INIZIO CARICAMENTO ANNO " + annoTarget + " ---");
-	    GameConfig config = new GameConfig();
+	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("--- INIZIO CARICAMENTO ANNO " + annoTarget + " ---");
+	    }
+	    GameConfig config = modello(annoTarget).copia();
 	    config.setAnno(annoTarget);
-	    Anno annoCorrente = caricaDatiAnno(annoTarget);
 	    
-	 // 1. Carte Negozio
+	    // 1. Carte Negozio: nel modello ci sono solo le nuove dell'anno
+	    List<String> negozio = config.getCarteNegozioId();
 	    if (carteNegozioSalvate != null && !carteNegozioSalvate.isEmpty()) {
-	        System.out.println("Usando " + carteNegozioSalvate.size() + " carte negozio da salvataggio");
-	        config.getCarteNegozioId().addAll(carteNegozioSalvate);
+	        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	            RegistroPartita.info("Usando " + carteNegozioSalvate.size() + " carte negozio da salvataggio");
+	        }
+	        List<String> nuove = new ArrayList<>(negozio);
+	        Set<String> salvate = new HashSet<>(carteNegozioSalvate);
+	        negozio.clear();
+	        negozio.addAll(carteNegozioSalvate);
 	        
-	        if (annoCorrente != null && annoCorrente.getNuoveCarteNegozio() != null) {
-	            int carteAggiunte = 0;
-	            for (String cartaId : annoCorrente.getNuoveCarteNegozio()) {
-	                if (!carteNegozioSalvate.contains(cartaId)) {  //Evita duplicati
-	                    config.getCarteNegozioId().add(cartaId);
-	                    carteAggiunte++;
-	                }
+	        int carteAggiunte = 0;
+	        for (String cartaId : nuove) {
+	            if (!salvate.contains(cartaId)) {  //Evita duplicati
+	                negozio.add(cartaId);
+	                carteAggiunte++;
 	            }
-	            System.out.println("Aggiunte " + carteAggiunte + " carte nuove anno " + annoTarget);
 	        }
-	    } else {
-	    	if (annoCorrente != null && annoCorrente.getNuoveCarteNegozio() != null) {
-	            int carteAggiunte = 0;
-	            for (String cartaId : annoCorrente.getNuoveCarteNegozio()) {
-	            	config.getCarteNegozioId().add(cartaId);
-                    carteAggiunte++;
-	            }
-	            System.out.println("Aggiunte " + carteAggiunte + " carte nuove anno " + annoTarget);
+	        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	            RegistroPartita.info("Aggiunte " + carteAggiunte + " carte nuove anno " + annoTarget);
 	        }
+	    } else if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("Aggiunte " + negozio.size() + " carte nuove anno " + annoTarget);
 	    }
 
-	    for (int i = 1; i <= annoTarget; i++) {
-	        Anno anno = caricaDatiAnno(i);
-
-	        if (anno != null) {
-	            System.out.println("Trovati dati per Anno " + i);
-
-	            // 2. Malvagi
-	            if (anno.getNuoviMalvagi() != null && !anno.getNuoviMalvagi().isEmpty()) {
-	                config.getMalvagiId().addAll(anno.getNuoviMalvagi());
-	                System.out.println("Aggiunti " + anno.getNuoviMalvagi().size() + " malvagi.");
-	            }
-
-	            // 3. Arti Oscure
-	            if (anno.getNuoveArtiOscure() != null && !anno.getNuoveArtiOscure().isEmpty()) {
-	                config.getArtiOscureId().addAll(anno.getNuoveArtiOscure());
-	                System.out.println("Aggiunte " + anno.getNuoveArtiOscure().size() + " arti oscure.");
-	            }
-	            
-	            // ⭐ 4. HORCRUX (NUOVO)
-	            if (anno.getNuoviHorcrux() != null && !anno.getNuoviHorcrux().isEmpty()) {
-	                config.getHorcruxId().addAll(anno.getNuoviHorcrux());
-	                System.out.println("Aggiunti " + anno.getNuoviHorcrux().size() + " horcrux.");
-	            }
-
-	            // 5. Luoghi
-	            if (anno.getLuoghi() != null && !anno.getLuoghi().isEmpty()) {
-	                config.setLuoghiId(anno.getLuoghi());
-	                System.out.println("Impostati luoghi dell'anno " + i);
-	            }
-
-	            // 6. Meccaniche
-	            if (anno.getMeccanica() != null) {
-	                config.aggiornaMeccaniche(anno.getMeccanica());
-	            }
-	        }
+	    RegistroPartita.info("--- CONFIGURAZIONE COMPLETATA ---");
+	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("Totale Malvagi nel mazzo: " + config.getMalvagiId().size());
+	        RegistroPartita.info("Totale Horcrux nel mazzo: " + config.getHorcruxId().size());
 	    }
-
-	    System.out.println("--- CONFIGURAZIONE COMPLETATA ---");
-	    System.out.println("Totale Malvagi nel mazzo: " + config.getMalvagiId().size());
-	    System.out.println("Totale Horcrux nel mazzo: " + config.getHorcruxId().size());
 	    return config;
 	}
 	
@@ -90,23 +67,87 @@ public class GameLoader {
 	    return caricaConfigurazione(annoTarget, null);  // Caricamento normale
 	}
 
-	private Anno caricaDatiAnno(int anno) {
-		String path = "json/livelli/gioco" + anno + ".json";
+	/**
+	 * Modello dell'anno, costruito dal modello dell'anno prima più giocoN.json
+	 */
+	private static synchronized GameConfig modello(int annoTarget) {
+		GameConfig modello = modelli.get(annoTarget);
+		if (modello != null) {
+			return modello;
+		}
+
+		if (annoTarget < 1) {
+			modello = new GameConfig();
+		} else {
+			modello = modello(annoTarget - 1).copia();
+			modello.getCarteNegozioId().clear();
+			aggiungiAnno(modello, annoTarget, caricaDatiAnno(annoTarget));
+		}
+		modelli.put(annoTarget, modello);
+		return modello;
+	}
 
-		// 1. Otteniamo lo stream separatamente per controllare se è null
-		InputStream is = getClass().getClassLoader().getResourceAsStream(path);
+	private static void aggiungiAnno(GameConfig config, int i, Anno anno) {
+		if (anno == null) {
+			return;
+		}
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Trovati dati per Anno " + i);
+		}
 
-		if (is == null) {
-			// Questo accade se il file non esiste o il percorso è sbagliato
-			return null;
+		// 1. Carte Negozio dell'anno (non si sommano tra gli anni)
+		if (anno.getNuoveCarteNegozio() != null) {
+			config.getCarteNegozioId().addAll(anno.getNuoveCarteNegozio());
 		}
 
-		try (Reader reader = new InputStreamReader(is)) {
-			Gson gson = new Gson();
-			Anno datiAnno = gson.fromJson(reader, Anno.class);
+		// 2. Malvagi
+		if (anno.getNuoviMalvagi() != null && !anno.getNuoviMalvagi().isEmpty()) {
+			config.getMalvagiId().addAll(anno.getNuoviMalvagi());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Aggiunti " + anno.getNuoviMalvagi().size() + " malvagi.");
+			}
+		}
+
+		// 3. Arti Oscure
+		if (anno.getNuoveArtiOscure() != null && !anno.getNuoveArtiOscure().isEmpty()) {
+			config.getArtiOscureId().addAll(anno.getNuoveArtiOscure());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Aggiunte " + anno.getNuoveArtiOscure().size() + " arti oscure.");
+			}
+		}
+
+		// ⭐ 4. HORCRUX (NUOVO)
+		if (anno.getNuoviHorcrux() != null && !anno.getNuoviHorcrux().isEmpty()) {
+			config.getHorcruxId().addAll(anno.getNuoviHorcrux());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Aggiunti " + anno.getNuoviHorcrux().size() + " horcrux.");
+			}
+		}
+
+		// 5. Luoghi
+		if (anno.getLuoghi() != null && !anno.getLuoghi().isEmpty()) {
+			config.setLuoghiId(new ArrayList<>(anno.getLuoghi()));
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Impostati luoghi dell'anno " + i);
+			}
+		}
+
+		// 6. Meccaniche
+		if (anno.getMeccanica() != null) {
+			config.aggiornaMeccaniche(anno.getMeccanica());
+		}
+	}
+
+	private static Anno caricaDatiAnno(int anno) {
+		String path = "json/livelli/gioco" + anno + ".json";
+
+		try {
+			// Dallo SnapshotCataloghi, o dal JSON se lo snapshot non c'è
+			Anno datiAnno = SnapshotCataloghi.leggiAnno(anno);
 
 			if (datiAnno == null) {
-				System.err.println("ERRORE: Il file " + path + " è vuoto o malformato.");
+				// Il file non esiste o il percorso è sbagliato
+				System.err.println("ERRORE: Il file " + path + " manca, è vuoto o è malformato.");
 			}
 			return datiAnno;
 
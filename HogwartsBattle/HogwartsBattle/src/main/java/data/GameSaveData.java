@@ -25,6 +25,9 @@ public class GameSaveData {
 	private int giocatoreCorrente;
 	private List<String> carteNegozioRimaste;
 
+	// Seme della sorgente casuale: ricaricando si ottengono le stesse mescolate
+	private Long seme;
+
 	/**
 	 * Costruttore vuoto per Gson serve quando si caricano i dati dal JSON
 	 */
@@ -80,6 +83,14 @@ public class GameSaveData {
 	    this.carteNegozioRimaste = carteNegozioRimaste;
 	}
 
+	public Long getSeme() {
+		return seme;
+	}
+
+	public void setSeme(Long seme) {
+		this.seme = seme;
+	}
+
 	public long getTimestamp() {
 		return timestamp;
 	}
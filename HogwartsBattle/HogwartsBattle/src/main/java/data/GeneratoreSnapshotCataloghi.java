@@ -0,0 +1,293 @@
+package data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.TypeAdapter;
+
+import carte.Dado;
+import carte.DefinizioneCarta;
+import gestoreEffetti.CodificaBinaria;
+import gestoreEffetti.Effetto;
+import gestoreEffetti.LettoreJson;
+import gestoreEffetti.Trigger;
+
+/**
+ * GeneratoreSnapshotCataloghi - Eseguito dalla build (exec-maven-plugin, fase
+ * process-classes): legge tutti i JSON di json/ e json/livelli/, li valida e
+ * scrive lo SnapshotCataloghi.
+ *
+ * La build fallisce se un file non si legge (sintassi, tipi), se un effetto
+ * o un trigger (anche dentro opzioni, ripetuto ed effectToExecute) ha un
+ * tipo sconosciuto o mancante, se un dado non ha 6 facce o se un livello
+ * nomina carte, malvagi, luoghi o horcrux che non esistono. Le carte senza
+ * id sono solo segnalate: a runtime vengono saltate.
+ *
+ * Fa eccezione l'effettoEntrata dei luoghi, che il motore non applica: uno
+ * in una forma che Effetto non rappresenta (es. a passi, con "steps") o con
+ * un tipo sconosciuto è segnalato e resta nel catalogo così com'è.
+ *
+ * Formato (big endian):
+ * <pre>
+ * int MAGIA, int VERSIONE, int impronta degli enum
+ * int sezioni; per ogni sezione: UTF risorsa, long modificata, int inizio
+ * int stringhe; per ogni stringa: UTF testo
+ * int lunghezza del corpo, corpo
+ * </pre>
+ * Una sezione di catalogo è: varint chiavi, e per ogni chiave stringa e
+ * lista; una sezione di livello è un Anno. inizio è la posizione nel corpo.
+ *
+ * Uso: GeneratoreSnapshotCataloghi <cartella risorse compilate> <file di output>
+ */
+public final class GeneratoreSnapshotCataloghi {
+
+	private static final String DADI = "dado.json";
+	private static final String LIVELLI = "livelli";
+
+	private final Path risorse;
+	private final CodificaBinaria.Scrittore scrittore = new CodificaBinaria.Scrittore();
+	private final Map<String, SnapshotCataloghi.Sezione> sezioni = new LinkedHashMap<>();
+	// File del catalogo -> id delle carte, per controllare i livelli
+	private final Map<String, Set<String>> idPerFile = new LinkedHashMap<>();
+	private final List<String> errori = new ArrayList<>();
+	private final List<String> avvisi = new ArrayList<>();
+
+	private GeneratoreSnapshotCataloghi(Path risorse) {
+		this.risorse = risorse;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException(
+					"Uso: GeneratoreSnapshotCataloghi <cartella risorse compilate> <file di output>");
+		}
+
+		Path risorse = Paths.get(args[0]);
+		Path uscita = Paths.get(args[1]);
+		GeneratoreSnapshotCataloghi generatore = new GeneratoreSnapshotCataloghi(risorse);
+
+		for (Path json : elenca(risorse.resolve("json"))) {
+			generatore.aggiungiCatalogo(json);
+		}
+		List<Anno> anni = new ArrayList<>();
+		for (Path json : elenca(risorse.resolve("json").resolve(LIVELLI))) {
+			anni.add(generatore.aggiungiAnno(json));
+		}
+		for (Anno anno : anni) {
+			generatore.controllaRiferimenti(anno);
+		}
+
+		for (String avviso : generatore.avvisi) {
+			System.err.println("ATTENZIONE: " + avviso);
+		}
+		if (!generatore.errori.isEmpty()) {
+			for (String errore : generatore.errori) {
+				System.err.println("ERRORE: " + errore);
+			}
+			throw new IllegalStateException(generatore.errori.size() + " errori nei JSON dei cataloghi");
+		}
+
+		generatore.scrivi(uscita);
+		System.out.println("Snapshot cataloghi: " + generatore.sezioni.size() + " file, "
+				+ (Files.size(uscita) / 1024) + " KB -> " + uscita);
+	}
+
+	private static List<Path> elenca(Path cartella) throws IOException {
+		try (Stream<Path> file = Files.list(cartella)) {
+			return file.filter(p -> p.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private void aggiungiCatalogo(Path json) throws IOException {
+		String nome = json.getFileName().toString();
+		int inizio = scrittore.getPosizione();
+
+		if (nome.equals(DADI)) {
+			Map<String, List<Dado>> dadi = leggi(json, Dado.ADATTATORE_JSON);
+			scriviCatalogo(dadi, Dado.FORMATO_BINARIO);
+			for (List<Dado> lista : dadi.values()) {
+				for (Dado dado : lista) {
+					if (dado.getOpzioni() == null || dado.getOpzioni().size() != 6) {
+						errori.add(nome + ": il dado " + dado.getId() + " non ha 6 facce");
+					}
+					controllaEffetti(nome + ": dado " + dado.getId() + " opzioni", dado.getOpzioni());
+				}
+			}
+		} else {
+			Map<String, List<DefinizioneCarta>> carte = leggi(json, DefinizioneCarta.ADATTATORE_JSON);
+			scriviCatalogo(carte, DefinizioneCarta.FORMATO_BINARIO);
+			Set<String> id = new HashSet<>();
+			for (Map.Entry<String, List<DefinizioneCarta>> voce : carte.entrySet()) {
+				for (DefinizioneCarta carta : voce.getValue()) {
+					if (carta == null || carta.getId() == null) {
+						// Le factory la saltano: non blocca la build
+						System.err.println("ATTENZIONE: " + nome + ": carta senza id in \"" + voce.getKey() + "\"");
+					} else {
+						id.add(carta.getId());
+						controllaTipi(nome, carta);
+					}
+				}
+			}
+			idPerFile.put(nome, id);
+		}
+
+		sezioni.put(risorsa(json), new SnapshotCataloghi.Sezione(Files.getLastModifiedTime(json).toMillis(), inizio));
+	}
+
+	private Anno aggiungiAnno(Path json) throws IOException {
+		Anno anno;
+		try (Reader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+			anno = LettoreJson.leggi(reader, Anno.ADATTATORE_JSON);
+		} catch (RuntimeException e) {
+			throw new IOException(json + ": " + e.getMessage(), e);
+		}
+		if (anno == null) {
+			throw new IOException(json + ": file vuoto");
+		}
+
+		int inizio = scrittore.getPosizione();
+		scrittore.scriviOggetto(anno, Anno.FORMATO_BINARIO);
+		sezioni.put(risorsa(json), new SnapshotCataloghi.Sezione(Files.getLastModifiedTime(json).toMillis(), inizio));
+		return anno;
+	}
+
+	/**
+	 * Ogni id aggiunto da un livello deve esistere nel catalogo da cui lo
+	 * prende GameLoader
+	 */
+	private void controllaRiferimenti(Anno anno) {
+		controlla(anno, "luoghi", anno.getLuoghi(), "luoghi.json");
+		controlla(anno, "aggiunteMazzoNegozio", anno.getNuoveCarteNegozio(), "alleato.json", "incantesimo.json",
+				"oggetto.json");
+		controlla(anno, "aggiuntaMalvagi", anno.getNuoviMalvagi(), "malvagio.json");
+		controlla(anno, "aggiuntaArtiOscure", anno.getNuoveArtiOscure(), "arti_oscure.json");
+		controlla(anno, "aggiuntaHorcrux", anno.getNuoviHorcrux(), "horcrux.json");
+	}
+
+	/**
+	 * Un tipo sconosciuto viene letto come null (LettoreJson lo segnala con
+	 * la posizione) e fermerebbe la partita quando l'effetto si esegue
+	 */
+	private void controllaTipi(String nome, DefinizioneCarta carta) {
+		String dove = nome + ": " + carta.getId();
+		controllaEffetti(dove + " effetti", carta.getEffetti());
+		controllaEffetti(dove + " reward", carta.getReward());
+		Effetto entrata = carta.getEffettoEntrata();
+		if (entrata != null && entrata.getType() == null) {
+			avvisi.add(dove + " effettoEntrata: forma o tipo non supportato (es. \"steps\"), non verrà applicato");
+		} else {
+			controllaEffetto(dove + " effettoEntrata", entrata);
+		}
+		List<Trigger> triggers = carta.getTriggers();
+		if (triggers == null) {
+			return;
+		}
+		for (int i = 0; i < triggers.size(); i++) {
+			Trigger trigger = triggers.get(i);
+			if (trigger == null) {
+				continue;
+			}
+			String doveTrigger = dove + " triggers[" + i + "]";
+			if (trigger.getType() == null) {
+				errori.add(doveTrigger + ": tipo di trigger sconosciuto o mancante");
+			}
+			controllaEffetti(doveTrigger + ".effectToExecute", trigger.getEffectToExecute());
+		}
+	}
+
+	private void controllaEffetti(String dove, List<Effetto> effetti) {
+		if (effetti == null) {
+			return;
+		}
+		for (int i = 0; i < effetti.size(); i++) {
+			controllaEffetto(dove + "[" + i + "]", effetti.get(i));
+		}
+	}
+
+	private void controllaEffetto(String dove, Effetto effetto) {
+		if (effetto == null) {
+			return;
+		}
+		if (effetto.getType() == null) {
+			errori.add(dove + ": tipo di effetto sconosciuto o mancante");
+		}
+		controllaEffetti(dove + ".opzioni", effetto.getOpzioni());
+		controllaEffetto(dove + ".ripetuto", effetto.getRipetuto());
+	}
+
+	private void controlla(Anno anno, String campo, List<String> riferimenti, String... cataloghi) {
+		if (riferimenti == null) {
+			return;
+		}
+		for (String id : riferimenti) {
+			boolean trovato = false;
+			for (String catalogo : cataloghi) {
+				Set<String> presenti = idPerFile.get(catalogo);
+				if (presenti != null && presenti.contains(id)) {
+					trovato = true;
+					break;
+				}
+			}
+			if (!trovato) {
+				errori.add("gioco" + anno.getAnno() + ".json: " + campo + " nomina \"" + id + "\", che non esiste in "
+						+ String.join(", ", cataloghi));
+			}
+		}
+	}
+
+	private <T> Map<String, List<T>> leggi(Path json, TypeAdapter<T> adattatore) throws IOException {
+		try (Reader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+			Map<String, List<T>> catalogo = LettoreJson.leggiCatalogo(reader, adattatore);
+			if (catalogo == null) {
+				throw new IOException("file vuoto");
+			}
+			return catalogo;
+		} catch (IOException | RuntimeException e) {
+			// Il nome del file, oltre alla posizione che il lettore mette nel messaggio
+			throw new IOException(json + ": " + e.getMessage(), e);
+		}
+	}
+
+	private <T> void scriviCatalogo(Map<String, List<T>> catalogo, CodificaBinaria.Formato<T> formato)
+			throws IOException {
+		scrittore.scriviNumero(catalogo.size());
+		for (Map.Entry<String, List<T>> voce : catalogo.entrySet()) {
+			scrittore.scriviStringa(voce.getKey());
+			scrittore.scriviLista(voce.getValue(), formato);
+		}
+	}
+
+	private void scrivi(Path uscita) throws IOException {
+		Files.createDirectories(uscita.toAbsolutePath().getParent());
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(uscita)))) {
+			out.writeInt(SnapshotCataloghi.MAGIA);
+			out.writeInt(SnapshotCataloghi.VERSIONE);
+			out.writeInt(SnapshotCataloghi.impronta());
+			out.writeInt(sezioni.size());
+			for (Map.Entry<String, SnapshotCataloghi.Sezione> sezione : sezioni.entrySet()) {
+				out.writeUTF(sezione.getKey());
+				out.writeLong(sezione.getValue().modificata);
+				out.writeInt(sezione.getValue().inizio);
+			}
+			scrittore.chiudi(out);
+		}
+	}
+
+	private String risorsa(Path json) {
+		return risorse.relativize(json).toString().replace('\\', '/');
+	}
+}
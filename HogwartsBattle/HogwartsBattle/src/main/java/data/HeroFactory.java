@@ -1,34 +1,33 @@
 package data;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
+import carte.DefinizioneCarta;
 import carte.Eroe;
+import gestoreEffetti.LettoreJson;
+import gioco.RegistroPartita;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 
 public class HeroFactory {
-	private static Map<String, List<Eroe>> dataBaseEroi;
-	private static Boolean inizializzata = false;
+	private static Map<String, List<DefinizioneCarta>> dataBaseEroi;
+	private static volatile boolean inizializzata;
 	
-	public static void inizializza() {
+	public static synchronized void inizializza() {
 		if(inizializzata) {
 			return;
 		}
 		
-		try(Reader reader = new InputStreamReader(
-				HeroFactory.class.getClassLoader().getResourceAsStream("json/eroe.json"))){
-			Gson gson = new Gson();
-			Type type = new TypeToken<Map<String, List<Eroe>>>(){}.getType();
-			dataBaseEroi = gson.fromJson(reader, type);
+		try {
+			dataBaseEroi = SnapshotCataloghi.leggiCarte("eroe.json");
+			
+			// Definizioni congelate: condivise da tutti gli eroi creati
+			for(List<DefinizioneCarta> versione : dataBaseEroi.values()) {
+				versione.replaceAll(d -> d.congela(-1, null));
+			}
 			
 			inizializzata = true;
-			System.out.println("HeroFactory inizializzata con successo.");
+			RegistroPartita.info("HeroFactory inizializzata con successo.");
 		} catch (IOException e) {
 			System.err.println("Errore caricamento eroe.json: " + e.getMessage());
 			e.printStackTrace();
@@ -49,15 +48,15 @@ public class HeroFactory {
 		
 		String versionKey = getVersionKeyForYear(annoCorrente);
 		
-		List<Eroe> eroi = dataBaseEroi.get(versionKey);
+		List<DefinizioneCarta> eroi = dataBaseEroi.get(versionKey);
 		
 		if(eroi == null) {
 			throw new RuntimeException("Nessun dato trovato per la versione: " + nomeEroe + " (Anno " + annoCorrente + ")");
 		}
 		
-		for(Eroe data : eroi) {
+		for(DefinizioneCarta data : eroi) {
 			if(data.getNome().equalsIgnoreCase(nomeEroe)) {
-				return new Eroe(data.getNome(), data.getId(), data.getClasse(), data.getDescrizione(), data.getCosto(), data.getPathImmagine(), data.getEffetti(), data.getTriggers());
+				return new Eroe(data);
 			}
 		}
 		
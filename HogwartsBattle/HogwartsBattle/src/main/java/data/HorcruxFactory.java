@@ -1,42 +1,34 @@
 package data;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import carte.DefinizioneCarta;
 import carte.Horcrux;
+import gestoreEffetti.LettoreJson;
 
 public class HorcruxFactory {
-	private static Map<String, Horcrux> registroHorcrux = new HashMap<>();
-	private static Boolean inizializzata = false;
+	private static Map<String, DefinizioneCarta> registroHorcrux = new HashMap<>();
+	private static volatile boolean inizializzata;
 
-	public static void inizializza() {
+	public static synchronized void inizializza() {
 		if (inizializzata == true) {
 			return;
 		}
 
-		inizializzata = true;
 		caricaHorcrux("horcrux.json");
+		inizializzata = true;
 	}
 
 	private static void caricaHorcrux(String nomeFile) {
-		try (Reader reader = new InputStreamReader(
-				HorcruxFactory.class.getClassLoader().getResourceAsStream("json/" + nomeFile))) {
-			Gson gson = new Gson();
-			Type type = new TypeToken<Map<String, List<Horcrux>>>() {
-			}.getType();
-			Map<String, List<Horcrux>> data = gson.fromJson(reader, type);
+		try {
+			Map<String, List<DefinizioneCarta>> data = SnapshotCataloghi.leggiCarte(nomeFile);
 
 			if (data != null) {
-				for (List<Horcrux> list : data.values()) {
-					for (Horcrux datiHorcrux : list) {
-						registroHorcrux.put(datiHorcrux.getId(), datiHorcrux);
+				for (List<DefinizioneCarta> list : data.values()) {
+					for (DefinizioneCarta datiHorcrux : list) {
+						registroHorcrux.put(datiHorcrux.getId(), datiHorcrux.congela(-1, null));
 					}
 				}
 			}
@@ -50,14 +42,12 @@ public class HorcruxFactory {
 			inizializza();
 		}
 
-		Horcrux data = registroHorcrux.get(idHorcrux);
+		DefinizioneCarta data = registroHorcrux.get(idHorcrux);
 
 		if (data == null) {
 			throw new IllegalArgumentException("Horcrux non trovato: " + idHorcrux);
 		}
 
-		return new Horcrux(data.getNome(), data.getId(), data.getClasse(), data.getDescrizione(), data.getCosto(),
-				data.getPathImmagine(), data.getEffetti(), data.getTriggers(), data.getSegnaliniRichiesti(),
-				data.getRicompensa());
+		return new Horcrux(data);
 	}
 }
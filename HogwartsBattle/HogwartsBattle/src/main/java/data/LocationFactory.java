@@ -1,15 +1,12 @@
 package data;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
+import carte.DefinizioneCarta;
 import carte.Luogo;
+import gestoreEffetti.LettoreJson;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,20 +16,22 @@ import java.util.Map;
  * creazione delle istanze.
  */
 public class LocationFactory {
-	private static Map<String, Luogo> registroLuoghi = new HashMap<>();
-	private static Boolean inizializzata = false;
+	private static Map<String, DefinizioneCarta> registroLuoghi = new HashMap<>();
+	private static volatile boolean inizializzata;
 
 	/**
 	 * Inizializza la factory caricando tutti i luoghi dai JSON.
 	 */
-	public static void inizializza() {
+	public static synchronized void inizializza() {
 		if (inizializzata) {
 			return;
 		}
 
 		caricaLuoghi("luoghi.json");
 
-		System.out.println("LocationFactory inizializzata. Luoghi caricati: " + registroLuoghi.size());
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("LocationFactory inizializzata. Luoghi caricati: " + registroLuoghi.size());
+		}
 		inizializzata = true;
 	}
 
@@ -40,29 +39,20 @@ public class LocationFactory {
 	 * Carica i luoghi da un file JSON.
 	 */
 	private static void caricaLuoghi(String nomeFile) {
-		InputStream is = LocationFactory.class.getClassLoader().getResourceAsStream("json/" + nomeFile);
-    	if (is == null) {
-    	    System.err.println("File non trovato: json/" + nomeFile);
-    	    return;
-    	}
-		
-		try (Reader reader = new InputStreamReader(is)) {
-
-			Gson gson = new Gson();
-
+		try {
 			// Il JSON è strutturato come: {"gioco1": [...], "gioco2": [...]}
-			Type type = new TypeToken<Map<String, List<Luogo>>>() {
-			}.getType();
-			Map<String, List<Luogo>> data = gson.fromJson(reader, type);
+			Map<String, List<DefinizioneCarta>> data = SnapshotCataloghi.leggiCarte(nomeFile);
 
 			if (data != null) {
-				for (List<Luogo> list : data.values()) {
-					for (Luogo datiLuogo : list) {
-						registroLuoghi.put(datiLuogo.getId(), datiLuogo);
+				for (List<DefinizioneCarta> list : data.values()) {
+					for (DefinizioneCarta datiLuogo : list) {
+						registroLuoghi.put(datiLuogo.getId(), datiLuogo.congela(-1, null));
 
 						if (System.getProperty("debug.loading") != null) {
-							System.out.println(
-									"  Caricato luogo: " + datiLuogo.getNome() + " (ID: " + datiLuogo.getId() + ")");
+							if (RegistroPartita.attivo(LivelloLog.INFO)) {
+								RegistroPartita.info(
+										"  Caricato luogo: " + datiLuogo.getNome() + " (ID: " + datiLuogo.getId() + ")");
+							}
 						}
 					}
 				}
@@ -91,16 +81,14 @@ public class LocationFactory {
 			inizializza();
 		}
 
-		Luogo data = registroLuoghi.get(idLuogo);
+		DefinizioneCarta data = registroLuoghi.get(idLuogo);
 
 		if (data == null) {
 			throw new IllegalArgumentException("Luogo non trovato con ID: " + idLuogo);
 		}
 
-		// Crea una nuova istanza con tutti i dati
-		return new Luogo(data.getNome(), data.getId(), data.getClasse(), data.getDescrizione(), data.getCosto(),
-				data.getPathImmagine(), data.getEffetti(), data.getTriggers(), data.getNumeroMarchiNeri(),
-				data.getNDarkEvents(), data.getMarchiNeriMax(), data.getEffettoEntrata()); // Determina il numero giocatori dalla versione;
+		// Crea una nuova istanza che condivide la definizione
+		return new Luogo(data);
 	}
 
 	/**
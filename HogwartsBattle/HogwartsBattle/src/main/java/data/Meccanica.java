@@ -1,6 +1,13 @@
 package data;
 
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import gestoreEffetti.CodificaBinaria;
+import gestoreEffetti.LettoreJson;
 
 public class Meccanica {
 	@SerializedName("usoDadi")
@@ -11,6 +18,61 @@ public class Meccanica {
 	private Boolean contieneHorcrux;
 	private String versioneEroi;
 	
+	/**
+	 * Legge le meccaniche dal JSON senza riflessione (stessi nomi delle
+	 * annotazioni @SerializedName)
+	 */
+	public static final TypeAdapter<Meccanica> ADATTATORE_JSON = new LettoreJson.Adattatore<Meccanica>() {
+		@Override
+		protected Meccanica leggiOggetto(JsonReader in) throws IOException {
+			Meccanica m = new Meccanica();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "usoDadi":
+					m.contieneDadi = LettoreJson.leggiBooleano(in);
+					break;
+				case "usoCompetenze":
+					m.contieneCompetenze = LettoreJson.leggiBooleano(in);
+					break;
+				case "usoHorcrux":
+					m.contieneHorcrux = LettoreJson.leggiBooleano(in);
+					break;
+				case "versioneEroi":
+					m.versioneEroi = LettoreJson.leggiStringa(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return m;
+		}
+	};
+	
+	/**
+	 * Formato nello SnapshotCataloghi
+	 */
+	public static final CodificaBinaria.Formato<Meccanica> FORMATO_BINARIO = new CodificaBinaria.Formato<Meccanica>() {
+		@Override
+		public void scrivi(CodificaBinaria.Scrittore out, Meccanica m) {
+			out.scriviBooleano(m.contieneDadi);
+			out.scriviBooleano(m.contieneCompetenze);
+			out.scriviBooleano(m.contieneHorcrux);
+			out.scriviStringa(m.versioneEroi);
+		}
+
+		@Override
+		public Meccanica leggi(CodificaBinaria.Lettore in) {
+			Meccanica m = new Meccanica();
+			m.contieneDadi = in.leggiBooleano();
+			m.contieneCompetenze = in.leggiBooleano();
+			m.contieneHorcrux = in.leggiBooleano();
+			m.versioneEroi = in.leggiStringa();
+			return m;
+		}
+	};
+	
 	public Boolean getContieneDadi() {
 		return contieneDadi;
 	}
@@ -0,0 +1,140 @@
+package data;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import gioco.Giocatore;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
+import gioco.StatoDiGioco;
+
+/**
+ * PreparazioneAnno - Prepara l'anno successivo su un thread in background
+ * mentre è mostrata la schermata di vittoria: giocatori con i mazzi
+ * trasferiti (ProgressionManager), GameConfig e StatoDiGioco già costruito,
+ * con mazzi mescolati e mani distribuite.
+ *
+ * La preparazione è speculativa: se si continua si usa il risultato (dopo
+ * attendi), se si torna al menu si chiama scarta e il risultato si butta.
+ * Lo stato vinto non va più modificato mentre la preparazione lo legge.
+ *
+ * All'anno 6 i giocatori senza competenza la scelgono prima di iniziare, e
+ * le competenze registrano i loro trigger quando si crea lo StatoDiGioco:
+ * in quel caso si preparano solo giocatori e configurazione.
+ */
+public final class PreparazioneAnno {
+
+	private final int anno;
+	private final CompletableFuture<Void> pronta;
+	private volatile boolean scartata;
+	private volatile List<Giocatore> giocatori;
+	private volatile GameConfig config;
+	private volatile StatoDiGioco stato;
+
+	private PreparazioneAnno(StatoDiGioco vinto, Consumer<PreparazioneAnno> suPronta) {
+		this.anno = ProgressionManager.calcolaProssimoAnno(vinto.getAnnoCorrente());
+		this.pronta = CompletableFuture.runAsync(() -> prepara(vinto, suPronta), compito -> {
+			Thread t = new Thread(compito, "preparazione-anno-" + anno);
+			t.setDaemon(true);
+			t.start();
+		});
+	}
+
+	/**
+	 * Avvia la preparazione dell'anno dopo quello dello stato vinto
+	 *
+	 * @param vinto    Stato della partita appena vinta
+	 * @param suPronta Chiamato dal thread in background a preparazione
+	 *                 riuscita e non scartata; può essere null
+	 */
+	public static PreparazioneAnno avvia(StatoDiGioco vinto, Consumer<PreparazioneAnno> suPronta) {
+		if (vinto == null) {
+			throw new IllegalArgumentException("Stato vinto mancante");
+		}
+		return new PreparazioneAnno(vinto, suPronta);
+	}
+
+	/**
+	 * @return true se nell'anno i giocatori devono ancora scegliere la competenza
+	 */
+	public static boolean richiedeCompetenze(int anno, List<Giocatore> giocatori) {
+		return anno == 6 && giocatori.stream().allMatch(g -> g.getCompetenza() == null);
+	}
+
+	private void prepara(StatoDiGioco vinto, Consumer<PreparazioneAnno> suPronta) {
+		long inizio = System.nanoTime();
+		try {
+			AvvioCataloghi.attendi();
+			List<Giocatore> nuovi = ProgressionManager.preparaGiocatoriProssimoAnno(vinto.getGiocatori(), anno, vinto);
+			GameConfig configAnno = new GameLoader().caricaConfigurazione(anno);
+			if (configAnno != null && !scartata && !richiedeCompetenze(anno, nuovi)) {
+				stato = new StatoDiGioco(configAnno, nuovi);
+			}
+			config = configAnno;
+			giocatori = nuovi;
+		} catch (RuntimeException e) {
+			// Chi continua rifà tutto in modo sincrono
+			System.err.println("Errore preparazione anno " + anno + ": " + e.getMessage());
+			e.printStackTrace();
+			return;
+		}
+
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Anno " + anno + " preparato in " + (System.nanoTime() - inizio) / 1_000_000 + " ms"
+					+ (stato != null ? "" : " (stato da creare)"));
+		}
+		if (suPronta != null && !scartata) {
+			suPronta.accept(this);
+		}
+	}
+
+	/**
+	 * Aspetta la fine della preparazione
+	 *
+	 * @return true se i giocatori sono pronti; false se è fallita o scartata
+	 */
+	public boolean attendi() {
+		pronta.join();
+		return !scartata && giocatori != null;
+	}
+
+	/**
+	 * Il risultato non verrà usato: la preparazione, se è ancora in corso,
+	 * non crea lo stato e non chiama suPronta
+	 */
+	public void scarta() {
+		scartata = true;
+	}
+
+	public boolean isPronta() {
+		return pronta.isDone();
+	}
+
+	public boolean isScartata() {
+		return scartata;
+	}
+
+	public int getAnno() {
+		return anno;
+	}
+
+	/**
+	 * @return Giocatori del nuovo anno, null finché non è pronta o se è fallita
+	 */
+	public List<Giocatore> getGiocatori() {
+		return giocatori;
+	}
+
+	public GameConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * @return Stato del nuovo anno senza decisore e osservatore; null se
+	 *         mancano le competenze o la configurazione
+	 */
+	public StatoDiGioco getStato() {
+		return stato;
+	}
+}
@@ -1,23 +1,20 @@
 package data;
 
 import carte.*;
-
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import gestoreEffetti.LettoreJson;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class ProficiencyFactory {
-	private static Map<String, Competenza> registroMalvagio = new HashMap<>();
-    private static Boolean inizializzata = false;
+	private static Map<String, DefinizioneCarta> registroMalvagio = new HashMap<>();
+    private static volatile boolean inizializzata;
     
-    public static void inizializza() {
+    public static synchronized void inizializza() {
     	if(inizializzata == true) {
     		return;
     	}
@@ -27,15 +24,13 @@ public class ProficiencyFactory {
     }
     
     private static void caricaCompetenza(String nomeFile) {
-    	try(Reader reader = new InputStreamReader(ProficiencyFactory.class.getClassLoader().getResourceAsStream("json/" + nomeFile))){
-    		Gson gson = new Gson();
-    		Type type = new TypeToken<Map<String, List<Competenza>>>(){}.getType();
-            Map<String, List<Competenza>> data = gson.fromJson(reader, type);
+    	try {
+            Map<String, List<DefinizioneCarta>> data = SnapshotCataloghi.leggiCarte(nomeFile);
             
             if (data != null) {
-                for (List<Competenza> list : data.values()) {
-                    for (Competenza datiCompetenza : list) {
-                        registroMalvagio.put(datiCompetenza.getId(), datiCompetenza);
+                for (List<DefinizioneCarta> list : data.values()) {
+                    for (DefinizioneCarta datiCompetenza : list) {
+                        registroMalvagio.put(datiCompetenza.getId(), datiCompetenza.congela(-1, null));
                     }
                 }
             }
@@ -49,13 +44,25 @@ public class ProficiencyFactory {
     		inizializza();
     	}
     	
-    	Competenza data = registroMalvagio.get(idCompetenza);
+    	DefinizioneCarta data = registroMalvagio.get(idCompetenza);
     	
     	if(data == null) {
     		throw new IllegalArgumentException("Competenza non trovata: " + idCompetenza);
     	}
     	
-    	return new Competenza(data.getNome(), data.getId(), data.getClasse(), data.getDescrizione(), data.getPathImmagine(),
-    			data.isAttivabile(), data.getEffetti(), data.getTriggers(), data.getCommento());
+    	return new Competenza(data);
+    }
+    
+    /**
+     * Restituisce gli ID di tutte le competenze caricate.
+     */
+    public static List<String> getIdCompetenze() {
+    	if(inizializzata == false) {
+    		inizializza();
+    	}
+    	
+    	List<String> ids = new ArrayList<>(registroMalvagio.keySet());
+    	Collections.sort(ids);
+    	return ids;
     }
 }
@@ -2,6 +2,8 @@ package data;
 
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 import carte.Carta;
 import carte.Eroe;
 
@@ -51,7 +53,9 @@ public class ProgressionManager {
     public static List<Giocatore> ricreaGiocatoriDaSalvataggio(GameSaveData saveData, int anno) {
         List<Giocatore> giocatori = new ArrayList<>();
         
-        System.out.println("Ricostruzione giocatori dall'anno " + anno);
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("Ricostruzione giocatori dall'anno " + anno);
+        }
         
         for (PlayerSaveData playerData : saveData.getGiocatori()) {
             // Crea eroe
@@ -63,7 +67,9 @@ public class ProgressionManager {
                 try {
                     carte.Competenza comp = ProficiencyFactory.creaCompetenza(playerData.getIdCompetenza());
                     giocatore.setCompetenza(comp);
-                    System.out.println(playerData.getNomeEroe() + " + " + comp.getNome());
+                    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                        RegistroPartita.info(playerData.getNomeEroe() + " + " + comp.getNome());
+                    }
                 } catch (Exception e) {
                     System.err.println("Errore caricamento competenza: " + playerData.getIdCompetenza());
                 }
@@ -85,10 +91,14 @@ public class ProgressionManager {
                     }
                 }
                 
-                System.out.println(playerData.getNomeEroe() + " - " + 
-                                 playerData.getCarteNelMazzo().size() + " carte caricate");
+                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                    RegistroPartita.info(playerData.getNomeEroe() + " - " + 
+                                     playerData.getCarteNelMazzo().size() + " carte caricate");
+                }
             } else {
-                System.out.println(playerData.getNomeEroe() + " - carte starter pack");
+                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                    RegistroPartita.info(playerData.getNomeEroe() + " - carte starter pack");
+                }
             }
             
             giocatori.add(giocatore);
@@ -124,7 +134,9 @@ public class ProgressionManager {
     	    // Aggiorna set carte acquisite nello stato
     	    stato.setCarteAcquisiteDaiGiocatori(carteGiocatori);
     	    
-    	    System.out.println("📌 Carte nei mazzi giocatori: " + carteGiocatori.size());
+    	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+    	        RegistroPartita.info("📌 Carte nei mazzi giocatori: " + carteGiocatori.size());
+    	    }
     	    
     	 // Crea nuovi giocatori per il prossimo anno
     	    for (Giocatore vecchioG : giocatoriPrecedenti) {
@@ -155,8 +167,10 @@ public class ProgressionManager {
     	        
     	        nuoviGiocatori.add(nuovoGiocatore);
     	        
-    	        System.out.println(nomeEroe + " pronto per anno " + prossimoAnno + 
-    	                         " (carte: " + nuovoGiocatore.getMazzo().getCarte().size() + ")");
+    	        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+    	            RegistroPartita.info(nomeEroe + " pronto per anno " + prossimoAnno + 
+        	                         " (carte: " + nuovoGiocatore.getMazzo().getCarte().size() + ")");
+    	        }
     	    }
 
     	    return nuoviGiocatori;
@@ -176,20 +190,24 @@ public class ProgressionManager {
         
         int annoCorrente = stato.getAnnoCorrente();
         
-        System.out.println("========================================");
-        System.out.println("ANNO " + annoCorrente + " COMPLETATO!");
-        System.out.println("========================================");
+        RegistroPartita.info("========================================");
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("ANNO " + annoCorrente + " COMPLETATO!");
+        }
+        RegistroPartita.info("========================================");
         
         if (annoCorrente >= MAX_ANNO) {
-            System.out.println("========================================");
-            System.out.println("GIOCO COMPLETATO!");
-            System.out.println("Avete completato tutti e 7 gli anni!");
-            System.out.println("========================================");
+            RegistroPartita.info("========================================");
+            RegistroPartita.info("GIOCO COMPLETATO!");
+            RegistroPartita.info("Avete completato tutti e 7 gli anni!");
+            RegistroPartita.info("========================================");
             return MAX_ANNO; // Gioco finito
         } else {
             int prossimoAnno = annoCorrente + 1;
-            System.out.println("Preparatevi per l'Anno " + prossimoAnno + "...");
-            System.out.println("========================================");
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Preparatevi per l'Anno " + prossimoAnno + "...");
+            }
+            RegistroPartita.info("========================================");
             return prossimoAnno;
         }
     }
@@ -214,7 +232,7 @@ public class ProgressionManager {
      */
     public static boolean salvaProgressoVittoria(StatoDiGioco stato) {
         if (!stato.isVictory()) {
-            System.out.println("Non puoi salvare il progresso: partita non vinta");
+            RegistroPartita.info("Non puoi salvare il progresso: partita non vinta");
             return false;
         }
         
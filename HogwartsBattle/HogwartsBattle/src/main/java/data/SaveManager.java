@@ -6,6 +6,8 @@ import com.google.gson.GsonBuilder;
 import carte.Carta;
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -70,7 +72,9 @@ public class SaveManager {
                 carteNegozio.addAll(getCarteIds(stato.getMercato()));
             }
 
-            System.out.println("💾 Salvate " + carteNegozio.size() + " carte del negozio");
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("💾 Salvate " + carteNegozio.size() + " carte del negozio");
+            }
             
             // Crea oggetto salvataggio
             GameSaveData saveData = new GameSaveData(
@@ -82,13 +86,16 @@ public class SaveManager {
                 nomeFinal,
                 new ArrayList<>(carteNegozio)
             );
+            saveData.setSeme(stato.getGeneratore().getSeme());
             
             // Serializza e salva
             String json = gson.toJson(saveData);
             Path filePath = Paths.get(SAVE_DIRECTORY, nomeFinal + SAVE_FILE_EXTENSION);
             Files.writeString(filePath, json);
             
-            System.out.println("Partita salvata: " + nomeFinal);
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Partita salvata: " + nomeFinal);
+            }
             return true;
             
         } catch (Exception e) {
@@ -156,10 +163,12 @@ public class SaveManager {
             // Deserializza
             GameSaveData saveData = gson.fromJson(json, GameSaveData.class);
             
-            System.out.println("Partita caricata: " + filename);
-            System.out.println("Anno: " + saveData.getAnnoCorrente());
-            System.out.println("Giocatori: " + saveData.getNumeroGiocatori());
-            System.out.println("Data salvataggio: " + saveData.getDataOra());
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Partita caricata: " + filename);
+                RegistroPartita.info("Anno: " + saveData.getAnnoCorrente());
+                RegistroPartita.info("Giocatori: " + saveData.getNumeroGiocatori());
+                RegistroPartita.info("Data salvataggio: " + saveData.getDataOra());
+            }
             
             return saveData;
             
@@ -215,7 +224,9 @@ public class SaveManager {
             if (file.exists()) {
                 boolean deleted = file.delete();
                 if (deleted) {
-                    System.out.println("Salvataggio eliminato: " + filename);
+                    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                        RegistroPartita.info("Salvataggio eliminato: " + filename);
+                    }
                 }
                 return deleted;
             } else {
@@ -258,7 +269,9 @@ public class SaveManager {
         File saveDir = new File(SAVE_DIRECTORY);
         if (!saveDir.exists()) {
             saveDir.mkdirs();
-            System.out.println("Creata directory: " + SAVE_DIRECTORY);
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Creata directory: " + SAVE_DIRECTORY);
+            }
         }
     }
     
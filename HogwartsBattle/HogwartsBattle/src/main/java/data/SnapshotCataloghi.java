@@ -0,0 +1,212 @@
+package data;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.TypeAdapter;
+
+import carte.Dado;
+import carte.DefinizioneCarta;
+import gestoreEffetti.BersaglioEffetto;
+import gestoreEffetti.CodificaBinaria;
+import gestoreEffetti.DurataEffetto;
+import gestoreEffetti.LettoreJson;
+import gestoreEffetti.TipoEffetto;
+import gestoreEffetti.TipoTrigger;
+import grafica.Entita;
+
+/**
+ * SnapshotCataloghi - Tutti i JSON di json/ (cataloghi e livelli), già letti
+ * e validati in fase di build da GeneratoreSnapshotCataloghi e salvati in
+ * CodificaBinaria.
+ *
+ * Il file si legge tutto in una volta al primo uso; ogni catalogo viene
+ * decodificato quando la sua factory lo chiede, in oggetti nuovi uguali a
+ * quelli letti dal JSON. Il JSON resta il formato in cui si scrivono i
+ * contenuti: si legge ancora quando manca lo snapshot, quando è stato fatto
+ * con enum diversi o, se le risorse sono cartelle (IDE), quando il file JSON
+ * è stato modificato dopo.
+ */
+public final class SnapshotCataloghi {
+
+	public static final String RISORSA = "cataloghi.bin";
+	static final int MAGIA = 0x48424353; // "HBCS"
+	static final int VERSIONE = 1;
+
+	private static final Map<String, Sezione> sezioni;
+	private static final String[] stringhe;
+	private static final ByteBuffer corpo;
+
+	static {
+		Map<String, Sezione> lette = Collections.emptyMap();
+		String[] tabella = null;
+		ByteBuffer dati = null;
+
+		try (InputStream is = SnapshotCataloghi.class.getClassLoader().getResourceAsStream(RISORSA)) {
+			if (is != null) {
+				byte[] tutto = is.readAllBytes();
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(tutto));
+				if (in.readInt() == MAGIA && in.readInt() == VERSIONE && in.readInt() == impronta()) {
+					int numero = in.readInt();
+					lette = new HashMap<>(numero * 2);
+					for (int i = 0; i < numero; i++) {
+						String risorsa = in.readUTF();
+						lette.put(risorsa, new Sezione(in.readLong(), in.readInt()));
+					}
+
+					// L'indice 0 è null, come nella CodificaBinaria
+					tabella = new String[in.readInt() + 1];
+					for (int i = 1; i < tabella.length; i++) {
+						tabella[i] = in.readUTF();
+					}
+					int lunghezza = in.readInt();
+					dati = ByteBuffer.wrap(tutto, tutto.length - in.available(), lunghezza).slice();
+				} else {
+					System.err.println("Snapshot cataloghi di un'altra versione: uso i JSON");
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Snapshot cataloghi non valido: " + e.getMessage());
+			lette = Collections.emptyMap();
+			dati = null;
+		}
+
+		sezioni = lette;
+		stringhe = tabella;
+		corpo = dati;
+	}
+
+	private SnapshotCataloghi() {
+	}
+
+	/**
+	 * @param nomeFile Catalogo in json/, es. "alleato.json"
+	 * @return Chiave del JSON -> carte, o null se il file non c'è
+	 */
+	public static Map<String, List<DefinizioneCarta>> leggiCarte(String nomeFile) throws IOException {
+		return leggiCatalogo("json/" + nomeFile, DefinizioneCarta.FORMATO_BINARIO, DefinizioneCarta.ADATTATORE_JSON);
+	}
+
+	public static Map<String, List<Dado>> leggiDadi(String nomeFile) throws IOException {
+		return leggiCatalogo("json/" + nomeFile, Dado.FORMATO_BINARIO, Dado.ADATTATORE_JSON);
+	}
+
+	/**
+	 * @return Dati di json/livelli/gioco{anno}.json, o null se il file non c'è
+	 */
+	public static Anno leggiAnno(int anno) throws IOException {
+		String risorsa = "json/livelli/gioco" + anno + ".json";
+		Sezione sezione = sezioneAggiornata(risorsa);
+		if (sezione != null) {
+			return lettore(sezione).leggiOggetto(Anno.FORMATO_BINARIO);
+		}
+
+		InputStream is = SnapshotCataloghi.class.getClassLoader().getResourceAsStream(risorsa);
+		if (is == null) {
+			return null;
+		}
+		try (Reader reader = new InputStreamReader(is)) {
+			return LettoreJson.leggi(reader, Anno.ADATTATORE_JSON);
+		}
+	}
+
+	public static boolean isCaricato() {
+		return corpo != null;
+	}
+
+	public static int getDimensione() {
+		return sezioni.size();
+	}
+
+	private static <T> Map<String, List<T>> leggiCatalogo(String risorsa, CodificaBinaria.Formato<T> formato,
+			TypeAdapter<T> adattatore) throws IOException {
+		Sezione sezione = sezioneAggiornata(risorsa);
+		if (sezione != null) {
+			CodificaBinaria.Lettore in = lettore(sezione);
+			int numero = in.leggiNumero();
+			Map<String, List<T>> catalogo = new LinkedHashMap<>();
+			for (int i = 0; i < numero; i++) {
+				String chiave = in.leggiStringa();
+				catalogo.put(chiave, in.leggiLista(formato));
+			}
+			return catalogo;
+		}
+
+		InputStream is = SnapshotCataloghi.class.getClassLoader().getResourceAsStream(risorsa);
+		if (is == null) {
+			System.err.println("File non trovato: " + risorsa);
+			return null;
+		}
+		try (Reader reader = new InputStreamReader(is)) {
+			return LettoreJson.leggiCatalogo(reader, adattatore);
+		}
+	}
+
+	private static CodificaBinaria.Lettore lettore(Sezione sezione) {
+		ByteBuffer dati = corpo.duplicate();
+		dati.position(sezione.inizio);
+		return new CodificaBinaria.Lettore(dati, stringhe);
+	}
+
+	/**
+	 * La sezione della risorsa, se c'è e il JSON non è cambiato dopo la build
+	 */
+	private static Sezione sezioneAggiornata(String risorsa) {
+		Sezione sezione = sezioni.get(risorsa);
+		if (sezione == null) {
+			return null;
+		}
+
+		// Dentro al jar JSON e snapshot vengono dalla stessa build; in una
+		// cartella il JSON può essere stato modificato e ricopiato dall'IDE
+		URL json = SnapshotCataloghi.class.getClassLoader().getResource(risorsa);
+		if (json != null && "file".equals(json.getProtocol())) {
+			try {
+				if (new File(json.toURI()).lastModified() != sezione.modificata) {
+					return null;
+				}
+			} catch (Exception e) {
+				return null;
+			}
+		}
+		return sezione;
+	}
+
+	/**
+	 * Impronta delle costanti degli enum salvati come ordinali: se cambiano,
+	 * lo snapshot non vale più
+	 */
+	static int impronta() {
+		StringBuilder nomi = new StringBuilder();
+		for (Enum<?>[] valori : new Enum<?>[][] { TipoEffetto.values(), TipoTrigger.values(),
+				BersaglioEffetto.values(), DurataEffetto.values(), Entita.values() }) {
+			for (Enum<?> valore : valori) {
+				nomi.append(valore.name()).append(',');
+			}
+			nomi.append(';');
+		}
+		return nomi.toString().hashCode();
+	}
+
+	static final class Sezione {
+		final long modificata;
+		final int inizio;
+
+		Sezione(long modificata, int inizio) {
+			this.modificata = modificata;
+			this.inizio = inizio;
+		}
+	}
+}
@@ -1,13 +1,11 @@
 package data;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import carte.Carta;
+import carte.DefinizioneCarta;
+import gestoreEffetti.LettoreJson;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -16,38 +14,29 @@ import java.util.Map;
 public class StarterPackLoader {
     // Mappa: "harry" -> ["edvige0", "firebolt0", ...]
     private static Map<String, List<String>> starterDeckMap = new HashMap<>();
-    private static boolean inizializzato = false;
+    private static volatile boolean inizializzato;
 
-    public static void inizializza() {
+    public static synchronized void inizializza() {
         if (inizializzato) return;
 
-        // Verificare che il path sia corretto per le risorse
-        String path = "/json/starter_pack.json";
-        InputStream is = StarterPackLoader.class.getClassLoader().getResourceAsStream(path);
-    	if (is == null) {
-    	    System.err.println("File non trovato: " + path);
-    	    return;
-    	}
-        
-        try (Reader reader = new InputStreamReader(is)) {
-            
-            Gson gson = new Gson();
-            Type type = new TypeToken<Map<String, List<Carta>>>(){}.getType();
-            Map<String, List<Carta>> data = gson.fromJson(reader, type);
+        try {
+            Map<String, List<DefinizioneCarta>> data = SnapshotCataloghi.leggiCarte("starter_pack.json");
             
             if(data != null) {
-                for(Map.Entry<String, List<Carta>> entry : data.entrySet()) {
+                for(Map.Entry<String, List<DefinizioneCarta>> entry : data.entrySet()) {
                     String nomeEroe = entry.getKey().toLowerCase(); // "harry"
                     List<String> ids = new ArrayList<>();
                     
                     // Salviamo solo gli ID
-                    for(Carta c : entry.getValue()) {
+                    for(DefinizioneCarta c : entry.getValue()) {
                         if (c.getId() != null) {
                             ids.add(c.getId());
                         }
                     }
                     starterDeckMap.put(nomeEroe, ids);
-                    System.out.println("StarterPackLoader: Caricati " + ids.size() + " ID per " + nomeEroe);
+                    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                        RegistroPartita.info("StarterPackLoader: Caricati " + ids.size() + " ID per " + nomeEroe);
+                    }
                 }
             }
             inizializzato = true;
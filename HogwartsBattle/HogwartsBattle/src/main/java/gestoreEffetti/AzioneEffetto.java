@@ -0,0 +1,16 @@
+package gestoreEffetti;
+
+import carte.Carta;
+import gioco.Giocatore;
+import gioco.StatoDiGioco;
+
+/**
+ * AzioneEffetto - Effetto già compilato da EsecutoreEffetti.compila.
+ *
+ * Tipo, quantità e bersaglio sono risolti una volta sola: eseguirla chiama
+ * direttamente l'implementazione, senza ripassare dallo switch sul tipo.
+ */
+@FunctionalInterface
+public interface AzioneEffetto {
+	void esegui(StatoDiGioco stato, Giocatore giocatore, Carta attivante);
+}
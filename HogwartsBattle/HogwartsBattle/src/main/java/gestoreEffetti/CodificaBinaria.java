@@ -0,0 +1,215 @@
+package gestoreEffetti;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CodificaBinaria - Formato compatto degli oggetti dei cataloghi, usato dallo
+ * SnapshotCataloghi generato in fase di build.
+ *
+ * Ogni tipo (DefinizioneCarta, Effetto, Trigger, Dado, Anno, Meccanica) ha il
+ * suo Formato, che scrive e rilegge i campi sempre nello stesso ordine:
+ * <ul>
+ * <li>numeri come varint (1 byte per i valori piccoli, i più comuni);</li>
+ * <li>stringhe come indice in una tabella comune: ogni testo è salvato una
+ * volta sola e riletto come un'unica istanza condivisa;</li>
+ * <li>enum come ordinale + 1, quindi il tipo di effetto è un opcode di un
+ * byte;</li>
+ * <li>0 per null, per stringhe, enum, liste e oggetti.</li>
+ * </ul>
+ * Gli ordinali dipendono dalle costanti degli enum: SnapshotCataloghi scarta
+ * uno snapshot fatto con enum diversi.
+ */
+public final class CodificaBinaria {
+
+	private CodificaBinaria() {
+	}
+
+	/**
+	 * Scrittura e lettura di un tipo; valore non è mai null (lo gestiscono
+	 * Scrittore.scriviOggetto e Lettore.leggiOggetto)
+	 */
+	public interface Formato<T> {
+		void scrivi(Scrittore out, T valore) throws IOException;
+
+		T leggi(Lettore in) throws IOException;
+	}
+
+	public static final class Scrittore {
+		private final ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+		private final Map<String, Integer> indiceStringhe = new LinkedHashMap<>();
+
+		/**
+		 * @return Byte scritti finora: la posizione del prossimo oggetto
+		 */
+		public int getPosizione() {
+			return corpo.size();
+		}
+
+		public void scriviNumero(int valore) {
+			// Zigzag: i negativi piccoli restano corti
+			int n = (valore << 1) ^ (valore >> 31);
+			while ((n & ~0x7F) != 0) {
+				corpo.write((n & 0x7F) | 0x80);
+				n >>>= 7;
+			}
+			corpo.write(n);
+		}
+
+		public void scriviIntero(Integer valore) {
+			corpo.write(valore == null ? 0 : 1);
+			if (valore != null) {
+				scriviNumero(valore);
+			}
+		}
+
+		public void scriviBooleano(Boolean valore) {
+			corpo.write(valore == null ? 0 : valore ? 2 : 1);
+		}
+
+		public void scriviStringa(String valore) {
+			if (valore == null) {
+				scriviNumero(0);
+				return;
+			}
+			Integer indice = indiceStringhe.get(valore);
+			if (indice == null) {
+				indice = indiceStringhe.size() + 1;
+				indiceStringhe.put(valore, indice);
+			}
+			scriviNumero(indice);
+		}
+
+		public void scriviEnum(Enum<?> valore) {
+			scriviNumero(valore == null ? 0 : valore.ordinal() + 1);
+		}
+
+		public <T> void scriviOggetto(T valore, Formato<T> formato) throws IOException {
+			corpo.write(valore == null ? 0 : 1);
+			if (valore != null) {
+				formato.scrivi(this, valore);
+			}
+		}
+
+		public <T> void scriviLista(List<T> lista, Formato<T> formato) throws IOException {
+			if (lista == null) {
+				scriviNumero(0);
+				return;
+			}
+			scriviNumero(lista.size() + 1);
+			for (T valore : lista) {
+				scriviOggetto(valore, formato);
+			}
+		}
+
+		public void scriviListaStringhe(List<String> lista) {
+			if (lista == null) {
+				scriviNumero(0);
+				return;
+			}
+			scriviNumero(lista.size() + 1);
+			for (String valore : lista) {
+				scriviStringa(valore);
+			}
+		}
+
+		/**
+		 * Scrive la tabella delle stringhe e poi il corpo
+		 */
+		public void chiudi(DataOutputStream out) throws IOException {
+			out.writeInt(indiceStringhe.size());
+			for (String testo : indiceStringhe.keySet()) {
+				out.writeUTF(testo);
+			}
+			out.writeInt(corpo.size());
+			corpo.writeTo(out);
+		}
+	}
+
+	public static final class Lettore {
+		private final ByteBuffer dati;
+		private final String[] stringhe;
+
+		/**
+		 * @param dati     Byte di un oggetto, a partire dalla sua posizione
+		 * @param stringhe Tabella delle stringhe; l'indice 0 è null
+		 */
+		public Lettore(ByteBuffer dati, String[] stringhe) {
+			this.dati = dati;
+			this.stringhe = stringhe;
+		}
+
+		public int leggiNumero() {
+			int n = 0;
+			int spostamento = 0;
+			byte b;
+			do {
+				b = dati.get();
+				n |= (b & 0x7F) << spostamento;
+				spostamento += 7;
+			} while ((b & 0x80) != 0);
+			return (n >>> 1) ^ -(n & 1);
+		}
+
+		public Integer leggiIntero() {
+			return dati.get() == 0 ? null : leggiNumero();
+		}
+
+		public Boolean leggiBooleano() {
+			switch (dati.get()) {
+			case 0:
+				return null;
+			case 1:
+				return Boolean.FALSE;
+			default:
+				return Boolean.TRUE;
+			}
+		}
+
+		public String leggiStringa() {
+			return stringhe[leggiNumero()];
+		}
+
+		/**
+		 * @param valori Costanti dell'enum, es. un TipoEffetto.values() tenuto da parte
+		 */
+		public <E extends Enum<E>> E leggiEnum(E[] valori) {
+			int codice = leggiNumero();
+			return codice == 0 ? null : valori[codice - 1];
+		}
+
+		public <T> T leggiOggetto(Formato<T> formato) throws IOException {
+			return dati.get() == 0 ? null : formato.leggi(this);
+		}
+
+		public <T> List<T> leggiLista(Formato<T> formato) throws IOException {
+			int numero = leggiNumero() - 1;
+			if (numero < 0) {
+				return null;
+			}
+			List<T> lista = new ArrayList<>(numero);
+			for (int i = 0; i < numero; i++) {
+				lista.add(leggiOggetto(formato));
+			}
+			return lista;
+		}
+
+		public List<String> leggiListaStringhe() {
+			int numero = leggiNumero() - 1;
+			if (numero < 0) {
+				return null;
+			}
+			List<String> lista = new ArrayList<>(numero);
+			for (int i = 0; i < numero; i++) {
+				lista.add(leggiStringa());
+			}
+			return lista;
+		}
+	}
+}
@@ -1,12 +1,20 @@
 package gestoreEffetti;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 
 /**
  * Effetto - Rappresenta un effetto che può essere applicato nel gioco
  * VERSIONE CORRETTA per deserializzazione Gson
+ *
+ * Le definizioni sono condivise da tutte le carte e dai thread del
+ * simulatore: non hanno setter, i campi si scrivono solo nel costruttore e
+ * negli adattatori che leggono JSON e snapshot.
  */
 public class Effetto {
 	private TipoEffetto type;
@@ -23,6 +31,92 @@ public class Effetto {
 	
 	private Effetto ripetuto;
 	
+	// Compilato al primo uso (di norma al caricamento della carta). Gli effetti
+	// sono condivisi tra thread: al massimo due thread compilano la stessa
+	// azione, che è immutabile, e uno dei due risultati viene tenuto
+	private transient volatile AzioneEffetto azione;
+	
+	private static final Map<String, TipoEffetto> TIPI = LettoreJson.tabellaEnum(TipoEffetto.class);
+	private static final Map<String, BersaglioEffetto> BERSAGLI = LettoreJson.tabellaEnum(BersaglioEffetto.class);
+	private static final Map<String, DurataEffetto> DURATE = LettoreJson.tabellaEnum(DurataEffetto.class);
+
+	/**
+	 * Legge un effetto dal JSON campo per campo, con gli stessi nomi e
+	 * alternative delle annotazioni @SerializedName
+	 */
+	public static final TypeAdapter<Effetto> ADATTATORE_JSON = new LettoreJson.Adattatore<Effetto>() {
+		@Override
+		protected Effetto leggiOggetto(JsonReader in) throws IOException {
+			Effetto e = new Effetto();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "type":
+					e.type = LettoreJson.leggiEnum(in, TIPI, "TipoEffetto");
+					break;
+				case "qta":
+					e.qta = LettoreJson.leggiIntero(in);
+					break;
+				case "target":
+					e.target = LettoreJson.leggiEnum(in, BERSAGLI, "BersaglioEffetto");
+					break;
+				case "durata":
+					e.durata = LettoreJson.leggiEnum(in, DURATE, "DurataEffetto");
+					break;
+				case "qta-target":
+				case "qtaTarget":
+				case "targetCount":
+					e.qtaTarget = LettoreJson.leggiIntero(in);
+					break;
+				case "opzioni":
+				case "options":
+					e.opzioni = LettoreJson.leggiLista(in, this);
+					break;
+				case "ripetuto":
+					e.ripetuto = read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return e;
+		}
+	};
+	
+	private static final TipoEffetto[] VALORI_TIPO = TipoEffetto.values();
+	private static final BersaglioEffetto[] VALORI_BERSAGLIO = BersaglioEffetto.values();
+	private static final DurataEffetto[] VALORI_DURATA = DurataEffetto.values();
+
+	/**
+	 * Formato nello SnapshotCataloghi: il tipo è il primo byte (l'opcode)
+	 */
+	public static final CodificaBinaria.Formato<Effetto> FORMATO_BINARIO = new CodificaBinaria.Formato<Effetto>() {
+		@Override
+		public void scrivi(CodificaBinaria.Scrittore out, Effetto e) throws IOException {
+			out.scriviEnum(e.type);
+			out.scriviIntero(e.qta);
+			out.scriviEnum(e.target);
+			out.scriviEnum(e.durata);
+			out.scriviIntero(e.qtaTarget);
+			out.scriviLista(e.opzioni, this);
+			out.scriviOggetto(e.ripetuto, this);
+		}
+
+		@Override
+		public Effetto leggi(CodificaBinaria.Lettore in) throws IOException {
+			Effetto e = new Effetto();
+			e.type = in.leggiEnum(VALORI_TIPO);
+			e.qta = in.leggiIntero();
+			e.target = in.leggiEnum(VALORI_BERSAGLIO);
+			e.durata = in.leggiEnum(VALORI_DURATA);
+			e.qtaTarget = in.leggiIntero();
+			e.opzioni = in.leggiLista(this);
+			e.ripetuto = in.leggiOggetto(this);
+			return e;
+		}
+	};
+	
 	// ⭐ Costruttore vuoto necessario per Gson
 	public Effetto() {
 	}
@@ -38,6 +132,19 @@ public class Effetto {
 		this.ripetuto = ripetuto;
 	}
 
+	/**
+	 * Azione compilata di questo effetto, da eseguire al posto dello switch
+	 * di EsecutoreEffetti
+	 */
+	public AzioneEffetto getAzione() {
+		AzioneEffetto compilata = azione;
+		if (compilata == null) {
+			compilata = EsecutoreEffetti.compila(this);
+			azione = compilata;
+		}
+		return compilata;
+	}
+
 	public TipoEffetto getType() {
 		return type;
 	}
@@ -62,35 +169,7 @@ public class Effetto {
 		return opzioni;
 	}
 
-	public void setOpzioni(List<Effetto> opzioni) {
-		this.opzioni = opzioni;
-	}
-
 	public Effetto getRipetuto() {
 		return ripetuto;
 	}
-
-	public void setTarget(BersaglioEffetto target) {
-		this.target = target;
-	}
-	
-	public void setType(TipoEffetto type) {
-		this.type = type;
-	}
-	
-	public void setQta(Integer qta) {
-		this.qta = qta;
-	}
-	
-	public void setDurata(DurataEffetto durata) {
-		this.durata = durata;
-	}
-	
-	public void setQtaTarget(Integer qtaTarget) {
-		this.qtaTarget = qtaTarget;
-	}
-	
-	public void setRipetuto(Effetto ripetuto) {
-		this.ripetuto = ripetuto;
-	}
 }
\ No newline at end of file
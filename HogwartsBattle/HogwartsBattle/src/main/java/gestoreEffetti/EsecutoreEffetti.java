@@ -1,186 +1,212 @@
 package gestoreEffetti;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import carte.*;
 import gioco.Giocatore;
 import gioco.StatoDiGioco;
-import gioco.InputController;
+import gioco.TipoNotifica;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
+import gioco.TipoEventoLog;
+import gioco.TipoEventoPartita;
 import grafica.Entita;
-import grafica.GameController;
-import grafica.panels.MessagePanel;
 
 /**
- * Esecutore centralizzato per tutti gli effetti del gioco. VERSIONE COMPLETA
- * con InputController per scelte utente
+ * Esecutore centralizzato per tutti gli effetti del gioco. Le scelte passano
+ * dal DecisoreScelte dello stato e le notifiche dall'OsservatorePartita, così
+ * gli effetti funzionano sia con l'interfaccia grafica sia in modalità headless
  */
 public class EsecutoreEffetti {
 
+	// Azione degli effetti che non fanno nulla da soli (condizioni lette altrove)
+	private static final AzioneEffetto NESSUNA_AZIONE = (stato, giocatore, attivante) -> {
+	};
+
 	/**
 	 * Punto di ingresso principale per l'esecuzione di un effetto.
+	 * Esegue l'azione compilata dell'effetto, senza ripetere lo switch sul tipo.
 	 */
 	public static void eseguiEffetto(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
 		if (effetto == null) {
-			System.err.println("ATTENZIONE: Tentativo di eseguire effetto null");
+			RegistroPartita.avviso("Tentativo di eseguire effetto null");
 			return;
 		}
 
+		effetto.getAzione().esegui(stato, giocatore, attivante);
+	}
+
+	/**
+	 * Compila un effetto nella sua azione. Lo switch sul tipo, le quantità
+	 * (già convertite in int) e il bersaglio vengono risolti qui, una volta
+	 * sola per effetto; opzioni ed effetti ripetuti vengono compilati insieme.
+	 * Di norma si passa da Effetto.getAzione(), che tiene l'azione in cache.
+	 */
+	static AzioneEffetto compila(Effetto effetto) {
+		if (effetto.getOpzioni() != null) {
+			for (Effetto opzione : effetto.getOpzioni()) {
+				if (opzione != null) {
+					opzione.getAzione();
+				}
+			}
+		}
+		if (effetto.getRipetuto() != null) {
+			effetto.getRipetuto().getAzione();
+		}
+
+		if (effetto.getType() == null) {
+			// Tipo sconosciuto nel JSON (Gson lascia il campo a null): fallisce
+			// all'esecuzione come faceva lo switch, non al caricamento della carta
+			return (stato, giocatore, attivante) -> {
+				throw new NullPointerException("Tipo effetto non valido");
+			};
+		}
+
+		final int qta = effetto.getQta() != null ? effetto.getQta() : 0;
+		final BersaglioEffetto target = bersaglio(effetto);
+		final int qtaTarget = numeroBersagli(effetto);
+
 		switch (effetto.getType()) {
 		// === RISORSE ===
 		case GUADAGNARE_ATTACCO:
-			guadagnareAttacco(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> guadagnareAttacco(qta, target, qtaTarget, stato, giocatore, attivante);
 		case GUADAGNARE_INFLUENZA:
-			guadagnareInfluenza(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> guadagnareInfluenza(qta, target, qtaTarget, stato, giocatore, attivante);
 		case GUADAGNARE_VITA:
-			guadagnareVita(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> guadagnareVita(qta, target, qtaTarget, stato, giocatore, attivante);
 
 		// === VITA E DANNO ===
 		case PERDERE_VITA:
-			perdereVita(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> perdereVita(qta, target, qtaTarget, stato, giocatore, attivante);
 		case LIMITARE_DANNO:
-			break;
+			return NESSUNA_AZIONE;
 
 		// === CARTE ===
 		case PESCARE_CARTA:
-			pescaCarta(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> pescaCarta(qta, target, qtaTarget, stato, giocatore, attivante);
 		case SCARTARE_CARTA:
-			scartareCarta(effetto, stato, giocatore, attivante);
-			break;
+			final int qtaScarto = effetto.getQta() != null ? effetto.getQta() : 1;
+			return (stato, giocatore, attivante) -> scartareCarta(qtaScarto, target, qtaTarget, stato, giocatore, attivante);
 		case SCARTA_INCANTESIMO:
-			scartareTipoCarta(effetto, stato, giocatore, Incantesimo.class, attivante);
-			break;
+			return (stato, giocatore, attivante) -> scartareTipoCarta(effetto, stato, giocatore, Incantesimo.class, attivante);
 		case SCARTA_OGGETTO:
-			scartareTipoCarta(effetto, stato, giocatore, Oggetto.class, attivante);
-			break;
+			return (stato, giocatore, attivante) -> scartareTipoCarta(effetto, stato, giocatore, Oggetto.class, attivante);
 		case SCARTA_ALLEATO:
-			scartareTipoCarta(effetto, stato, giocatore, Alleato.class, attivante);
-			break;
+			return (stato, giocatore, attivante) -> scartareTipoCarta(effetto, stato, giocatore, Alleato.class, attivante);
 
 		// === LUOGHI ===
 		case AGGIUNGERE_MARCHIO_NERO:
-			aggiungereMarchioNero(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> aggiungereMarchioNero(qta, stato, giocatore);
 		case RIMUOVERE_MARCHIO_NERO:
-			rimuovereMarchioNero(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> rimuovereMarchioNero(qta, stato, giocatore);
 
 		// === MALVAGI ===
 		case RIMUOVERE_ATTACCO:
-			rimuovereAttacco(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> rimuovereAttacco(qta, stato);
 		case CURARE_MALVAGI:
-			curareMalvagi(effetto, stato, giocatore, attivante);
-			break;
+			if (qta <= 0)
+				return NESSUNA_AZIONE;
+			return (stato, giocatore, attivante) -> curareMalvagi(qta, stato);
 		case BLOCCA_ABILITA_MALVAGIO:
-			bloccaMalvagio(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> bloccaMalvagio(stato, giocatore);
 
 		// === SCELTE ===
 		case SCELTA:
-			scelta(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> scelta(effetto, stato, giocatore, attivante);
 		case SCELTA_MULTIPLA:
-			sceltaPerTuttiIGiocatori(effetto.getOpzioni().get(0), effetto.getOpzioni().get(1), stato, attivante);
-			break;
+			return (stato, giocatore, attivante) -> sceltaPerTuttiIGiocatori(effetto.getOpzioni().get(0),
+					effetto.getOpzioni().get(1), stato, attivante);
 
 		// === DADI ===
 		case DADO_GRIFONDORO:
-			tiraDadoCasata(effetto, stato, giocatore, TipoEffetto.DADO_GRIFONDORO); 
-			break;
 		case DADO_SERPEVERDE:
-			tiraDadoCasata(effetto, stato, giocatore, TipoEffetto.DADO_SERPEVERDE);
-			break;
 		case DADO_CORVONERO:
-			tiraDadoCasata(effetto, stato, giocatore, TipoEffetto.DADO_CORVONERO);
-			break;
 		case DADO_TASSOROSSO:
-			tiraDadoCasata(effetto, stato, giocatore, TipoEffetto.DADO_TASSOROSSO);
-			break;
 		case DADO_MALVAGIO:
-			tiraDadoCasata(effetto, stato, giocatore, TipoEffetto.DADO_MALVAGIO);
-			break;
+			final TipoEffetto tipoDado = effetto.getType();
+			return (stato, giocatore, attivante) -> tiraDadoCasata(effetto, stato, giocatore, tipoDado);
 		case SCEGLI_DADO:
-			scegliDadoDaTirare(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> scegliDadoDaTirare(effetto, stato, giocatore, attivante);
 		case RITIRA_DADO:
-			break;
+			return NESSUNA_AZIONE;
 
 		// === MAZZO ===
 		case ALLEATO_IN_MAZZO:
-			mettiCartaInCimaMazzo(effetto, stato, giocatore, Alleato.class);
-			break;
+			return (stato, giocatore, attivante) -> mettiCartaInCimaMazzo(Alleato.class);
 		case INCANTESIMO_IN_MAZZO:
-			mettiCartaInCimaMazzo(effetto, stato, giocatore, Incantesimo.class);
-			break;
+			return (stato, giocatore, attivante) -> mettiCartaInCimaMazzo(Incantesimo.class);
 		case OGGETTO_IN_MAZZO:
-			mettiCartaInCimaMazzo(effetto, stato, giocatore, Oggetto.class);
-			break;
+			return (stato, giocatore, attivante) -> mettiCartaInCimaMazzo(Oggetto.class);
 		case MISCHIA_MAZZO:
-			Collections.shuffle(giocatore.getMazzo().getCarte());
-			System.out.println(" Mazzo mischiato");
-			break;
+			return (stato, giocatore, attivante) -> {
+				giocatore.getMazzo().mescola(stato.getGeneratore());
+				RegistroPartita.info(" Mazzo mischiato");
+			};
 
 		// === RICERCA ===
 		case CERCA_ALLEATO:
-			cercaCartaNellaDiscardPile(effetto, stato, giocatore, Alleato.class);
-			break;
+			return (stato, giocatore, attivante) -> cercaCartaNellaDiscardPile(stato, giocatore, Alleato.class);
 		case CERCA_INCANTESIMO:
-			cercaCartaNellaDiscardPile(effetto, stato, giocatore, Incantesimo.class);
-			break;
+			return (stato, giocatore, attivante) -> cercaCartaNellaDiscardPile(stato, giocatore, Incantesimo.class);
 		case CERCA_OGGETTO:
-			cercaCartaNellaDiscardPile(effetto, stato, giocatore, Oggetto.class);
-			break;
+			return (stato, giocatore, attivante) -> cercaCartaNellaDiscardPile(stato, giocatore, Oggetto.class);
 		case CERCA_CARTA_MAZZO:
-			cercaCartaNelMazzo(effetto, stato, giocatore, attivante);
-			break;
+			final int valoreMax = effetto.getQtaTarget() != null ? effetto.getQtaTarget() : 99;
+			return (stato, giocatore, attivante) -> cercaCartaNelMazzo(valoreMax, stato, giocatore, attivante);
 
 		// === RIVELAZIONE ===
 		case RIVELA_CARTA:
-			rivelaCarta(effetto, stato, giocatore, attivante);
-			break;
+			final int valoreMinimo = effetto.getQtaTarget() != null ? effetto.getQtaTarget() : 0;
+			final Effetto ripetuto = effetto.getRipetuto();
+			return (stato, giocatore, attivante) -> rivelaCarta(valoreMinimo, ripetuto, stato, giocatore, attivante);
 		case RIVELA_NUOVO_EVENTO:
-			rivelaEventoArtOscure(effetto, stato, giocatore, attivante);
-			break;
+			final int numEventi = effetto.getQta() != null ? effetto.getQta() : 1;
+			return (stato, giocatore, attivante) -> rivelaEventoArtOscure(numEventi, stato, giocatore);
 		case GUARDA_CARTA_CIMA:
-			guardaCartaCima(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> guardaCartaCima(stato, giocatore, attivante);
 		case LASCIA_CARTA_CIMA:
-			System.out.println("Carta lasciata in cima al mazzo");
-			break;
+			return (stato, giocatore, attivante) -> RegistroPartita.info("Carta lasciata in cima al mazzo");
 		case SCARTA_CARTA_CIMA:
-			scartaCartaCima(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> scartaCartaCima(giocatore);
 
 		// === CONDIZIONI ===
 		case ALLEATO_IN_MANO:
-			verificaAlleatoInMano(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> verificaAlleatoInMano(effetto, stato, giocatore, attivante);
 		case ACQUISTO_CARTA:
-			break;
+			return NESSUNA_AZIONE;
 
 		// === EFFETTI SPECIALI ===
 		case COPIA_EFFETTO:
-			copiaEffetto(effetto, stato, giocatore, attivante);
-			break;
+			return (stato, giocatore, attivante) -> RegistroPartita.info("Copia effetto alleato...");
 		case SCARTA_INFLUENZA:
-			scartaInfluenza(effetto, stato, giocatore, attivante);
-			break;
+			final Effetto seScartata = effetto.getRipetuto();
+			return (stato, giocatore, attivante) -> scartaInfluenza(qta, seScartata, stato, giocatore, attivante);
 		case SCONTO_ACQUISTO_CASATA:
-			System.out.println("Sconto attivo per carte con dado casata");
-			break;
+			return (stato, giocatore, attivante) -> RegistroPartita.info("Sconto attivo per carte con dado casata");
 
 		// === VITTORIA/SCONFITTA ===
 		case VITTORIA:
-			stato.setVictory(true);
-			System.out.println("VITTORIA! Gli eroi hanno trionfato!");
-			break;
+			return (stato, giocatore, attivante) -> {
+				stato.setVictory(true);
+				RegistroPartita.info("VITTORIA! Gli eroi hanno trionfato!");
+			};
 
 		// === BLOCCHI ===
 		case NON_GUADAGNARE_ATTACCHI:
@@ -190,103 +216,118 @@ public class EsecutoreEffetti {
 		case NON_RIMUOVERE_MARCHI:
 		case NON_ATTACCARE_VOLDY:
 		case LIMITA_ATTACCO:
-			System.out.println("Effetto di blocco attivato: " + effetto.getType());
-			break;
+			final String messaggioBlocco = "Effetto di blocco attivato: " + effetto.getType();
+			return (stato, giocatore, attivante) -> RegistroPartita.info(messaggioBlocco);
 
 		default:
-			System.err.println("Effetto non implementato: " + effetto.getType());
+			final String messaggioErrore = "Effetto non implementato: " + effetto.getType();
+			return (stato, giocatore, attivante) -> RegistroPartita.avviso(messaggioErrore);
 		}
 	}
 
-	// IMPLEMENTAZIONE METODI SPECIFICI
+	/**
+	 * Bersaglio dell'effetto, EROE_ATTIVO se il JSON non lo indica.
+	 * Gli effetti sono condivisi tra partite: il default non va scritto sull'effetto
+	 */
+	private static BersaglioEffetto bersaglio(Effetto effetto) {
+		return effetto.getTarget() != null ? effetto.getTarget() : BersaglioEffetto.EROE_ATTIVO;
+	}
 
-	private static void guadagnareAttacco(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
+	/**
+	 * Quanti eroi scegliere per EROE_SCELTO, 1 se il JSON non lo indica
+	 */
+	private static int numeroBersagli(Effetto effetto) {
+		return effetto.getQtaTarget() != null ? effetto.getQtaTarget() : 1;
+	}
+
+	// IMPLEMENTAZIONE METODI SPECIFICI
 
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+	private static void guadagnareAttacco(int qta, BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore giocatore, Carta attivante) {
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(target, qtaTarget, stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
 			if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.NON_GUADAGNARE_ATTACCHI)) {
 				if (g != stato.getGiocatori().get(stato.getGiocatoreCorrente())) {
-					System.out.println(g.getEroe().getNome() + " non può guadagnare attacchi");
+					if (RegistroPartita.attivo(LivelloLog.INFO)) {
+						RegistroPartita.info(g.getEroe().getNome() + " non può guadagnare attacchi");
+					}
 					continue;
 				}
 			}
 
 			int vecchioValore = g.getAttacco();
-			g.setAttacco(vecchioValore + effetto.getQta());
-			System.out.println(g.getEroe().getNome() + " guadagna " + effetto.getQta() + " attacco");
+			g.setAttacco(vecchioValore + qta);
+			RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.GUADAGNA_ATTACCO, g.getEroe().getNome(),
+					idCarta(attivante), qta);
 
 			if (giocatore.getEroe().getNome().contains("Ron") && giocatore.getAttacco() >= 3
 					&& giocatore.getEroe().getTriggers() != null) {
-				if (giocatore.getEroe().getTriggers().get(0).getAttivato1Volta() == false) {
+				if (!giocatore.getEroe().isAbilitaUsata()) {
 					stato.getGestoreTrigger().attivaTrigger(TipoTrigger.ATTACCHI_ASSEGNATI, stato, g);
-					giocatore.getEroe().getTriggers().get(0).setAttivato1Volta(true);
+					giocatore.getEroe().setAbilitaUsata(true);
 				}
 			}
 		}
 	}
 
-	private static void guadagnareInfluenza(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+	private static void guadagnareInfluenza(int qta, BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore giocatore, Carta attivante) {
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(target, qtaTarget, stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
 			if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.NON_GUADAGNARE_GETTONI)) {
 				if (g != stato.getGiocatori().get(stato.getGiocatoreCorrente())) {
-					System.out.println(g.getEroe().getNome() + " non può guadagnare influenza");
+					if (RegistroPartita.attivo(LivelloLog.INFO)) {
+						RegistroPartita.info(g.getEroe().getNome() + " non può guadagnare influenza");
+					}
 					continue;
 				}
 			}
 
 			int vecchioValore = g.getGettone();
-			g.setGettone(vecchioValore + effetto.getQta());
-			System.out.println(g.getEroe().getNome() + " guadagna " + effetto.getQta() + " influenza");
+			g.setGettone(vecchioValore + qta);
+			RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.GUADAGNA_INFLUENZA, g.getEroe().getNome(),
+					idCarta(attivante), qta);
 		}
 	}
 
-	private static void guadagnareVita(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-		
+	private static void guadagnareVita(int qta, BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore giocatore, Carta attivante) {
 		if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.NON_GUADAGNARE_VITA)) {
-			System.out.println("I giocatori non possono guadagnare vite");
-			GameController.getInstance().getGameUI().getMessagePanel().mostraMessaggio("I giocatori non possono guadagnare vite", MessagePanel.TipoMessaggio.EFFETTO);
+			RegistroPartita.info("I giocatori non possono guadagnare vite");
+			stato.getOsservatore().notifica("I giocatori non possono guadagnare vite", TipoNotifica.EFFETTO);
 			return;
 		}
 
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(target, qtaTarget, stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
 
 			int vecchiaVita = g.getSalute();
-			int nuovaVita = Math.min(vecchiaVita + effetto.getQta(), g.getSaluteMax());
+			int nuovaVita = Math.min(vecchiaVita + qta, g.getSaluteMax());
 			g.setSalute(nuovaVita);
 			int vitaGuadagnata = nuovaVita - vecchiaVita;
 
-			System.out.println(g.getEroe().getNome() + " guadagna " + vitaGuadagnata + " vita");
-
-			// Attiva trigger SOLO se la vita è effettivamente aumentata
-			// e SOLO se non siamo già dentro l'esecuzione di un trigger GUADAGNA_VITA
-			if (vitaGuadagnata > 0 && !stato.isProcessandoTriggerVita()) {
-				// Imposta flag per prevenire ricorsione
-				stato.setProcessandoTriggerVita(true);
+			RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.GUADAGNA_VITA, g.getEroe().getNome(),
+					idCarta(attivante), vitaGuadagnata);
 
-				try {
-					stato.getGestoreTrigger().attivaTrigger(TipoTrigger.GUADAGNA_VITA, stato, g);
-					if (vitaGuadagnata >= 2) {
-						stato.getGestoreTrigger().attivaTrigger(TipoTrigger.GUADAGNA_VITA_QUORUM, stato, g);
-					}
+			// Attiva trigger SOLO se la vita è effettivamente aumentata. I cicli
+			// (trigger che fanno guadagnare vita) li ferma la coda del GestoreTrigger
+			if (vitaGuadagnata > 0) {
+				stato.getGestoreTrigger().attivaTrigger(TipoTrigger.GUADAGNA_VITA, stato, g);
+				if (vitaGuadagnata >= 2) {
+					stato.getGestoreTrigger().attivaTrigger(TipoTrigger.GUADAGNA_VITA_QUORUM, stato, g);
+				}
 
-					if (g.getSalute() == g.getSaluteMax()) {
-						stato.getGestoreTrigger().attivaTrigger(TipoTrigger.SALUTE_MASSIMA, stato, g);
-					}
-				} finally {
-					// Reset flag dopo l'esecuzione
-					stato.setProcessandoTriggerVita(false);
+				if (g.getSalute() == g.getSaluteMax()) {
+					stato.getGestoreTrigger().attivaTrigger(TipoTrigger.SALUTE_MASSIMA, stato, g);
 				}
 			}
 		}
@@ -300,36 +341,42 @@ public class EsecutoreEffetti {
 	 * carte e azzera segnalini 6. Ripristina vita al massimo 7. Il turno passa al
 	 * giocatore successivo
 	 */
-	private static void perdereVita(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+	private static void perdereVita(int qta, BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore giocatore, Carta attivante) {
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(target, qtaTarget, stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
-			int dannoEffettivo = effetto.getQta();
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
+			int dannoEffettivo = qta;
 
 			if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.LIMITARE_DANNO)) {
 				dannoEffettivo = Math.min(1, dannoEffettivo);
-				System.out.println("Danno ridotto a " + dannoEffettivo);
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Danno ridotto a " + dannoEffettivo);
+				}
 			}
 
 			int vecchiaVita = g.getSalute();
 			g.setSalute(Math.max(0, vecchiaVita - dannoEffettivo));
 
-			System.out.println(g.getEroe().getNome() + " perde " + dannoEffettivo + " vita");
-
+			RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.PERDE_VITA, g.getEroe().getNome(),
+					idCarta(attivante), dannoEffettivo);
+			stato.pubblicaEvento(TipoEventoPartita.DANNO_SUBITO, g, idCarta(attivante), dannoEffettivo);
 
 			// GESTIONE STORDIMENTO
 			if (g.getSalute() == 0) {
-				System.out.println(g.getEroe().getNome() + " è STORDITO!");
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info(g.getEroe().getNome() + " è STORDITO!");
+				}
 
 				// 1. Aggiungi marchio nero
 				int marchiAttuali = stato.getLuogoAttuale().getNumeroMarchiNeri();
 				int marchiMax = stato.getLuogoAttuale().getMarchiNeriMax();
 
-				System.out.println("Aggiunto 1 Marchio Nero al luogo");
+				RegistroPartita.info("Aggiunto 1 Marchio Nero al luogo");
 				stato.getLuogoAttuale().setNumeroMarchiNeri(marchiAttuali + 1);
+				stato.pubblicaEvento(TipoEventoPartita.MARCHIO_AGGIUNTO, g, stato.getLuogoAttuale().getId(), 1);
 
 				// 2. Controlla se il luogo è perso
 				if (stato.getLuogoAttuale().getNumeroMarchiNeri() >= marchiMax) {
@@ -338,12 +385,16 @@ public class EsecutoreEffetti {
 
 					// La verifica sconfitta è già  dentro passaAlProssimoLuogo()
 				} else {
-					System.out.println(
-							"Marchi Neri: " + stato.getLuogoAttuale().getNumeroMarchiNeri() + "/" + marchiMax);
+					if (RegistroPartita.attivo(LivelloLog.INFO)) {
+						RegistroPartita.info(
+								"Marchi Neri: " + stato.getLuogoAttuale().getNumeroMarchiNeri() + "/" + marchiMax);
+					}
 				}
 
 				// 3. Scarta tutte le carte dalla mano
-				System.out.println("Scartate tutte le carte dalla mano (" + g.getMano().size() + ")");
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Scartate tutte le carte dalla mano (" + g.getMano().size() + ")");
+				}
 				while (!g.getMano().isEmpty()) {
 					Carta carta = g.getMano().get(0);
 					g.getMano().remove(0);
@@ -351,72 +402,80 @@ public class EsecutoreEffetti {
 				}
 
 				// 4. Azzera segnalini
-				System.out.println("Azzerati attacco e gettone");
+				RegistroPartita.info("Azzerati attacco e gettone");
 				g.setAttacco(0);
 				g.setGettone(0);
 
 				// 5. Ripristina vita al massimo
 				g.setSalute(g.getSaluteMax());
-				System.out.println("Vita ripristinata a " + g.getSaluteMax());
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Vita ripristinata a " + g.getSaluteMax());
+				}
 
 				// 6. Attiva trigger stordimento (per eventuali effetti)
 				stato.getGestoreTrigger().attivaTrigger(TipoTrigger.STORDIMENTO, stato, g);
 
 				// 7. Il turno passa automaticamente
-				System.out.println("Il turno passa al giocatore successivo");
+				RegistroPartita.info("Il turno passa al giocatore successivo");
 			}
 		}
 	}
 
-	private static void pescaCarta(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+	private static void pescaCarta(int qta, BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore giocatore, Carta attivante) {
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(target, qtaTarget, stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
 			if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.NON_PESCARE_CARTE)) {
-				System.out.println(g.getEroe().getNome() + " non può pescare carte");
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info(g.getEroe().getNome() + " non può pescare carte");
+				}
 				continue;
 			}
 
-			for (int i = 0; i < effetto.getQta(); i++) {
+			for (int i = 0; i < qta; i++) {
 				Carta carta = g.getMazzo().pescaCarta();
 				if (carta != null) {
 					g.getMano().add(carta);
-					System.out.println(g.getEroe().getNome() + " pesca: " + carta.getNome());
+					RegistroPartita.evento(LivelloLog.DETTAGLIO, stato, TipoEventoLog.PESCA_CARTA, g.getEroe().getNome(),
+							carta.getId(), 1);
 				}
 			}
 
-			if (effetto.getQta() > 1) {
+			if (qta > 1) {
 				stato.getGestoreTrigger().attivaTrigger(TipoTrigger.PESCA_CARTA_BONUS, stato, g);
 			}
 		}
 	}
 
-	private static void scartareCarta(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		int qta = effetto.getQta() != null ? effetto.getQta() : 1;
-
+	private static void scartareCarta(int qta, BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore giocatore, Carta attivante) {
 		if (giocatore.getMano().isEmpty()) {
-			System.out.println(giocatore.getEroe().getNome() + " non ha carte da scartare");
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info(giocatore.getEroe().getNome() + " non ha carte da scartare");
+			}
 			return;
 		}
 
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(target, qtaTarget, stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
 			// MODIFICATO: Passa giocatore per mostrare nome
-			InputController.getInstance().mostraSelezioneCartePerScartare(g, TipoEffetto.SCARTARE_CARTA, qta,
+			stato.getDecisore().scegliCarteDaScartare(g, TipoEffetto.SCARTARE_CARTA, qta,
 					carteSelezionate -> {
 						for (Carta c : carteSelezionate) {
-							giocatore.getMano().remove(c);
-							giocatore.getScarti().aggiungiCarta(c);
-							System.out.println(g.getEroe().getNome() + " scarta: " + c.getNome());
+							g.getMano().remove(c);
+							g.getScarti().aggiungiCarta(c);
+							if (RegistroPartita.attivo(LivelloLog.INFO)) {
+								RegistroPartita.info(g.getEroe().getNome() + " scarta: " + c.getNome());
+							}
 						}
 
-						if (grafica.GameController.getInstance() != null) {
-							grafica.GameController.getInstance().getGameUI().aggiorna();
-						}
+						stato.getOsservatore().aggiornaInterfaccia();
 					});
 		}
 
@@ -424,9 +483,11 @@ public class EsecutoreEffetti {
 
 	private static void scartareTipoCarta(Effetto effetto, StatoDiGioco stato, Giocatore giocatore,
 			Class<? extends Carta> tipo, Carta attivante) {
-		List<Giocatore> bersagli = determinaBersagli(effetto, stato, giocatore, attivante);
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int bersagli = determinaBersagli(bersaglio(effetto), numeroBersagli(effetto), stato, giocatore, attivante);
 
-		for (Giocatore g : bersagli) {
+		for (int m = bersagli; m != 0; m &= m - 1) {
+			Giocatore g = giocatori.get(Integer.numberOfTrailingZeros(m));
 			List<Carta> carteTipo = new ArrayList<>();
 			for (Carta c : g.getMano()) {
 				if (tipo.isInstance(c)) {
@@ -436,37 +497,35 @@ public class EsecutoreEffetti {
 
 			if (!carteTipo.isEmpty()) {
 				String tipoCartaDesc = tipo.getSimpleName();
-				Carta daScartare = InputController.scegliCartaConContesto(carteTipo, g.getEroe().getNome(),
-						"Scarta " + tipoCartaDesc, "Effetto richiesto per continuare", null 
-				);
-				tipoCartaDesc = tipo.getSimpleName();
-				daScartare = InputController.scegliCartaConContesto(carteTipo, g.getEroe().getNome(),
-						"Scarta " + tipoCartaDesc, "Effetto richiesto per continuare", null 
-				);
+				Carta daScartare = stato.getDecisore().scegliCartaDaScartare(g, carteTipo,
+						"Scarta " + tipoCartaDesc, "Effetto richiesto per continuare");
 
 				if (daScartare != null) {
 					g.getMano().remove(daScartare);
 					g.getScarti().aggiungiCarta(daScartare);
-					System.out.println(g.getEroe().getNome() + " scarta: " + daScartare.getNome());
+					if (RegistroPartita.attivo(LivelloLog.INFO)) {
+						RegistroPartita.info(g.getEroe().getNome() + " scarta: " + daScartare.getNome());
+					}
 
 					if (tipo == Incantesimo.class) {
 						stato.getGestoreTrigger().attivaTrigger(TipoTrigger.SCARTA_INCANTESIMO, stato, g);
 					}
 				}
 			} else {
-				System.out.println("Nessuna carta " + tipo.getSimpleName() + " in mano");
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Nessuna carta " + tipo.getSimpleName() + " in mano");
+				}
 			}
 		}
 	}
 
-	private static void aggiungereMarchioNero(Effetto effetto, StatoDiGioco stato, Giocatore giocatore,
-			Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
+	private static void aggiungereMarchioNero(int qta, StatoDiGioco stato, Giocatore giocatore) {
 		int vecchioValore = stato.getLuogoAttuale().getNumeroMarchiNeri();
-		stato.getLuogoAttuale().setNumeroMarchiNeri(vecchioValore + effetto.getQta());
-		System.out.println("Aggiunti " + effetto.getQta() + " marchi neri");
+		stato.getLuogoAttuale().setNumeroMarchiNeri(vecchioValore + qta);
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Aggiunti " + qta + " marchi neri");
+		}
+		stato.pubblicaEvento(TipoEventoPartita.MARCHIO_AGGIUNTO, giocatore, stato.getLuogoAttuale().getId(), qta);
 
 		stato.getGestoreTrigger().attivaTrigger(TipoTrigger.AGGIUNTA_MARCHIO_NERO, stato, giocatore);
 
@@ -475,58 +534,54 @@ public class EsecutoreEffetti {
 		}
 	}
 
-	private static void rimuovereMarchioNero(Effetto effetto, StatoDiGioco stato, Giocatore giocatore,
-			Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
+	private static void rimuovereMarchioNero(int qta, StatoDiGioco stato, Giocatore giocatore) {
 		if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.NON_RIMUOVERE_MARCHI)) {
-			System.out.println("Non è possibile rimuovere marchi neri");
+			RegistroPartita.info("Non è possibile rimuovere marchi neri");
 			return;
 		}
 
 		int vecchioValore = stato.getLuogoAttuale().getNumeroMarchiNeri();
-		stato.getLuogoAttuale().setNumeroMarchiNeri(Math.max(0, vecchioValore - effetto.getQta()));
+		stato.getLuogoAttuale().setNumeroMarchiNeri(Math.max(0, vecchioValore - qta));
 		int rimosse = vecchioValore - stato.getLuogoAttuale().getNumeroMarchiNeri();
 
-		System.out.println("Rimossi " + rimosse + " marchi neri");
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Rimossi " + rimosse + " marchi neri");
+		}
 
 		if (rimosse > 0) {
 			for (Giocatore g : stato.getGiocatori()) {
 				if (g.getEroe().getNome().contains("Harry") && g.getEroe().getTriggers() != null) {
-					if (g.getEroe().getTriggers().get(0).getAttivato1Volta() == false) {
+					if (!g.getEroe().isAbilitaUsata()) {
 						stato.getGestoreTrigger().attivaTrigger(TipoTrigger.RIMOZIONE_MARCHIO_NERO, stato, giocatore);
-						g.getEroe().getTriggers().get(0).setAttivato1Volta(true);
+						g.getEroe().setAbilitaUsata(true);
 					}
 				}
 			}
 		}
 	}
 
-	private static void rimuovereAttacco(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
+	private static void rimuovereAttacco(int qta, StatoDiGioco stato) {
 		for (Malvagio malvagio : stato.getMalvagiAttivi()) {
 			int dannoAttuale = malvagio.getDanno();
-			malvagio.setDanno(Math.max(0, dannoAttuale - effetto.getQta()));
-			System.out.println("Rimossi " + effetto.getQta() + " attacchi da " + malvagio.getNome());
+			malvagio.setDanno(Math.max(0, dannoAttuale - qta));
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Rimossi " + qta + " attacchi da " + malvagio.getNome());
+			}
 		}
 	}
 
-	private static void curareMalvagi(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		if (effetto.getQta() == null || effetto.getQta() <= 0)
-			return;
-
+	private static void curareMalvagi(int qta, StatoDiGioco stato) {
 		for (Malvagio malvagio : stato.getMalvagiAttivi()) {
 			int dannoAttuale = malvagio.getDanno();
-			malvagio.setDanno(Math.max(0, dannoAttuale - effetto.getQta()));
-			System.out.println(malvagio.getNome() + " recupera " + (dannoAttuale - malvagio.getDanno()) + " vita");
+			malvagio.setDanno(Math.max(0, dannoAttuale - qta));
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info(malvagio.getNome() + " recupera " + (dannoAttuale - malvagio.getDanno()) + " vita");
+			}
 		}
 	}
 
-	private static void bloccaMalvagio(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		Malvagio selezionato = InputController.scegliMalvagio(stato.getMalvagiAttivi(), giocatore.getEroe().getNome(),
+	private static void bloccaMalvagio(StatoDiGioco stato, Giocatore giocatore) {
+		Malvagio selezionato = stato.getDecisore().scegliMalvagio(giocatore, stato.getMalvagiAttivi(),
 				"Scegli un malvagio da bloccare");
 		if (selezionato != null) {
 			selezionato.setBloccoAbilita(true);
@@ -538,7 +593,7 @@ public class EsecutoreEffetti {
 		List<Effetto> opzioni = effetto.getOpzioni();
 
 		if (opzioni == null || opzioni.size() < 2) {
-			System.out.println("SCELTA richiede almeno 2 opzioni!");
+			RegistroPartita.info("SCELTA richiede almeno 2 opzioni!");
 			return;
 		}
 
@@ -560,7 +615,7 @@ public class EsecutoreEffetti {
 	 */
 	private static void sceltaPerTuttiIGiocatori(Effetto opzioneA, Effetto opzioneB, StatoDiGioco stato,
 			Carta attivante) {
-		System.out.println("Scelta multipla: ogni giocatore sceglie per sà©");
+		RegistroPartita.info("Scelta multipla: ogni giocatore sceglie per sà©");
 
 		// Mostra dialog per il primo giocatore
 		mostraDialogScelta(opzioneA, opzioneB, stato, stato.getGiocatori().get(stato.getGiocatoreCorrente()),
@@ -577,13 +632,10 @@ public class EsecutoreEffetti {
 
 		if (!opzioneAPossibile) {
 			// Auto-esegue opzione B
-			System.out.println("âš¡ Scelta automatica: opzione 1 impossibile, eseguo opzione 2");
+			RegistroPartita.info("âš¡ Scelta automatica: opzione 1 impossibile, eseguo opzione 2");
 
-			if (grafica.GameController.getInstance() != null) {
-				grafica.GameController.getInstance().getGameUI().getMessagePanel().mostraMessaggio(
-						giocatore.getEroe().getNome() + " non può scartare l'effetto alternativo",
-						MessagePanel.TipoMessaggio.INFO);
-			}
+			stato.getOsservatore().notifica(giocatore.getEroe().getNome() + " non può scartare l'effetto alternativo",
+					TipoNotifica.INFO);
 
 			eseguiEffetto(opzioneB, stato, giocatore, attivante);
 			return;
@@ -600,14 +652,14 @@ public class EsecutoreEffetti {
 		String descrizioneB = getDescrizioneEffetto(opzioneB, giocatore);
 
 		// Gestisce caso "tutti i giocatori" vs "singolo giocatore"
-		if (opzioneA.getTarget().equals(BersaglioEffetto.EROE_ATTIVANTE)
-				&& opzioneB.getTarget().equals(BersaglioEffetto.EROE_ATTIVANTE)) {
+		if (opzioneA.getTarget() == BersaglioEffetto.EROE_ATTIVANTE
+				&& opzioneB.getTarget() == BersaglioEffetto.EROE_ATTIVANTE) {
 			// Effetto su tutti i giocatori - mostra dialog per ognuno
 			for (Giocatore g : stato.getGiocatori()) {
 				String descA = getDescrizioneEffetto(opzioneA, g);
 				String descB = getDescrizioneEffetto(opzioneB, g);
 
-				grafica.panels.DialogHelper.mostraSceltaEffetto(g.getEroe().getNome(), "Scelta Effetto",
+				stato.getDecisore().scegliEffetto(g, "Scelta Effetto",
 						"Scegli l'effetto da applicare:", descA, descB, scelta -> {
 							if (scelta) {
 								eseguiEffetto(opzioneA, stato, g, attivante);
@@ -615,14 +667,12 @@ public class EsecutoreEffetti {
 								eseguiEffetto(opzioneB, stato, g, attivante);
 							}
 
-							if (grafica.GameController.getInstance() != null) {
-								grafica.GameController.getInstance().getGameUI().aggiorna();
-							}
+							stato.getOsservatore().aggiornaInterfaccia();
 						});
 			}
 		} else {
 			// Effetto su singolo giocatore
-			grafica.panels.DialogHelper.mostraSceltaEffetto(giocatore.getEroe().getNome(), "Scelta Effetto",
+			stato.getDecisore().scegliEffetto(giocatore, "Scelta Effetto",
 					"Scegli l'effetto da applicare:", descrizioneA, descrizioneB, scelta -> {
 						if (scelta) {
 							eseguiEffetto(opzioneA, stato, giocatore, attivante);
@@ -630,9 +680,7 @@ public class EsecutoreEffetti {
 							eseguiEffetto(opzioneB, stato, giocatore, attivante);
 						}
 
-						if (grafica.GameController.getInstance() != null) {
-							grafica.GameController.getInstance().getGameUI().aggiorna();
-						}
+						stato.getOsservatore().aggiornaInterfaccia();
 					});
 		}
 	}
@@ -732,7 +780,7 @@ public class EsecutoreEffetti {
 	 */
 	private static void tiraDadoCasata(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, TipoEffetto tipoDado) {
 		if (stato.getDadi() == null || stato.getDadi().isEmpty()) {
-			System.out.println("Nessun dado disponibile!");
+			RegistroPartita.info("Nessun dado disponibile!");
 			return;
 		}
 
@@ -760,7 +808,7 @@ public class EsecutoreEffetti {
 		// STEP 3: Tira il dado
 		Effetto effettoEseguito = dadoSelezionato.tiraDado(stato, giocatore, opzioniDado);
 		String msg = "Tirato " + dadoSelezionato.getNome() + ". Risultato: " + effettoEseguito.getType();
-		GameController.getInstance().getGameUI().getMessagePanel().mostraMessaggio(msg, MessagePanel.TipoMessaggio.INFO);
+		stato.getOsservatore().notifica(msg, TipoNotifica.INFO);
 
 		// STEP 4: Applica risultato agli Horcrux (se Anno 7)
 		if (effettoEseguito != null && stato.getHorcruxAttivi() != null && !stato.getHorcruxAttivi().isEmpty()) {
@@ -794,7 +842,7 @@ public class EsecutoreEffetti {
 	 */
 	private static void scegliDadoDaTirare(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
 		if (stato.getDadi() == null || stato.getDadi().isEmpty()) {
-			System.out.println("Nessun dado disponibile!");
+			RegistroPartita.info("Nessun dado disponibile!");
 			return;
 		}
 
@@ -818,38 +866,42 @@ public class EsecutoreEffetti {
 				opzioniDadi.add(dado.getNome());
 				tipiDado.add(tipi[i]);
 
-				System.out.println("Dado disponibile: " + dado.getNome() + " (ID: " + idDado + ")");
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Dado disponibile: " + dado.getNome() + " (ID: " + idDado + ")");
+				}
 			}
 		}
 
 		// Verifica che ci siano dadi disponibili
 		if (opzioniDadi.isEmpty()) {
-			System.out.println("Nessun dado delle casate disponibile!");
-			System.out.println("   Dadi presenti nella Map: " + stato.getDadi().keySet());
+			RegistroPartita.info("Nessun dado delle casate disponibile!");
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("   Dadi presenti nella Map: " + stato.getDadi().keySet());
+			}
 			return;
 		}
 
-		System.out.println("Storia di Hogwarts attivata - " + opzioniDadi.size() + " dadi disponibili");
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Storia di Hogwarts attivata - " + opzioniDadi.size() + " dadi disponibili");
+		}
 
 		// Mostra dialog con i dadi effettivamente disponibili
-		grafica.panels.DialogHelper.mostraSceltaMultipla("Storia di Hogwarts",
-				giocatore.getEroe().getNome() + ", scegli quale dado tirare:",
-				"Seleziona uno dei dadi delle casate disponibili:", opzioniDadi, indiceScelta -> {
-					if (indiceScelta >= 0 && indiceScelta < tipiDado.size()) {
-						TipoEffetto dadoScelto = tipiDado.get(indiceScelta);
-						String nomeDadoScelto = opzioniDadi.get(indiceScelta);
+		stato.getDecisore().scegliDado(giocatore, opzioniDadi, indiceScelta -> {
+			if (indiceScelta >= 0 && indiceScelta < tipiDado.size()) {
+				TipoEffetto dadoScelto = tipiDado.get(indiceScelta);
+				String nomeDadoScelto = opzioniDadi.get(indiceScelta);
 
-						System.out.println(giocatore.getEroe().getNome() + " ha scelto: " + nomeDadoScelto);
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info(giocatore.getEroe().getNome() + " ha scelto: " + nomeDadoScelto);
+				}
 
-						// Tira il dado scelto
-						tiraDadoCasata(effetto, stato, giocatore, dadoScelto);
-					}
+				// Tira il dado scelto
+				tiraDadoCasata(effetto, stato, giocatore, dadoScelto);
+			}
 
-					// Aggiorna UI
-					if (grafica.GameController.getInstance() != null) {
-						grafica.GameController.getInstance().getGameUI().aggiorna();
-					}
-				}, grafica.panels.DialogHelper.DialogStyle.DADO());
+			// Aggiorna UI
+			stato.getOsservatore().aggiornaInterfaccia();
+		});
 	}
 
 	/**
@@ -883,7 +935,9 @@ public class EsecutoreEffetti {
 			return; // Effetto non rilevante per Horcrux
 		}
 
-		System.out.println("Risultato dado per Horcrux: " + risultatoDado);
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Risultato dado per Horcrux: " + risultatoDado);
+		}
 
 		// Applica a tutti gli Horcrux attivi
 		List<Horcrux> horcruxDaDistruggere = new ArrayList<>();
@@ -892,27 +946,35 @@ public class EsecutoreEffetti {
 			boolean segnalinoAssegnato = horcrux.applicaRisultatoDado(risultatoDado);
 
 			if (segnalinoAssegnato) {
-				System.out.println("Segnalino " + risultatoDado + horcrux.getNome());
-				GameController.getInstance().getGameUI().getMessagePanel().mostraMessaggio("Segnalino " + risultatoDado + horcrux.getNome(), MessagePanel.TipoMessaggio.HORCRUX);
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Segnalino " + risultatoDado + horcrux.getNome());
+				}
+				stato.getOsservatore().notifica("Segnalino " + risultatoDado + horcrux.getNome(), TipoNotifica.HORCRUX);
 			}
 
 			if (horcrux.horcruxDistrutto()) {
-				System.out.println("HORCRUX DISTRUTTO: " + horcrux.getNome());
-				GameController.getInstance().getGameUI().getMessagePanel().mostraMessaggio("HORCRUX DISTRUTTO: " + horcrux.getNome(), MessagePanel.TipoMessaggio.HORCRUX);
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("HORCRUX DISTRUTTO: " + horcrux.getNome());
+				}
+				stato.getOsservatore().notifica("HORCRUX DISTRUTTO: " + horcrux.getNome(), TipoNotifica.HORCRUX);
 				horcruxDaDistruggere.add(horcrux);
 			}
 		}
 
 		// Distruggi Horcrux completati
 		for (Horcrux h : horcruxDaDistruggere) {
-			// Rimuovi
-			GameController.getInstance().distruggiHorcrux(h);
+			// Rimuovi e applica la ricompensa
+			stato.distruggiHorcrux(h);
 
 			// Messaggio
-			if (GameController.getInstance() != null) {
-				GameController.getInstance().getGameUI().getMessagePanel()
-						.mostraMessaggio(h.getNome() + " DISTRUTTO!", MessagePanel.TipoMessaggio.MALVAGIO);
+			stato.getOsservatore().notifica(h.getNome() + " DISTRUTTO!", TipoNotifica.MALVAGIO);
+		}
+
+		if (!horcruxDaDistruggere.isEmpty()) {
+			if (stato.isVittoriaPendente()) {
+				stato.getOsservatore().notifica("TUTTI GLI HORCRUX DISTRUTTI!", TipoNotifica.INFO);
 			}
+			stato.getOsservatore().aggiornaInterfaccia();
 		}
 	}
 
@@ -942,12 +1004,13 @@ public class EsecutoreEffetti {
 
 	
 
-	private static void mettiCartaInCimaMazzo(Effetto effetto, StatoDiGioco stato, Giocatore giocatore,
-			Class<? extends Carta> tipo) {
-		System.out.println("Le prossime carte " + tipo.getSimpleName() + " andranno in cima al mazzo");
+	private static void mettiCartaInCimaMazzo(Class<? extends Carta> tipo) {
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Le prossime carte " + tipo.getSimpleName() + " andranno in cima al mazzo");
+		}
 	}
 
-	private static void cercaCartaNellaDiscardPile(Effetto effetto, StatoDiGioco stato, Giocatore giocatore,
+	private static void cercaCartaNellaDiscardPile(StatoDiGioco stato, Giocatore giocatore,
 			Class<? extends Carta> tipo) {
 		List<Carta> carteTrovate = new ArrayList<>();
 		for (Carta c : giocatore.getScarti().getCarte()) {
@@ -957,24 +1020,25 @@ public class EsecutoreEffetti {
 		}
 
 		if (carteTrovate.isEmpty()) {
-			System.out.println("Nessuna carta " + tipo.getSimpleName() + " nello scarto");
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Nessuna carta " + tipo.getSimpleName() + " nello scarto");
+			}
 			return;
 		}
 
-		Carta scelta = InputController.scegliCartaConContesto(carteTrovate, giocatore.getEroe().getNome(),
-				"Cerca nello Scarto", "Prendi una carta " + tipo.getSimpleName() + " in mano", null 
-		);
+		Carta scelta = stato.getDecisore().scegliCarta(giocatore, carteTrovate,
+				"Cerca nello Scarto", "Prendi una carta " + tipo.getSimpleName() + " in mano", null);
 
 		if (scelta != null) {
 			giocatore.getScarti().getCarte().remove(scelta);
 			giocatore.getMano().add(scelta);
-			System.out.println(giocatore.getEroe().getNome() + " recupera " + scelta.getNome());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info(giocatore.getEroe().getNome() + " recupera " + scelta.getNome());
+			}
 		}
 	}
 
-	private static void cercaCartaNelMazzo(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		int valoreMax = effetto.getQtaTarget() != null ? effetto.getQtaTarget() : 99;
-
+	private static void cercaCartaNelMazzo(int valoreMax, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
 		List<Carta> carteIdonee = new ArrayList<>();
 		for (Carta c : giocatore.getMazzo().getCarte()) {
 			if (c.getCosto() <= valoreMax) {
@@ -983,59 +1047,61 @@ public class EsecutoreEffetti {
 		}
 
 		if (carteIdonee.isEmpty()) {
-			System.out.println("Nessuna carta con valore " + valoreMax);
-			Collections.shuffle(giocatore.getMazzo().getCarte());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Nessuna carta con valore " + valoreMax);
+			}
+			giocatore.getMazzo().mescola(stato.getGeneratore());
 			return;
 		}
 
-		Carta scelta = InputController.scegliCartaConContesto(carteIdonee, giocatore.getEroe().getNome(),
-				"Cerca nel Mazzo", "Trova una carta con costo ≤ " + valoreMax, attivante.getNome()
-		);
+		Carta scelta = stato.getDecisore().scegliCarta(giocatore, carteIdonee,
+				"Cerca nel Mazzo", "Trova una carta con costo ≤ " + valoreMax, attivante.getNome());
 
 		if (scelta != null) {
 			giocatore.getMazzo().getCarte().remove(scelta);
 			giocatore.getMano().add(scelta);
-			System.out.println(giocatore.getEroe().getNome() + " trova " + scelta.getNome());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info(giocatore.getEroe().getNome() + " trova " + scelta.getNome());
+			}
 		}
 
-		Collections.shuffle(giocatore.getMazzo().getCarte());
+		giocatore.getMazzo().mescola(stato.getGeneratore());
 	}
 
-	private static void rivelaCarta(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
+	private static void rivelaCarta(int valoreMinimo, Effetto ripetuto, StatoDiGioco stato, Giocatore giocatore,
+			Carta attivante) {
 		if (giocatore.getMazzo().isEmpty()) {
-			System.out.println("Mazzo vuoto, rimescolo scarti...");
+			RegistroPartita.info("Mazzo vuoto, rimescolo scarti...");
 
-			if (!giocatore.getScarti().getCarte().isEmpty()) {
-				giocatore.getMazzo().getCarte().addAll(giocatore.getScarti().getCarte());
-				giocatore.getScarti().getCarte().clear();
-				Collections.shuffle(giocatore.getMazzo().getCarte());
+			if (!giocatore.getScarti().isEmpty()) {
+				giocatore.getMazzo().ricicla(giocatore.getScarti(), stato.getGeneratore());
 			} else {
 				return;
 			}
 		}
 
 		Carta primaCarta = giocatore.getMazzo().get(0);
-		System.out.println("Carta rivelata: " + primaCarta.getNome());
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Carta rivelata: " + primaCarta.getNome());
+		}
 
-		int valoreMinimo = effetto.getQtaTarget() != null ? effetto.getQtaTarget() : 0;
 		if (primaCarta.getCosto() > valoreMinimo) {
 			giocatore.getMazzo().pescaCarta();
 			giocatore.getScarti().aggiungiCarta(primaCarta);
 
-			if (effetto.getRipetuto() != null) {
-				eseguiEffetto(effetto.getRipetuto(), stato, giocatore, attivante);
+			if (ripetuto != null) {
+				eseguiEffetto(ripetuto, stato, giocatore, attivante);
 			}
 		}
 	}
 
-	private static void rivelaEventoArtOscure(Effetto effetto, StatoDiGioco stato, Giocatore giocatore,
-			Carta attivante) {
-		int numEventi = effetto.getQta() != null ? effetto.getQta() : 1;
-
+	private static void rivelaEventoArtOscure(int numEventi, StatoDiGioco stato, Giocatore giocatore) {
 		for (int i = 0; i < numEventi; i++) {
 			ArteOscura evento = stato.pescaArteOscura();
 			if (evento != null) {
-				System.out.println("Arti Oscure: " + evento.getNome());
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("Arti Oscure: " + evento.getNome());
+				}
 				evento.applicaEffetto(stato, giocatore);
 			}
 			if (evento.getNome().contains("Morsmordre")) {
@@ -1044,43 +1110,42 @@ public class EsecutoreEffetti {
 		}
 	}
 
-	private static void guardaCartaCima(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
+	private static void guardaCartaCima(StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
 		if (giocatore.getMazzo().isEmpty()) {
-			System.out.println("Mazzo vuoto");
+			RegistroPartita.info("Mazzo vuoto");
 			return;
 		}
 
 		Carta primaCarta = giocatore.getMazzo().get(0);
 		if (primaCarta != null) {
-			InputController.mostraMessaggioConContesto(giocatore.getEroe().getNome(), "Carta Rivelata", attivante.getNome(),
+			stato.getOsservatore().mostraInformazione(giocatore.getEroe().getNome(), "Carta Rivelata", attivante.getNome(),
 					"Carta in cima al mazzo: " + primaCarta.getNome(), "Questa carta verrà pescata nel prossimo turno");
 		}
 	}
 
-	private static void scartaCartaCima(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
+	private static void scartaCartaCima(Giocatore giocatore) {
 		Carta primaCarta = giocatore.getMazzo().pescaCarta();
 		if (primaCarta != null) {
 			giocatore.getScarti().aggiungiCarta(primaCarta);
-			System.out.println("Scartata: " + primaCarta.getNome());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Scartata: " + primaCarta.getNome());
+			}
 		}
 	}
 
-	private static void copiaEffetto(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		System.out.println("Copia effetto alleato...");
-	}
-
-	private static void scartaInfluenza(Effetto effetto, StatoDiGioco stato, Giocatore giocatore, Carta attivante) {
-		int qtaDaScartare = effetto.getQta() != null ? effetto.getQta() : 0;
-
+	private static void scartaInfluenza(int qtaDaScartare, Effetto ripetuto, StatoDiGioco stato, Giocatore giocatore,
+			Carta attivante) {
 		if (giocatore.getGettone() >= qtaDaScartare) {
 			giocatore.setGettone(giocatore.getGettone() - qtaDaScartare);
-			System.out.println("Scartati " + qtaDaScartare + " influenza");
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Scartati " + qtaDaScartare + " influenza");
+			}
 
-			if (effetto.getRipetuto() != null) {
-				eseguiEffetto(effetto.getRipetuto(), stato, giocatore, attivante);
+			if (ripetuto != null) {
+				eseguiEffetto(ripetuto, stato, giocatore, attivante);
 			}
 		} else {
-			System.out.println("Influenza insufficiente");
+			RegistroPartita.info("Influenza insufficiente");
 		}
 	}
 
@@ -1094,7 +1159,9 @@ public class EsecutoreEffetti {
 			}
 		}
 
-		System.out.println("Alleati in mano: " + contatore);
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Alleati in mano: " + contatore);
+		}
 
 		if (contatore > 0 && effetto.getOpzioni() != null) {
 			int indiceOpzione = Math.min(contatore - 1, effetto.getOpzioni().size() - 1);
@@ -1103,54 +1170,64 @@ public class EsecutoreEffetti {
 		}
 	}
 
-	private static List<Giocatore> determinaBersagli(Effetto effetto, StatoDiGioco stato, Giocatore attivo,
-			Carta attivante) {
-		List<Giocatore> bersagli = new ArrayList<>();
-
-		if (effetto.getTarget() == null) {
-			effetto.setTarget(BersaglioEffetto.EROE_ATTIVO);
-		}
+	/**
+	 * Bersagli dell'effetto come maschera di bit sugli indici di
+	 * stato.getGiocatori() (bit i = giocatore i). Ogni eroe compare al più una
+	 * volta, anche se per EROE_SCELTO viene scelto più volte
+	 */
+	private static int determinaBersagli(BersaglioEffetto target, int qtaTarget, StatoDiGioco stato,
+			Giocatore attivo, Carta attivante) {
+		List<Giocatore> giocatori = stato.getGiocatori();
+		int corrente = 1 << stato.getGiocatoreCorrente();
 
-		switch (effetto.getTarget()) {
+		switch (target) {
 		case EROE_ATTIVO:
 		case SE_STESSO:
-			bersagli.add(stato.getGiocatori().get(stato.getGiocatoreCorrente()));
-			break;
+			return corrente;
 
 		case TUTTI_GLI_EROI:
-			bersagli.addAll(stato.getGiocatori());
-			break;
+			return tutti(giocatori);
 
 		case EROI_NON_ATTIVI:
-			for (Giocatore g : stato.getGiocatori()) {
-				if (g != stato.getGiocatori().get(stato.getGiocatoreCorrente())) {
-					bersagli.add(g);
-				}
-			}
-			break;
+			return tutti(giocatori) & ~corrente;
 
 		case EROE_ATTIVANTE:
-			bersagli.add(attivo);
-			break;
+			int indiceAttivo = indiceGiocatore(giocatori, attivo);
+			return indiceAttivo >= 0 ? 1 << indiceAttivo : 0;
 
 		case EROE_SCELTO:
-			for (int i = 0; i < effetto.getQtaTarget(); i++) {
-				int indice = InputController.scegliGiocatoreConContesto(stato.getGiocatori(),
-						attivo.getEroe().getNome(), "Scegli Bersaglio", attivante.getNome(),
-						attivante.getDescrizione());
-				if (indice >= 0 && indice < stato.getGiocatori().size()) {
-					bersagli.add(stato.getGiocatori().get(indice));
+			int bersagli = 0;
+			for (int i = 0; i < qtaTarget; i++) {
+				int indice = stato.getDecisore().scegliGiocatore(attivo, giocatori,
+						"Scegli Bersaglio", attivante.getNome(), attivante.getDescrizione());
+				if (indice >= 0 && indice < giocatori.size()) {
+					bersagli |= 1 << indice;
 				} else {
-					bersagli.add(stato.getGiocatori().get(stato.getGiocatoreCorrente()));
+					bersagli |= corrente;
 				}
 			}
-			break;
+			return bersagli;
 
 		default:
-			bersagli.add(stato.getGiocatori().get(stato.getGiocatoreCorrente()));
+			return corrente;
 		}
+	}
+
+	private static int tutti(List<Giocatore> giocatori) {
+		return (1 << giocatori.size()) - 1;
+	}
+
+	private static String idCarta(Carta carta) {
+		return carta != null ? carta.getId() : null;
+	}
 
-		return bersagli;
+	private static int indiceGiocatore(List<Giocatore> giocatori, Giocatore giocatore) {
+		for (int i = 0; i < giocatori.size(); i++) {
+			if (giocatori.get(i) == giocatore) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 }
\ No newline at end of file
@@ -1,39 +1,134 @@
 package gestoreEffetti;
 
-import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import carte.Carta;
 
+/**
+ * Registro delle regole attive (effetti TEMPORANEO e CONTINUO), indicizzato
+ * per ordinale di TipoEffetto.
+ *
+ * - per ogni tipo un contatore delle carte che lo tengono attivo; una carta
+ *   conta una volta sola per tipo, anche se registrata più volte;
+ * - regolaAttiva legge un bit di una maschera;
+ * - gli effetti temporanei scadono a fine turno incrementando l'epoca, senza
+ *   scorrere le carte;
+ * - rimuovere una carta costa quanto i tipi che ha registrato.
+ */
 public class GestoreEffetti {
-	private final Map<TipoEffetto, Set<Carta>> effettiAttivi = new EnumMap<>(TipoEffetto.class);
-	private final Set<Carta> carteTemporanee = new HashSet<>();
-	
+	private static final int NUMERO_TIPI = TipoEffetto.values().length;
+
+	static {
+		if (NUMERO_TIPI > Long.SIZE) {
+			throw new IllegalStateException("Troppi tipi di effetto per una maschera long: " + NUMERO_TIPI);
+		}
+	}
+
+	// Carte che tengono attivo ogni tipo in modo continuo
+	private final int[] permanenti = new int[NUMERO_TIPI];
+	// Carte che tengono attivo ogni tipo per il turno; valide solo se epocaTemporanei[t] == epoca
+	private final int[] temporanei = new int[NUMERO_TIPI];
+	private final int[] epocaTemporanei = new int[NUMERO_TIPI];
+	private final Map<Carta, Registrazione> perCarta = new HashMap<>();
+
+	// Bit i acceso se il tipo con ordinale i ha almeno una carta continua
+	private long mascheraPermanenti;
+	// Tipi con almeno una carta temporanea nell'epoca corrente
+	private long mascheraTemporanei;
+	private int epoca;
+
 	public void aggiungiEffetto(TipoEffetto effetto, Carta carta) {
-		this.effettiAttivi.computeIfAbsent(effetto, _ -> new HashSet<>()).add(carta);
+		Registrazione registrazione = registrazione(carta);
+		long bit = bit(effetto);
+		if ((registrazione.tipiPermanenti & bit) != 0) {
+			return;
+		}
+
+		registrazione.tipiPermanenti |= bit;
+		permanenti[effetto.ordinal()]++;
+		mascheraPermanenti |= bit;
 	}
-	
+
 	public void aggiungiEffettoTemporaneo(TipoEffetto effetto, Carta carta) {
-		this.aggiungiEffetto(effetto, carta);
-		this.carteTemporanee.add(carta);
+		Registrazione registrazione = registrazione(carta);
+		if (registrazione.epoca != epoca) {
+			registrazione.tipiTemporanei = 0;
+			registrazione.epoca = epoca;
+		}
+		long bit = bit(effetto);
+		if ((registrazione.tipiTemporanei & bit) != 0) {
+			return;
+		}
+
+		int ordinale = effetto.ordinal();
+		if (epocaTemporanei[ordinale] != epoca) {
+			temporanei[ordinale] = 0;
+			epocaTemporanei[ordinale] = epoca;
+		}
+		registrazione.tipiTemporanei |= bit;
+		temporanei[ordinale]++;
+		mascheraTemporanei |= bit;
 	}
-	
+
+	/**
+	 * Rimuove tutte le regole, continue e temporanee, tenute attive dalla carta
+	 */
 	public void rimuoviEffetto(Carta carta) {
-		for(Set<Carta> carte : this.effettiAttivi.values()) {
-			carte.remove(carta);
+		Registrazione registrazione = perCarta.remove(carta);
+		if (registrazione == null) {
+			return;
+		}
+
+		for (long tipi = registrazione.tipiPermanenti; tipi != 0; tipi &= tipi - 1) {
+			int ordinale = Long.numberOfTrailingZeros(tipi);
+			if (--permanenti[ordinale] == 0) {
+				mascheraPermanenti &= ~(1L << ordinale);
+			}
+		}
+
+		if (registrazione.epoca == epoca) {
+			for (long tipi = registrazione.tipiTemporanei; tipi != 0; tipi &= tipi - 1) {
+				int ordinale = Long.numberOfTrailingZeros(tipi);
+				if (--temporanei[ordinale] == 0) {
+					mascheraTemporanei &= ~(1L << ordinale);
+				}
+			}
 		}
 	}
-	
+
+	/**
+	 * Fa scadere gli effetti temporanei: cambia epoca, i contatori vecchi
+	 * vengono ignorati e azzerati al prossimo uso
+	 */
 	public void fineTurno() {
-		for(Carta cartaTemporanea : carteTemporanee) {
-			this.rimuoviEffetto(cartaTemporanea);
+		epoca++;
+		mascheraTemporanei = 0;
+	}
+
+	public boolean regolaAttiva(TipoEffetto effetto) {
+		return ((mascheraPermanenti | mascheraTemporanei) & bit(effetto)) != 0;
+	}
+
+	private Registrazione registrazione(Carta carta) {
+		Registrazione registrazione = perCarta.get(carta);
+		if (registrazione == null) {
+			registrazione = new Registrazione();
+			registrazione.epoca = epoca;
+			perCarta.put(carta, registrazione);
 		}
-		
-		this.carteTemporanee.clear();
+		return registrazione;
 	}
-	
-	public Boolean regolaAttiva(TipoEffetto effetto) {
-		return this.effettiAttivi.containsKey(effetto) && !this.effettiAttivi.get(effetto).isEmpty();
+
+	private static long bit(TipoEffetto effetto) {
+		return 1L << effetto.ordinal();
+	}
+
+	/**
+	 * Tipi registrati da una carta
+	 */
+	private static final class Registrazione {
+		private long tipiPermanenti;
+		private long tipiTemporanei; // Validi solo se epoca è quella corrente
+		private int epoca;
 	}
 }
@@ -1,81 +1,371 @@
 package gestoreEffetti;
 
-import java.util.ArrayList;
-import java.util.EnumMap;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import carte.Carta;
 import carte.Malvagio;
 import gioco.Giocatore;
+import gioco.LivelloLog;
+import gioco.RegistroPartita;
 import gioco.StatoDiGioco;
 
+/**
+ * Registro dei trigger attivi, indicizzato per tipo e per carta sorgente.
+ *
+ * - registrazione e rimozione di una carta costano O(1) (una mappa per tipo
+ *   più l'indice inverso carta -> tipi registrati);
+ * - hasTrigger legge un bit di una maschera;
+ * - i trigger temporanei scadono a fine turno incrementando l'epoca, senza
+ *   scorrere le liste;
+ * - attivaTrigger scorre un'istantanea dei trigger del tipo, quindi gli
+ *   effetti possono registrare o rimuovere trigger mentre vengono eseguiti.
+ *
+ * Le attivazioni non sono ricorsive: attivaTrigger mette il tipo in coda e,
+ * se nessuna cascata è in corso, la risolve subito. Le attivazioni generate
+ * dagli effetti di un trigger vanno in fondo alla coda (ordine FIFO, in
+ * ampiezza), con profondità pari a quella del trigger che le ha generate più
+ * uno. In una risoluzione:
+ * - ogni trigger si attiva al massimo una volta per giocatore (un ciclo,
+ *   es. "guadagni vita -> guadagna vita", si ferma alla seconda volta);
+ * - le attivazioni oltre PROFONDITA_MASSIMA o ATTIVAZIONI_MASSIME vengono
+ *   scartate con un avviso nel RegistroPartita.
+ * Alla fine della risoluzione l'interfaccia riceve un solo aggiornamento.
+ */
 public class GestoreTrigger {
-	private final Map<TipoTrigger, List<TriggerAttivato>> registro = new EnumMap<>(TipoTrigger.class);
-	
+	private static final int PROFONDITA_MASSIMA = 16;
+	private static final int ATTIVAZIONI_MASSIME = 256;
+	private static final int NUMERO_TIPI = TipoTrigger.values().length;
+
+	static {
+		if (NUMERO_TIPI > Long.SIZE) {
+			throw new IllegalStateException("Troppi tipi di trigger per una maschera long: " + NUMERO_TIPI);
+		}
+	}
+
+	private final TriggerPerTipo[] perTipo = new TriggerPerTipo[NUMERO_TIPI];
+	private final Map<Carta, Set<TipoTrigger>> tipiPerSorgente = new HashMap<>();
+
+	// Bit i acceso se il tipo con ordinale i ha almeno un trigger valido
+	private long maschera;
+	// Tipi con almeno un trigger temporaneo nell'epoca corrente
+	private long mascheraTemporanei;
+	private int epoca;
+
+	// Coda delle attivazioni della risoluzione in corso
+	private final ArrayDeque<Attivazione> coda = new ArrayDeque<>();
+	// Attivazioni già risolte, riusate invece di allocarne di nuove
+	private final ArrayDeque<Attivazione> libere = new ArrayDeque<>();
+	private boolean inRisoluzione;
+	private int risoluzione;
+	private int profonditaCorrente;
+	private int attivazioniRisoluzione;
+
+	// Statistiche sulle cascate, per misurarne il costo
+	private long attivazioniTotali;
+	private long cicliInterrotti;
+	private long attivazioniScartate;
+	private int profonditaMassimaRaggiunta;
+
 	/**
 	 * Registra un trigger SOLO se non è già registrato per questa carta
-	 * ⭐ FIX: Previene registrazioni duplicate
 	 */
 	public void registraTrigger(TipoTrigger tipo, List<Effetto> effetti, Carta sorgente, DurataEffetto durata) {
-		// Controlla se il trigger è già registrato per questa carta
-		List<TriggerAttivato> triggerEsistenti = registro.get(tipo);
-		
-		if (triggerEsistenti != null) {
-			for (TriggerAttivato esistente : triggerEsistenti) {
-				// Se è già registrato per questa carta specifica, non aggiungere
-				if (esistente.getSorgente() == sorgente) {
-					System.out.println("Trigger " + tipo + " già registrato per " + sorgente.getNome() + " - SALTATO");
-					return;
-				}
+		TriggerPerTipo triggers = perTipo[tipo.ordinal()];
+		if (triggers == null) {
+			triggers = new TriggerPerTipo(tipo);
+			perTipo[tipo.ordinal()] = triggers;
+		}
+
+		// Già registrato per questa carta: si tiene il primo, a meno che sia scaduto
+		TriggerAttivato esistente = triggers.perSorgente.get(sorgente);
+		if (esistente != null) {
+			if (valido(esistente)) {
+				return;
 			}
+			rimuovi(triggers, sorgente);
 		}
-		
-		// Se non è duplicato, registra
-		TriggerAttivato attivato = new TriggerAttivato(sorgente, effetti, durata);
-		this.registro.computeIfAbsent(tipo, _ -> new ArrayList<>()).add(attivato);
-		System.out.println("Trigger " + tipo + " registrato per " + sorgente.getNome());
+
+		int epocaTrigger = durata == DurataEffetto.TEMPORANEO ? epoca : -1;
+		triggers.perSorgente.put(sorgente, new TriggerAttivato(sorgente, effetti, durata, epocaTrigger));
+		triggers.istantanea = null;
+		if (epocaTrigger >= 0) {
+			triggers.temporanei++;
+			mascheraTemporanei |= bit(tipo);
+		} else {
+			triggers.permanenti++;
+		}
+		maschera |= bit(tipo);
+
+		tipiPerSorgente.computeIfAbsent(sorgente, _ -> EnumSet.noneOf(TipoTrigger.class)).add(tipo);
 	}
-	
+
 	/**
 	 * Verifica se esiste un trigger di un certo tipo
 	 */
 	public boolean hasTrigger(TipoTrigger tipo) {
-	    List<TriggerAttivato> triggers = registro.get(tipo);
-	    return triggers != null && !triggers.isEmpty();
+	    return (maschera & bit(tipo)) != 0;
 	}
-	
+
 	public void rimuoviTrigger(Carta sorgente) {
-		for(List<TriggerAttivato> lista : registro.values()) {
-			lista.removeIf(attivato -> attivato.getSorgente().equals(sorgente));
+		Set<TipoTrigger> tipi = tipiPerSorgente.remove(sorgente);
+		if (tipi == null) {
+			return;
+		}
+		for (TipoTrigger tipo : tipi) {
+			TriggerPerTipo triggers = perTipo[tipo.ordinal()];
+			rimuovi(triggers, sorgente);
+			aggiornaMaschera(tipo, triggers);
 		}
 	}
-	
+
+	/**
+	 * Fa scadere tutti i trigger temporanei. Restano nelle mappe finché non
+	 * vengono sostituiti o tolti alla prossima istantanea, ma non sono più validi
+	 */
 	public void rimuoviTriggerFineTurno() {
-		for(List<TriggerAttivato> lista : registro.values()) {
-			lista.removeIf(attivato -> attivato.getDurata() == DurataEffetto.TEMPORANEO);
+		epoca++;
+
+		long tipi = mascheraTemporanei;
+		while (tipi != 0) {
+			int ordinale = Long.numberOfTrailingZeros(tipi);
+			tipi &= tipi - 1;
+
+			TriggerPerTipo triggers = perTipo[ordinale];
+			triggers.temporanei = 0;
+			triggers.istantanea = null;
+			if (triggers.permanenti == 0) {
+				maschera &= ~(1L << ordinale);
+			}
 		}
+		mascheraTemporanei = 0;
 	}
-	
+
+	/**
+	 * Attiva i trigger del tipo per il giocatore. Se una risoluzione è già in
+	 * corso l'attivazione viene accodata, altrimenti la coda viene risolta subito
+	 */
 	public void attivaTrigger(TipoTrigger tipo, StatoDiGioco stato, Giocatore giocatore) {
-		if(!(registro.containsKey(tipo))) {
+		if (!hasTrigger(tipo)) {
 			return;
 		}
-		
-		List<TriggerAttivato> triggerDaAttivare = registro.get(tipo);
-		
-		for(TriggerAttivato attivato : triggerDaAttivare) {
-			if(attivato.getSorgente() instanceof Malvagio) {
-				if(!((Malvagio)attivato.getSorgente()).getBloccoAbilita()) {
-					for(Effetto effetto : attivato.getEffetti()) {
-						EsecutoreEffetti.eseguiEffetto(effetto, stato, giocatore, attivato.getSorgente());
+
+		int profondita = inRisoluzione ? profonditaCorrente + 1 : 0;
+		if (profondita > PROFONDITA_MASSIMA) {
+			attivazioniScartate++;
+			if (RegistroPartita.attivo(LivelloLog.AVVISO)) {
+				RegistroPartita.avviso("Cascata di trigger oltre la profondità " + PROFONDITA_MASSIMA + ": " + tipo + " ignorato");
+			}
+			return;
+		}
+
+		Attivazione attivazione = libere.poll();
+		if (attivazione == null) {
+			attivazione = new Attivazione();
+		}
+		attivazione.imposta(tipo, giocatore, profondita);
+		coda.add(attivazione);
+		if (!inRisoluzione) {
+			risolviCoda(stato);
+		}
+	}
+
+	private void risolviCoda(StatoDiGioco stato) {
+		inRisoluzione = true;
+		risoluzione++;
+		attivazioniRisoluzione = 0;
+		boolean eseguiti = false;
+		Attivazione attivazione;
+
+		try {
+			while ((attivazione = coda.poll()) != null) {
+				if (++attivazioniRisoluzione > ATTIVAZIONI_MASSIME) {
+					attivazioniScartate += coda.size() + 1;
+					if (RegistroPartita.attivo(LivelloLog.AVVISO)) {
+						RegistroPartita.avviso("Cascata di trigger oltre " + ATTIVAZIONI_MASSIME + " attivazioni: interrotta");
 					}
+					break;
 				}
+
+				profonditaCorrente = attivazione.profondita;
+				profonditaMassimaRaggiunta = Math.max(profonditaMassimaRaggiunta, attivazione.profondita);
+				eseguiti |= esegui(attivazione, stato);
+				ricicla(attivazione);
+			}
+		} finally {
+			while ((attivazione = coda.poll()) != null) {
+				ricicla(attivazione);
+			}
+			inRisoluzione = false;
+			profonditaCorrente = 0;
+		}
+
+		if (eseguiti) {
+			stato.getOsservatore().aggiornaInterfaccia();
+		}
+	}
+
+	private void ricicla(Attivazione attivazione) {
+		attivazione.imposta(null, null, 0);
+		libere.add(attivazione);
+	}
+
+	/**
+	 * Esegue i trigger di un'attivazione
+	 *
+	 * @return true se almeno un trigger ha eseguito i suoi effetti
+	 */
+	private boolean esegui(Attivazione attivazione, StatoDiGioco stato) {
+		TriggerPerTipo triggers = perTipo[attivazione.tipo.ordinal()];
+		if (triggers == null) {
+			return false;
+		}
+
+		Giocatore giocatore = attivazione.giocatore;
+		int bitGiocatore = bitGiocatore(stato, giocatore);
+		boolean eseguiti = false;
+
+		for (TriggerAttivato attivato : istantanea(triggers)) {
+			// Rimosso o scaduto da un effetto eseguito prima in questa risoluzione
+			if (attivato.isRimosso() || !valido(attivato)) {
+				continue;
 			}
-			else {
-				for(Effetto effetto : attivato.getEffetti()) {
-					EsecutoreEffetti.eseguiEffetto(effetto, stato, giocatore, attivato.getSorgente());
+			if (!attivato.segnaAttivazione(risoluzione, bitGiocatore)) {
+				cicliInterrotti++;
+				continue;
+			}
+
+			if(attivato.getSorgente() instanceof Malvagio) {
+				if(((Malvagio)attivato.getSorgente()).getBloccoAbilita()) {
+					continue;
 				}
 			}
+
+			attivazioniTotali++;
+			eseguiti = true;
+			List<Effetto> effetti = attivato.getEffetti();
+			for(int i = 0; i < effetti.size(); i++) {
+				EsecutoreEffetti.eseguiEffetto(effetti.get(i), stato, giocatore, attivato.getSorgente());
+			}
+		}
+		return eseguiti;
+	}
+
+	private static int bitGiocatore(StatoDiGioco stato, Giocatore giocatore) {
+		int indice = giocatore != null ? stato.getGiocatori().indexOf(giocatore) : -1;
+		return indice >= 0 && indice < 31 ? 1 << indice : 1 << 31;
+	}
+
+	/**
+	 * Trigger eseguiti dall'inizio della partita
+	 */
+	public long getAttivazioniTotali() {
+		return attivazioniTotali;
+	}
+
+	/**
+	 * Attivazioni saltate perché lo stesso trigger era già scattato per lo
+	 * stesso giocatore nella stessa risoluzione
+	 */
+	public long getCicliInterrotti() {
+		return cicliInterrotti;
+	}
+
+	/**
+	 * Attivazioni scartate per i limiti di profondità o di lunghezza della cascata
+	 */
+	public long getAttivazioniScartate() {
+		return attivazioniScartate;
+	}
+
+	public int getProfonditaMassimaRaggiunta() {
+		return profonditaMassimaRaggiunta;
+	}
+
+	/**
+	 * Trigger del tipo in ordine di registrazione. L'array viene ricostruito
+	 * solo dopo una modifica, togliendo i temporanei scaduti
+	 */
+	private TriggerAttivato[] istantanea(TriggerPerTipo triggers) {
+		if (triggers.istantanea == null) {
+			triggers.perSorgente.values().removeIf(attivato -> {
+				if (valido(attivato)) {
+					return false;
+				}
+				attivato.setRimosso();
+				Set<TipoTrigger> tipi = tipiPerSorgente.get(attivato.getSorgente());
+				if (tipi != null) {
+					tipi.remove(triggers.tipo);
+					if (tipi.isEmpty()) {
+						tipiPerSorgente.remove(attivato.getSorgente());
+					}
+				}
+				return true;
+			});
+			triggers.istantanea = triggers.perSorgente.values().toArray(new TriggerAttivato[0]);
+		}
+		return triggers.istantanea;
+	}
+
+	private void rimuovi(TriggerPerTipo triggers, Carta sorgente) {
+		TriggerAttivato rimosso = triggers.perSorgente.remove(sorgente);
+		if (rimosso == null) {
+			return;
+		}
+		rimosso.setRimosso();
+		triggers.istantanea = null;
+		if (rimosso.getEpoca() < 0) {
+			triggers.permanenti--;
+		} else if (rimosso.getEpoca() == epoca) {
+			triggers.temporanei--;
+		}
+	}
+
+	private void aggiornaMaschera(TipoTrigger tipo, TriggerPerTipo triggers) {
+		if (triggers.permanenti + triggers.temporanei == 0) {
+			maschera &= ~bit(tipo);
+		}
+	}
+
+	private boolean valido(TriggerAttivato attivato) {
+		return attivato.getEpoca() < 0 || attivato.getEpoca() == epoca;
+	}
+
+	private static long bit(TipoTrigger tipo) {
+		return 1L << tipo.ordinal();
+	}
+
+	/**
+	 * Trigger registrati per un tipo, per carta sorgente in ordine di registrazione
+	 */
+	private static final class TriggerPerTipo {
+		private final TipoTrigger tipo;
+		private final Map<Carta, TriggerAttivato> perSorgente = new LinkedHashMap<>();
+		private TriggerAttivato[] istantanea;
+		private int permanenti;
+		private int temporanei; // Solo quelli dell'epoca corrente
+
+		private TriggerPerTipo(TipoTrigger tipo) {
+			this.tipo = tipo;
+		}
+	}
+
+	/**
+	 * Attivazione in coda
+	 */
+	private static final class Attivazione {
+		private TipoTrigger tipo;
+		private Giocatore giocatore;
+		private int profondita;
+
+		private void imposta(TipoTrigger tipo, Giocatore giocatore, int profondita) {
+			this.tipo = tipo;
+			this.giocatore = giocatore;
+			this.profondita = profondita;
 		}
 	}
 }
@@ -84,11 +374,17 @@ class TriggerAttivato {
 	private Carta sorgente;
 	private List<Effetto> effetti;
 	private DurataEffetto durata;
-	
-	public TriggerAttivato(Carta sorgente, List<Effetto> effetti, DurataEffetto durata) {
+	private final int epoca; // -1 se non temporaneo
+	private boolean rimosso;
+	// Giocatori (un bit per indice) per cui è scattato nella risoluzione indicata
+	private int risoluzione = -1;
+	private int giocatoriAttivati;
+
+	public TriggerAttivato(Carta sorgente, List<Effetto> effetti, DurataEffetto durata, int epoca) {
 		this.sorgente = sorgente;
 		this.effetti = effetti;
 		this.durata = durata;
+		this.epoca = epoca;
 	}
 
 	public Carta getSorgente() {
@@ -98,8 +394,37 @@ class TriggerAttivato {
 	public List<Effetto> getEffetti() {
 		return effetti;
 	}
-	
+
 	public DurataEffetto getDurata() {
 		return durata;
 	}
+
+	public int getEpoca() {
+		return epoca;
+	}
+
+	public boolean isRimosso() {
+		return rimosso;
+	}
+
+	public void setRimosso() {
+		this.rimosso = true;
+	}
+
+	/**
+	 * Segna l'attivazione per il giocatore nella risoluzione
+	 *
+	 * @return false se era già scattato per quel giocatore in questa risoluzione
+	 */
+	public boolean segnaAttivazione(int risoluzione, int bitGiocatore) {
+		if (this.risoluzione != risoluzione) {
+			this.risoluzione = risoluzione;
+			this.giocatoriAttivati = 0;
+		}
+		if ((giocatoriAttivati & bitGiocatore) != 0) {
+			return false;
+		}
+		giocatoriAttivati |= bitGiocatore;
+		return true;
+	}
 }
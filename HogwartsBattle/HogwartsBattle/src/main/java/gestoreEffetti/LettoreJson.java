@@ -0,0 +1,201 @@
+package gestoreEffetti;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.Strictness;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * LettoreJson - Parti comuni dei TypeAdapter dei cataloghi (DefinizioneCarta,
+ * Effetto, Trigger, Dado, Anno), che leggono i campi direttamente dal
+ * JsonReader invece di passare dalla riflessione di Gson.
+ *
+ * Come faceva Gson i file sono letti in modo permissivo (alcuni hanno nomi o
+ * valori senza virgolette) e le chiavi sconosciute vengono saltate; un valore
+ * di enum sconosciuto resta null, ma viene segnalato con riga, colonna e
+ * percorso. Gli errori di sintassi e di tipo (es. un testo dove serve un
+ * numero) fermano la lettura, sempre con la posizione nel file.
+ */
+public final class LettoreJson {
+
+	private LettoreJson() {
+	}
+
+	/**
+	 * TypeAdapter di sola lettura: il JSON null diventa null, il resto lo
+	 * legge leggiOggetto. I cataloghi non vengono mai riscritti
+	 */
+	public abstract static class Adattatore<T> extends TypeAdapter<T> {
+
+		protected abstract T leggiOggetto(JsonReader in) throws IOException;
+
+		@Override
+		public final T read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			return leggiOggetto(in);
+		}
+
+		@Override
+		public final void write(JsonWriter out, T valore) {
+			throw new UnsupportedOperationException("I cataloghi JSON sono di sola lettura");
+		}
+	}
+
+	/**
+	 * Legge un intero documento con l'adattatore indicato
+	 */
+	public static <T> T leggi(Reader reader, TypeAdapter<T> adattatore) throws IOException {
+		JsonReader in = apri(reader);
+		T letto = adattatore.read(in);
+		fine(in);
+		return letto;
+	}
+
+	/**
+	 * Legge un catalogo nella forma { "chiave": [ ... ], ... }, es. {"gioco1": [...]}
+	 *
+	 * @return Chiave -> elementi, nell'ordine del file
+	 */
+	public static <T> Map<String, List<T>> leggiCatalogo(Reader reader, TypeAdapter<T> adattatore) throws IOException {
+		JsonReader in = apri(reader);
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			fine(in);
+			return null;
+		}
+
+		Map<String, List<T>> catalogo = new LinkedHashMap<>();
+		in.beginObject();
+		while (in.hasNext()) {
+			catalogo.put(in.nextName(), leggiLista(in, adattatore));
+		}
+		in.endObject();
+		fine(in);
+		return catalogo;
+	}
+
+	/**
+	 * Tabella nome -> costante, fatta una volta per tipo di enum
+	 */
+	public static <E extends Enum<E>> Map<String, E> tabellaEnum(Class<E> tipo) {
+		Map<String, E> tabella = new HashMap<>();
+		for (E costante : tipo.getEnumConstants()) {
+			tabella.put(costante.name(), costante);
+		}
+		return Collections.unmodifiableMap(tabella);
+	}
+
+	public static <E> E leggiEnum(JsonReader in, Map<String, E> tabella, String nomeTipo) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		String nome = in.nextString();
+		E costante = tabella.get(nome);
+		if (costante == null) {
+			// Come con Gson il valore resta null, ma si vede dove sta
+			System.err.println("ATTENZIONE: " + nomeTipo + " sconosciuto \"" + nome + "\"" + posizione(in));
+		}
+		return costante;
+	}
+
+	public static String leggiStringa(JsonReader in) throws IOException {
+		switch (in.peek()) {
+		case NULL:
+			in.nextNull();
+			return null;
+		case BOOLEAN:
+			return Boolean.toString(in.nextBoolean());
+		default:
+			return in.nextString();
+		}
+	}
+
+	public static Integer leggiIntero(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		try {
+			return in.nextInt();
+		} catch (NumberFormatException e) {
+			throw new JsonParseException("Intero non valido" + posizione(in), e);
+		}
+	}
+
+	public static Boolean leggiBooleano(JsonReader in) throws IOException {
+		switch (in.peek()) {
+		case NULL:
+			in.nextNull();
+			return null;
+		case STRING:
+			return Boolean.parseBoolean(in.nextString());
+		default:
+			return in.nextBoolean();
+		}
+	}
+
+	public static <T> List<T> leggiLista(JsonReader in, TypeAdapter<T> adattatore) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		List<T> lista = new ArrayList<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			lista.add(adattatore.read(in));
+		}
+		in.endArray();
+		return lista;
+	}
+
+	public static List<String> leggiListaStringhe(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		List<String> lista = new ArrayList<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			lista.add(leggiStringa(in));
+		}
+		in.endArray();
+		return lista;
+	}
+
+	/**
+	 * Posizione del reader, es. " at line 12 column 5 path $.gioco1[3].costo",
+	 * da aggiungere ai messaggi d'errore
+	 */
+	public static String posizione(JsonReader in) {
+		String descrizione = in.toString();
+		int inizio = descrizione.indexOf(" at line ");
+		return inizio >= 0 ? descrizione.substring(inizio) : " (" + in.getPreviousPath() + ")";
+	}
+
+	private static JsonReader apri(Reader reader) {
+		JsonReader in = new JsonReader(reader);
+		in.setStrictness(Strictness.LENIENT);
+		return in;
+	}
+
+	private static void fine(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.END_DOCUMENT) {
+			throw new JsonParseException("Contenuto dopo la fine del documento" + posizione(in));
+		}
+	}
+}
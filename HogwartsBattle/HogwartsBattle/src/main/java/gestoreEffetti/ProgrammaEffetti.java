@@ -0,0 +1,78 @@
+package gestoreEffetti;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import carte.Carta;
+import gioco.Giocatore;
+import gioco.StatoDiGioco;
+
+/**
+ * ProgrammaEffetti - Effetti di una carta compilati al caricamento e già
+ * divisi per durata: azioni istantanee da eseguire, regole temporanee e
+ * regole continue da registrare nel GestoreEffetti.
+ *
+ * Gli istantanei vengono eseguiti prima di registrare le regole, come
+ * nell'ordine usato dai JSON (es. "perdi 2 vita, poi non puoi curarti").
+ * Gli effetti senza durata vengono ignorati, come prima della compilazione.
+ */
+public final class ProgrammaEffetti {
+
+	public static final ProgrammaEffetti VUOTO = new ProgrammaEffetti(new AzioneEffetto[0], new TipoEffetto[0],
+			new TipoEffetto[0]);
+
+	private final AzioneEffetto[] istantanei;
+	private final TipoEffetto[] temporanei;
+	private final TipoEffetto[] continui;
+
+	private ProgrammaEffetti(AzioneEffetto[] istantanei, TipoEffetto[] temporanei, TipoEffetto[] continui) {
+		this.istantanei = istantanei;
+		this.temporanei = temporanei;
+		this.continui = continui;
+	}
+
+	public static ProgrammaEffetti compila(List<Effetto> effetti) {
+		if (effetti == null || effetti.isEmpty()) {
+			return VUOTO;
+		}
+
+		List<AzioneEffetto> istantanei = new ArrayList<>();
+		List<TipoEffetto> temporanei = new ArrayList<>();
+		List<TipoEffetto> continui = new ArrayList<>();
+
+		for (Effetto effetto : effetti) {
+			if (effetto == null || effetto.getDurata() == null) {
+				continue;
+			}
+			switch (effetto.getDurata()) {
+			case ISTANTANEO:
+				istantanei.add(effetto.getAzione());
+				break;
+			case TEMPORANEO:
+				temporanei.add(effetto.getType());
+				break;
+			case CONTINUO:
+				continui.add(effetto.getType());
+				break;
+			}
+		}
+
+		return new ProgrammaEffetti(istantanei.toArray(new AzioneEffetto[0]),
+				temporanei.toArray(new TipoEffetto[0]), continui.toArray(new TipoEffetto[0]));
+	}
+
+	/**
+	 * Applica il programma per la carta giocata
+	 */
+	public void applica(StatoDiGioco stato, Giocatore attivo, Carta carta) {
+		for (AzioneEffetto azione : istantanei) {
+			azione.esegui(stato, attivo, carta);
+		}
+		for (TipoEffetto tipo : temporanei) {
+			stato.getGestoreEffetti().aggiungiEffettoTemporaneo(tipo, carta);
+		}
+		for (TipoEffetto tipo : continui) {
+			stato.getGestoreEffetti().aggiungiEffetto(tipo, carta);
+		}
+	}
+}
@@ -1,12 +1,20 @@
 package gestoreEffetti;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 
 /**
  * Trigger - Rappresenta un trigger che attiva effetti in risposta a eventi
  * VERSIONE CORRETTA per deserializzazione Gson
+ *
+ * Le definizioni sono condivise da tutte le carte e dai thread del
+ * simulatore: non hanno setter, i campi si scrivono solo nel costruttore e
+ * negli adattatori che leggono JSON e snapshot.
  */
 public class Trigger {
 	private TipoTrigger type;
@@ -17,9 +25,83 @@ public class Trigger {
 	@SerializedName(value = "qta-quorum", alternate = {"qtaQuorum"})
 	private Integer qtaQuorum;
 	
-	private Boolean attivato1Volta;
+	private Boolean attivato1Volta; // Solo dato del JSON: l'uso nel turno è in Eroe
 	private DurataEffetto durata;
 	
+	private static final Map<String, TipoTrigger> TIPI = LettoreJson.tabellaEnum(TipoTrigger.class);
+	private static final Map<String, BersaglioEffetto> BERSAGLI = LettoreJson.tabellaEnum(BersaglioEffetto.class);
+	private static final Map<String, DurataEffetto> DURATE = LettoreJson.tabellaEnum(DurataEffetto.class);
+
+	/**
+	 * Legge un trigger dal JSON campo per campo, con gli stessi nomi e
+	 * alternative delle annotazioni @SerializedName
+	 */
+	public static final TypeAdapter<Trigger> ADATTATORE_JSON = new LettoreJson.Adattatore<Trigger>() {
+		@Override
+		protected Trigger leggiOggetto(JsonReader in) throws IOException {
+			Trigger t = new Trigger();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "type":
+					t.type = LettoreJson.leggiEnum(in, TIPI, "TipoTrigger");
+					break;
+				case "effectToExecute":
+					t.effectToExecute = LettoreJson.leggiLista(in, Effetto.ADATTATORE_JSON);
+					break;
+				case "target":
+					t.target = LettoreJson.leggiEnum(in, BERSAGLI, "BersaglioEffetto");
+					break;
+				case "qta-quorum":
+				case "qtaQuorum":
+					t.qtaQuorum = LettoreJson.leggiIntero(in);
+					break;
+				case "attivato1Volta":
+					t.attivato1Volta = LettoreJson.leggiBooleano(in);
+					break;
+				case "durata":
+					t.durata = LettoreJson.leggiEnum(in, DURATE, "DurataEffetto");
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return t;
+		}
+	};
+	
+	private static final TipoTrigger[] VALORI_TIPO = TipoTrigger.values();
+	private static final BersaglioEffetto[] VALORI_BERSAGLIO = BersaglioEffetto.values();
+	private static final DurataEffetto[] VALORI_DURATA = DurataEffetto.values();
+
+	/**
+	 * Formato nello SnapshotCataloghi
+	 */
+	public static final CodificaBinaria.Formato<Trigger> FORMATO_BINARIO = new CodificaBinaria.Formato<Trigger>() {
+		@Override
+		public void scrivi(CodificaBinaria.Scrittore out, Trigger t) throws IOException {
+			out.scriviEnum(t.type);
+			out.scriviLista(t.effectToExecute, Effetto.FORMATO_BINARIO);
+			out.scriviEnum(t.target);
+			out.scriviIntero(t.qtaQuorum);
+			out.scriviBooleano(t.attivato1Volta);
+			out.scriviEnum(t.durata);
+		}
+
+		@Override
+		public Trigger leggi(CodificaBinaria.Lettore in) throws IOException {
+			Trigger t = new Trigger();
+			t.type = in.leggiEnum(VALORI_TIPO);
+			t.effectToExecute = in.leggiLista(Effetto.FORMATO_BINARIO);
+			t.target = in.leggiEnum(VALORI_BERSAGLIO);
+			t.qtaQuorum = in.leggiIntero();
+			t.attivato1Volta = in.leggiBooleano();
+			t.durata = in.leggiEnum(VALORI_DURATA);
+			return t;
+		}
+	};
+	
 	// ⭐ Costruttore vuoto necessario per Gson
 	public Trigger() {
 	}
@@ -42,10 +124,6 @@ public class Trigger {
 		return effectToExecute;
 	}
 
-	public void setEffectToExecute(List<Effetto> effectToExecute) {
-		this.effectToExecute = effectToExecute;
-	}
-
 	public BersaglioEffetto getTarget() {
 		return target;
 	}
@@ -58,27 +136,7 @@ public class Trigger {
 		return attivato1Volta;
 	}
 
-	public void setAttivato1Volta(Boolean attivato1Volta) {
-		this.attivato1Volta = attivato1Volta;
-	}
-
 	public DurataEffetto getDurata() {
 		return durata;
 	}
-	
-	public void setType(TipoTrigger type) {
-		this.type = type;
-	}
-	
-	public void setTarget(BersaglioEffetto target) {
-		this.target = target;
-	}
-	
-	public void setQtaQuorum(Integer qtaQuorum) {
-		this.qtaQuorum = qtaQuorum;
-	}
-	
-	public void setDurata(DurataEffetto durata) {
-		this.durata = durata;
-	}
 }
\ No newline at end of file
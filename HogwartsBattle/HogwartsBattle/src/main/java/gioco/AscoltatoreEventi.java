@@ -0,0 +1,11 @@
+package gioco;
+
+/**
+ * AscoltatoreEventi - Riceve gli eventi letti da una Sottoscrizione del
+ * BusEventi, sul thread che chiama leggi.
+ */
+@FunctionalInterface
+public interface AscoltatoreEventi {
+
+	void onEvento(EventoPartita evento);
+}
@@ -0,0 +1,18 @@
+package gioco;
+
+/**
+ * AscoltatoreFasi - Hook del TurnManager attorno a ogni fase del turno.
+ *
+ * primaDellaFase viene chiamato quando il turno entra in una fase (prima di
+ * eseguirla se è automatica), dopoLaFase quando il turno la lascia. Servono
+ * per log, statistiche o bot che vogliono osservare il turno senza toccare
+ * il TurnManager.
+ */
+public interface AscoltatoreFasi {
+
+	default void primaDellaFase(FaseTurno fase, StatoDiGioco stato) {
+	}
+
+	default void dopoLaFase(FaseTurno fase, StatoDiGioco stato) {
+	}
+}
@@ -0,0 +1,166 @@
+package gioco;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * BusEventi - Flusso degli eventi di dominio di una partita.
+ *
+ * Il motore (un solo thread, quello che gioca la partita) scrive gli eventi
+ * in un buffer circolare preallocato; ogni consumatore (interfaccia, log,
+ * statistiche, salvataggi...) ha la sua Sottoscrizione con il suo indice di
+ * lettura e legge quando vuole, anche da un altro thread. Il motore non
+ * aspetta mai: un consumatore rimasto indietro di più di una capacità perde
+ * gli eventi più vecchi, e li trova contati in getPersi.
+ *
+ * Senza sottoscrizioni pubblica non scrive nulla.
+ *
+ * <pre>
+ * BusEventi.Sottoscrizione sottoscrizione = stato.getEventi().iscrivi();
+ * ...
+ * sottoscrizione.leggi(evento -> statistiche.registra(evento));
+ * </pre>
+ */
+public final class BusEventi {
+
+	public static final int CAPACITA_PREDEFINITA = 1 << 10;
+
+	private final EventoPartita[] celle;
+	private final int capacita;
+	private final int maschera;
+
+	// Eventi pubblicati e leggibili
+	private volatile long pubblicati;
+	// Eventi il cui slot è stato toccato dal motore, compreso quello in scrittura
+	private volatile long inScrittura;
+	private volatile int iscritti;
+
+	public BusEventi() {
+		this(CAPACITA_PREDEFINITA);
+	}
+
+	/**
+	 * @param capacita Eventi trattenuti per i consumatori lenti, potenza di 2
+	 */
+	public BusEventi(int capacita) {
+		if (capacita <= 0 || Integer.bitCount(capacita) != 1) {
+			throw new IllegalArgumentException("La capacità deve essere una potenza di 2: " + capacita);
+		}
+		this.capacita = capacita;
+		this.maschera = capacita - 1;
+		this.celle = new EventoPartita[capacita];
+		for (int i = 0; i < capacita; i++) {
+			celle[i] = new EventoPartita();
+		}
+	}
+
+	/**
+	 * Nuova sottoscrizione che riceverà gli eventi pubblicati da ora in poi
+	 */
+	public synchronized Sottoscrizione iscrivi() {
+		iscritti++;
+		return new Sottoscrizione(pubblicati);
+	}
+
+	public boolean haIscritti() {
+		return iscritti > 0;
+	}
+
+	/**
+	 * Pubblica un evento. Va chiamato solo dal thread della partita.
+	 */
+	public void pubblica(TipoEventoPartita tipo, int turno, FaseTurno fase, int indiceGiocatore, String idCarta,
+			int quantita) {
+		if (iscritti == 0) {
+			return;
+		}
+
+		long sequenza = pubblicati;
+		inScrittura = sequenza + 1;
+		// I lettori devono vedere inScrittura aggiornato prima dei nuovi campi
+		VarHandle.storeStoreFence();
+		celle[(int) sequenza & maschera].imposta(sequenza, tipo, turno, fase, indiceGiocatore, idCarta, quantita);
+		pubblicati = sequenza + 1;
+	}
+
+	/**
+	 * @return Eventi pubblicati dall'inizio della partita, con almeno un iscritto
+	 */
+	public long getPubblicati() {
+		return pubblicati;
+	}
+
+	private synchronized void disiscrivi() {
+		iscritti--;
+	}
+
+	/**
+	 * Indice di lettura di un consumatore. Una sottoscrizione va letta da un
+	 * solo thread alla volta; sottoscrizioni diverse sono indipendenti.
+	 */
+	public final class Sottoscrizione {
+		private final EventoPartita copia = new EventoPartita();
+		private long letti;
+		private long persi;
+		private boolean annullata;
+
+		private Sottoscrizione(long letti) {
+			this.letti = letti;
+		}
+
+		/**
+		 * Consegna all'ascoltatore tutti gli eventi arrivati dall'ultima lettura
+		 *
+		 * @return Eventi consegnati
+		 */
+		public int leggi(AscoltatoreEventi ascoltatore) {
+			long disponibili = pubblicati;
+			int consegnati = 0;
+
+			while (letti < disponibili) {
+				if (disponibili - letti > capacita) {
+					// Le celle più vecchie sono già state riscritte
+					persi += disponibili - capacita - letti;
+					letti = disponibili - capacita;
+				}
+
+				copia.copiaDa(celle[(int) letti & maschera]);
+				// La copia va letta tutta prima di controllare che il motore non l'abbia toccata
+				VarHandle.loadLoadFence();
+				if (inScrittura - capacita > letti) {
+					persi++;
+					letti++;
+					continue;
+				}
+
+				letti++;
+				consegnati++;
+				ascoltatore.onEvento(copia);
+			}
+			return consegnati;
+		}
+
+		/**
+		 * @return Eventi pubblicati e non ancora letti
+		 */
+		public long getInAttesa() {
+			return pubblicati - letti;
+		}
+
+		/**
+		 * @return Eventi saltati perché il consumatore era troppo indietro
+		 */
+		public long getPersi() {
+			return persi;
+		}
+
+		/**
+		 * Smette di trattenere eventi per questa sottoscrizione
+		 */
+		public void annulla() {
+			if (!annullata) {
+				annullata = true;
+				disiscrivi();
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package gioco;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import carte.Carta;
+import carte.Malvagio;
+import gestoreEffetti.TipoEffetto;
+
+/**
+ * DecisoreAutomatico - Decisore senza interfaccia grafica.
+ * 
+ * Risponde subito con scelte semplici e deterministiche:
+ * scarta le carte meno costose, prende le più costose, cura
+ * il giocatore più ferito e colpisce il malvagio più vicino alla sconfitta.
+ */
+public class DecisoreAutomatico implements DecisoreScelte {
+
+	@Override
+	public Carta scegliCarta(Giocatore giocatore, List<Carta> carte, String tipoAzione, String motivazione,
+			String cartaAttivante) {
+		if (carte == null || carte.isEmpty()) {
+			return null;
+		}
+		return carte.stream().max(Comparator.comparingInt(Carta::getCosto)).orElse(null);
+	}
+
+	@Override
+	public Carta scegliCartaDaScartare(Giocatore giocatore, List<Carta> carte, String tipoAzione,
+			String motivazione) {
+		if (carte == null || carte.isEmpty()) {
+			return null;
+		}
+		return carte.stream().min(Comparator.comparingInt(Carta::getCosto)).orElse(null);
+	}
+
+	@Override
+	public void scegliCarteDaScartare(Giocatore giocatore, TipoEffetto tipoScarto, int quantita,
+			Consumer<List<Carta>> callback) {
+		List<Carta> disponibili = new ArrayList<>();
+		for (Carta c : giocatore.getMano()) {
+			if (ammessaPerScarto(c, tipoScarto)) {
+				disponibili.add(c);
+			}
+		}
+		disponibili.sort(Comparator.comparingInt(Carta::getCosto));
+
+		int daScartare = Math.min(quantita, disponibili.size());
+		callback.accept(new ArrayList<>(disponibili.subList(0, daScartare)));
+	}
+
+	@Override
+	public Malvagio scegliMalvagio(Giocatore giocatore, List<Malvagio> malvagi, String messaggio) {
+		Malvagio scelto = null;
+		for (Malvagio m : malvagi) {
+			if (m.getBloccoAbilita()) {
+				continue;
+			}
+			if (scelto == null || m.getVita() - m.getDanno() < scelto.getVita() - scelto.getDanno()) {
+				scelto = m;
+			}
+		}
+		return scelto;
+	}
+
+	@Override
+	public int scegliGiocatore(Giocatore attivo, List<Giocatore> giocatori, String tipoAzione,
+			String cartaAttivante, String descrizioneEffetto) {
+		if (giocatori == null || giocatori.isEmpty()) {
+			return -1;
+		}
+
+		int indice = 0;
+		for (int i = 1; i < giocatori.size(); i++) {
+			if (giocatori.get(i).getSalute() < giocatori.get(indice).getSalute()) {
+				indice = i;
+			}
+		}
+		return indice;
+	}
+
+	@Override
+	public void scegliEffetto(Giocatore giocatore, String titolo, String descrizione, String opzioneA,
+			String opzioneB, Consumer<Boolean> callback) {
+		callback.accept(true);
+	}
+
+	@Override
+	public void scegliDado(Giocatore giocatore, List<String> nomiDadi, Consumer<Integer> callback) {
+		callback.accept(nomiDadi.isEmpty() ? -1 : 0);
+	}
+
+	@Override
+	public void scegliPosizionamentoCarta(Giocatore giocatore, Carta carta, String nomeCartaTrigger,
+			String descrizione, Consumer<Boolean> callback) {
+		callback.accept(true);
+	}
+
+	private boolean ammessaPerScarto(Carta carta, TipoEffetto tipo) {
+		switch (tipo) {
+		case SCARTA_INCANTESIMO:
+			return carta.getClasse().equalsIgnoreCase("Incantesimo");
+		case SCARTA_OGGETTO:
+			return carta.getClasse().equalsIgnoreCase("Oggetto");
+		case SCARTA_ALLEATO:
+			return carta.getClasse().equalsIgnoreCase("Alleato");
+		default:
+			return true;
+		}
+	}
+}
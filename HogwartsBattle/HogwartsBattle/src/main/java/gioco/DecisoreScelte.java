@@ -0,0 +1,85 @@
+package gioco;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import carte.Carta;
+import carte.Malvagio;
+import gestoreEffetti.TipoEffetto;
+
+/**
+ * DecisoreScelte - Fornisce le decisioni richieste dagli effetti durante la partita.
+ * 
+ * Il motore non chiede mai direttamente all'utente: passa sempre dal decisore
+ * associato allo {@link StatoDiGioco}. L'interfaccia grafica usa i dialoghi,
+ * il motore headless usa {@link DecisoreAutomatico}.
+ * 
+ * I metodi con callback possono rispondere anche in un secondo momento
+ * (dialoghi non bloccanti); quelli con valore di ritorno rispondono subito.
+ */
+public interface DecisoreScelte {
+
+	/**
+	 * Sceglie una carta da prendere (ricerca nel mazzo o negli scarti)
+	 * 
+	 * @return La carta scelta, o null se nessuna
+	 */
+	Carta scegliCarta(Giocatore giocatore, List<Carta> carte, String tipoAzione, String motivazione,
+			String cartaAttivante);
+
+	/**
+	 * Sceglie una carta da scartare tra quelle indicate
+	 * 
+	 * @return La carta da scartare, o null se nessuna
+	 */
+	Carta scegliCartaDaScartare(Giocatore giocatore, List<Carta> carte, String tipoAzione, String motivazione);
+
+	/**
+	 * Sceglie le carte da scartare dalla mano del giocatore
+	 * 
+	 * @param tipoScarto Tipo di carte ammesse
+	 * @param quantita   Numero di carte da scartare
+	 * @param callback   Riceve le carte selezionate
+	 */
+	void scegliCarteDaScartare(Giocatore giocatore, TipoEffetto tipoScarto, int quantita,
+			Consumer<List<Carta>> callback);
+
+	/**
+	 * Sceglie un malvagio tra quelli attivi
+	 * 
+	 * @return Il malvagio scelto, o null se nessuno
+	 */
+	Malvagio scegliMalvagio(Giocatore giocatore, List<Malvagio> malvagi, String messaggio);
+
+	/**
+	 * Sceglie un giocatore bersaglio
+	 * 
+	 * @return Indice del giocatore scelto, -1 se nessuno
+	 */
+	int scegliGiocatore(Giocatore attivo, List<Giocatore> giocatori, String tipoAzione, String cartaAttivante,
+			String descrizioneEffetto);
+
+	/**
+	 * Sceglie tra due effetti alternativi
+	 * 
+	 * @param callback Riceve true per la prima opzione, false per la seconda
+	 */
+	void scegliEffetto(Giocatore giocatore, String titolo, String descrizione, String opzioneA, String opzioneB,
+			Consumer<Boolean> callback);
+
+	/**
+	 * Sceglie quale dado tirare (Storia di Hogwarts)
+	 * 
+	 * @param nomiDadi Nomi dei dadi disponibili
+	 * @param callback Riceve l'indice del dado scelto
+	 */
+	void scegliDado(Giocatore giocatore, List<String> nomiDadi, Consumer<Integer> callback);
+
+	/**
+	 * Sceglie se mettere una carta appena acquistata in cima al mazzo
+	 * 
+	 * @param callback Riceve true per la cima del mazzo, false per gli scarti
+	 */
+	void scegliPosizionamentoCarta(Giocatore giocatore, Carta carta, String nomeCartaTrigger, String descrizione,
+			Consumer<Boolean> callback);
+}
@@ -0,0 +1,77 @@
+package gioco;
+
+/**
+ * EventoPartita - Un evento letto dal BusEventi.
+ *
+ * Le istanze sono riusate: quella passata ad AscoltatoreEventi.onEvento vale
+ * solo durante la chiamata. Chi vuole tenerla deve copiarne i campi.
+ */
+public final class EventoPartita {
+
+	private long sequenza;
+	private TipoEventoPartita tipo;
+	private int turno;
+	private FaseTurno fase;
+	private int indiceGiocatore;
+	private String idCarta;
+	private int quantita;
+
+	EventoPartita() {
+	}
+
+	void imposta(long sequenza, TipoEventoPartita tipo, int turno, FaseTurno fase, int indiceGiocatore,
+			String idCarta, int quantita) {
+		this.sequenza = sequenza;
+		this.tipo = tipo;
+		this.turno = turno;
+		this.fase = fase;
+		this.indiceGiocatore = indiceGiocatore;
+		this.idCarta = idCarta;
+		this.quantita = quantita;
+	}
+
+	void copiaDa(EventoPartita altro) {
+		imposta(altro.sequenza, altro.tipo, altro.turno, altro.fase, altro.indiceGiocatore, altro.idCarta,
+				altro.quantita);
+	}
+
+	/**
+	 * @return Posizione dell'evento nella partita, a partire da 0
+	 */
+	public long getSequenza() {
+		return sequenza;
+	}
+
+	public TipoEventoPartita getTipo() {
+		return tipo;
+	}
+
+	public int getTurno() {
+		return turno;
+	}
+
+	public FaseTurno getFase() {
+		return fase;
+	}
+
+	/**
+	 * @return Indice in StatoDiGioco.getGiocatori, o -1 se l'evento non riguarda un giocatore
+	 */
+	public int getIndiceGiocatore() {
+		return indiceGiocatore;
+	}
+
+	public String getIdCarta() {
+		return idCarta;
+	}
+
+	public int getQuantita() {
+		return quantita;
+	}
+
+	@Override
+	public String toString() {
+		return "EventoPartita{#" + sequenza + " " + tipo + " T" + turno + " " + fase + " g=" + indiceGiocatore
+				+ " " + idCarta + " " + quantita + "}";
+	}
+}
@@ -0,0 +1,74 @@
+package gioco;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+
+/**
+ * GeneratoreCasuale - Sorgente casuale di una singola partita.
+ *
+ * Tutte le mescolate e i tiri di dado passano da qui: a parità di seme e di
+ * scelte dei giocatori la partita si ripete identica. Il seme arriva dal
+ * GameConfig e viene scritto nei salvataggi.
+ *
+ * Non è thread-safe: ogni StatoDiGioco ha la propria istanza, quindi partite
+ * giocate in parallelo non condividono stato.
+ */
+public class GeneratoreCasuale {
+
+	private final long seme;
+	private final SplittableRandom random;
+
+	public GeneratoreCasuale(long seme) {
+		this.seme = seme;
+		this.random = new SplittableRandom(seme);
+	}
+
+	/**
+	 * Genera un seme nuovo per una partita non riprodotta
+	 */
+	public static long nuovoSeme() {
+		return new SplittableRandom().nextLong();
+	}
+
+	public long getSeme() {
+		return seme;
+	}
+
+	/**
+	 * Intero uniforme in [0, limite)
+	 */
+	public int intero(int limite) {
+		return random.nextInt(limite);
+	}
+
+	/**
+	 * Mescola la lista sul posto (Fisher-Yates), come Collections.shuffle
+	 */
+	public void mescola(List<?> lista) {
+		if (lista instanceof RandomAccess) {
+			for (int i = lista.size() - 1; i > 0; i--) {
+				Collections.swap(lista, i, random.nextInt(i + 1));
+			}
+			return;
+		}
+
+		// LinkedList: si mescola una copia in array e si riscrive in ordine
+		Object[] elementi = lista.toArray();
+		for (int i = elementi.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Object temp = elementi[i];
+			elementi[i] = elementi[j];
+			elementi[j] = temp;
+		}
+
+		@SuppressWarnings("unchecked")
+		ListIterator<Object> it = (ListIterator<Object>) lista.listIterator();
+		for (Object elemento : elementi) {
+			it.next();
+			it.set(elemento);
+		}
+	}
+}
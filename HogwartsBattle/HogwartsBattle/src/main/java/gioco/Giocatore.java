@@ -42,7 +42,7 @@ public class Giocatore {
     }
     
     public void scartaCarta(Carta carta) {
-		this.getScarti().getCarte().add(carta);
+		this.getScarti().aggiungiCarta(carta);
 		this.getMano().remove(carta);
 	}
     
@@ -57,7 +57,9 @@ public class Giocatore {
 	
     public void giocaCarta(StatoDiGioco stato, Carta carta) {
         if (!mano.contains(carta)) {
-            System.out.println("ERRORE: La carta " + carta.getNome() + " non è nella mano!");
+            if (RegistroPartita.attivo(LivelloLog.AVVISO)) {
+                RegistroPartita.avviso("ERRORE: La carta " + carta.getNome() + " non è nella mano!");
+            }
             return;
         }
 
@@ -77,9 +79,9 @@ public class Giocatore {
         }
         
         if(incantesimiGiocati >= 4 && eroe.getNome().contains("Hermione") && eroe.getTriggers() != null) {
-        	if(eroe.getTriggers().get(0).getAttivato1Volta() == false) {
+        	if(!eroe.isAbilitaUsata()) {
         		stato.getGestoreTrigger().attivaTrigger(TipoTrigger.INCANTESIMI_GIOCATI, stato, this);
-        		eroe.getTriggers().get(0).setAttivato1Volta(true);
+        		eroe.setAbilitaUsata(true);
         	}
         }
         
@@ -103,7 +105,8 @@ public class Giocatore {
         mano.remove(carta);
         scarti.aggiungiCarta(carta);
 
-        System.out.println("Giocata: " + carta.getNome());
+        RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.GIOCA_CARTA, eroe.getNome(), carta.getId(), 0);
+        stato.pubblicaEvento(TipoEventoPartita.CARTA_GIOCATA, this, carta.getId(), 0);
     }
 	
 	//cerca nel mazzo degli scarti un tipo di carta (oggetto e incantesimo e alleato)
@@ -114,7 +117,9 @@ public class Giocatore {
 	        Carta carta = mazzo.getCarte().get(i);
 	        if (carta.getClasse().equalsIgnoreCase(tipo)) {
 	            carteCorrispondenti.add(carta);
-		        System.out.println("carta: " + carta.getNome() + ", descrizione:" + carta.getDescrizione());
+		        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+		            RegistroPartita.info("carta: " + carta.getNome() + ", descrizione:" + carta.getDescrizione());
+		        }
 	        }
 	    }
 		return carteCorrispondenti;
@@ -131,7 +136,8 @@ public class Giocatore {
 	    // Traccia carta acquistata questo turno
 	    carteAcquistateQuestoTurno.add(carta);
 	    
-	    System.out.println("Acquistata: " + carta.getNome());
+	    RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.ACQUISTA_CARTA, eroe.getNome(), carta.getId(), 0);
+	    stato.pubblicaEvento(TipoEventoPartita.CARTA_ACQUISTATA, this, carta.getId(), 0);
 	}
 
 	// ============================================
@@ -142,31 +148,26 @@ public class Giocatore {
 	 * Pesca una carta dal mazzo.
 	 * Se il mazzo è vuoto, rimescola gli scarti nel mazzo.
 	 * 
+	 * @param generatore Sorgente casuale della partita, usata per rimescolare
 	 * @return true se pescata con successo, false se impossibile pescare
 	 */
-	public boolean pescaCarta() {
+	public boolean pescaCarta(GeneratoreCasuale generatore) {
 	    // Se il mazzo è vuoto, rimescola gli scarti
 	    if (mazzo.isEmpty()) {
-	        System.out.println("Mazzo vuoto! Rimescolo scarti...");
+	        RegistroPartita.info("Mazzo vuoto! Rimescolo scarti...");
 	        
 	        // Se anche gli scarti sono vuoti, non si può pescare
 	        if (scarti.isEmpty()) {
-	            System.out.println("Nessuna carta da pescare (mazzo e scarti vuoti)");
+	            RegistroPartita.info("Nessuna carta da pescare (mazzo e scarti vuoti)");
 	            return false;
 	        }
 	        
-	        // Rimescola: sposta tutte le carte dagli scarti al mazzo
-	        while (!scarti.isEmpty()) {
-	            Carta carta = scarti.pescaCarta();  // Prende dalla cima degli scarti
-	            if (carta != null) {
-	                mazzo.aggiungiCarta(carta);
-	            }
-	        }
+	        // Rimescola: gli scarti diventano il mazzo (scambio di buffer) e si mescolano
+	        mazzo.ricicla(scarti, generatore);
 	        
-	        // Mescola il mazzo
-	        mazzo.mescola();
-	        
-	        System.out.println("Mazzo rimescolato: " + mazzo.size() + " carte");
+	        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	            RegistroPartita.info("Mazzo rimescolato: " + mazzo.size() + " carte");
+	        }
 	    }
 	    
 	    // Pesca carta
@@ -859,7 +859,9 @@ public class InputController {
 		List<Carta> carteDisponibili = filtraCartePerTipo(giocatore.getMano(), tipoScarto);
 
 		if (carteDisponibili.isEmpty()) {
-			System.out.println("âš ï¸ " + giocatore.getEroe().getNome() + " non ha carte di tipo " + tipoScarto);
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("âš ï¸ " + giocatore.getEroe().getNome() + " non ha carte di tipo " + tipoScarto);
+			}
 			callback.accept(new ArrayList<>());
 			return;
 		}
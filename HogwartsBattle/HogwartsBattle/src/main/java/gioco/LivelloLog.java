@@ -0,0 +1,12 @@
+package gioco;
+
+/**
+ * Livelli del RegistroPartita, dal più restrittivo al più dettagliato.
+ * Con SPENTO nessun messaggio viene costruito né scritto.
+ */
+public enum LivelloLog {
+	SPENTO,
+	AVVISO,
+	INFO,
+	DETTAGLIO
+}
@@ -0,0 +1,418 @@
+package gioco;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import carte.Carta;
+import carte.Eroe;
+import carte.Luogo;
+import carte.Malvagio;
+import data.CardFactory;
+import data.DiceFactory;
+import data.GameConfig;
+import data.GameLoader;
+import data.HeroFactory;
+import data.HorcruxFactory;
+import data.LocationFactory;
+import data.ProficiencyFactory;
+import data.StarterPackLoader;
+import data.VillainFactory;
+
+/**
+ * MotoreHeadless - Esegue partite complete senza interfaccia grafica.
+ *
+ * Ogni giocatore è guidato da un bot semplice: gioca tutta la mano,
+ * attacca il malvagio più vicino alla sconfitta e acquista la carta più
+ * costosa che può permettersi. Le scelte richieste dagli effetti passano
+ * dal {@link DecisoreScelte} indicato (di default {@link DecisoreAutomatico}).
+ *
+ * Uso da riga di comando:
+ *
+ * <pre>
+ * java gioco.MotoreHeadless [anno] [partite] [eroe...] [--verbose] [--seme=N] [--log=FILE]
+ * </pre>
+ *
+ * Con --seme la partita i-esima usa il seme N+i: la stessa riga di comando
+ * rigioca esattamente le stesse partite. Il RegistroPartita è spento, salvo
+ * --verbose (livello INFO sulla console) o --log (livello DETTAGLIO nel file).
+ */
+public class MotoreHeadless {
+
+	private static final int MAX_TURNI = 500;
+	private static final int MAX_AZIONI_FASE = 100;
+	private static final List<String> EROI_DEFAULT = Arrays.asList("Harry Potter", "Hermione Granger",
+			"Ron Weasley", "Neville Longbottom");
+
+	private final DecisoreScelte decisore;
+
+	public MotoreHeadless() {
+		this(new DecisoreAutomatico());
+	}
+
+	public MotoreHeadless(DecisoreScelte decisore) {
+		this.decisore = decisore;
+	}
+
+	/**
+	 * Inizializza le factory (stesso ordine di GameController.initGame)
+	 */
+	public static void inizializzaFactory() {
+		CardFactory.inizializza();
+		HeroFactory.inizializza();
+		DiceFactory.inizializza();
+		LocationFactory.inizializza();
+		VillainFactory.inizializza();
+		ProficiencyFactory.inizializza();
+		HorcruxFactory.inizializza();
+		StarterPackLoader.inizializza();
+	}
+
+	/**
+	 * Gioca una partita completa dell'anno indicato
+	 *
+	 * @param anno     Anno da giocare (1-7)
+	 * @param nomiEroi Eroi dei giocatori, nell'ordine di turno
+	 * @return Esito della partita
+	 */
+	public RisultatoPartita giocaPartita(int anno, List<String> nomiEroi) {
+		return giocaPartita(anno, nomiEroi, null);
+	}
+
+	/**
+	 * Gioca una partita completa dell'anno indicato
+	 *
+	 * @param anno          Anno da giocare (1-7)
+	 * @param nomiEroi      Eroi dei giocatori, nell'ordine di turno
+	 * @param idCompetenza  Competenza assegnata a ogni giocatore (solo dall'anno 6), o null
+	 * @return Esito della partita
+	 */
+	public RisultatoPartita giocaPartita(int anno, List<String> nomiEroi, String idCompetenza) {
+		return giocaPartita(anno, nomiEroi, idCompetenza, null);
+	}
+
+	/**
+	 * Gioca una partita completa dell'anno indicato
+	 *
+	 * @param anno          Anno da giocare (1-7)
+	 * @param nomiEroi      Eroi dei giocatori, nell'ordine di turno
+	 * @param idCompetenza  Competenza assegnata a ogni giocatore (solo dall'anno 6), o null
+	 * @param seme          Seme della sorgente casuale, o null per un seme nuovo
+	 * @return Esito della partita
+	 */
+	public RisultatoPartita giocaPartita(int anno, List<String> nomiEroi, String idCompetenza, Long seme) {
+		StatoDiGioco stato = preparaPartita(anno, nomiEroi, idCompetenza, seme);
+
+		Map<String, Integer> turniSconfittaMalvagi = new LinkedHashMap<>();
+		stato.setOsservatore(new OsservatorePartita() {
+			@Override
+			public void onMalvagioSconfitto(Malvagio malvagio) {
+				turniSconfittaMalvagi.putIfAbsent(malvagio.getNome(), stato.getNumeroTurno());
+			}
+		});
+
+		TurnManager turnManager = new TurnManager(stato);
+		turnManager.iniziaTurno();
+
+		int turni = 0;
+		while (!stato.isGameOver() && turni < MAX_TURNI) {
+			giocaTurno(turnManager, stato);
+			turni++;
+		}
+
+		return new RisultatoPartita(anno, stato.getGeneratore().getSeme(), stato.isVictory(), stato.isGameOver(),
+				turni, contaLuoghiPersi(stato), turniSconfittaMalvagi);
+	}
+
+	/**
+	 * Crea giocatori e stato di una partita, pronta per il primo turno
+	 */
+	StatoDiGioco preparaPartita(int anno, List<String> nomiEroi, String idCompetenza, Long seme) {
+		if (anno < 1 || anno > 7) {
+			throw new IllegalArgumentException("Anno non valido: " + anno);
+		}
+		if (nomiEroi == null || nomiEroi.isEmpty()) {
+			throw new IllegalArgumentException("Nessun eroe indicato");
+		}
+
+		List<Giocatore> giocatori = new ArrayList<>();
+		for (String nomeEroe : nomiEroi) {
+			Eroe eroe = HeroFactory.creaEroe(nomeEroe, anno);
+			Giocatore giocatore = new Giocatore(eroe);
+			if (idCompetenza != null && anno >= 6) {
+				giocatore.setCompetenza(ProficiencyFactory.creaCompetenza(idCompetenza));
+			}
+			giocatore.getMazzo().inizializzaMazzo(eroe.getNome());
+			giocatori.add(giocatore);
+		}
+
+		GameConfig config = new GameLoader().caricaConfigurazione(anno);
+		if (config == null) {
+			throw new IllegalStateException("Impossibile caricare configurazione anno " + anno);
+		}
+		config.setSeme(seme);
+
+		StatoDiGioco stato = new StatoDiGioco(config, giocatori);
+		stato.setDecisore(decisore);
+		return stato;
+	}
+
+	/**
+	 * Esegue le fasi manuali del turno corrente fino a FINE_TURNO.
+	 * Le fasi automatiche (Arti Oscure, Malvagi, Horcrux) le gestisce il TurnManager.
+	 */
+	void giocaTurno(TurnManager turnManager, StatoDiGioco stato) {
+		Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
+
+		// GIOCA_CARTE: gioca tutta la mano
+		int azioni = 0;
+		while (!giocatore.getMano().isEmpty() && !stato.isGameOver() && azioni++ < MAX_AZIONI_FASE) {
+			turnManager.giocaCarta(0);
+		}
+		if (stato.isGameOver()) {
+			return;
+		}
+		turnManager.prossimaFase();
+
+		// ATTACCA: un segnalino alla volta sul malvagio più vicino alla sconfitta
+		azioni = 0;
+		while (giocatore.getAttacco() > 0 && !stato.isGameOver() && azioni++ < MAX_AZIONI_FASE) {
+			int indice = scegliBersaglioAttacco(stato);
+			if (indice < 0 || !turnManager.attaccaMalvagio(indice)) {
+				break;
+			}
+		}
+		if (stato.isGameOver()) {
+			return;
+		}
+		turnManager.prossimaFase();
+
+		// ACQUISTA_CARTE: la carta più costosa acquistabile, finché possibile
+		azioni = 0;
+		while (!stato.isGameOver() && azioni++ < MAX_AZIONI_FASE) {
+			int indice = scegliCartaDaAcquistare(stato, giocatore);
+			if (indice < 0 || !turnManager.acquistaCarta(indice)) {
+				break;
+			}
+		}
+		if (stato.isGameOver()) {
+			return;
+		}
+
+		// FINE_TURNO: automatica, avvia anche il turno successivo
+		turnManager.prossimaFase();
+	}
+
+	private int scegliBersaglioAttacco(StatoDiGioco stato) {
+		int indice = -1;
+		int vitaResidua = Integer.MAX_VALUE;
+
+		for (int i = 0; i < stato.getMalvagiAttivi().size(); i++) {
+			Malvagio m = stato.getMalvagiAttivi().get(i);
+			if (m.getAttaccoassegnato() || !stato.puoAttaccareMalvagio(m)) {
+				continue;
+			}
+			if (m.getVita() - m.getDanno() < vitaResidua) {
+				vitaResidua = m.getVita() - m.getDanno();
+				indice = i;
+			}
+		}
+		return indice;
+	}
+
+	private int scegliCartaDaAcquistare(StatoDiGioco stato, Giocatore giocatore) {
+		int indice = -1;
+		int costoMigliore = 0;
+
+		for (int i = 0; i < stato.getMercato().size(); i++) {
+			Carta c = stato.getMercato().get(i);
+			if (c.getCosto() <= giocatore.getGettone() && c.getCosto() > costoMigliore) {
+				costoMigliore = c.getCosto();
+				indice = i;
+			}
+		}
+		return indice;
+	}
+
+	private int contaLuoghiPersi(StatoDiGioco stato) {
+		int persi = 0;
+		for (Luogo l : stato.getListaLuoghi()) {
+			if (l.getNumeroMarchiNeri() >= l.getMarchiNeriMax()) {
+				persi++;
+			}
+		}
+		return persi;
+	}
+
+	/**
+	 * Esito di una partita headless
+	 */
+	public static class RisultatoPartita {
+		private final int anno;
+		private final long seme;
+		private final boolean vittoria;
+		private final boolean conclusa;
+		private final int turni;
+		private final int luoghiPersi;
+		private final Map<String, Integer> turniSconfittaMalvagi;
+
+		public RisultatoPartita(int anno, long seme, boolean vittoria, boolean conclusa, int turni, int luoghiPersi,
+				Map<String, Integer> turniSconfittaMalvagi) {
+			this.anno = anno;
+			this.seme = seme;
+			this.vittoria = vittoria;
+			this.conclusa = conclusa;
+			this.turni = turni;
+			this.luoghiPersi = luoghiPersi;
+			this.turniSconfittaMalvagi = turniSconfittaMalvagi;
+		}
+
+		public int getAnno() {
+			return anno;
+		}
+
+		/**
+		 * Seme con cui rigiocare la stessa partita
+		 */
+		public long getSeme() {
+			return seme;
+		}
+
+		public boolean isVittoria() {
+			return vittoria;
+		}
+
+		/**
+		 * false se la partita è stata interrotta per limite di turni
+		 */
+		public boolean isConclusa() {
+			return conclusa;
+		}
+
+		public int getTurni() {
+			return turni;
+		}
+
+		public int getLuoghiPersi() {
+			return luoghiPersi;
+		}
+
+		/**
+		 * Turno in cui è stato sconfitto ogni malvagio (per nome)
+		 */
+		public Map<String, Integer> getTurniSconfittaMalvagi() {
+			return turniSconfittaMalvagi;
+		}
+
+		@Override
+		public String toString() {
+			String esito = vittoria ? "VITTORIA" : (conclusa ? "SCONFITTA" : "INTERROTTA");
+			return "Anno " + anno + " - " + esito + " in " + turni + " turni (luoghi persi: " + luoghiPersi
+					+ ", seme: " + seme + ")";
+		}
+	}
+
+	public static void main(String[] args) {
+		int anno = 1;
+		int partite = 1;
+		boolean verbose = false;
+		Long seme = null;
+		String fileLog = null;
+		List<String> eroi = new ArrayList<>();
+
+		List<String> posizionali = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.equals("--verbose")) {
+				verbose = true;
+			} else if (arg.startsWith("--log=")) {
+				fileLog = arg.substring("--log=".length());
+			} else if (arg.startsWith("--seme=")) {
+				try {
+					seme = Long.parseLong(arg.substring("--seme=".length()));
+				} catch (NumberFormatException e) {
+					System.err.println("Seme non valido: " + arg);
+					System.exit(1);
+				}
+			} else {
+				posizionali.add(arg);
+			}
+		}
+		try {
+			if (posizionali.size() > 0) {
+				anno = Integer.parseInt(posizionali.get(0));
+			}
+			if (posizionali.size() > 1) {
+				partite = Integer.parseInt(posizionali.get(1));
+			}
+		} catch (NumberFormatException e) {
+			System.err.println("Uso: MotoreHeadless [anno] [partite] [eroe...] [--verbose] [--seme=N] [--log=FILE]");
+			System.exit(1);
+		}
+		for (int i = 2; i < posizionali.size(); i++) {
+			eroi.add(posizionali.get(i));
+		}
+		if (eroi.isEmpty()) {
+			eroi.addAll(EROI_DEFAULT.subList(0, 2));
+		}
+
+		// Senza --verbose il registro è spento: la console mostra solo i risultati
+		if (fileLog != null) {
+			RegistroPartita.setLivello(LivelloLog.DETTAGLIO);
+			try {
+				RegistroPartita.apriFile(Paths.get(fileLog));
+			} catch (IOException e) {
+				System.err.println("Impossibile aprire il file di log " + fileLog + ": " + e.getMessage());
+				System.exit(1);
+			}
+		} else {
+			RegistroPartita.setLivello(verbose ? LivelloLog.INFO : LivelloLog.SPENTO);
+		}
+
+		int vittorie = 0;
+		int errori = 0;
+		long totaleTurni = 0;
+		long inizio = System.nanoTime();
+
+		try {
+			inizializzaFactory();
+			MotoreHeadless motore = new MotoreHeadless();
+
+			for (int i = 0; i < partite; i++) {
+				try {
+					RisultatoPartita risultato = motore.giocaPartita(anno, eroi, null, seme != null ? seme + i : null);
+					if (risultato.isVittoria()) {
+						vittorie++;
+					}
+					totaleTurni += risultato.getTurni();
+					System.out.println("[" + (i + 1) + "] " + risultato);
+				} catch (RuntimeException | StackOverflowError e) {
+					// Una partita che fallisce, anche per una ricorsione senza fine,
+					// non deve fermare tutta la simulazione
+					errori++;
+					System.err.println("[" + (i + 1) + "] Errore durante la partita: " + e);
+					if (errori == 1) {
+						e.printStackTrace();
+					}
+				}
+			}
+		} finally {
+			RegistroPartita.chiudi();
+		}
+
+		long millis = (System.nanoTime() - inizio) / 1_000_000;
+		System.out.println("========================================");
+		System.out.println("Partite: " + partite + " - Vittorie: " + vittorie + " ("
+				+ String.format("%.1f", vittorie * 100.0 / partite) + "%)" + " - Errori: " + errori);
+		System.out.println("Turni medi: " + String.format("%.1f", totaleTurni / (double) partite));
+		System.out.println("Tempo totale: " + millis + " ms");
+		System.out.println("========================================");
+
+		if (errori > 0) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package gioco;
+
+import carte.Malvagio;
+
+/**
+ * OsservatorePartita - Riceve le notifiche del motore di gioco
+ * (aggiornamenti, messaggi, vittoria e sconfitta).
+ * 
+ * L'interfaccia grafica ne registra un'implementazione che usa JavaFX,
+ * il motore headless usa quella di default che non fa nulla.
+ */
+public interface OsservatorePartita {
+
+	/**
+	 * Lo stato è cambiato e la vista va ridisegnata
+	 */
+	default void aggiornaInterfaccia() {
+	}
+
+	/**
+	 * Messaggio breve da mostrare al giocatore
+	 */
+	default void notifica(String messaggio, TipoNotifica tipo) {
+	}
+
+	/**
+	 * Informazione che il giocatore deve leggere (es. carta rivelata)
+	 */
+	default void mostraInformazione(String nomeGiocatore, String tipoAzione, String cartaAttivante,
+			String messaggio, String dettagli) {
+	}
+
+	/**
+	 * Un malvagio è stato sconfitto (il turno è in StatoDiGioco.getNumeroTurno)
+	 */
+	default void onMalvagioSconfitto(Malvagio malvagio) {
+	}
+
+	/**
+	 * Il turno si è concluso con la vittoria
+	 */
+	default void onVittoria() {
+	}
+
+	/**
+	 * Tutti i luoghi sono stati persi
+	 */
+	default void onSconfitta() {
+	}
+}
@@ -0,0 +1,307 @@
+package gioco;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RegistroPartita - Log del motore di gioco, al posto di System.out.
+ *
+ * Ogni messaggio è una voce tipizzata (turno, fase, tipo, soggetto, id carta,
+ * quantità) scritta in un buffer circolare preallocato senza lock; un thread
+ * in background svuota il buffer e compone il testo verso la console o un
+ * file. Chi registra non formatta nulla e non fa I/O.
+ *
+ * Il livello va controllato prima di costruire il messaggio:
+ *
+ * <pre>
+ * if (RegistroPartita.attivo(LivelloLog.INFO)) {
+ *     RegistroPartita.info("Mazzo rimescolato: " + mazzo.size() + " carte");
+ * }
+ * </pre>
+ *
+ * Le voci strutturate (evento) e i messaggi costanti non hanno bisogno del
+ * controllo. Con LivelloLog.SPENTO ogni chiamata si riduce al confronto del
+ * livello: il buffer e il thread di scrittura non vengono neanche creati.
+ *
+ * Se il buffer è pieno le voci vengono scartate (e contate), mai attese.
+ */
+public final class RegistroPartita {
+
+	private static final int CAPACITA = 1 << 13; // Sempre potenza di 2
+	private static final int MASCHERA = CAPACITA - 1;
+	private static final long ATTESA_NANOS = 1_000_000;
+
+	// Si può cambiare mentre le partite e lo scrittore sono in corso (lo fanno i test)
+	private static volatile int soglia = LivelloLog.INFO.ordinal();
+	private static Writer destinazione;
+	private static boolean destinazioneFile;
+	private static volatile RegistroPartita attivo;
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(RegistroPartita::chiudi, "chiusura-registro"));
+	}
+
+	private final Voce[] voci = new Voce[CAPACITA];
+	// Sequenza di ogni cella: == posizione se libera, == posizione + 1 se pubblicata
+	private final AtomicLongArray sequenze = new AtomicLongArray(CAPACITA);
+	private final AtomicLong prossima = new AtomicLong();
+	private final AtomicLong scartate = new AtomicLong();
+	private final Writer uscita;
+	private final Thread scrittore;
+	private volatile boolean inChiusura;
+
+	private RegistroPartita(Writer uscita) {
+		this.uscita = uscita;
+		for (int i = 0; i < CAPACITA; i++) {
+			voci[i] = new Voce();
+			sequenze.set(i, i);
+		}
+		this.scrittore = new Thread(this::svuota, "registro-partita");
+		this.scrittore.setDaemon(true);
+		this.scrittore.start();
+	}
+
+	// ----------------------------------------------------------------
+	// CONFIGURAZIONE
+	// ----------------------------------------------------------------
+
+	public static void setLivello(LivelloLog livello) {
+		soglia = livello.ordinal();
+	}
+
+	public static LivelloLog getLivello() {
+		return LivelloLog.values()[soglia];
+	}
+
+	/**
+	 * Scrive le voci successive nel file indicato (sovrascritto) invece che
+	 * sulla console. Le voci già registrate vengono scritte prima del cambio.
+	 */
+	public static synchronized void apriFile(Path percorso) throws IOException {
+		chiudi();
+		destinazione = Files.newBufferedWriter(percorso, StandardCharsets.UTF_8);
+		destinazioneFile = true;
+	}
+
+	/**
+	 * Scrive tutte le voci in attesa e ferma il thread di scrittura; un file
+	 * aperto con apriFile viene chiuso e si torna alla console. La prossima
+	 * voce riavvia il thread.
+	 */
+	public static synchronized void chiudi() {
+		RegistroPartita registro = attivo;
+		attivo = null;
+		if (registro != null) {
+			registro.ferma();
+		}
+
+		if (destinazioneFile) {
+			try {
+				destinazione.close();
+			} catch (IOException e) {
+				System.err.println("Errore chiusura file di log: " + e.getMessage());
+			}
+			destinazione = null;
+			destinazioneFile = false;
+		}
+	}
+
+	// ----------------------------------------------------------------
+	// REGISTRAZIONE
+	// ----------------------------------------------------------------
+
+	/**
+	 * @return true se i messaggi di questo livello vengono registrati
+	 */
+	public static boolean attivo(LivelloLog livello) {
+		return livello.ordinal() <= soglia;
+	}
+
+	public static void avviso(String testo) {
+		messaggio(LivelloLog.AVVISO, testo);
+	}
+
+	public static void info(String testo) {
+		messaggio(LivelloLog.INFO, testo);
+	}
+
+	public static void dettaglio(String testo) {
+		messaggio(LivelloLog.DETTAGLIO, testo);
+	}
+
+	private static void messaggio(LivelloLog livello, String testo) {
+		if (livello.ordinal() <= soglia) {
+			registro().pubblica(livello, -1, null, TipoEventoLog.MESSAGGIO, testo, null, 0);
+		}
+	}
+
+	/**
+	 * Registra un evento strutturato della partita. Turno e fase vengono letti
+	 * dallo stato; il testo lo compone il thread di scrittura.
+	 *
+	 * @param soggetto Chi compie o subisce l'evento (eroe, malvagio...)
+	 * @param idCarta  Carta coinvolta, o null
+	 * @param delta    Quantità, per i tipi con quantità
+	 */
+	public static void evento(LivelloLog livello, StatoDiGioco stato, TipoEventoLog tipo, String soggetto,
+			String idCarta, int delta) {
+		if (livello.ordinal() <= soglia) {
+			registro().pubblica(livello, stato.getNumeroTurno(), stato.getFaseCorrente(), tipo, soggetto, idCarta,
+					delta);
+		}
+	}
+
+	/**
+	 * @return Voci scartate perché il buffer era pieno, dall'avvio del thread corrente
+	 */
+	public static long getVociScartate() {
+		RegistroPartita registro = attivo;
+		return registro != null ? registro.scartate.get() : 0;
+	}
+
+	private static RegistroPartita registro() {
+		RegistroPartita registro = attivo;
+		if (registro == null) {
+			registro = avvia();
+		}
+		return registro;
+	}
+
+	private static synchronized RegistroPartita avvia() {
+		if (attivo == null) {
+			if (destinazione == null) {
+				destinazione = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+			}
+			attivo = new RegistroPartita(destinazione);
+		}
+		return attivo;
+	}
+
+	// ----------------------------------------------------------------
+	// BUFFER CIRCOLARE (più produttori, un consumatore)
+	// ----------------------------------------------------------------
+
+	private void pubblica(LivelloLog livello, int turno, FaseTurno fase, TipoEventoLog tipo, String soggetto,
+			String idCarta, int delta) {
+		long posizione;
+		int indice;
+		while (true) {
+			posizione = prossima.get();
+			indice = (int) posizione & MASCHERA;
+			long sequenza = sequenze.get(indice);
+			if (sequenza == posizione) {
+				if (prossima.compareAndSet(posizione, posizione + 1)) {
+					break;
+				}
+			} else if (sequenza < posizione) {
+				// Cella non ancora letta dal giro precedente: buffer pieno
+				scartate.incrementAndGet();
+				return;
+			}
+			// Altrimenti un altro thread ha preso la posizione: si riprova
+		}
+
+		voci[indice].imposta(livello, turno, fase, tipo, soggetto, idCarta, delta);
+		sequenze.set(indice, posizione + 1);
+	}
+
+	private void svuota() {
+		StringBuilder riga = new StringBuilder(128);
+		long letta = 0;
+
+		try {
+			while (true) {
+				int indice = (int) letta & MASCHERA;
+				if (sequenze.get(indice) == letta + 1) {
+					Voce voce = voci[indice];
+					riga.setLength(0);
+					voce.componi(riga);
+					voce.pulisci();
+					sequenze.set(indice, letta + CAPACITA);
+					letta++;
+
+					riga.append(System.lineSeparator());
+					uscita.append(riga);
+				} else if (inChiusura && prossima.get() == letta) {
+					break;
+				} else {
+					uscita.flush();
+					LockSupport.parkNanos(ATTESA_NANOS);
+				}
+			}
+			uscita.flush();
+		} catch (IOException e) {
+			System.err.println("Errore scrittura log: " + e.getMessage());
+		}
+	}
+
+	private void ferma() {
+		inChiusura = true;
+		try {
+			scrittore.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (scartate.get() > 0) {
+			System.err.println("RegistroPartita: " + scartate.get() + " voci scartate (buffer pieno)");
+		}
+	}
+
+	/**
+	 * Cella del buffer, riusata a ogni giro
+	 */
+	private static final class Voce {
+		private LivelloLog livello;
+		private int turno;
+		private FaseTurno fase;
+		private TipoEventoLog tipo;
+		private String soggetto; // Per MESSAGGIO è il testo completo
+		private String idCarta;
+		private int delta;
+
+		private void imposta(LivelloLog livello, int turno, FaseTurno fase, TipoEventoLog tipo, String soggetto,
+				String idCarta, int delta) {
+			this.livello = livello;
+			this.turno = turno;
+			this.fase = fase;
+			this.tipo = tipo;
+			this.soggetto = soggetto;
+			this.idCarta = idCarta;
+			this.delta = delta;
+		}
+
+		private void pulisci() {
+			imposta(null, 0, null, null, null, null, 0);
+		}
+
+		private void componi(StringBuilder riga) {
+			if (livello == LivelloLog.AVVISO) {
+				riga.append("[AVVISO] ");
+			}
+			if (tipo == TipoEventoLog.MESSAGGIO) {
+				riga.append(soggetto);
+				return;
+			}
+
+			riga.append("[T").append(turno);
+			if (fase != null) {
+				riga.append(' ').append(fase);
+			}
+			riga.append("] ").append(soggetto).append(' ').append(tipo.getDescrizione());
+			if (tipo.isConQuantita()) {
+				riga.append(' ').append(delta);
+			}
+			if (idCarta != null) {
+				riga.append(" (").append(idCarta).append(')');
+			}
+		}
+	}
+}
@@ -0,0 +1,275 @@
+package gioco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import data.ProficiencyFactory;
+
+/**
+ * SimulatoreBatch - Gioca N partite headless per ogni combinazione
+ * (anno, gruppo di eroi, competenza) usando tutti i core.
+ *
+ * Ogni partita ha il proprio StatoDiGioco con la propria sorgente casuale.
+ * I task di un ForkJoinPool producono statistiche locali, che vengono unite
+ * risalendo l'albero dei task, senza lock globali.
+ *
+ * Uso da riga di comando:
+ *
+ * <pre>
+ * java gioco.SimulatoreBatch [partite] [anni] [numeroEroi] [--thread=N] [--seme=N]
+ * es. java gioco.SimulatoreBatch 10000 1-7 2
+ * </pre>
+ *
+ * Con --seme ogni partita ha un seme fisso (dipende solo da scenario e indice),
+ * quindi due esecuzioni giocano le stesse partite indipendentemente dai thread.
+ */
+public class SimulatoreBatch {
+
+	private static final List<String> EROI = Arrays.asList("Harry Potter", "Hermione Granger", "Ron Weasley",
+			"Neville Longbottom");
+
+	// Partite giocate da un singolo task prima di smettere di dividere il lavoro
+	private static final int PARTITE_PER_TASK = 16;
+
+	private final ForkJoinPool pool;
+
+	public SimulatoreBatch(int thread) {
+		this.pool = new ForkJoinPool(thread);
+	}
+
+	/**
+	 * Combinazione di parametri da simulare
+	 */
+	public static class Scenario {
+		private final int anno;
+		private final List<String> eroi;
+		private final String idCompetenza;
+
+		public Scenario(int anno, List<String> eroi, String idCompetenza) {
+			this.anno = anno;
+			this.eroi = eroi;
+			this.idCompetenza = idCompetenza;
+		}
+
+		public int getAnno() {
+			return anno;
+		}
+
+		public List<String> getEroi() {
+			return eroi;
+		}
+
+		public String getIdCompetenza() {
+			return idCompetenza;
+		}
+
+		@Override
+		public String toString() {
+			return "Anno " + anno + " " + eroi + (idCompetenza != null ? " + " + idCompetenza : "");
+		}
+	}
+
+	/**
+	 * Gioca le partite [da, a) di uno scenario, dividendo il lavoro finché
+	 * i blocchi superano PARTITE_PER_TASK
+	 */
+	private static class TaskSimulazione extends RecursiveTask<StatisticheSimulazione> {
+		private static final long serialVersionUID = 1L;
+
+		// I task non vengono mai serializzati
+		private final transient Scenario scenario;
+		private final Long semeScenario;
+		private final int da;
+		private final int a;
+
+		TaskSimulazione(Scenario scenario, Long semeScenario, int da, int a) {
+			this.scenario = scenario;
+			this.semeScenario = semeScenario;
+			this.da = da;
+			this.a = a;
+		}
+
+		@Override
+		protected StatisticheSimulazione compute() {
+			if (a - da <= PARTITE_PER_TASK) {
+				return giocaBlocco();
+			}
+
+			int meta = (da + a) >>> 1;
+			TaskSimulazione sinistra = new TaskSimulazione(scenario, semeScenario, da, meta);
+			TaskSimulazione destra = new TaskSimulazione(scenario, semeScenario, meta, a);
+			sinistra.fork();
+			StatisticheSimulazione risultatoDestra = destra.compute();
+			return sinistra.join().unisci(risultatoDestra);
+		}
+
+		private StatisticheSimulazione giocaBlocco() {
+			StatisticheSimulazione statistiche = new StatisticheSimulazione();
+			MotoreHeadless motore = new MotoreHeadless(new DecisoreAutomatico());
+
+			for (int i = da; i < a; i++) {
+				try {
+					Long seme = semeScenario != null ? semeScenario + i : null;
+					statistiche.registra(motore.giocaPartita(scenario.getAnno(), scenario.getEroi(),
+							scenario.getIdCompetenza(), seme));
+				} catch (RuntimeException | StackOverflowError e) {
+					// Una partita che si rompe (anche con una ricorsione senza fine) conta
+					// come errore e non ferma il resto del batch
+					statistiche.registraErrore();
+					System.err.println(scenario + " - errore durante la partita: " + e);
+				}
+			}
+			return statistiche;
+		}
+	}
+
+	/**
+	 * Simula tutti gli scenari in parallelo
+	 *
+	 * @param partitePerScenario Partite da giocare per ogni scenario
+	 * @param seme               Seme della prima partita, o null per semi nuovi
+	 * @return Statistiche nello stesso ordine degli scenari
+	 */
+	public List<StatisticheSimulazione> simula(List<Scenario> scenari, int partitePerScenario, Long seme) {
+		List<ForkJoinTask<StatisticheSimulazione>> tasks = new ArrayList<>();
+		for (int s = 0; s < scenari.size(); s++) {
+			Long semeScenario = seme != null ? seme + (long) s * partitePerScenario : null;
+			tasks.add(pool.submit(new TaskSimulazione(scenari.get(s), semeScenario, 0, partitePerScenario)));
+		}
+
+		List<StatisticheSimulazione> risultati = new ArrayList<>();
+		for (ForkJoinTask<StatisticheSimulazione> task : tasks) {
+			risultati.add(task.join());
+		}
+		return risultati;
+	}
+
+	public void chiudi() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Costruisce gli scenari: ogni gruppo di numeroEroi eroi per ogni anno,
+	 * e dall'anno 6 ogni competenza disponibile
+	 */
+	public static List<Scenario> generaScenari(int annoDa, int annoA, int numeroEroi) {
+		List<List<String>> gruppi = new ArrayList<>();
+		combinazioni(EROI, numeroEroi, 0, new ArrayList<>(), gruppi);
+
+		List<Scenario> scenari = new ArrayList<>();
+		for (int anno = annoDa; anno <= annoA; anno++) {
+			for (List<String> gruppo : gruppi) {
+				if (anno >= 6) {
+					for (String idCompetenza : ProficiencyFactory.getIdCompetenze()) {
+						scenari.add(new Scenario(anno, gruppo, idCompetenza));
+					}
+				} else {
+					scenari.add(new Scenario(anno, gruppo, null));
+				}
+			}
+		}
+		return scenari;
+	}
+
+	private static void combinazioni(List<String> elementi, int k, int inizio, List<String> corrente,
+			List<List<String>> risultato) {
+		if (corrente.size() == k) {
+			risultato.add(new ArrayList<>(corrente));
+			return;
+		}
+		for (int i = inizio; i < elementi.size(); i++) {
+			corrente.add(elementi.get(i));
+			combinazioni(elementi, k, i + 1, corrente, risultato);
+			corrente.remove(corrente.size() - 1);
+		}
+	}
+
+	public static void main(String[] args) {
+		int partite = 100;
+		int annoDa = 1;
+		int annoA = 7;
+		int numeroEroi = 2;
+		int thread = Runtime.getRuntime().availableProcessors();
+		Long seme = null;
+
+		List<String> posizionali = new ArrayList<>();
+		try {
+			for (String arg : args) {
+				if (arg.startsWith("--thread=")) {
+					thread = Integer.parseInt(arg.substring("--thread=".length()));
+				} else if (arg.startsWith("--seme=")) {
+					seme = Long.parseLong(arg.substring("--seme=".length()));
+				} else {
+					posizionali.add(arg);
+				}
+			}
+			if (posizionali.size() > 0) {
+				partite = Integer.parseInt(posizionali.get(0));
+			}
+			if (posizionali.size() > 1) {
+				String[] anni = posizionali.get(1).split("-");
+				annoDa = Integer.parseInt(anni[0]);
+				annoA = Integer.parseInt(anni[anni.length - 1]);
+			}
+			if (posizionali.size() > 2) {
+				numeroEroi = Integer.parseInt(posizionali.get(2));
+			}
+		} catch (NumberFormatException e) {
+			System.err.println("Uso: SimulatoreBatch [partite] [anni] [numeroEroi] [--thread=N] [--seme=N]");
+			System.exit(1);
+		}
+		if (annoDa < 1 || annoA > 7 || annoDa > annoA || numeroEroi < 1 || numeroEroi > EROI.size()) {
+			System.err.println("Parametri non validi: anni " + annoDa + "-" + annoA + ", eroi " + numeroEroi);
+			System.exit(1);
+		}
+
+		// Le partite del batch non scrivono il registro
+		RegistroPartita.setLivello(LivelloLog.SPENTO);
+		List<StatisticheSimulazione> risultati;
+		long inizio = System.nanoTime();
+
+		MotoreHeadless.inizializzaFactory();
+		List<Scenario> scenari = generaScenari(annoDa, annoA, numeroEroi);
+
+		SimulatoreBatch simulatore = new SimulatoreBatch(thread);
+		try {
+			risultati = simulatore.simula(scenari, partite, seme);
+		} finally {
+			simulatore.chiudi();
+		}
+
+		long millis = (System.nanoTime() - inizio) / 1_000_000;
+		long totalePartite = 0;
+
+		for (int i = 0; i < scenari.size(); i++) {
+			StatisticheSimulazione s = risultati.get(i);
+			totalePartite += s.getPartite();
+
+			System.out.println("========================================");
+			System.out.println(scenari.get(i));
+			System.out.println(String.format("  Vittorie: %.1f%% (%d/%d) - Interrotte: %d - Errori: %d",
+					s.getPercentualeVittorie(), s.getVittorie(), s.getPartiteValide(), s.getInterrotte(),
+					s.getErrori()));
+			System.out.println(String.format("  Turni: media %.1f, min %d, max %d", s.getTurniMedi(), s.getMinTurni(),
+					s.getMaxTurni()));
+			System.out.println(String.format("  Luoghi persi: media %.2f, distribuzione %s", s.getLuoghiPersiMedi(),
+					Arrays.toString(s.getPartitePerLuoghiPersi())));
+
+			Map<String, Long> sconfitte = s.getSconfitteMalvagi();
+			for (Map.Entry<String, Double> e : s.getTurnoMedioSconfittaMalvagi().entrySet()) {
+				System.out.println(String.format("    %-30s turno medio %.1f (%d partite)", e.getKey(), e.getValue(),
+						sconfitte.get(e.getKey())));
+			}
+		}
+
+		System.out.println("========================================");
+		System.out.println("Scenari: " + scenari.size() + " - Partite: " + totalePartite + " - Thread: " + thread);
+		System.out.println("Tempo totale: " + millis + " ms ("
+				+ String.format("%.0f", totalePartite * 1000.0 / Math.max(1, millis)) + " partite/s)");
+	}
+}
@@ -0,0 +1,160 @@
+package gioco;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * StatisticheSimulazione - Risultati aggregati di un gruppo di partite headless.
+ *
+ * Ogni task della simulazione riempie la propria istanza e le istanze
+ * vengono poi unite a coppie con {@link #unisci}: nessun lock condiviso.
+ */
+public class StatisticheSimulazione {
+
+	private static final int MAX_LUOGHI = 8;
+
+	private long partite;
+	private long vittorie;
+	private long interrotte;
+	private long errori;
+	private long sommaTurni;
+	private int minTurni = Integer.MAX_VALUE;
+	private int maxTurni;
+	private final long[] partitePerLuoghiPersi = new long[MAX_LUOGHI + 1];
+	private long sommaLuoghiPersi;
+
+	// nome malvagio -> {sconfitte, somma turni}
+	private final Map<String, long[]> sconfitteMalvagi = new TreeMap<>();
+
+	/**
+	 * Registra l'esito di una partita
+	 */
+	public void registra(MotoreHeadless.RisultatoPartita risultato) {
+		partite++;
+		if (risultato.isVittoria()) {
+			vittorie++;
+		} else if (!risultato.isConclusa()) {
+			interrotte++;
+		}
+
+		sommaTurni += risultato.getTurni();
+		minTurni = Math.min(minTurni, risultato.getTurni());
+		maxTurni = Math.max(maxTurni, risultato.getTurni());
+
+		int luoghiPersi = Math.min(risultato.getLuoghiPersi(), MAX_LUOGHI);
+		partitePerLuoghiPersi[luoghiPersi]++;
+		sommaLuoghiPersi += risultato.getLuoghiPersi();
+
+		for (Map.Entry<String, Integer> e : risultato.getTurniSconfittaMalvagi().entrySet()) {
+			long[] valori = sconfitteMalvagi.computeIfAbsent(e.getKey(), k -> new long[2]);
+			valori[0]++;
+			valori[1] += e.getValue();
+		}
+	}
+
+	/**
+	 * Registra una partita terminata con un'eccezione
+	 */
+	public void registraErrore() {
+		partite++;
+		errori++;
+	}
+
+	/**
+	 * Unisce le statistiche di un altro task in questa istanza
+	 *
+	 * @return this, per comporre le riduzioni
+	 */
+	public StatisticheSimulazione unisci(StatisticheSimulazione altre) {
+		partite += altre.partite;
+		vittorie += altre.vittorie;
+		interrotte += altre.interrotte;
+		errori += altre.errori;
+		sommaTurni += altre.sommaTurni;
+		minTurni = Math.min(minTurni, altre.minTurni);
+		maxTurni = Math.max(maxTurni, altre.maxTurni);
+		sommaLuoghiPersi += altre.sommaLuoghiPersi;
+		for (int i = 0; i < partitePerLuoghiPersi.length; i++) {
+			partitePerLuoghiPersi[i] += altre.partitePerLuoghiPersi[i];
+		}
+
+		for (Map.Entry<String, long[]> e : altre.sconfitteMalvagi.entrySet()) {
+			long[] valori = sconfitteMalvagi.computeIfAbsent(e.getKey(), k -> new long[2]);
+			valori[0] += e.getValue()[0];
+			valori[1] += e.getValue()[1];
+		}
+		return this;
+	}
+
+	public long getPartite() {
+		return partite;
+	}
+
+	public long getVittorie() {
+		return vittorie;
+	}
+
+	public long getInterrotte() {
+		return interrotte;
+	}
+
+	public long getErrori() {
+		return errori;
+	}
+
+	/**
+	 * Partite giocate fino in fondo (senza errori)
+	 */
+	public long getPartiteValide() {
+		return partite - errori;
+	}
+
+	public double getPercentualeVittorie() {
+		return getPartiteValide() == 0 ? 0 : vittorie * 100.0 / getPartiteValide();
+	}
+
+	public double getTurniMedi() {
+		return getPartiteValide() == 0 ? 0 : sommaTurni / (double) getPartiteValide();
+	}
+
+	public int getMinTurni() {
+		return getPartiteValide() == 0 ? 0 : minTurni;
+	}
+
+	public int getMaxTurni() {
+		return maxTurni;
+	}
+
+	public double getLuoghiPersiMedi() {
+		return getPartiteValide() == 0 ? 0 : sommaLuoghiPersi / (double) getPartiteValide();
+	}
+
+	/**
+	 * Numero di partite per numero di luoghi persi (indice = luoghi persi)
+	 */
+	public long[] getPartitePerLuoghiPersi() {
+		return partitePerLuoghiPersi.clone();
+	}
+
+	/**
+	 * Turno medio di sconfitta per ogni malvagio
+	 */
+	public Map<String, Double> getTurnoMedioSconfittaMalvagi() {
+		Map<String, Double> medie = new TreeMap<>();
+		for (Map.Entry<String, long[]> e : sconfitteMalvagi.entrySet()) {
+			medie.put(e.getKey(), e.getValue()[1] / (double) e.getValue()[0]);
+		}
+		return medie;
+	}
+
+	/**
+	 * Quante partite hanno visto la sconfitta di ogni malvagio
+	 */
+	public Map<String, Long> getSconfitteMalvagi() {
+		Map<String, Long> conteggi = new TreeMap<>();
+		for (Map.Entry<String, long[]> e : sconfitteMalvagi.entrySet()) {
+			conteggi.put(e.getKey(), e.getValue()[0]);
+		}
+		return conteggi;
+	}
+}
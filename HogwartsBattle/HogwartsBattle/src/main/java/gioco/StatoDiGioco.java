@@ -1,7 +1,6 @@
 package gioco;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -28,11 +27,11 @@ public class StatoDiGioco {
 	private boolean gameOver = false;
 	private boolean victory = false;
 	private boolean vittoriaPendente = false;
-	private boolean processandoTriggerVita = false; // Flag per prevenire loop infinito trigger GUADAGNA_VITA
 
 	// --- Entità di Gioco ---
 	private List<Giocatore> giocatori;
 	private int giocatoreCorrente;
+	private int numeroTurno = 0; // Turni iniziati dall'avvio della partita
 	private List<Carta> alleatiGiocatiInQuestoTurno; // Lista degli alleati giocati nel turno corrente
 	private Luogo currentLocation;
 	private LinkedList<Luogo> listaLuoghi; // I luoghi da proteggere
@@ -48,6 +47,10 @@ public class StatoDiGioco {
 		this.luogoAttuale = luogoAttuale;
 	}
 
+	public GeneratoreCasuale getGeneratore() {
+		return generatore;
+	}
+
 	public Map<String, Dado> getDadi() {
 		return dadi;
 	}
@@ -66,9 +69,16 @@ public class StatoDiGioco {
 	private List<ArteOscura> scartiArtiOscure; // Scarti eventi oscuri
 
 	// --- Managers ---
+	private final GeneratoreCasuale generatore; // Unica sorgente casuale della partita
 	private GestoreEffetti gestoreEffetti;
 	private GestoreTrigger gestoreTrigger;
 
+	// --- Scelte e notifiche (grafica o headless) ---
+	private DecisoreScelte decisore = new DecisoreAutomatico();
+	private OsservatorePartita osservatore = new OsservatorePartita() {
+	};
+	private final BusEventi eventi = new BusEventi(); // Eventi di dominio per i consumatori
+
 	private final Map<String, Dado> dadi;
 	private Map<Malvagio, Integer> attacchiAssegnati;
 
@@ -87,7 +97,9 @@ public class StatoDiGioco {
 
 		this.hasHorcruxes = config.getContieneHorcrux();
 
-		// 1. Inizializza i Manager
+		// 1. Inizializza i Manager (il seme è nel config se la partita va riprodotta)
+		this.generatore = new GeneratoreCasuale(
+				config.getSeme() != null ? config.getSeme() : GeneratoreCasuale.nuovoSeme());
 		this.gestoreEffetti = new GestoreEffetti();
 		this.gestoreTrigger = new GestoreTrigger();
 
@@ -113,7 +125,10 @@ public class StatoDiGioco {
 		// 3. Carica i Mazzi usando gli ID della Configurazione
 		populateDecks(config);
 
-		// 4. Setup Iniziale del Tavolo
+		// 4. Mescola i mazzi dei giocatori e distribuisce le mani iniziali
+		preparaMazziGiocatori();
+
+		// 5. Setup Iniziale del Tavolo
 		setupTabellone();
 
 	}
@@ -124,14 +139,18 @@ public class StatoDiGioco {
 
 	private void populateDecks(GameConfig config) {
 		// ⭐ Popola Mazzo Hogwarts - FILTRA carte già acquisite
-	    System.out.println("Carte nel config anno " + config.getAnno() + ": " + 
-	                     config.getCarteNegozioId().size());
-	    System.out.println("Carte già acquisite: " + carteAcquisiteDaiGiocatori.size());
+	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("Carte nel config anno " + config.getAnno() + ": " + 
+    	                     config.getCarteNegozioId().size());
+	        RegistroPartita.info("Carte già acquisite: " + carteAcquisiteDaiGiocatori.size());
+	    }
 	    
 	    int carteAggiunte = 0;
 	    int carteFiltrate = 0;
 	    
-	    System.out.println("Carte negozio da caricare: " + config.getCarteNegozioId().size());
+	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("Carte negozio da caricare: " + config.getCarteNegozioId().size());
+	    }
 	    
 	    if (config.getCarteNegozioId() != null) {
 	        for (String id : config.getCarteNegozioId()) {
@@ -141,14 +160,18 @@ public class StatoDiGioco {
 	            }
 	        }
 	        
-	        Collections.shuffle(mazzoNegozio);
-	        System.out.println(" Negozio caricato: " + mazzoNegozio.size() + " carte");
+	        generatore.mescola(mazzoNegozio);
+	        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	            RegistroPartita.info(" Negozio caricato: " + mazzoNegozio.size() + " carte");
+	        }
 	    }
 	    
-	    System.out.println("Carte aggiunte al negozio: " + carteAggiunte);
-	    System.out.println("Carte filtrate (già acquisite): " + carteFiltrate);
+	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("Carte aggiunte al negozio: " + carteAggiunte);
+	        RegistroPartita.info("Carte filtrate (già acquisite): " + carteFiltrate);
+	    }
 	    
-	    Collections.shuffle(mazzoNegozio);
+	    generatore.mescola(mazzoNegozio);
 
 	    // Popola Mazzo Malvagi (nessun filtro)
 	    for (String id : config.getMalvagiId()) {
@@ -156,7 +179,7 @@ public class StatoDiGioco {
 	        	mazzoMalvagi.add(VillainFactory.creaMalvagio(id));
 	        }
 	    }
-	    Collections.shuffle(mazzoMalvagi);
+	    generatore.mescola(mazzoMalvagi);
 	    for(String id : config.getMalvagiId()) {
 	    	if(id.contains("Voldemort"+annoCorrente)) {
 	    		mazzoMalvagi.addLast(VillainFactory.creaMalvagio(id));
@@ -167,8 +190,8 @@ public class StatoDiGioco {
 	    for (String id : config.getArtiOscureId()) {
 	        mazzoArtiOscure.add((ArteOscura) CardFactory.creaCarta(id));
 	    }
-	    Collections.shuffle(mazzoArtiOscure);
-	    Collections.shuffle(mazzoArtiOscure);
+	    generatore.mescola(mazzoArtiOscure);
+	    generatore.mescola(mazzoArtiOscure);
 
 	    // Luoghi (nessun filtro)
 	    if (config.getLuoghiId() != null && !config.getLuoghiId().isEmpty()) {
@@ -183,29 +206,51 @@ public class StatoDiGioco {
 	        
 	        if (!listaLuoghi.isEmpty()) {
 	            luogoAttuale = listaLuoghi.getFirst();
-	            System.out.println("Luogo iniziale: " + luogoAttuale.getNome());
+	            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	                RegistroPartita.info("Luogo iniziale: " + luogoAttuale.getNome());
+	            }
 	        }
 	    }
 
 	 // HORCRUX (Anno 7)
 	    if (hasHorcruxes && config.getHorcruxId() != null && !config.getHorcruxId().isEmpty()) {
-	        System.out.println("Caricamento Horcrux...");
+	        RegistroPartita.info("Caricamento Horcrux...");
 	        
 	        for (String id : config.getHorcruxId()) {
 	            try {
 	                Horcrux horcrux = HorcruxFactory.creaHorcrux(id);
 	                mazzoHorcrux.add(horcrux);
-	                System.out.println("Horcrux aggiunto: " + horcrux.getNome());
+	                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	                    RegistroPartita.info("Horcrux aggiunto: " + horcrux.getNome());
+	                }
 	            } catch (Exception e) {
 	                System.err.println("Errore caricamento horcrux: " + id);
 	                e.printStackTrace();
 	            }
 	        }
 	        
-	        System.out.println("Totale Horcrux nel mazzo: " + mazzoHorcrux.size());
+	        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	            RegistroPartita.info("Totale Horcrux nel mazzo: " + mazzoHorcrux.size());
+	        }
 	    }
 	}
 
+	/**
+	 * Mescola il mazzo di ogni giocatore con la sorgente della partita e pesca
+	 * la mano iniziale. Le carte già in mano tornano in cima al mazzo, così
+	 * l'ordine dipende solo dal seme.
+	 */
+	private void preparaMazziGiocatori() {
+		for (Giocatore g : giocatori) {
+			for (int i = g.getMano().size() - 1; i >= 0; i--) {
+				g.getMazzo().aggiungiInCima(g.getMano().get(i));
+			}
+			g.getMano().clear();
+			g.getMazzo().mescola(generatore);
+			g.inizializzaMano();
+		}
+	}
+
 	private void setupTabellone() {
 		// 1. Riempi il Mercato (6 slot)
 		rifornisciMercato();
@@ -258,13 +303,15 @@ public class StatoDiGioco {
 	}
 
 	private void caricaDadi() {
-		System.out.println("Caricamento dadi delle casate...");
+		RegistroPartita.info("Caricamento dadi delle casate...");
 
 		try {
 			Map<String, Dado> dadiCasate = DiceFactory.creaDadiCasate();
 			this.dadi.putAll(dadiCasate);
 
-			System.out.println("Caricati " + dadiCasate.size() + " dadi");
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Caricati " + dadiCasate.size() + " dadi");
+			}
 
 		} catch (Exception e) {
 			System.err.println("Errore nel caricamento dei dadi: " + e.getMessage());
@@ -282,13 +329,13 @@ public class StatoDiGioco {
 	public ArteOscura pescaArteOscura() {
 		if (mazzoArtiOscure.isEmpty()) {
 			if (scartiArtiOscure.isEmpty()) {
-				System.out.println("Nessuna carta Arti Oscure rimasta!");
+				RegistroPartita.info("Nessuna carta Arti Oscure rimasta!");
 				return null;
 			}
 			// Rimescola gli scarti
 			mazzoArtiOscure.addAll(scartiArtiOscure);
 			scartiArtiOscure.clear();
-			Collections.shuffle(mazzoArtiOscure);
+			generatore.mescola(mazzoArtiOscure);
 		}
 		ArteOscura pescata = mazzoArtiOscure.pop();
 		scartiArtiOscure.add(pescata); // Va subito negli scarti dopo l'uso
@@ -303,7 +350,7 @@ public class StatoDiGioco {
 			Malvagio m = mazzoMalvagi.pop();
 			malvagiAttivi.add(m);
 			gestoreTrigger.attivaTrigger(TipoTrigger.RIVELA_MORSMORDRE_O_MALVAGIO, this, giocatori.get(giocatoreCorrente));
-			System.out.println("Nuovo Malvagio rivelato: " + m.getNome());
+			RegistroPartita.evento(LivelloLog.INFO, this, TipoEventoLog.MALVAGIO_RIVELATO, m.getNome(), m.getId(), 0);
 		}
 	}
 	
@@ -347,13 +394,12 @@ public class StatoDiGioco {
 		g.setAttacco(0);
 		g.setGettone(0);
 
-		if (g.getMazzo().getCarte().isEmpty()) {
-			g.getMazzo().getCarte().addAll(g.getScarti().getCarte());
-			g.getScarti().getCarte().removeAll(g.getScarti().getCarte());
+		if (g.getMazzo().isEmpty()) {
+			g.getMazzo().ricicla(g.getScarti(), generatore);
 		}
 
 		for (int i = 0; i < 5; i++) {
-			if (!g.getMazzo().getCarte().isEmpty()) {
+			if (!g.getMazzo().isEmpty()) {
 				g.getMano().add(g.getMazzo().pescaCarta());
 			} else {
 				break;
@@ -373,15 +419,16 @@ public class StatoDiGioco {
 			giocatoreCorrente = 0;
 		}
 
-		System.out.println("Il turno passa a: " + giocatori.get(giocatoreCorrente).getEroe().getNome());
+		RegistroPartita.evento(LivelloLog.INFO, this, TipoEventoLog.INIZIO_TURNO,
+				giocatori.get(giocatoreCorrente).getEroe().getNome(), null, 0);
 	}
 
 	/**
 	 * Verifica le condizioni di vittoria VITTORIA: Tutti i malvagi sconfitti (+
 	 * horcrux se anno = 7)
 	 * 
-	 * Quando la vittoria viene rilevata, notifica automaticamente il GameController
-	 * per mostrare la schermata di vittoria
+	 * La vittoria viene notificata all'osservatore dal TurnManager
+	 * a fine turno
 	 */
 	private void verificaCondizioneVittoria() {
 		boolean malvagiSconfitti = mazzoMalvagi.isEmpty() && malvagiAttivi.isEmpty();
@@ -390,12 +437,12 @@ public class StatoDiGioco {
 			boolean horcruxDistrutto = mazzoHorcrux.isEmpty() && (horcruxAttivi == null || horcruxAttivi.isEmpty());
 
 			if (malvagiSconfitti && horcruxDistrutto) {
-				System.out.println("\n🎉 VITTORIA! Concludi il turno per continuare");
+				RegistroPartita.info("\n🎉 VITTORIA! Concludi il turno per continuare");
 				setVittoriaPendente(true);
 			}
 		} else {
 			if (malvagiSconfitti) {
-				System.out.println("\n🎉 VITTORIA! Concludi il turno per continuare");
+				RegistroPartita.info("\n🎉 VITTORIA! Concludi il turno per continuare");
 				setVittoriaPendente(true);
 			}
 		}
@@ -405,12 +452,12 @@ public class StatoDiGioco {
 	 * Verifica le condizioni di sconfitta SCONFITTA: Tutti i luoghi sono stati
 	 * persi (Un luogo è perso quando marchi neri >= max)
 	 * 
-	 * Quando la sconfitta viene rilevata, notifica automaticamente il
-	 * GameController per mostrare la schermata di Game Over
+	 * Quando la sconfitta viene rilevata, notifica automaticamente
+	 * l'osservatore della partita (schermata di Game Over in modalità grafica)
 	 */
 	private void verificaCondizioneSconfitta() {
 		if (listaLuoghi == null || listaLuoghi.isEmpty()) {
-			System.out.println("Lista luoghi vuota o null!");
+			RegistroPartita.info("Lista luoghi vuota o null!");
 			return;
 		}
 
@@ -419,44 +466,41 @@ public class StatoDiGioco {
 		int luoghiTotali = listaLuoghi.size();
 
 		// Debug: Stampa stato luoghi
-		System.out.println("\nVerifica Condizione Sconfitta:");
+		RegistroPartita.info("\nVerifica Condizione Sconfitta:");
 		for (int i = 0; i < listaLuoghi.size(); i++) {
 			Luogo luogo = listaLuoghi.get(i);
 			int marchi = luogo.getNumeroMarchiNeri();
 			int max = luogo.getMarchiNeriMax();
 			boolean perso = marchi >= max;
 
-			System.out.println("  Luogo " + (i + 1) + ": " + luogo.getNome());
-			System.out.println("    Marchi: " + marchi + "/" + max + " - " + (perso ? "PERSO" : " OK"));
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("  Luogo " + (i + 1) + ": " + luogo.getNome());
+				RegistroPartita.info("    Marchi: " + marchi + "/" + max + " - " + (perso ? "PERSO" : " OK"));
+			}
 
 			if (perso) {
 				luoghiPersi++;
 			}
 		}
 
-		System.out.println("  Totale luoghi persi: " + luoghiPersi + "/" + luoghiTotali);
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("  Totale luoghi persi: " + luoghiPersi + "/" + luoghiTotali);
+		}
 
 		// Sconfitta: Tutti i luoghi persi
 		if (luoghiPersi >= luoghiTotali) {
-			System.out.println("\n========================================");
-			System.out.println("===== SCONFITTA! =====");
-			System.out.println("========================================");
-			System.out.println("Tutti i luoghi sono stati persi!");
-			System.out.println("I Marchi Neri hanno sopraffatto Hogwarts!");
-			System.out.println("========================================\n");
+			RegistroPartita.info("\n========================================");
+			RegistroPartita.info("===== SCONFITTA! =====");
+			RegistroPartita.info("========================================");
+			RegistroPartita.info("Tutti i luoghi sono stati persi!");
+			RegistroPartita.info("I Marchi Neri hanno sopraffatto Hogwarts!");
+			RegistroPartita.info("========================================\n");
 
 			setVictory(false);
 			setGameOver(true);
 
-			// ⭐ FONDAMENTALE: Notifica GameController
-			javafx.application.Platform.runLater(() -> {
-				System.out.println("Notifica GameController della sconfitta...");
-				if (grafica.GameController.getInstance() != null) {
-					grafica.GameController.getInstance().onSconfitta();
-				} else {
-					System.err.println("GameController.getInstance() è null!");
-				}
-			});
+			// ⭐ FONDAMENTALE: Notifica l'osservatore (GameController in modalità grafica)
+			osservatore.onSconfitta();
 		}
 	}
 
@@ -466,19 +510,21 @@ public class StatoDiGioco {
 	 */
 	public void passaAlProssimoLuogo() {
 		if (luogoAttuale == null) {
-			System.out.println("Nessun luogo attuale!");
+			RegistroPartita.info("Nessun luogo attuale!");
 			return;
 		}
 
-		System.out.println("\nLUOGO PERSO: " + luogoAttuale.getNome());
-		System.out.println(
-				"   Marchi Neri: " + luogoAttuale.getNumeroMarchiNeri() + "/" + luogoAttuale.getMarchiNeriMax());
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("\nLUOGO PERSO: " + luogoAttuale.getNome());
+			RegistroPartita.info(
+					"   Marchi Neri: " + luogoAttuale.getNumeroMarchiNeri() + "/" + luogoAttuale.getMarchiNeriMax());
+		}
 
 		// Trova l'indice del luogo attuale
 		int indiceLuogoAttuale = listaLuoghi.indexOf(luogoAttuale);
 
 		if (indiceLuogoAttuale == -1) {
-			System.out.println("Luogo attuale non trovato nella lista!");
+			RegistroPartita.info("Luogo attuale non trovato nella lista!");
 			return;
 		}
 
@@ -486,11 +532,13 @@ public class StatoDiGioco {
 		if (indiceLuogoAttuale < listaLuoghi.size() - 1) {
 			// Passa al prossimo luogo
 			luogoAttuale = listaLuoghi.get(indiceLuogoAttuale + 1);
-			System.out.println("Nuovo luogo: " + luogoAttuale.getNome());
-			System.out.println(
-					"   Marchi Neri: " + luogoAttuale.getNumeroMarchiNeri() + "/" + luogoAttuale.getMarchiNeriMax());
+			if (RegistroPartita.attivo(LivelloLog.INFO)) {
+				RegistroPartita.info("Nuovo luogo: " + luogoAttuale.getNome());
+				RegistroPartita.info(
+						"   Marchi Neri: " + luogoAttuale.getNumeroMarchiNeri() + "/" + luogoAttuale.getMarchiNeriMax());
+			}
 		} else {
-			System.out.println("Era l'ultimo luogo!");
+			RegistroPartita.info("Era l'ultimo luogo!");
 		}
 
 		// Verifica se tutti i luoghi sono persi
@@ -553,7 +601,9 @@ public class StatoDiGioco {
 	 * verifica vittoria
 	 */
 	public void sconfiggiMalvagio(Malvagio m) {
-		System.out.println("" + m.getNome() + " è stato sconfitto!");
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("" + m.getNome() + " è stato sconfitto!");
+		}
 		m.defeat(this, giocatori.get(giocatoreCorrente));
 
 		malvagiAttivi.remove(m);
@@ -564,6 +614,9 @@ public class StatoDiGioco {
 
 		gestoreTrigger.rimuoviTrigger(m);
 
+		osservatore.onMalvagioSconfitto(m);
+		pubblicaEvento(TipoEventoPartita.MALVAGIO_SCONFITTO, giocatori.get(giocatoreCorrente), m.getId(), 0);
+
 		// ⭐ Verifica condizione vittoria
 		verificaCondizioneVittoria();
 	}
@@ -571,13 +624,18 @@ public class StatoDiGioco {
 	/**
 	 * Metodo chiamato quando un Horcrux viene distrutto ⭐ MODIFICATO: Aggiunge
 	 * verifica vittoria
+	 *
+	 * L'Horcrux esce dagli attivi prima della ricompensa: se la ricompensa
+	 * tira un dado, il risultato non può distruggerlo una seconda volta.
 	 */
 	public void distruggiHorcrux(Horcrux h) {
-		System.out.println("Horcrux distrutto: " + h.getNome());
+		if (!horcruxAttivi.remove(h)) {
+			return;
+		}
+		if (RegistroPartita.attivo(LivelloLog.INFO)) {
+			RegistroPartita.info("Horcrux distrutto: " + h.getNome());
+		}
 		
-		h.applicaRicompensa(this, this.getGiocatori().get(giocatoreCorrente));
-
-		horcruxAttivi.remove(h);
 		if (!mazzoHorcrux.isEmpty()) {
 			horcruxAttivi.add(mazzoHorcrux.pop());
 		}
@@ -585,6 +643,8 @@ public class StatoDiGioco {
 		gestoreTrigger.rimuoviTrigger(h);
 		gestoreEffetti.rimuoviEffetto(h);
 
+		h.applicaRicompensa(this, this.getGiocatori().get(giocatoreCorrente));
+
 		// Verifica condizione vittoria
 		verificaCondizioneVittoria();
 	}
@@ -611,8 +671,8 @@ public class StatoDiGioco {
 		int attuali = attacchiAssegnati.getOrDefault(malvagio, 0);
 		attacchiAssegnati.put(malvagio, attuali + quantita);
 
-		System.out.println("Assegnati " + quantita + " attacchi a " + malvagio.getNome() + " (Totale: "
-				+ (attuali + quantita) + ")");
+		RegistroPartita.evento(LivelloLog.INFO, this, TipoEventoLog.ATTACCO_ASSEGNATO, malvagio.getNome(),
+				malvagio.getId(), quantita);
 	}
 
 	/**
@@ -627,7 +687,7 @@ public class StatoDiGioco {
 	 */
 	public void resetAttacchi() {
 		attacchiAssegnati.clear();
-		System.out.println("Attacchi resettati");
+		RegistroPartita.info("Attacchi resettati");
 	}
 
 	/**
@@ -643,12 +703,14 @@ public class StatoDiGioco {
 			// Applica danno
 			malvagio.setDanno(malvagio.getDanno() + attacchi);
 
-			System.out.println(malvagio.getNome() + " riceve " + attacchi + " danni " + "(Vita: "
-					+ malvagio.getVita() + ")");
+			RegistroPartita.evento(LivelloLog.INFO, this, TipoEventoLog.DANNI_MALVAGIO, malvagio.getNome(),
+					malvagio.getId(), attacchi);
 
 			// Se sconfitto, aggiungilo alla lista di rimozione
 			if (malvagio.getDanno() >= malvagio.getVita()) {
-				System.out.println("" + malvagio.getNome() + " è stato sconfitto!");
+				if (RegistroPartita.attivo(LivelloLog.INFO)) {
+					RegistroPartita.info("" + malvagio.getNome() + " è stato sconfitto!");
+				}
 				malvagiDaRimuovere.add(malvagio);
 
 				// Trigger NEMICO_SCONFITTO
@@ -676,7 +738,9 @@ public class StatoDiGioco {
 	 */
 	public void segnaCartaAcquisita(String idCarta) {
 	    carteAcquisiteDaiGiocatori.add(idCarta);
-	    System.out.println("Carta acquisita permanentemente: " + idCarta);
+	    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+	        RegistroPartita.info("Carta acquisita permanentemente: " + idCarta);
+	    }
 	}
 
 	public int getTotaleLuoghi() {
@@ -719,6 +783,14 @@ public class StatoDiGioco {
 		return giocatoreCorrente;
 	}
 
+	public int getNumeroTurno() {
+		return numeroTurno;
+	}
+
+	public void setNumeroTurno(int numeroTurno) {
+		this.numeroTurno = numeroTurno;
+	}
+
 	public void setGiocatoreCorrente(int giocatoreCorrente) {
 		this.giocatoreCorrente = giocatoreCorrente;
 	}
@@ -751,6 +823,40 @@ public class StatoDiGioco {
 		this.gestoreTrigger = gestoreTrigger;
 	}
 
+	public DecisoreScelte getDecisore() {
+		return decisore;
+	}
+
+	public void setDecisore(DecisoreScelte decisore) {
+		this.decisore = decisore;
+	}
+
+	public OsservatorePartita getOsservatore() {
+		return osservatore;
+	}
+
+	public void setOsservatore(OsservatorePartita osservatore) {
+		this.osservatore = osservatore;
+	}
+
+	public BusEventi getEventi() {
+		return eventi;
+	}
+
+	/**
+	 * Pubblica un evento di dominio con turno e fase correnti
+	 *
+	 * @param giocatore Giocatore coinvolto, o null
+	 * @param idCarta   Carta coinvolta (vedi TipoEventoPartita), o null
+	 */
+	public void pubblicaEvento(TipoEventoPartita tipo, Giocatore giocatore, String idCarta, int quantita) {
+		if (!eventi.haIscritti()) {
+			return;
+		}
+		int indice = giocatore != null ? giocatori.indexOf(giocatore) : -1;
+		eventi.pubblica(tipo, numeroTurno, faseCorrente, indice, idCarta, quantita);
+	}
+
 	public boolean isGameOver() {
 		return gameOver;
 	}
@@ -826,21 +932,5 @@ public class StatoDiGioco {
 	public Dado getDado(String nome) {
 		return dadi.get(nome);
 	}
-	
-	/**
-	 * Verifica se si sta processando un trigger GUADAGNA_VITA
-	 * Usato per prevenire loop infiniti quando un trigger guadagno vita
-	 * attiva un effetto che fa guadagnare altra vita
-	 */
-	public boolean isProcessandoTriggerVita() {
-		return processandoTriggerVita;
-	}
-	
-	/**
-	 * Imposta il flag di processamento trigger vita
-	 */
-	public void setProcessandoTriggerVita(boolean processando) {
-		this.processandoTriggerVita = processando;
-	}
 
 }
@@ -0,0 +1,42 @@
+package gioco;
+
+/**
+ * Tipi delle voci strutturate del RegistroPartita. La descrizione viene
+ * composta dal thread di scrittura, non da chi registra l'evento.
+ */
+public enum TipoEventoLog {
+	MESSAGGIO("", false),
+	INIZIO_TURNO("inizia il turno", false),
+	INIZIO_FASE("inizia la fase", false),
+	GIOCA_CARTA("gioca", false),
+	ACQUISTA_CARTA("acquista", false),
+	PESCA_CARTA("pesca", false),
+	SCARTA_CARTA("scarta", false),
+	GUADAGNA_ATTACCO("guadagna attacco", true),
+	GUADAGNA_INFLUENZA("guadagna influenza", true),
+	GUADAGNA_VITA("guadagna vita", true),
+	PERDE_VITA("perde vita", true),
+	ATTACCO_ASSEGNATO("riceve attacco", true),
+	DANNI_MALVAGIO("riceve danni", true),
+	ARTE_OSCURA("rivelata", false),
+	MALVAGIO_RIVELATO("rivelato", false);
+
+	private final String descrizione;
+	private final boolean conQuantita;
+
+	TipoEventoLog(String descrizione, boolean conQuantita) {
+		this.descrizione = descrizione;
+		this.conQuantita = conQuantita;
+	}
+
+	public String getDescrizione() {
+		return descrizione;
+	}
+
+	/**
+	 * @return true se la voce riporta una quantità (delta) significativa
+	 */
+	public boolean isConQuantita() {
+		return conQuantita;
+	}
+}
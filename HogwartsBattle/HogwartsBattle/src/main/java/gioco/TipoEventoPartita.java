@@ -0,0 +1,24 @@
+package gioco;
+
+/**
+ * Eventi di dominio pubblicati dal motore sul BusEventi della partita.
+ *
+ * Per ogni tipo è indicato il significato di idCarta e quantita in
+ * EventoPartita; i campi non indicati valgono null o 0.
+ */
+public enum TipoEventoPartita {
+	/** Un giocatore gioca una carta dalla mano. idCarta: carta giocata */
+	CARTA_GIOCATA,
+	/** Un giocatore acquista una carta dal mercato. idCarta: carta acquistata */
+	CARTA_ACQUISTATA,
+	/** Un giocatore perde vita. idCarta: carta che infligge il danno (se nota), quantita: vita persa */
+	DANNO_SUBITO,
+	/** Un malvagio viene sconfitto. idCarta: malvagio */
+	MALVAGIO_SCONFITTO,
+	/** Marchi neri aggiunti al luogo attuale. idCarta: luogo, quantita: marchi aggiunti */
+	MARCHIO_AGGIUNTO,
+	/** Il turno entra in una nuova fase (EventoPartita.getFase) */
+	CAMBIO_FASE,
+	/** Viene tirato un dado. idCarta: dado, quantita: faccia uscita (1-6) */
+	DADO_LANCIATO
+}
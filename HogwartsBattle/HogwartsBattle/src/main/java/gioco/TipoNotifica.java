@@ -0,0 +1,19 @@
+package gioco;
+
+/**
+ * Categorie dei messaggi che il motore di gioco notifica all'esterno.
+ * Ricalca le categorie del pannello messaggi senza dipendere dalla grafica.
+ */
+public enum TipoNotifica {
+	GIOCA_CARTA,
+	ACQUISTA_CARTA,
+	ATTACCO,
+	EFFETTO,
+	TRIGGER,
+	MALVAGIO,
+	ARTI_OSCURE,
+	HORCRUX,
+	DANNO,
+	GUARIGIONE,
+	INFO
+}
@@ -1,46 +1,105 @@
 package gioco;
 
 import carte.ArteOscura;
+import carte.Carta;
 import carte.Malvagio;
+import gestoreEffetti.TipoEffetto;
 import gestoreEffetti.TipoTrigger;
 import carte.Horcrux;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * TurnManager - Gestisce il flusso delle fasi del turno
  * VERSIONE CORRETTA con applicazione effetti malvagi
+ *
+ * Le fasi automatiche (Arti Oscure, Malvagi, Horcrux, Fine turno) vengono
+ * eseguite da un ciclo in eseguiFinoAInput, che si ferma alla prima fase che
+ * richiede il giocatore: nessuna fase chiama la successiva, quindi lo stack
+ * non cresce con i turni, anche in partite automatiche lunghissime.
  */
 public class TurnManager {
     
+    private static final String SEPARATORE = "=".repeat(60);
+
     private StatoDiGioco stato;
+    private final List<AscoltatoreFasi> ascoltatori = new ArrayList<>();
+    private boolean inEsecuzione = false;
     
     public TurnManager(StatoDiGioco stato) {
         this.stato = stato;
     }
     
+    public void aggiungiAscoltatore(AscoltatoreFasi ascoltatore) {
+        ascoltatori.add(ascoltatore);
+    }
+    
+    public void rimuoviAscoltatore(AscoltatoreFasi ascoltatore) {
+        ascoltatori.remove(ascoltatore);
+    }
+    
+    /**
+     * Avvia il turno del giocatore corrente ed esegue le fasi automatiche
+     * fino alla prima fase che richiede il giocatore
+     */
     public void iniziaTurno() {
+        preparaTurno();
+        eseguiFinoAInput();
+    }
+    
+    private void preparaTurno() {
         Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
         giocatore.registraTriggersInMano(stato);
         
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("TURNO DI: " + giocatore.getEroe().getNome());
-        System.out.println("=".repeat(60));
-        
         stato.resetAttacchi();
+        stato.setNumeroTurno(stato.getNumeroTurno() + 1);
+
+        RegistroPartita.info(SEPARATORE);
+        RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.INIZIO_TURNO, giocatore.getEroe().getNome(), null, 0);
+        RegistroPartita.info(SEPARATORE);
         
-        stato.setFaseCorrente(FaseTurno.ARTI_OSCURE);
-        
-        eseguiFaseAutomatica();
+        entraInFase(FaseTurno.ARTI_OSCURE);
     }
     
     /**
-     * Esegue la fase corrente automaticamente
+     * Esegue in ciclo le fasi automatiche finché il turno non arriva a una
+     * fase che richiede il giocatore o la partita finisce. Dopo la fine turno
+     * il ciclo prosegue con il turno del giocatore successivo.
+     * 
+     * @return La fase in attesa di input, o null se la partita è finita
      */
-    public void eseguiFaseAutomatica() {
-        FaseTurno fase = stato.getFaseCorrente();
+    public FaseTurno eseguiFinoAInput() {
+        if (inEsecuzione) {
+            // Chiamata da dentro una fase: ci pensa il ciclo già attivo
+            return stato.getFaseCorrente();
+        }
         
+        inEsecuzione = true;
+        try {
+            while (!stato.isGameOver()) {
+                FaseTurno fase = stato.getFaseCorrente();
+                if (!isFaseAutomatica(fase)) {
+                    return fase;
+                }
+                
+                eseguiFase(fase);
+                
+                // Aggiorna UI dopo ogni fase automatica
+                aggiornaUI();
+                
+                esciDaFase(fase);
+            }
+            return null;
+        } finally {
+            inEsecuzione = false;
+        }
+    }
+    
+    /**
+     * Esegue il corpo di una fase automatica, senza passare alla successiva
+     */
+    private void eseguiFase(FaseTurno fase) {
         switch (fase) {
             case ARTI_OSCURE:
                 eseguiFaseArtiOscure();
@@ -55,28 +114,49 @@ public class TurnManager {
                 eseguiFineTurno();
                 break;
             default:
-                System.out.println("⏸️ Fase " + fase + " - In attesa di input");
                 break;
         }
+    }
+    
+    /**
+     * Lascia la fase e entra nella successiva; dopo la fine turno prepara il
+     * turno seguente, a meno che la partita sia finita
+     */
+    private void esciDaFase(FaseTurno fase) {
+        for (AscoltatoreFasi ascoltatore : ascoltatori) {
+            ascoltatore.dopoLaFase(fase, stato);
+        }
+        
+        if (fase == FaseTurno.FINE_TURNO) {
+            if (!stato.isGameOver()) {
+                preparaTurno();
+            }
+            return;
+        }
         
-        // Aggiorna UI dopo ogni fase automatica
-        aggiornaUI();
+        entraInFase(faseSuccessiva(fase));
+    }
+    
+    private void entraInFase(FaseTurno fase) {
+        stato.setFaseCorrente(fase);
+        RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.INIZIO_FASE,
+                stato.getGiocatori().get(stato.getGiocatoreCorrente()).getEroe().getNome(), null, 0);
+        stato.pubblicaEvento(TipoEventoPartita.CAMBIO_FASE, stato.getGiocatori().get(stato.getGiocatoreCorrente()), null, 0);
+        for (AscoltatoreFasi ascoltatore : ascoltatori) {
+            ascoltatore.primaDellaFase(fase, stato);
+        }
     }
     
     /**
-     * Aggiorna l'interfaccia grafica
+     * Notifica l'osservatore che lo stato è cambiato
      */
     private void aggiornaUI() {
         try {
-            if (grafica.GameController.getInstance() != null && 
-                grafica.GameController.getInstance().getGameUI() != null) {
-                
-                javafx.application.Platform.runLater(() -> {
-                    grafica.GameController.getInstance().getGameUI().aggiorna();
-                });
-            }
+            stato.getOsservatore().aggiornaInterfaccia();
         } catch (Exception e) {
-            System.err.println("Errore aggiornamento UI: " + e.getMessage());
+            if (RegistroPartita.attivo(LivelloLog.AVVISO)) {
+                RegistroPartita.avviso("Errore aggiornamento UI: " + e.getMessage());
+            }
         }
     }
     
@@ -84,13 +164,16 @@ public class TurnManager {
      * FASE 1: Rivela e applica carta Arti Oscure
      */
     private void eseguiFaseArtiOscure() {
-        System.out.println("\n=== FASE ARTI OSCURE ===");
+        RegistroPartita.info("\n=== FASE ARTI OSCURE ===");
         
         ArteOscura arteOscura = stato.pescaArteOscura();
         
         if (arteOscura != null) {
-            System.out.println("Rivelata: " + arteOscura.getNome());
-            System.out.println("   " + arteOscura.getDescrizione());
+            RegistroPartita.evento(LivelloLog.INFO, stato, TipoEventoLog.ARTE_OSCURA, arteOscura.getNome(),
+                    arteOscura.getId(), 0);
+            if (RegistroPartita.attivo(LivelloLog.DETTAGLIO)) {
+                RegistroPartita.dettaglio("   " + arteOscura.getDescrizione());
+            }
             
             Giocatore giocatoreAttivo = stato.getGiocatori().get(stato.getGiocatoreCorrente());
             arteOscura.applicaEffetto(stato, giocatoreAttivo);
@@ -102,12 +185,10 @@ public class TurnManager {
            // Aggiorna l'ultima carta giocata
            // stato.setUltimaArteOscuraGiocata(arteOscura);
             
-            System.out.println("Effetto Arti Oscure applicato");
+            RegistroPartita.info("Effetto Arti Oscure applicato");
         } else {
-            System.out.println("Nessuna carta Arti Oscure disponibile");
+            RegistroPartita.info("Nessuna carta Arti Oscure disponibile");
         }
-        
-        prossimaFase();
     }
     
     /**
@@ -115,19 +196,21 @@ public class TurnManager {
      * ⭐ FIX: Ora applica VERAMENTE gli effetti
      */
     private void eseguiFaseMalvagi() {
-        System.out.println("\n=== FASE MALVAGI ===");
+        RegistroPartita.info("\n=== FASE MALVAGI ===");
 
         List<Malvagio> malvagi = stato.getMalvagiAttivi();
 
         if (malvagi.isEmpty()) {
-            System.out.println("Nessun malvagio attivo");
+            RegistroPartita.info("Nessun malvagio attivo");
             if(!stato.getMazzoMalvagi().isEmpty()) {
             	stato.addMalvagioAttivo();
             	Giocatore giocatoreAttivo = stato.getGiocatori().get(stato.getGiocatoreCorrente());
 
                 for (Malvagio malvagio : malvagi) {
-                    System.out.println("  • " + malvagio.getNome() +
-                                     " (" + malvagio.getDanno() + "⚔️/" + malvagio.getVita() + " ❤️)");
+                    if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                        RegistroPartita.info("  • " + malvagio.getNome() +
+                                         " (" + malvagio.getDanno() + "⚔️/" + malvagio.getVita() + " ❤️)");
+                    }
 
                     // Applica l'effetto del malvagio
                     if(!malvagio.getBloccoAbilita()) {
@@ -141,13 +224,17 @@ public class TurnManager {
                 }
             }
         } else {
-            System.out.println("Malvagi attivi: " + malvagi.size());
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Malvagi attivi: " + malvagi.size());
+            }
 
             Giocatore giocatoreAttivo = stato.getGiocatori().get(stato.getGiocatoreCorrente());
 
             for (Malvagio malvagio : malvagi) {
-                System.out.println("  • " + malvagio.getNome() +
-                                 " (" + malvagio.getDanno() + "⚔️/" + malvagio.getVita() + " ❤️)");
+                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                    RegistroPartita.info("  • " + malvagio.getNome() +
+                                     " (" + malvagio.getDanno() + "⚔️/" + malvagio.getVita() + " ❤️)");
+                }
 
                 // Applica l'effetto del malvagio
                 if(!malvagio.getBloccoAbilita()) {
@@ -160,50 +247,47 @@ public class TurnManager {
                 }
             }
         }
-
-        prossimaFase();
     }
     
     /**
      * FASE 3: Applica effetti horcrux
      */
     private void eseguiFaseHorcrux() {
-        System.out.println("\n💀 === FASE HORCRUX ===");
+        RegistroPartita.info("\n💀 === FASE HORCRUX ===");
         
         if (!stato.isHasHorcruxes()) {
-            System.out.println("⏭️ Anno senza Horcrux, fase saltata");
-            prossimaFase();
+            RegistroPartita.info("⏭️ Anno senza Horcrux, fase saltata");
             return;
         }
         
         List<Horcrux> horcruxAttivi = stato.getHorcruxAttivi();
         
         if (horcruxAttivi.isEmpty()) {
-            System.out.println("Nessun Horcrux attivo");
+            RegistroPartita.info("Nessun Horcrux attivo");
         } else {
-            System.out.println("Horcrux attivi: " + horcruxAttivi.size());
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("Horcrux attivi: " + horcruxAttivi.size());
+            }
             
             Giocatore giocatoreAttivo = stato.getGiocatori().get(stato.getGiocatoreCorrente());
             
             for (Horcrux horcrux : horcruxAttivi) {
-                System.out.println("  • " + horcrux.getNome());
+                if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                    RegistroPartita.info("  • " + horcrux.getNome());
+                }
                 horcrux.applicaEffetto(stato, giocatoreAttivo);
             }
         }
-        
-        prossimaFase();
     }
     
     /**
-     * FASE 7: Fine turno
+     * FASE 7: Fine turno. Il turno successivo lo avvia il ciclo delle fasi
      */
     private void eseguiFineTurno() {
-        System.out.println("\n🔄 === FINE TURNO ===");
+        RegistroPartita.info("\n🔄 === FINE TURNO ===");
         
-        if(stato.getAnnoCorrente() >= 3) {
-        	for(Giocatore g : stato.getGiocatori()) {
-            	g.getEroe().getTriggers().get(0).setAttivato1Volta(false);
-            }
+        for(Giocatore g : stato.getGiocatori()) {
+        	g.getEroe().setAbilitaUsata(false);
         }
         
         Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
@@ -216,23 +300,20 @@ public class TurnManager {
     	}
         
         if (stato.isVittoriaPendente()) {
-            System.out.println("🎊 Turno concluso! Mostra schermata vittoria...");
+            RegistroPartita.info("🎊 Turno concluso! Mostra schermata vittoria...");
             
             stato.setVictory(true);
             stato.setGameOver(true);
             
-            javafx.application.Platform.runLater(() -> {
-                if (grafica.GameController.getInstance() != null) {
-                    grafica.GameController.getInstance().onVittoria();
-                }
-            });
+            stato.getOsservatore().onVittoria();
         }else {
         	// 1. Scarta mano
-            int carteScartatate = giocatore.getMano().size();
             while (!giocatore.getMano().isEmpty()) {
-                giocatore.scartaCarta(giocatore.getMano().get(0));
+                Carta carta = giocatore.getMano().get(0);
+                giocatore.scartaCarta(carta);
+                RegistroPartita.evento(LivelloLog.DETTAGLIO, stato, TipoEventoLog.SCARTA_CARTA,
+                        giocatore.getEroe().getNome(), carta.getId(), 0);
             }
-            System.out.println("  📤 Scartate " + carteScartatate + " carte");
             
             // 2. Ripristina segnalini
             giocatore.setAttacco(0);
@@ -240,72 +321,226 @@ public class TurnManager {
             giocatore.setAlleatiGiocati(0);
             giocatore.setIncantesimiGiocati(0);
             giocatore.setOggettiGiocati(0);
-            System.out.println("  🔄 Segnalini ripristinati");
+            RegistroPartita.info("  🔄 Segnalini ripristinati");
             
             // 3. Pesca 5 carte
-            if (giocatore.getMazzo().getCarte().isEmpty()) {
-                giocatore.getMazzo().getCarte().addAll(giocatore.getScarti().getCarte());
-                giocatore.getScarti().getCarte().clear();
-                Collections.shuffle(giocatore.getMazzo().getCarte());
+            if (giocatore.getMazzo().isEmpty()) {
+                giocatore.getMazzo().ricicla(giocatore.getScarti(), stato.getGeneratore());
             }
             
-            int carteDaPescare = Math.min(5, giocatore.getMazzo().getCarte().size());
+            int carteDaPescare = Math.min(5, giocatore.getMazzo().size());
             for (int i = 0; i < carteDaPescare; i++) {
-                giocatore.pescaCarta();
+                if (giocatore.pescaCarta(stato.getGeneratore())) {
+                    List<Carta> mano = giocatore.getMano();
+                    RegistroPartita.evento(LivelloLog.DETTAGLIO, stato, TipoEventoLog.PESCA_CARTA,
+                            giocatore.getEroe().getNome(), mano.get(mano.size() - 1).getId(), 1);
+                }
             }
             
-            System.out.println("  🃏 Pescate " + carteDaPescare + " carte");
-            
             // 4. Prossimo giocatore
             int prossimoGiocatore = (stato.getGiocatoreCorrente() + 1) % stato.getGiocatori().size();
             stato.setGiocatoreCorrente(prossimoGiocatore);
             
             stato.getGiocatori().get(prossimoGiocatore).registraTriggersInMano(stato);
             
-            System.out.println("\nTurno completato");
-            
-            iniziaTurno();
+            RegistroPartita.info("\nTurno completato");
         }
     }
     
     /**
-     * Avanza alla fase successiva
+     * Avanza alla fase successiva, su richiesta del giocatore, ed esegue le
+     * fasi automatiche che seguono
      */
     public void prossimaFase() {
         FaseTurno faseCorrente = stato.getFaseCorrente();
-        FaseTurno prossimaFase = null;
+        if (faseCorrente == FaseTurno.FINE_TURNO) {
+            return;
+        }
         
-        switch (faseCorrente) {
+        esciDaFase(faseCorrente);
+        eseguiFinoAInput();
+    }
+    
+    private FaseTurno faseSuccessiva(FaseTurno fase) {
+        switch (fase) {
             case ARTI_OSCURE:
-                prossimaFase = FaseTurno.MALVAGI;
-                break;
+                return FaseTurno.MALVAGI;
             case MALVAGI:
-                prossimaFase = stato.isHasHorcruxes() ? FaseTurno.HORCRUX : FaseTurno.GIOCA_CARTE;
-                break;
+                return stato.isHasHorcruxes() ? FaseTurno.HORCRUX : FaseTurno.GIOCA_CARTE;
             case HORCRUX:
-                prossimaFase = FaseTurno.GIOCA_CARTE;
-                break;
+                return FaseTurno.GIOCA_CARTE;
             case GIOCA_CARTE:
-                prossimaFase = FaseTurno.ATTACCA;
-                break;
+                return FaseTurno.ATTACCA;
             case ATTACCA:
-                prossimaFase = FaseTurno.ACQUISTA_CARTE;
-                break;
+                return FaseTurno.ACQUISTA_CARTE;
             case ACQUISTA_CARTE:
-                prossimaFase = FaseTurno.FINE_TURNO;
-                break;
-            case FINE_TURNO:
-                return;
+                return FaseTurno.FINE_TURNO;
+            default:
+                return FaseTurno.ARTI_OSCURE;
         }
+    }
+    
+    // ========================================
+    // AZIONI DEL GIOCATORE ATTIVO
+    // ========================================
+    
+    /**
+     * Gioca una carta dalla mano del giocatore attivo
+     * 
+     * @return true se la carta è stata giocata
+     */
+    public boolean giocaCarta(int indiceInMano) {
+        Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
         
-        if (prossimaFase != null) {
-            stato.setFaseCorrente(prossimaFase);
-            System.out.println("\n➡️ Fase successiva: " + getNomeFase(prossimaFase));
-            
-            if (isFaseAutomatica(prossimaFase)) {
-                eseguiFaseAutomatica();
+        if (stato.getFaseCorrente() != FaseTurno.GIOCA_CARTE && stato.getFaseCorrente() != FaseTurno.ATTACCA) {
+            return false;
+        }
+        if (indiceInMano < 0 || indiceInMano >= giocatore.getMano().size()) {
+            return false;
+        }
+        
+        Carta carta = giocatore.getMano().get(indiceInMano);
+        stato.getOsservatore().notifica(giocatore.getEroe().getNome() + " gioca: " + carta.getNome(),
+                TipoNotifica.GIOCA_CARTA);
+        
+        giocatore.giocaCarta(stato, carta);
+        return true;
+    }
+    
+    /**
+     * Acquista una carta dal mercato per il giocatore attivo
+     * 
+     * @return true se la carta è stata acquistata
+     */
+    public boolean acquistaCarta(int indiceInMercato) {
+        Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
+        
+        if (stato.getFaseCorrente() != FaseTurno.ACQUISTA_CARTE) {
+            return false;
+        }
+        if (indiceInMercato < 0 || indiceInMercato >= stato.getMercato().size()) {
+            return false;
+        }
+        
+        Carta carta = stato.getMercato().get(indiceInMercato);
+        if (giocatore.getGettone() < carta.getCosto()) {
+            return false;
+        }
+        
+        stato.getOsservatore().notifica(giocatore.getEroe().getNome() + " acquista: " + carta.getNome(),
+                TipoNotifica.ACQUISTA_CARTA);
+        
+        giocatore.acquistaCarta(stato.getMercato(), carta, stato);
+        gestisciTriggerAcquisto(carta, giocatore);
+        stato.rifornisciMercato();
+        return true;
+    }
+    
+    /**
+     * Gestisce trigger dopo acquisto (Cappello, Giratempo, Wingardium)
+     */
+    private void gestisciTriggerAcquisto(Carta cartaAcquistata, Giocatore giocatore) {
+        TipoTrigger tipoTrigger = null;
+        
+        // Determina tipo trigger in base alla classe carta
+        if (cartaAcquistata.getClasse().equalsIgnoreCase("Alleato")) {
+            tipoTrigger = TipoTrigger.ACQUISTA_ALLEATO;
+        } else if (cartaAcquistata.getClasse().equalsIgnoreCase("Incantesimo")) {
+            tipoTrigger = TipoTrigger.ACQUISTA_INCANTESIMO;
+        } else if (cartaAcquistata.getClasse().equalsIgnoreCase("Oggetto")) {
+            tipoTrigger = TipoTrigger.ACQUISTA_OGGETTO;
+        }
+        
+        if (tipoTrigger == null || !stato.getGestoreTrigger().hasTrigger(tipoTrigger)) {
+            // Nessun trigger: la carta va negli scarti
+            giocatore.getScarti().aggiungiCarta(cartaAcquistata);
+            return;
+        }
+        
+        String nomeCartaTrigger = getNomeCartaTrigger(tipoTrigger);
+        String descrizioneTrigger = nomeCartaTrigger + " ti permette di metterla in cima al mazzo.";
+        
+        stato.getDecisore().scegliPosizionamentoCarta(giocatore, cartaAcquistata, nomeCartaTrigger,
+                descrizioneTrigger, inCima -> {
+                    if (inCima) {
+                        giocatore.getMazzo().aggiungiInCima(cartaAcquistata);
+                        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                            RegistroPartita.info(cartaAcquistata.getNome() + " posizionata in cima al mazzo");
+                        }
+                        stato.getOsservatore().notifica(cartaAcquistata.getNome() + " in cima al mazzo",
+                                TipoNotifica.INFO);
+                    } else {
+                        giocatore.getScarti().aggiungiCarta(cartaAcquistata);
+                        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                            RegistroPartita.info(cartaAcquistata.getNome() + " posizionata negli scarti");
+                        }
+                        stato.getOsservatore().notifica(cartaAcquistata.getNome() + " in scarti",
+                                TipoNotifica.INFO);
+                    }
+                });
+    }
+    
+    /**
+     * Ottiene il nome della carta che ha attivato il trigger
+     */
+    private String getNomeCartaTrigger(TipoTrigger tipo) {
+        switch (tipo) {
+            case ACQUISTA_ALLEATO: return "Cappello Parlante";
+            case ACQUISTA_INCANTESIMO: return "Giratempo";
+            case ACQUISTA_OGGETTO: return "Wingardium Leviosa";
+            default: return "Carta speciale";
+        }
+    }
+    
+    /**
+     * Assegna un segnalino attacco a un malvagio attivo
+     * 
+     * @return true se l'attacco è stato assegnato
+     */
+    public boolean attaccaMalvagio(int indiceMalvagio) {
+        Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
+        
+        if (stato.getFaseCorrente() != FaseTurno.ATTACCA) {
+            return false;
+        }
+        if (indiceMalvagio < 0 || indiceMalvagio >= stato.getMalvagiAttivi().size()) {
+            return false;
+        }
+        
+        Malvagio malvagio = stato.getMalvagiAttivi().get(indiceMalvagio);
+        
+        // Verifica se il malvagio può essere attaccato (blocco Voldemort)
+        if (!stato.puoAttaccareMalvagio(malvagio)) {
+            String msg = stato.getMessaggioBloccoVoldemort();
+            stato.getOsservatore().notifica(msg, TipoNotifica.ATTACCO);
+            if (RegistroPartita.attivo(LivelloLog.INFO)) {
+                RegistroPartita.info("🚫 " + msg);
             }
+            return false;
+        }
+        
+        if (giocatore.getAttacco() <= 0 || malvagio.getAttaccoassegnato()) {
+            stato.getOsservatore().notifica("Non puoi attaccare questo malvagio", TipoNotifica.ATTACCO);
+            return false;
+        }
+        
+        stato.assegnaAttacco(malvagio, 1);
+        stato.getOsservatore().notifica(giocatore.getEroe().getNome() + " attacca " + malvagio.getNome() + " ("
+                + (malvagio.getDanno() + 1) + "/" + malvagio.getVita() + " ❤️)", TipoNotifica.ATTACCO);
+        if (malvagio.getDanno() >= malvagio.getVita() - 1) {
+            stato.getOsservatore().notifica("💀 " + malvagio.getNome() + " sconfitto!", TipoNotifica.MALVAGIO);
         }
+        stato.applicaAttacchi();
+        giocatore.setAttacco(giocatore.getAttacco() - 1);
+        
+        if (stato.getGestoreEffetti().regolaAttiva(TipoEffetto.LIMITA_ATTACCO)) {
+            malvagio.setAttaccoassegnato(true);
+        }
+        
+        if (RegistroPartita.attivo(LivelloLog.INFO)) {
+            RegistroPartita.info("Attaccato malvagio: " + malvagio.getNome());
+        }
+        return true;
     }
     
     private boolean isFaseAutomatica(FaseTurno fase) {
@@ -315,19 +550,6 @@ public class TurnManager {
                fase == FaseTurno.FINE_TURNO;
     }
     
-    private String getNomeFase(FaseTurno fase) {
-        switch (fase) {
-            case ARTI_OSCURE: return "Arti Oscure";
-            case MALVAGI: return "Malvagi";
-            case HORCRUX: return "Horcrux";
-            case GIOCA_CARTE: return "Gioca Carte";
-            case ATTACCA: return "Attacca";
-            case ACQUISTA_CARTE: return "Acquista Carte";
-            case FINE_TURNO: return "Fine Turno";
-            default: return fase.toString();
-        }
-    }
-    
     public StatoDiGioco getStato() {
         return stato;
     }
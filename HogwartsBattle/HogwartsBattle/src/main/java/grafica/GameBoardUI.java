@@ -1,5 +1,10 @@
 package grafica;
 
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.layout.*;
@@ -7,17 +12,40 @@ import javafx.scene.control.Label;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import carte.ArteOscura;
+import carte.Carta;
+import carte.Horcrux;
+import carte.Luogo;
+import carte.Malvagio;
+import gioco.BusEventi;
+import gioco.Giocatore;
 import gioco.StatoDiGioco;
 import grafica.panels.PlayersStatsPanel;
 import grafica.panels.GameBoardPanel;
+import grafica.panels.CardButton;
 import grafica.panels.CurrentPlayerPanel;
 import grafica.panels.MessagePanel;
 
 /**
  * GameBoardUI - Layout che si adatta al resize della finestra
+ *
+ * Il ridisegno è raggruppato per frame: aggiorna() e gli eventi della partita
+ * segnano solo che qualcosa è cambiato, e a ogni pulse un AnimationTimer
+ * confronta una firma di ogni area con quella dell'ultimo ridisegno.
+ * Vengono ridisegnate solo le aree la cui firma è cambiata, al massimo una
+ * volta per frame anche se nel frattempo sono arrivate molte richieste.
  */
 public class GameBoardUI extends StackPane {
     
+    /**
+     * Zone della plancia che si ridisegnano indipendentemente
+     */
+    public enum Area {
+        MERCATO, MALVAGI, LUOGO, ARTI_OSCURE, HORCRUX, MANO, STATISTICHE
+    }
+    
+    private static final Area[] AREE = Area.values();
+    
     private StatoDiGioco stato;
     private PlayersStatsPanel statsPanel;
     private GameBoardPanel boardPanel;
@@ -25,6 +53,19 @@ public class GameBoardUI extends StackPane {
     private MessagePanel messagePanel;
     private Label annoLabel;
     
+    // Firma di ogni area all'ultimo ridisegno, per ordinale di Area
+    private final int[] firme = new int[AREE.length];
+    // Aree da ridisegnare comunque al prossimo pulse, bit = ordinale
+    private int areeForzate;
+    private final AtomicBoolean richiesta = new AtomicBoolean();
+    private final BusEventi.Sottoscrizione eventi;
+    private final AnimationTimer ridisegno = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            ridisegnaAreeCambiate();
+        }
+    };
+    
     public GameBoardUI(StatoDiGioco stato) {
         this.stato = stato;
         
@@ -62,6 +103,21 @@ public class GameBoardUI extends StackPane {
         
         this.getChildren().addAll(mainLayout, messagePanel);
         StackPane.setAlignment(messagePanel, Pos.TOP_RIGHT);
+        
+        // I pannelli si sono appena disegnati: le firme partono da qui
+        for (Area area : AREE) {
+            firme[area.ordinal()] = firma(area);
+        }
+        
+        // Il timer gira solo finché la plancia è sulla scena
+        this.eventi = stato.getEventi().iscrivi();
+        sceneProperty().addListener((obs, vecchia, nuova) -> {
+            if (nuova != null) {
+                ridisegno.start();
+            } else {
+                ridisegno.stop();
+            }
+        });
     }
     
     private HBox creaTopBar() {
@@ -83,22 +139,192 @@ public class GameBoardUI extends StackPane {
         return topBar;
     }
     
-    public void aggiorna() {
-        if (annoLabel != null) {
-            annoLabel.setText("ANNO " + stato.getAnnoCorrente());
+    /**
+     * Fa decodificare in background le immagini che la plancia mostrerà
+     * appena creata per lo stato: tabellone e mani dei giocatori. Si può
+     * chiamare da qualsiasi thread, prima che la plancia esista.
+     *
+     * @return I compiti avviati, annullabili
+     */
+    public static List<Future<?>> precaricaImmagini(StatoDiGioco stato) {
+        List<Future<?>> compiti = GameBoardPanel.precaricaImmagini(stato);
+        for (Giocatore g : stato.getGiocatori()) {
+            for (Carta carta : g.getMano()) {
+                Future<?> compito = CardButton.precaricaImmagine(carta);
+                if (compito != null) {
+                    compiti.add(compito);
+                }
+            }
         }
-        if (statsPanel != null) statsPanel.aggiorna();
-        if (boardPanel != null) boardPanel.aggiorna();
-        if (playerPanel != null) playerPanel.aggiorna();
+        return compiti;
+    }
+    
+    /**
+     * Chiede di ridisegnare le aree cambiate al prossimo pulse. Si può
+     * chiamare da qualsiasi thread e quante volte si vuole nello stesso frame.
+     */
+    public void aggiorna() {
+        richiesta.set(true);
     }
     
     public void aggiornaGiocatoreCorrente() {
-        if (playerPanel != null) playerPanel.aggiorna();
+        segnaSporca(Area.MANO);
     }
     
     public void aggiornaTabelone() {
-        if (boardPanel != null) boardPanel.aggiorna();
-        if (statsPanel != null) statsPanel.aggiorna();
+        segnaSporca(Area.MERCATO, Area.MALVAGI, Area.LUOGO, Area.ARTI_OSCURE, Area.HORCRUX, Area.STATISTICHE);
+    }
+    
+    /**
+     * Ridisegna le aree indicate al prossimo pulse anche se la firma non è
+     * cambiata. Va chiamato dal thread JavaFX.
+     */
+    public void segnaSporca(Area... aree) {
+        for (Area area : aree) {
+            areeForzate |= 1 << area.ordinal();
+        }
+        richiesta.set(true);
+    }
+    
+    /**
+     * Smette di ricevere eventi e ridisegni; la plancia non va più usata
+     */
+    public void chiudi() {
+        ridisegno.stop();
+        eventi.annulla();
+    }
+    
+    private void ridisegnaAreeCambiate() {
+        // Gli eventi servono solo a sapere che la partita è andata avanti
+        boolean daControllare = richiesta.getAndSet(false);
+        if (eventi.getInAttesa() > 0) {
+            eventi.leggi(evento -> {
+            });
+            daControllare = true;
+        }
+        if (!daControllare) {
+            return;
+        }
+        
+        int sporche = areeForzate;
+        areeForzate = 0;
+        for (Area area : AREE) {
+            int nuova = firma(area);
+            if (nuova != firme[area.ordinal()]) {
+                firme[area.ordinal()] = nuova;
+                sporche |= 1 << area.ordinal();
+            }
+        }
+        
+        for (int m = sporche; m != 0; m &= m - 1) {
+            ridisegna(AREE[Integer.numberOfTrailingZeros(m)]);
+        }
+    }
+    
+    private void ridisegna(Area area) {
+        switch (area) {
+            case MERCATO:
+                boardPanel.aggiornaMercato();
+                break;
+            case MALVAGI:
+                boardPanel.aggiornaMalvagiAttivi();
+                break;
+            case LUOGO:
+                boardPanel.aggiornaLuogo();
+                break;
+            case ARTI_OSCURE:
+                boardPanel.aggiornaArtiOscure();
+                break;
+            case HORCRUX:
+                boardPanel.aggiornaHorcrux();
+                break;
+            case MANO:
+                playerPanel.aggiorna();
+                break;
+            case STATISTICHE:
+                annoLabel.setText("ANNO " + stato.getAnnoCorrente());
+                statsPanel.aggiorna();
+                break;
+        }
+    }
+    
+    /**
+     * Riassunto della parte di stato mostrata da un'area: se non cambia,
+     * l'area non va ridisegnata. Le carte contano per identità.
+     */
+    private int firma(Area area) {
+        int h = 17;
+        switch (area) {
+            case MERCATO:
+                h = firmaCarte(h, stato.getMercato());
+                break;
+            case MALVAGI:
+                List<Malvagio> malvagi = stato.getMalvagiAttivi();
+                for (int i = 0; i < malvagi.size(); i++) {
+                    h = 31 * h + System.identityHashCode(malvagi.get(i));
+                    h = 31 * h + malvagi.get(i).getDanno();
+                }
+                h = 31 * h + malvagi.size();
+                h = 31 * h + stato.getMazzoMalvagi().size();
+                break;
+            case LUOGO:
+                Luogo luogo = stato.getLuogoAttuale();
+                h = 31 * h + System.identityHashCode(luogo);
+                if (luogo != null) {
+                    h = 31 * h + luogo.getNumeroMarchiNeri();
+                    h = 31 * h + luogo.getMarchiNeriMax();
+                }
+                break;
+            case ARTI_OSCURE:
+                // Si vede solo l'ultima carta scartata
+                h = 31 * h + stato.getMazzoArtiOscure().size();
+                List<ArteOscura> scarti = stato.getScartiArtiOscure();
+                if (scarti != null && !scarti.isEmpty()) {
+                    h = 31 * h + scarti.size();
+                    h = 31 * h + System.identityHashCode(scarti.get(scarti.size() - 1));
+                }
+                break;
+            case HORCRUX:
+                if (stato.isHasHorcruxes()) {
+                    List<Horcrux> horcrux = stato.getHorcruxAttivi();
+                    for (int i = 0; i < horcrux.size(); i++) {
+                        h = 31 * h + System.identityHashCode(horcrux.get(i));
+                        h = 31 * h + horcrux.get(i).getSegnaliniAssegnati().size();
+                    }
+                    h = 31 * h + horcrux.size();
+                }
+                break;
+            case MANO:
+                Giocatore g = stato.getGiocatori().get(stato.getGiocatoreCorrente());
+                h = 31 * h + stato.getGiocatoreCorrente();
+                h = 31 * h + stato.getFaseCorrente().ordinal();
+                h = firmaGiocatore(h, g);
+                h = 31 * h + g.getMazzo().getCarte().size();
+                h = firmaCarte(h, g.getMano());
+                break;
+            case STATISTICHE:
+                h = 31 * h + stato.getAnnoCorrente();
+                h = 31 * h + stato.getGiocatoreCorrente();
+                for (int i = 0; i < stato.getGiocatori().size(); i++) {
+                    h = firmaGiocatore(h, stato.getGiocatori().get(i));
+                }
+                break;
+        }
+        return h;
+    }
+    
+    private static int firmaGiocatore(int h, Giocatore g) {
+        h = 31 * h + g.getSalute();
+        h = 31 * h + g.getSaluteMax();
+        h = 31 * h + g.getAttacco();
+        return 31 * h + g.getGettone();
+    }
+    
+    private static int firmaCarte(int h, List<? extends Carta> carte) {
+        for (int i = 0; i < carte.size(); i++) {
+            h = 31 * h + System.identityHashCode(carte.get(i));
+        }
+        return 31 * h + carte.size();
     }
     
     public PlayersStatsPanel getStatsPanel() { return statsPanel; }
@@ -8,16 +8,16 @@ import javafx.application.Platform;
 import javafx.scene.layout.Region;
 import gioco.*;
 import data.*;
-import gestoreEffetti.TipoEffetto;
-import gestoreEffetti.TipoTrigger;
 import carte.*;
 import grafica.screens.*;
+import grafica.controllers.DecisoreInterfaccia;
+import grafica.controllers.OsservatoreInterfaccia;
 import grafica.panels.MessagePanel;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -41,8 +41,16 @@ public class GameController extends GameApplication {
 
 	private List<String> carteAcquisiteTemp = null;
 	private List<String> carteNegozioTemp = null; // NUOVO
+	private Long semeTemp = null; // Seme della partita in corso da salvataggio
+
+	// Anno successivo preparato in background durante la schermata di vittoria
+	private PreparazioneAnno preparazione;
+	private List<Future<?>> immaginiPreparate = new ArrayList<>();
+	private StatoDiGioco statoPreparato;
 
 	private static GameController instance;
+	private MainMenuScreen menuAttuale;
+	private String sceltaInAttesa; // Ultima scelta del menu fatta mentre i cataloghi caricano
 
 	public static void main(String[] args) {
 		launch(args);
@@ -70,17 +78,11 @@ public class GameController extends GameApplication {
 		instance = this;
 
 		try {
-			// Inizializza le factory
-			System.out.println("\nInizializzazione Factory...");
-			CardFactory.inizializza();
-			HeroFactory.inizializza();
-			DiceFactory.inizializza();
-			LocationFactory.inizializza();
-			VillainFactory.inizializza();
-			ProficiencyFactory.inizializza();
-			HorcruxFactory.inizializza();
-
-			System.out.println("Tutte le factory inizializzate");
+			// Le factory si caricano in background: il menu compare subito
+			System.out.println("\nInizializzazione Factory in background...");
+			AvvioCataloghi.avvia(() -> Platform.runLater(this::aggiornaAvanzamentoCataloghi))
+					.thenRun(() -> System.out.println("Tutte le factory inizializzate in "
+							+ AvvioCataloghi.getDurataTotaleMillis() + " ms " + AvvioCataloghi.getTempiMillis()));
 
 			// Mostra menu principale
 			mostraMenuPrincipale();
@@ -102,43 +104,88 @@ public class GameController extends GameApplication {
 		System.out.println("\n=== MENU PRINCIPALE ===");
 
 		MainMenuScreen screen = new MainMenuScreen(scelta -> {
-			FXGL.getGameScene().clearUINodes();
-
-			switch (scelta) {
-			case "new_game":
-				// Nuova partita
-				annoSelezionato = 1;
-				caricamentoDaSalvataggio = false;
-				mostraSchermataSelezioneNumeroGiocatori();
-				break;
-
-			case "continue":
-				// Continua autosave
-				GameSaveData autosave = SaveManager.caricaAutosave();
-				if (autosave != null) {
-					caricaPartitaDaSalvataggio(autosave);
-				} else {
-					System.err.println("Nessun autosave trovato!");
-					mostraMenuPrincipale();
-				}
-				break;
-
-			case "load_game":
-				// Mostra lista salvataggi
-				mostraSchermataCaricamento();
-				break;
-
-			case "exit":
-				// Esci dal gioco
-				System.out.println("Arrivederci!");
-				FXGL.getGameController().exit();
-				break;
+			if ("exit".equals(scelta)) {
+				sceltaMenu(scelta);
+			} else {
+				dopoCataloghi(scelta);
 			}
 		});
 
+		menuAttuale = screen;
+		aggiornaAvanzamentoCataloghi();
 		FXGL.getGameScene().addUINode(screen);
 	}
 
+	private void sceltaMenu(String scelta) {
+		menuAttuale = null;
+		FXGL.getGameScene().clearUINodes();
+
+		switch (scelta) {
+		case "new_game":
+			// Nuova partita
+			annoSelezionato = 1;
+			caricamentoDaSalvataggio = false;
+			mostraSchermataSelezioneNumeroGiocatori();
+			break;
+
+		case "continue":
+			// Continua autosave
+			GameSaveData autosave = SaveManager.caricaAutosave();
+			if (autosave != null) {
+				caricaPartitaDaSalvataggio(autosave);
+			} else {
+				System.err.println("Nessun autosave trovato!");
+				mostraMenuPrincipale();
+			}
+			break;
+
+		case "load_game":
+			// Mostra lista salvataggi
+			mostraSchermataCaricamento();
+			break;
+
+		case "exit":
+			// Esci dal gioco
+			System.out.println("Arrivederci!");
+			FXGL.getGameController().exit();
+			break;
+		}
+	}
+
+	/**
+	 * Esegue l'azione sul thread JavaFX appena i cataloghi sono caricati,
+	 * subito se lo sono già
+	 */
+	/**
+	 * Esegue la scelta a cataloghi pronti. I clic fatti durante il caricamento
+	 * non si accodano: vale solo l'ultimo
+	 */
+	private void dopoCataloghi(String scelta) {
+		if (AvvioCataloghi.isPronto()) {
+			sceltaMenu(scelta);
+			return;
+		}
+		boolean giaProgrammata = sceltaInAttesa != null;
+		sceltaInAttesa = scelta;
+		if (!giaProgrammata) {
+			AvvioCataloghi.avvia().thenRun(() -> Platform.runLater(this::eseguiSceltaInAttesa));
+		}
+	}
+
+	private void eseguiSceltaInAttesa() {
+		String scelta = sceltaInAttesa;
+		sceltaInAttesa = null;
+		if (scelta != null) {
+			sceltaMenu(scelta);
+		}
+	}
+
+	private void aggiornaAvanzamentoCataloghi() {
+		if (menuAttuale != null) {
+			menuAttuale.mostraAvanzamento(AvvioCataloghi.getCompletati(), AvvioCataloghi.getTotale());
+		}
+	}
+
 	/**
 	 * Carica partita da salvataggio Se la partita è stata vinta, avanza all'anno
 	 * successivo
@@ -197,8 +244,6 @@ public class GameController extends GameApplication {
 					for (Carta c : g.getMano()) {
 						nuovoGiocatore.getMazzo().aggiungiCarta(c);
 					}
-					
-					Collections.shuffle(nuovoGiocatore.getMazzo().getCarte());
 
 					this.giocatoriSelezionati.add(nuovoGiocatore);
 				}
@@ -214,6 +259,7 @@ public class GameController extends GameApplication {
 			this.giocatoriSelezionati = ProgressionManager.ricreaGiocatoriDaSalvataggio(saveData, annoSelezionato);
 			
 			this.carteNegozioTemp = saveData.getCarteNegozioRimaste(); // NUOVO
+			this.semeTemp = saveData.getSeme();
 
 			continuaGioco();
 		}
@@ -350,7 +396,7 @@ public class GameController extends GameApplication {
 			FXGL.getGameScene().clearUINodes();
 
 			// ⭐ STEP 2: Reset variabili UI
-			gameUI = null;
+			chiudiGameUI();
 
 			// ⭐ STEP 3: Verifica prerequisiti
 			if (giocatoriSelezionati == null || giocatoriSelezionati.isEmpty()) {
@@ -360,7 +406,6 @@ public class GameController extends GameApplication {
 			}
 			for(Giocatore g : giocatoriSelezionati) {
 				g.getMazzo().inizializzaMazzo(g.getEroe().getNome());
-				g.inizializzaMano();
 			}
 
 			if (annoSelezionato < 1 || annoSelezionato > 7) {
@@ -369,7 +414,9 @@ public class GameController extends GameApplication {
 				return;
 			}
 
-			// ⭐ STEP 4: Carica configurazione
+			// ⭐ STEP 4: Carica configurazione (dal menu i cataloghi sono già
+			// pronti: attendi è solo una garanzia)
+			AvvioCataloghi.attendi();
 			GameLoader loader = new GameLoader();
 			GameConfig config;
 
@@ -391,6 +438,8 @@ public class GameController extends GameApplication {
 
 			// ⭐ STEP 5: Crea stato di gioco
 			stato = new StatoDiGioco(config, giocatoriSelezionati);
+			stato.setDecisore(new DecisoreInterfaccia());
+			stato.setOsservatore(new OsservatoreInterfaccia(this));
 
 			if (stato == null) {
 				System.err.println("ERRORE: Stato di gioco non creato!");
@@ -462,7 +511,7 @@ public class GameController extends GameApplication {
 
 			try {
 				stato = null;
-				gameUI = null;
+				chiudiGameUI();
 				FXGL.getGameScene().clearUINodes();
 				mostraMenuPrincipale();
 			} catch (Exception e2) {
@@ -481,7 +530,7 @@ public class GameController extends GameApplication {
 			FXGL.getGameScene().clearUINodes();
 
 			// ⭐ STEP 2: Reset variabili UI
-			gameUI = null;
+			chiudiGameUI();
 
 			// ⭐ STEP 3: Verifica prerequisiti
 			if (giocatoriSelezionati == null || giocatoriSelezionati.isEmpty()) {
@@ -489,32 +538,48 @@ public class GameController extends GameApplication {
 				mostraMenuPrincipale();
 				return;
 			}
-			for(Giocatore g : giocatoriSelezionati) {
-				g.inizializzaMano();
-			}
-			
-			// ⭐ STEP 4: Carica configurazione
-			GameLoader loader = new GameLoader();
-			GameConfig config;
 
-			if (carteNegozioTemp != null && !carteNegozioTemp.isEmpty()) {
-				System.out.println("Caricamento con carte negozio da salvataggio");
-				config = loader.caricaConfigurazione(annoSelezionato, carteNegozioTemp);
-				carteNegozioTemp = null;
+			// ⭐ STEP 4-5: Stato già preparato in background durante la
+			// vittoria, altrimenti configurazione e stato si creano adesso
+			StatoDiGioco preparato = statoPreparato;
+			statoPreparato = null;
+			if (preparato != null) {
+				System.out.println("Anno " + annoSelezionato + " preparato in background");
+				stato = preparato;
 			} else {
-				config = loader.caricaConfigurazione(annoSelezionato);
-			}
+				// ⭐ STEP 4: Carica configurazione (dal menu i cataloghi sono già
+				// pronti: attendi è solo una garanzia)
+				AvvioCataloghi.attendi();
+				GameLoader loader = new GameLoader();
+				GameConfig config;
+
+				if (carteNegozioTemp != null && !carteNegozioTemp.isEmpty()) {
+					System.out.println("Caricamento con carte negozio da salvataggio");
+					config = loader.caricaConfigurazione(annoSelezionato, carteNegozioTemp);
+					carteNegozioTemp = null;
+				} else {
+					config = loader.caricaConfigurazione(annoSelezionato);
+				}
 
-			if (config == null) {
-				System.err.println("ERRORE: Impossibile caricare configurazione anno " + annoSelezionato);
-				mostraMenuPrincipale();
-				return;
-			}
+				if (config == null) {
+					System.err.println("ERRORE: Impossibile caricare configurazione anno " + annoSelezionato);
+					mostraMenuPrincipale();
+					return;
+				}
 
-			System.out.println("Configurazione anno " + annoSelezionato + " caricata");
+				System.out.println("Configurazione anno " + annoSelezionato + " caricata");
 
-			// ⭐ STEP 5: Crea stato di gioco
-			stato = new StatoDiGioco(config, giocatoriSelezionati);
+				// Stesso seme del salvataggio: mescolate e dadi si ripetono uguali
+				if (semeTemp != null) {
+					config.setSeme(semeTemp);
+					semeTemp = null;
+				}
+
+				// ⭐ STEP 5: Crea stato di gioco (mescola i mazzi e distribuisce le mani)
+				stato = new StatoDiGioco(config, giocatoriSelezionati);
+			}
+			stato.setDecisore(new DecisoreInterfaccia());
+			stato.setOsservatore(new OsservatoreInterfaccia(this));
 
 			// ⭐ NUOVO: Ripristina carte acquisite se presente
 			if (carteAcquisiteTemp != null && !carteAcquisiteTemp.isEmpty()) {
@@ -595,7 +660,7 @@ public class GameController extends GameApplication {
 			// Fallback sicuro
 			try {
 				stato = null;
-				gameUI = null;
+				chiudiGameUI();
 				FXGL.getGameScene().clearUINodes();
 				mostraMenuPrincipale();
 			} catch (Exception e2) {
@@ -624,6 +689,11 @@ public class GameController extends GameApplication {
 		// Mostra schermata vittoria
 		FXGL.getGameScene().clearUINodes();
 
+		// Mentre la schermata è mostrata si prepara l'anno successivo
+		if (!ultimoAnno) {
+			avviaPreparazioneProssimoAnno();
+		}
+
 		VictoryScreen victoryScreen = new VictoryScreen(annoCompletato, scelta -> {
 			FXGL.getGameScene().clearUINodes();
 
@@ -631,6 +701,7 @@ public class GameController extends GameApplication {
 				// ⭐ MODIFICATO: Avanza senza tornare al menu
 				avanzaAnnoSuccessivo();
 			} else {
+				scartaPreparazione();
 				mostraMenuPrincipale();
 			}
 		});
@@ -702,23 +773,77 @@ public class GameController extends GameApplication {
 	}
 
 	/**
-	 * Avanza anno successivo
+	 * Prepara in background giocatori, configurazione e stato dell'anno
+	 * successivo e, quando sono pronti, fa decodificare le immagini che
+	 * la plancia (o la scelta delle competenze) mostrerà per prime
+	 */
+	private void avviaPreparazioneProssimoAnno() {
+		scartaPreparazione();
+		preparazione = PreparazioneAnno.avvia(stato, pronta -> {
+			List<Future<?>> compiti;
+			if (pronta.getStato() != null) {
+				compiti = GameBoardUI.precaricaImmagini(pronta.getStato());
+			} else if (PreparazioneAnno.richiedeCompetenze(pronta.getAnno(), pronta.getGiocatori())) {
+				compiti = ProficiencySelectionScreen.precaricaImmagini();
+			} else {
+				return;
+			}
+			Platform.runLater(() -> {
+				if (pronta.isScartata()) {
+					compiti.forEach(c -> c.cancel(false));
+				} else if (pronta == preparazione) {
+					immaginiPreparate.addAll(compiti);
+				}
+			});
+		});
+	}
+
+	/**
+	 * Butta la preparazione in corso e le decodifiche non ancora iniziate
+	 */
+	private void scartaPreparazione() {
+		if (preparazione != null) {
+			preparazione.scarta();
+			preparazione = null;
+		}
+		immaginiPreparate.forEach(c -> c.cancel(false));
+		immaginiPreparate.clear();
+		statoPreparato = null;
+	}
+
+	/**
+	 * Avanza anno successivo, con quanto preparato durante la vittoria se
+	 * la preparazione è riuscita
 	 */
 	private void avanzaAnnoSuccessivo() {
-		int prossimoAnno = ProgressionManager.calcolaProssimoAnno(stato.getAnnoCorrente());
+		PreparazioneAnno preparata = preparazione;
+		preparazione = null;
+		// Le decodifiche avviate restano: servono alla nuova plancia
+		immaginiPreparate.clear();
+
+		int prossimoAnno;
+		List<Giocatore> giocatoriProssimoAnno;
+		if (preparata != null && preparata.attendi()) {
+			prossimoAnno = preparata.getAnno();
+			giocatoriProssimoAnno = preparata.getGiocatori();
+			statoPreparato = preparata.getStato();
+
+			System.out.println("\nAVANZAMENTO ANNO " + prossimoAnno);
+		} else {
+			prossimoAnno = ProgressionManager.calcolaProssimoAnno(stato.getAnnoCorrente());
 
-		System.out.println("\nAVANZAMENTO ANNO " + prossimoAnno);
+			System.out.println("\nAVANZAMENTO ANNO " + prossimoAnno);
 
-		List<Giocatore> giocatoriProssimoAnno = ProgressionManager.preparaGiocatoriProssimoAnno(stato.getGiocatori(),
-				prossimoAnno, stato);
+			giocatoriProssimoAnno = ProgressionManager.preparaGiocatoriProssimoAnno(stato.getGiocatori(),
+					prossimoAnno, stato);
+		}
 
 		this.annoSelezionato = prossimoAnno;
 		this.giocatoriSelezionati = giocatoriProssimoAnno;
 		this.numeroGiocatori = giocatoriProssimoAnno.size();
 
 		// Se anno 6 e non hanno competenze, mostra selezione
-		boolean needProficiencySelection = (prossimoAnno == 6)
-				&& giocatoriProssimoAnno.stream().allMatch(g -> g.getCompetenza() == null);
+		boolean needProficiencySelection = PreparazioneAnno.richiedeCompetenze(prossimoAnno, giocatoriProssimoAnno);
 
 		if (needProficiencySelection) {
 			mostraSchermataSelezioneCompetenze();
@@ -746,162 +871,20 @@ public class GameController extends GameApplication {
 	}
 
 	public void giocaCarta(int indiceInMano) {
-		Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
-
-		if (stato.getFaseCorrente() == FaseTurno.GIOCA_CARTE || stato.getFaseCorrente() == FaseTurno.ATTACCA) {
-			if (indiceInMano >= 0 && indiceInMano < giocatore.getMano().size()) {
-				Carta carta = giocatore.getMano().get(indiceInMano);
-
-				gameUI.getMessagePanel().mostraMessaggio(giocatore.getEroe().getNome() + " gioca: " + carta.getNome(),
-						MessagePanel.TipoMessaggio.GIOCA_CARTA);
-
-				giocatore.giocaCarta(stato, carta);
-				gameUI.aggiorna();
-			}
+		if (turnManager.giocaCarta(indiceInMano)) {
+			gameUI.aggiorna();
 		}
 	}
 
 	public void acquistaCarta(int indiceInMercato) {
-		Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
-
-		if (stato.getFaseCorrente() == FaseTurno.ACQUISTA_CARTE) {
-			if (indiceInMercato >= 0 && indiceInMercato < stato.getMercato().size()) {
-				Carta carta = stato.getMercato().get(indiceInMercato);
-				if (giocatore.getGettone() >= carta.getCosto()) {
-					gameUI.getMessagePanel().mostraMessaggio(
-							giocatore.getEroe().getNome() + " acquista: " + carta.getNome(),
-							MessagePanel.TipoMessaggio.ACQUISTA_CARTA);
-
-					giocatore.acquistaCarta(stato.getMercato(), carta, stato);
-					gestisciTriggerAcquisto(carta, giocatore);
-					stato.rifornisciMercato();
-					gameUI.aggiorna();
-				}
-			}
-		}
-	}
-
-	/**
-	 * Gestisce trigger dopo acquisto (Cappello, Giratempo, Wingardium)
-	 */
-	private void gestisciTriggerAcquisto(Carta cartaAcquistata, Giocatore giocatore) {
-		TipoTrigger tipoTrigger = null;
-
-		// Determina tipo trigger in base alla classe carta
-		if (cartaAcquistata.getClasse().equalsIgnoreCase("Alleato")) {
-			tipoTrigger = gestoreEffetti.TipoTrigger.ACQUISTA_ALLEATO;
-		} else if (cartaAcquistata.getClasse().equalsIgnoreCase("Incantesimo")) {
-			tipoTrigger = gestoreEffetti.TipoTrigger.ACQUISTA_INCANTESIMO;
-		} else if (cartaAcquistata.getClasse().equalsIgnoreCase("Oggetto")) {
-			tipoTrigger = gestoreEffetti.TipoTrigger.ACQUISTA_OGGETTO;
-		}
-
-		if (tipoTrigger != null && stato.getGestoreTrigger().hasTrigger(tipoTrigger)) {
-			// C'è un trigger attivo
-			mostraDialogPosizionamentoCarta(cartaAcquistata, giocatore, tipoTrigger);
-		} else {
-			// Nessun trigger in carta va negli scarti
-			giocatore.getScarti().aggiungiCarta(cartaAcquistata);
-		}
-	}
-
-	/**
-	 * Mostra dialog per scegliere dove posizionare carta acquistata
-	 */
-	private void mostraDialogPosizionamentoCarta(Carta carta, Giocatore giocatore, TipoTrigger tipoTrigger) {
-	    String nomeCartaTrigger = getNomeCartaTrigger(tipoTrigger);
-	    String descrizoneTrigger = nomeCartaTrigger + " ti permette di metterla in cima al mazzo.";
-	    
-	    grafica.panels.DialogHelper.mostraSceltaPosizionamentoCarta(
-	        carta.getNome(),
-	        carta.getClasse(),
-	        nomeCartaTrigger,
-	        descrizoneTrigger,
-	        inCima -> {
-	            if (inCima) {
-	                // Carta in cima al mazzo
-	                giocatore.getMazzo().getCarte().addFirst(carta);
-	                System.out.println(carta.getNome() + " posizionata in cima al mazzo");
-	                
-	                if (gameUI != null && gameUI.getMessagePanel() != null) {
-	                    gameUI.getMessagePanel().mostraMessaggio(
-	                        carta.getNome() + " in cima al mazzo",
-	                        MessagePanel.TipoMessaggio.INFO
-	                    );
-	                }
-	            } else {
-	                // Carta negli scarti
-	                giocatore.getScarti().aggiungiCarta(carta);
-	                System.out.println(carta.getNome() + " posizionata negli scarti");
-	                
-	                if (gameUI != null && gameUI.getMessagePanel() != null) {
-	                    gameUI.getMessagePanel().mostraMessaggio(
-	                        carta.getNome() + " in scarti",
-	                        MessagePanel.TipoMessaggio.INFO
-	                    );
-	                }
-	            }
-	        }
-	    );
-	}
-
-	/**
-	 * Ottiene il nome della carta che ha attivato il trigger
-	 */
-	private String getNomeCartaTrigger(TipoTrigger tipo) {
-		switch (tipo) {
-		case ACQUISTA_ALLEATO:
-			return "Cappello Parlante";
-		case ACQUISTA_INCANTESIMO:
-			return "Giratempo";
-		case ACQUISTA_OGGETTO:
-			return "Wingardium Leviosa";
-		default:
-			return "Carta speciale";
+		if (turnManager.acquistaCarta(indiceInMercato)) {
+			gameUI.aggiorna();
 		}
 	}
 
 	public void attaccaMalvagio(int indiceMalvagio) {
-		Giocatore giocatore = stato.getGiocatori().get(stato.getGiocatoreCorrente());
-
-		if (stato.getFaseCorrente() == FaseTurno.ATTACCA) {
-			if (indiceMalvagio >= 0 && indiceMalvagio < stato.getMalvagiAttivi().size()) {
-				Malvagio malvagio = stato.getMalvagiAttivi().get(indiceMalvagio);
-				
-				// Verifica se il malvagio può essere attaccato (blocco Voldemort)
-			    if (!stato.puoAttaccareMalvagio(malvagio)) {
-			        String msg = stato.getMessaggioBloccoVoldemort();
-			        gameUI.getMessagePanel().mostraMessaggio(msg, MessagePanel.TipoMessaggio.ATTACCO);
-			        System.out.println("🚫 " + msg);
-			        return;
-			    }
-				
-				if (giocatore.getAttacco() > 0 && !malvagio.getAttaccoassegnato()) {
-					stato.assegnaAttacco(malvagio, 1);
-					// Messaggio attacco
-					String msg = giocatore.getEroe().getNome() + " attacca " + malvagio.getNome() + " ("
-							+ (malvagio.getDanno() + 1)+ "/" + malvagio.getVita() + " ❤️)";
-					gameUI.getMessagePanel().mostraMessaggio(msg, MessagePanel.TipoMessaggio.ATTACCO);
-					if (malvagio.getDanno() >= malvagio.getVita() - 1) {
-						// Messaggio sconfitta
-						gameUI.getMessagePanel().mostraMessaggio("💀 " + malvagio.getNome() + " sconfitto!",
-								MessagePanel.TipoMessaggio.MALVAGIO);
-					}
-					stato.applicaAttacchi();
-					giocatore.setAttacco(giocatore.getAttacco() - 1);
-					
-					if(stato.getGestoreEffetti().regolaAttiva(TipoEffetto.LIMITA_ATTACCO)) {
-						malvagio.setAttaccoassegnato(true);
-					}
-
-					gameUI.aggiorna();
-					System.out.println("Attaccato malvagio: " + malvagio.getNome());
-				}
-				else {
-					String msg = "Non puoi attaccare questo malvagio";
-					gameUI.getMessagePanel().mostraMessaggio(msg, MessagePanel.TipoMessaggio.ATTACCO);
-				}
-			}
+		if (turnManager.attaccaMalvagio(indiceMalvagio)) {
+			gameUI.aggiorna();
 		}
 	}
 
@@ -943,6 +926,16 @@ public class GameController extends GameApplication {
 		return gameUI;
 	}
 
+	/**
+	 * Ferma il ridisegno della plancia corrente prima di sostituirla
+	 */
+	private void chiudiGameUI() {
+		if (gameUI != null) {
+			gameUI.chiudi();
+			gameUI = null;
+		}
+	}
+
 	public static GameController getInstance() {
 		return instance;
 	}
@@ -0,0 +1,72 @@
+package grafica.controllers;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import carte.Carta;
+import carte.Malvagio;
+import gestoreEffetti.TipoEffetto;
+import gioco.DecisoreScelte;
+import gioco.Giocatore;
+import gioco.InputController;
+import grafica.panels.DialogHelper;
+
+/**
+ * DecisoreInterfaccia - Decisore che chiede le scelte all'utente
+ * tramite i dialoghi di InputController e DialogHelper
+ */
+public class DecisoreInterfaccia implements DecisoreScelte {
+
+	@Override
+	public Carta scegliCarta(Giocatore giocatore, List<Carta> carte, String tipoAzione, String motivazione,
+			String cartaAttivante) {
+		return InputController.scegliCartaConContesto(carte, giocatore.getEroe().getNome(), tipoAzione, motivazione,
+				cartaAttivante);
+	}
+
+	@Override
+	public Carta scegliCartaDaScartare(Giocatore giocatore, List<Carta> carte, String tipoAzione,
+			String motivazione) {
+		return InputController.scegliCartaConContesto(carte, giocatore.getEroe().getNome(), tipoAzione, motivazione,
+				null);
+	}
+
+	@Override
+	public void scegliCarteDaScartare(Giocatore giocatore, TipoEffetto tipoScarto, int quantita,
+			Consumer<List<Carta>> callback) {
+		InputController.getInstance().mostraSelezioneCartePerScartare(giocatore, tipoScarto, quantita, callback);
+	}
+
+	@Override
+	public Malvagio scegliMalvagio(Giocatore giocatore, List<Malvagio> malvagi, String messaggio) {
+		return InputController.scegliMalvagio(malvagi, giocatore.getEroe().getNome(), messaggio);
+	}
+
+	@Override
+	public int scegliGiocatore(Giocatore attivo, List<Giocatore> giocatori, String tipoAzione,
+			String cartaAttivante, String descrizioneEffetto) {
+		return InputController.scegliGiocatoreConContesto(giocatori, attivo.getEroe().getNome(), tipoAzione,
+				cartaAttivante, descrizioneEffetto);
+	}
+
+	@Override
+	public void scegliEffetto(Giocatore giocatore, String titolo, String descrizione, String opzioneA,
+			String opzioneB, Consumer<Boolean> callback) {
+		DialogHelper.mostraSceltaEffetto(giocatore.getEroe().getNome(), titolo, descrizione, opzioneA, opzioneB,
+				callback);
+	}
+
+	@Override
+	public void scegliDado(Giocatore giocatore, List<String> nomiDadi, Consumer<Integer> callback) {
+		DialogHelper.mostraSceltaMultipla("Storia di Hogwarts",
+				giocatore.getEroe().getNome() + ", scegli quale dado tirare:",
+				"Seleziona uno dei dadi delle casate disponibili:", nomiDadi, callback, DialogHelper.DialogStyle.DADO());
+	}
+
+	@Override
+	public void scegliPosizionamentoCarta(Giocatore giocatore, Carta carta, String nomeCartaTrigger,
+			String descrizione, Consumer<Boolean> callback) {
+		DialogHelper.mostraSceltaPosizionamentoCarta(carta.getNome(), carta.getClasse(), nomeCartaTrigger,
+				descrizione, callback);
+	}
+}
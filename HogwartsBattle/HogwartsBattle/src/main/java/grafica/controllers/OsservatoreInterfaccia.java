@@ -0,0 +1,58 @@
+package grafica.controllers;
+
+import gioco.InputController;
+import gioco.OsservatorePartita;
+import gioco.TipoNotifica;
+import grafica.GameBoardUI;
+import grafica.GameController;
+import grafica.panels.MessagePanel;
+import javafx.application.Platform;
+
+/**
+ * OsservatoreInterfaccia - Inoltra le notifiche del motore di gioco
+ * all'interfaccia grafica, sempre sul thread JavaFX
+ */
+public class OsservatoreInterfaccia implements OsservatorePartita {
+
+	private final GameController gameController;
+
+	public OsservatoreInterfaccia(GameController gameController) {
+		this.gameController = gameController;
+	}
+
+	@Override
+	public void aggiornaInterfaccia() {
+		// Basta segnalare: la plancia ridisegna al prossimo pulse, una volta sola
+		GameBoardUI gameUI = gameController.getGameUI();
+		if (gameUI != null) {
+			gameUI.aggiorna();
+		}
+	}
+
+	@Override
+	public void notifica(String messaggio, TipoNotifica tipo) {
+		if (gameController.getGameUI() != null && gameController.getGameUI().getMessagePanel() != null) {
+			gameController.getGameUI().getMessagePanel().mostraMessaggio(messaggio,
+					MessagePanel.TipoMessaggio.valueOf(tipo.name()));
+		}
+	}
+
+	@Override
+	public void mostraInformazione(String nomeGiocatore, String tipoAzione, String cartaAttivante, String messaggio,
+			String dettagli) {
+		InputController.mostraMessaggioConContesto(nomeGiocatore, tipoAzione, cartaAttivante, messaggio, dettagli);
+	}
+
+	@Override
+	public void onVittoria() {
+		Platform.runLater(gameController::onVittoria);
+	}
+
+	@Override
+	public void onSconfitta() {
+		Platform.runLater(() -> {
+			System.out.println("Notifica GameController della sconfitta...");
+			gameController.onSconfitta();
+		});
+	}
+}
@@ -1,5 +1,7 @@
 package grafica.panels;
 
+import java.util.concurrent.Future;
+
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -8,7 +10,6 @@ import javafx.scene.control.Tooltip;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import carte.Carta;
 import grafica.controllers.CardClickHandler;
@@ -17,17 +18,46 @@ import grafica.utils.ImageLoader;
 
 /**
  * CardButton - Componente che rappresenta una carta cliccabile con immagine
+ *
+ * I nodi interni sono creati una volta sola: mostra() cambia carta e indice
+ * di un bottone esistente, così la mano può riusare i bottoni (vedi
+ * PoolCardButton) invece di ricrearli a ogni aggiornamento.
  */
 public class CardButton extends VBox {
     
+    // Dimensioni dell'immagine, usate sia per mostrarla sia per precaricarla
+    private static final int LARGHEZZA_IMMAGINE = 110;
+    private static final int ALTEZZA_IMMAGINE = 80;
+    
     private Carta carta;
     private int indice;
     private Button cardBtn;
     private CardClickHandler clickHandler;
+    private final ImageView imageView;
+    private final Label nameLabel;
+    private final Label costLabel;
+    private final Label typeLabel;
+    private final Tooltip tooltip;
     
     public CardButton(Carta carta, int indice, int totaleCarte) {
-        this.carta = carta;
-        this.indice = indice;
+        this();
+        mostra(carta, indice);
+    }
+    
+    /**
+     * Fa decodificare in anticipo l'immagine della carta alla dimensione del
+     * bottone; si può chiamare da qualsiasi thread
+     *
+     * @return Il compito, o null se non serve
+     */
+    public static Future<?> precaricaImmagine(Carta carta) {
+        return ImageLoader.precarica(carta.getPathImmagine(), LARGHEZZA_IMMAGINE, ALTEZZA_IMMAGINE);
+    }
+    
+    /**
+     * Bottone vuoto, da riempire con mostra()
+     */
+    public CardButton() {
         this.clickHandler = new CardClickHandler(GameController.getInstance());
         
         // Impostazioni base VBox
@@ -37,24 +67,15 @@ public class CardButton extends VBox {
         setPadding(new Insets(5));
         setAlignment(Pos.TOP_CENTER);
         
-        // Colore in base al tipo di carta
-        String coloreBordo = getColoreBordoPerTipo();
-        setStyle("-fx-border-color: " + coloreBordo + "; -fx-border-width: 2; " +
-                "-fx-background-color: #1a1a1a; -fx-border-radius: 5;");
-        
-        // Carica immagine della carta
-        if (carta.getPathImmagine() != null && !carta.getPathImmagine().isEmpty()) {
-            Image cardImage = ImageLoader.caricaImmagine(carta.getPathImmagine());
-            ImageView imageView = new ImageView(cardImage);
-            imageView.setFitWidth(110);
-            imageView.setFitHeight(80);
-            imageView.setPreserveRatio(true);
-            imageView.setSmooth(true);
-            getChildren().add(imageView);
-        }
+        // Immagine della carta (nascosta se la carta non ne ha una)
+        this.imageView = new ImageView();
+        imageView.setFitWidth(LARGHEZZA_IMMAGINE);
+        imageView.setFitHeight(ALTEZZA_IMMAGINE);
+        imageView.setPreserveRatio(true);
+        imageView.setSmooth(true);
         
         // Nome carta
-        Label nameLabel = new Label(carta.getNome());
+        this.nameLabel = new Label();
         nameLabel.setFont(new Font("Arial Bold", 9));
         nameLabel.setTextFill(Color.web("#FFFFFF"));
         nameLabel.setWrapText(true);
@@ -63,12 +84,12 @@ public class CardButton extends VBox {
         nameLabel.setMaxHeight(30);
         
         // Costo
-        Label costLabel = new Label("💰 " + carta.getCosto());
+        this.costLabel = new Label();
         costLabel.setFont(new Font("Arial", 9));
         costLabel.setTextFill(Color.web("#FFD700"));
         
         // Classe/Tipo
-        Label typeLabel = new Label(carta.getClasse());
+        this.typeLabel = new Label();
         typeLabel.setFont(new Font("Arial", 8));
         typeLabel.setTextFill(Color.web("#9966FF"));
         
@@ -116,12 +137,60 @@ public class CardButton extends VBox {
             setScaleY(1.0);
         });
         
-        Tooltip tooltip = new Tooltip(carta.getDescrizione());
+        this.tooltip = new Tooltip();
         tooltip.setWrapText(true);
         tooltip.setPrefWidth(250);
         Tooltip.install(this, tooltip);
         
-        getChildren().addAll(nameLabel, typeLabel, costLabel, cardBtn);
+        getChildren().addAll(imageView, nameLabel, typeLabel, costLabel, cardBtn);
+    }
+    
+    /**
+     * Mostra una carta in questo bottone. Testi e immagine cambiano solo se
+     * la carta è diversa da quella già mostrata.
+     *
+     * @param indice Posizione della carta nella mano
+     */
+    public void mostra(Carta carta, int indice) {
+        this.indice = indice;
+        if (carta == this.carta) {
+            return;
+        }
+        this.carta = carta;
+        
+        // Colore in base al tipo di carta
+        String coloreBordo = getColoreBordoPerTipo();
+        setStyle("-fx-border-color: " + coloreBordo + "; -fx-border-width: 2; " +
+                "-fx-background-color: #1a1a1a; -fx-border-radius: 5;");
+        
+        // Carica immagine della carta
+        boolean conImmagine = carta.getPathImmagine() != null && !carta.getPathImmagine().isEmpty();
+        if (conImmagine) {
+            ImageLoader.caricaIn(imageView, carta.getPathImmagine(), LARGHEZZA_IMMAGINE, ALTEZZA_IMMAGINE);
+        } else {
+            ImageLoader.annulla(imageView);
+            imageView.setImage(null);
+        }
+        imageView.setVisible(conImmagine);
+        imageView.setManaged(conImmagine);
+        
+        nameLabel.setText(carta.getNome());
+        costLabel.setText("💰 " + carta.getCosto());
+        typeLabel.setText(carta.getClasse());
+        tooltip.setText(carta.getDescrizione());
+        
+        setScaleX(1.0);
+        setScaleY(1.0);
+    }
+    
+    /**
+     * Dimentica la carta mostrata, prima di rimettere il bottone nel pool
+     */
+    public void svuota() {
+        this.carta = null;
+        this.indice = -1;
+        ImageLoader.annulla(imageView);
+        imageView.setImage(null);
     }
     
     private void handleCardClick() {
@@ -1,5 +1,10 @@
 package grafica.panels;
 
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -17,12 +22,25 @@ import grafica.GameController;
 
 /**
  * CurrentPlayerPanel SEMPLICE - zero binding
+ *
+ * I nodi sono creati una volta: aggiorna() cambia solo i testi e
+ * riconcilia la mano per identità delle carte, riusando i CardButton di
+ * carte rimaste in mano e prendendo quelli nuovi da un pool.
  */
 public class CurrentPlayerPanel extends HBox {
     
+    private static final int COLONNE_MANO = 5;
+    
     private StatoDiGioco stato;
     private GameController controller;
     private Button nextPhaseButton;
+    private Label nome, desc, hp, atk, inf, deck, fase;
+    private GridPane manoGrid;
+    
+    // Bottone di ogni carta in mano, per identità della carta
+    private final Map<Carta, CardButton> bottoniMano = new IdentityHashMap<>();
+    private final PoolCardButton pool = new PoolCardButton();
+    private Giocatore giocatoreMostrato;
     
     public CurrentPlayerPanel(StatoDiGioco stato) {
         this.stato = stato;
@@ -32,6 +50,7 @@ public class CurrentPlayerPanel extends HBox {
         setSpacing(10);
         setPadding(new Insets(10));
         
+        getChildren().addAll(creaHeroSection(), creaHandSection());
         aggiorna();
     }
     
@@ -42,14 +61,12 @@ public class CurrentPlayerPanel extends HBox {
         section.setAlignment(Pos.TOP_CENTER);
         section.setPrefWidth(280);
         
-        Giocatore g = stato.getGiocatori().get(stato.getGiocatoreCorrente());
-        
-        Label nome = new Label("⭐ " + g.getEroe().getNome());
+        nome = new Label();
         nome.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         nome.setTextFill(Color.web("#FFD700"));
         nome.setWrapText(true);
         
-        Label desc = new Label(g.getEroe().getDescrizione());
+        desc = new Label();
         desc.setFont(Font.font("Arial", 10));
         desc.setTextFill(Color.web("#CCCCCC"));
         desc.setWrapText(true);
@@ -57,19 +74,19 @@ public class CurrentPlayerPanel extends HBox {
         desc.setStyle("-fx-padding: 5; -fx-background-color: rgba(255,255,255,0.05);");
         
         VBox stats = new VBox(3);
-        Label hp = new Label("❤️ Vita: " + g.getSalute() + "/" + g.getSaluteMax());
+        hp = new Label();
         hp.setTextFill(Color.web("#FF6666"));
         hp.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         
-        Label atk = new Label("⚔️ Attacchi: " + g.getAttacco());
+        atk = new Label();
         atk.setTextFill(Color.web("#FFAA66"));
         atk.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         
-        Label inf = new Label("🪙 Influenza: " + g.getGettone());
+        inf = new Label();
         inf.setTextFill(Color.web("#FFD700"));
         inf.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         
-        Label deck = new Label("📚 Carte nel mazzo: " + g.getMazzo().getCarte().size());
+        deck = new Label();
         deck.setTextFill(Color.web("#66CCFF"));
         deck.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         
@@ -78,12 +95,12 @@ public class CurrentPlayerPanel extends HBox {
         Region spacer = new Region();
         VBox.setVgrow(spacer, Priority.ALWAYS);
         
-        Label fase = new Label("Fase: " + getNomeFase(stato.getFaseCorrente()));
+        fase = new Label();
         fase.setFont(Font.font("Arial", 10));
         fase.setTextFill(Color.web("#66CCFF"));
         fase.setWrapText(true);
         
-        this.nextPhaseButton = new Button("▶️ " + getNomeFase(calcolaProssimaFase()));
+        this.nextPhaseButton = new Button();
         nextPhaseButton.setMaxWidth(Double.MAX_VALUE);
         nextPhaseButton.setPrefHeight(40);
         nextPhaseButton.setStyle(
@@ -97,23 +114,12 @@ public class CurrentPlayerPanel extends HBox {
     }
     
     private ScrollPane creaHandSection() {
-        GridPane grid = new GridPane();
-        grid.setHgap(6);
-        grid.setVgap(6);
-        grid.setPadding(new Insets(8));
+        manoGrid = new GridPane();
+        manoGrid.setHgap(6);
+        manoGrid.setVgap(6);
+        manoGrid.setPadding(new Insets(8));
         
-        Giocatore g = stato.getGiocatori().get(stato.getGiocatoreCorrente());
-        int col = 0, row = 0;
-        
-        for (int i = 0; i < g.getMano().size(); i++) {
-            Carta carta = g.getMano().get(i);
-            CardButton btn = new CardButton(carta, i, g.getMano().size());
-            grid.add(btn, col, row);
-            col++;
-            if (col >= 5) { col = 0; row++; }
-        }
-        
-        ScrollPane scroll = new ScrollPane(grid);
+        ScrollPane scroll = new ScrollPane(manoGrid);
         scroll.setStyle("-fx-background: #1a1a1a;");
         scroll.setFitToHeight(true);
         scroll.setFitToWidth(true);
@@ -122,6 +128,62 @@ public class CurrentPlayerPanel extends HBox {
         return scroll;
     }
     
+    private void aggiornaHeroSection(Giocatore g) {
+        if (g != giocatoreMostrato) {
+            nome.setText("⭐ " + g.getEroe().getNome());
+            desc.setText(g.getEroe().getDescrizione());
+        }
+        hp.setText("❤️ Vita: " + g.getSalute() + "/" + g.getSaluteMax());
+        atk.setText("⚔️ Attacchi: " + g.getAttacco());
+        inf.setText("🪙 Influenza: " + g.getGettone());
+        deck.setText("📚 Carte nel mazzo: " + g.getMazzo().getCarte().size());
+        fase.setText("Fase: " + getNomeFase(stato.getFaseCorrente()));
+        nextPhaseButton.setText("▶️ " + getNomeFase(calcolaProssimaFase()));
+    }
+    
+    /**
+     * Allinea i bottoni alla mano: le carte rimaste tengono il loro bottone
+     * (cambia al più la posizione), quelle uscite lo restituiscono al pool
+     */
+    private void aggiornaMano(Giocatore g) {
+        List<Carta> mano = g.getMano();
+        
+        Iterator<Map.Entry<Carta, CardButton>> it = bottoniMano.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Carta, CardButton> voce = it.next();
+            if (!contieneCarta(mano, voce.getKey())) {
+                manoGrid.getChildren().remove(voce.getValue());
+                pool.restituisci(voce.getValue());
+                it.remove();
+            }
+        }
+        
+        for (int i = 0; i < mano.size(); i++) {
+            Carta carta = mano.get(i);
+            CardButton btn = bottoniMano.get(carta);
+            if (btn == null) {
+                btn = pool.prendi(carta, i);
+                bottoniMano.put(carta, btn);
+                manoGrid.add(btn, i % COLONNE_MANO, i / COLONNE_MANO);
+            } else {
+                btn.mostra(carta, i);
+                if (GridPane.getColumnIndex(btn) != i % COLONNE_MANO
+                        || GridPane.getRowIndex(btn) != i / COLONNE_MANO) {
+                    GridPane.setConstraints(btn, i % COLONNE_MANO, i / COLONNE_MANO);
+                }
+            }
+        }
+    }
+    
+    private static boolean contieneCarta(List<Carta> carte, Carta carta) {
+        for (int i = 0; i < carte.size(); i++) {
+            if (carte.get(i) == carta) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Aggiorna il testo del bottone fase
      */
@@ -159,7 +221,9 @@ public class CurrentPlayerPanel extends HBox {
     }
     
     public void aggiorna() {
-        getChildren().clear();
-        getChildren().addAll(creaHeroSection(), creaHandSection());
+        Giocatore g = stato.getGiocatori().get(stato.getGiocatoreCorrente());
+        aggiornaHeroSection(g);
+        aggiornaMano(g);
+        giocatoreMostrato = g;
     }
 }
\ No newline at end of file
@@ -1,7 +1,15 @@
 package grafica.panels;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.layout.*;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
@@ -9,7 +17,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.Image;
 import gioco.StatoDiGioco;
 import carte.*;
 import grafica.utils.ImageLoader;
@@ -17,14 +24,44 @@ import grafica.GameController;
 
 /**
  * GameBoardPanel - Con descrizioni complete
+ *
+ * I nodi di carte, malvagi e horcrux sono tenuti per identità dell'oggetto
+ * mostrato: un aggiornamento crea nodi solo per quelli nuovi, toglie quelli
+ * usciti e per gli altri cambia testi e posizione. Le immagini si caricano
+ * solo quando nasce il nodo.
  */
 public class GameBoardPanel extends HBox {
     
+    private static final int COLONNE_MERCATO = 2;
+    
+    // Dimensioni delle immagini, usate sia per mostrarle sia per precaricarle
+    private static final int LARGHEZZA_LUOGO = 280, ALTEZZA_LUOGO = 120;
+    private static final int LARGHEZZA_MERCATO = 130, ALTEZZA_MERCATO = 90;
+    private static final int LARGHEZZA_MALVAGIO = 200, ALTEZZA_MALVAGIO = 100;
+    private static final int LARGHEZZA_ARTE_OSCURA = 180, ALTEZZA_ARTE_OSCURA = 100;
+    private static final int LARGHEZZA_HORCRUX = 180, ALTEZZA_HORCRUX = 100;
+    
     private StatoDiGioco stato;
     private VBox luoghiBox, mazzoMalvagiBox, mazzoArtiOscureBox, ultimaArtiOscureBox, horcruxBox, malvagiAttiviBox;
     private GridPane mercatoGrid;
     private VBox imageArtiOscureContainer, descrArtiOscureContainer;
     
+    // Nodi mostrati, per identità della carta
+    private final Map<Carta, VBox> boxMercato = new IdentityHashMap<>();
+    private final Map<Malvagio, NodoMalvagio> nodiMalvagi = new IdentityHashMap<>();
+    private final Map<Horcrux, NodoHorcrux> nodiHorcrux = new IdentityHashMap<>();
+    private Label nessunMalvagio, tuttiHorcruxDistrutti, nessunaArteOscura;
+    private VBox listaHorcrux;
+    
+    private Luogo luogoMostrato;
+    private Label marchiLabel;
+    
+    private boolean arteOscuraMostrata;
+    private ArteOscura ultimaArteMostrata;
+    private ImageView imageArteOscura;
+    private Label nomeArteOscura, descArteOscura;
+    private HBox rigaArteOscura;
+    
     
     public GameBoardPanel(StatoDiGioco stato) {
         this.stato = stato;
@@ -202,22 +239,26 @@ public class GameBoardPanel extends HBox {
     // AGGIORNAMENTO COMPONENTI
     // ============================================
     
-    private void aggiornaLuogo() {
+    public void aggiornaLuogo() {
+        Luogo luogo = stato.getLuogoAttuale();
+        if (luogo != null && luogo == luogoMostrato) {
+            marchiLabel.setText("Marchi Neri: " + luogo.getNumeroMarchiNeri() + "/" + luogo.getMarchiNeriMax());
+            return;
+        }
+        
         while (luoghiBox.getChildren().size() > 1) luoghiBox.getChildren().remove(1);
+        luogoMostrato = luogo;
         
-        Luogo luogo = stato.getLuogoAttuale();
         if (luogo != null) {
             // Immagine
             if (luogo.getPathImmagine() != null && !luogo.getPathImmagine().isEmpty()) {
-                Image img = ImageLoader.caricaImmagine(luogo.getPathImmagine());
-                if (img != null) {
-                    ImageView iv = new ImageView(img);
-                    iv.setFitWidth(280);
-                    iv.setFitHeight(120);
-                    iv.setPreserveRatio(true);
-                    iv.setSmooth(true);
-                    luoghiBox.getChildren().add(iv);
-                }
+                ImageView iv = new ImageView();
+                iv.setFitWidth(LARGHEZZA_LUOGO);
+                iv.setFitHeight(ALTEZZA_LUOGO);
+                iv.setPreserveRatio(true);
+                iv.setSmooth(true);
+                ImageLoader.caricaIn(iv, luogo.getPathImmagine(), LARGHEZZA_LUOGO, ALTEZZA_LUOGO);
+                luoghiBox.getChildren().add(iv);
             }
             
             // Nome
@@ -229,7 +270,7 @@ public class GameBoardPanel extends HBox {
             nome.setAlignment(Pos.CENTER);
             
             // Descrizione
-            Label marchiLabel = new Label("Marchi Neri: " + stato.getLuogoAttuale().getNumeroMarchiNeri() + "/" + luogo.getMarchiNeriMax());
+            marchiLabel = new Label("Marchi Neri: " + luogo.getNumeroMarchiNeri() + "/" + luogo.getMarchiNeriMax());
             marchiLabel.setFont(Font.font("Arial", 16));
             marchiLabel.setTextFill(Color.web("#FF6666"));
             marchiLabel.setWrapText(true);
@@ -240,20 +281,56 @@ public class GameBoardPanel extends HBox {
         }
     }
     
-    private void aggiornaMercato() {
-        mercatoGrid.getChildren().clear();
-        int col = 0, row = 0;
-        
-        for (int i = 0; i < stato.getMercato().size(); i++) {
-            Carta carta = stato.getMercato().get(i);
-            VBox box = creaMercatoBox(carta, i);
-            mercatoGrid.add(box, col, row);
-            col++;
-            if (col >= 2) { col = 0; row++; }
+    /**
+     * Fa decodificare in anticipo, alle dimensioni di questo pannello, le
+     * immagini che mostrerà all'inizio della partita: luogo, mercato,
+     * malvagi e horcrux attivi. Non crea nodi, quindi si può chiamare da
+     * qualsiasi thread, anche prima che il pannello esista.
+     *
+     * @return I compiti avviati, annullabili
+     */
+    public static List<Future<?>> precaricaImmagini(StatoDiGioco stato) {
+        List<Future<?>> compiti = new ArrayList<>();
+        if (stato.getLuogoAttuale() != null) {
+            aggiungi(compiti, ImageLoader.precarica(stato.getLuogoAttuale().getPathImmagine(), LARGHEZZA_LUOGO, ALTEZZA_LUOGO));
+        }
+        for (Carta carta : stato.getMercato()) {
+            aggiungi(compiti, ImageLoader.precarica(carta.getPathImmagine(), LARGHEZZA_MERCATO, ALTEZZA_MERCATO));
+        }
+        for (Malvagio malvagio : stato.getMalvagiAttivi()) {
+            aggiungi(compiti, ImageLoader.precarica(malvagio.getPathImmagine(), LARGHEZZA_MALVAGIO, ALTEZZA_MALVAGIO));
+        }
+        for (Horcrux h : stato.getHorcruxAttivi()) {
+            aggiungi(compiti, ImageLoader.precarica(h.getPathImmagine(), LARGHEZZA_HORCRUX, ALTEZZA_HORCRUX));
+        }
+        return compiti;
+    }
+    
+    private static void aggiungi(List<Future<?>> compiti, Future<?> compito) {
+        if (compito != null) {
+            compiti.add(compito);
+        }
+    }
+    
+    public void aggiornaMercato() {
+        List<Carta> mercato = stato.getMercato();
+        rimuoviUsciti(boxMercato, mercato, mercatoGrid);
+        
+        for (int i = 0; i < mercato.size(); i++) {
+            Carta carta = mercato.get(i);
+            int col = i % COLONNE_MERCATO, row = i / COLONNE_MERCATO;
+            VBox box = boxMercato.get(carta);
+            if (box == null) {
+                box = creaMercatoBox(carta);
+                boxMercato.put(carta, box);
+                mercatoGrid.add(box, col, row);
+            } else if (GridPane.getColumnIndex(box) != col || GridPane.getRowIndex(box) != row) {
+                GridPane.setConstraints(box, col, row);
+            }
         }
     }
     
-    private VBox creaMercatoBox(Carta carta, int indice) {
+    private VBox creaMercatoBox(Carta carta) {
         VBox box = new VBox(5);
         box.setStyle("-fx-border-color: #FFD700; -fx-border-width: 2; -fx-background-color: #1a1a1a; -fx-border-radius: 5; -fx-background-radius: 5;");
         box.setPadding(new Insets(8));
@@ -263,15 +340,13 @@ public class GameBoardPanel extends HBox {
         
         // Immagine
         if (carta.getPathImmagine() != null && !carta.getPathImmagine().isEmpty()) {
-            Image img = ImageLoader.caricaImmagine(carta.getPathImmagine());
-            if (img != null) {
-                ImageView iv = new ImageView(img);
-                iv.setFitWidth(130);
-                iv.setFitHeight(90);
-                iv.setPreserveRatio(true);
-                iv.setSmooth(true);
-                box.getChildren().add(iv);
-            }
+            ImageView iv = new ImageView();
+            iv.setFitWidth(LARGHEZZA_MERCATO);
+            iv.setFitHeight(ALTEZZA_MERCATO);
+            iv.setPreserveRatio(true);
+            iv.setSmooth(true);
+            ImageLoader.caricaIn(iv, carta.getPathImmagine(), LARGHEZZA_MERCATO, ALTEZZA_MERCATO);
+            box.getChildren().add(iv);
         }
         
         // Nome
@@ -300,9 +375,10 @@ public class GameBoardPanel extends HBox {
         
         box.getChildren().addAll(nome, tipo, costoRow);
         
-        // Interattività
+        // Interattività (la posizione nel mercato si cerca al click: il box sopravvive ai riordini)
         box.setOnMouseClicked(e -> {
-            if (GameController.getInstance() != null) {
+            int indice = indiceDi(stato.getMercato(), carta);
+            if (GameController.getInstance() != null && indice >= 0) {
                 GameController.getInstance().acquistaCarta(indice);
             }
         });
@@ -322,24 +398,39 @@ public class GameBoardPanel extends HBox {
         return box;
     }
     
-    private void aggiornaMalvagiAttivi() {
-        while (malvagiAttiviBox.getChildren().size() > 1) malvagiAttiviBox.getChildren().remove(1);
+    public void aggiornaMalvagiAttivi() {
+        List<Malvagio> malvagi = stato.getMalvagiAttivi();
+        rimuoviUsciti(nodiMalvagi, malvagi, null);
+        
+        List<Node> figli = new ArrayList<>(malvagi.size() + 1);
+        figli.add(malvagiAttiviBox.getChildren().get(0)); // Titolo
+        for (int i = 0; i < malvagi.size(); i++) {
+            Malvagio m = malvagi.get(i);
+            NodoMalvagio nodo = nodiMalvagi.get(m);
+            if (nodo == null) {
+                nodo = creaMalvagioBox(m);
+                nodiMalvagi.put(m, nodo);
+            }
+            nodo.aggiorna();
+            figli.add(nodo.box);
+        }
         
-        for (int i = 0; i < stato.getMalvagiAttivi().size(); i++) {
-            Malvagio m = stato.getMalvagiAttivi().get(i);
-            HBox box = creaMalvagioBox(m, i);
-            malvagiAttiviBox.getChildren().add(box);
+        if (malvagi.isEmpty()) {
+            if (nessunMalvagio == null) {
+                nessunMalvagio = new Label("Nessun malvagio attivo");
+                nessunMalvagio.setFont(Font.font("Arial", 11));
+                nessunMalvagio.setTextFill(Color.GRAY);
+            }
+            figli.add(nessunMalvagio);
         }
+        impostaFigli(malvagiAttiviBox, figli);
         
-        if (stato.getMalvagiAttivi().isEmpty()) {
-            Label vuoto = new Label("Nessun malvagio attivo");
-            vuoto.setFont(Font.font("Arial", 11));
-            vuoto.setTextFill(Color.GRAY);
-            malvagiAttiviBox.getChildren().add(vuoto);
+        if (mazzoMalvagiBox != null && mazzoMalvagiBox.getChildren().size() >= 2) {
+            ((Label)mazzoMalvagiBox.getChildren().get(1)).setText("Carte rimanenti: " + stato.getMazzoMalvagi().size());
         }
     }
     
-    private HBox creaMalvagioBox(Malvagio malvagio, int indice) {
+    private NodoMalvagio creaMalvagioBox(Malvagio malvagio) {
         HBox box = new HBox(5);
         box.setStyle("-fx-border-color: #FF9999; -fx-border-width: 2; -fx-background-color: #2a0a0a; -fx-border-radius: 5; -fx-background-radius: 5;");
         box.setPadding(new Insets(10));
@@ -366,15 +457,13 @@ public class GameBoardPanel extends HBox {
         
         // Immagine
         if (malvagio.getPathImmagine() != null && !malvagio.getPathImmagine().isEmpty()) {
-            Image img = ImageLoader.caricaImmagine(malvagio.getPathImmagine());
-            if (img != null) {
-                ImageView iv = new ImageView(img);
-                iv.setFitWidth(200);
-                iv.setFitHeight(100);
-                iv.setPreserveRatio(true);
-                iv.setSmooth(true);
-                imageContainer.getChildren().add(iv);
-            }
+            ImageView iv = new ImageView();
+            iv.setFitWidth(LARGHEZZA_MALVAGIO);
+            iv.setFitHeight(ALTEZZA_MALVAGIO);
+            iv.setPreserveRatio(true);
+            iv.setSmooth(true);
+            ImageLoader.caricaIn(iv, malvagio.getPathImmagine(), LARGHEZZA_MALVAGIO, ALTEZZA_MALVAGIO);
+            imageContainer.getChildren().add(iv);
         }
         
         // Nome
@@ -389,7 +478,7 @@ public class GameBoardPanel extends HBox {
         Label saluteLabel = new Label("Salute:");
         saluteLabel.setFont(Font.font("Arial", 14));
         saluteLabel.setTextFill(Color.web("#CCCCCC"));
-        Label saluteValue = new Label("❤️ " + malvagio.getDanno() + "/" + malvagio.getVita());
+        Label saluteValue = new Label();
         saluteValue.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         saluteValue.setTextFill(Color.web("#FF9999"));
         saluteRow.getChildren().addAll(saluteLabel, saluteValue);
@@ -400,7 +489,7 @@ public class GameBoardPanel extends HBox {
         Label dannoLabel = new Label("Danno:");
         dannoLabel.setFont(Font.font("Arial", 14));
         dannoLabel.setTextFill(Color.web("#CCCCCC"));
-        Label dannoValue = new Label("⚔️ " + malvagio.getDanno());
+        Label dannoValue = new Label();
         dannoValue.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         dannoValue.setTextFill(Color.web("#FFAA66"));
         dannoRow.getChildren().addAll(dannoLabel, dannoValue);
@@ -422,7 +511,8 @@ public class GameBoardPanel extends HBox {
         
         // Interattività
         box.setOnMouseClicked(e -> {
-            if (GameController.getInstance() != null) {
+            int indice = indiceDi(stato.getMalvagiAttivi(), malvagio);
+            if (GameController.getInstance() != null && indice >= 0) {
                 GameController.getInstance().attaccaMalvagio(indice);
             }
         });
@@ -439,150 +529,278 @@ public class GameBoardPanel extends HBox {
             box.setScaleY(1.0);
         });
         
-        return box;
+        return new NodoMalvagio(malvagio, box, saluteValue, dannoValue);
     }
     
-    private void aggiornaArtiOscure() {
-        // Pulisci tutto tranne il titolo
-        while (ultimaArtiOscureBox.getChildren().size() > 1) {
-            ultimaArtiOscureBox.getChildren().remove(1);
-        }
-        
-        // Pulisci i container interni
-        imageArtiOscureContainer.getChildren().clear();
-        descrArtiOscureContainer.getChildren().clear();
-        
+    public void aggiornaArtiOscure() {
         // Aggiorna count mazzo
         if (mazzoArtiOscureBox.getChildren().size() >= 2) {
             ((Label)mazzoArtiOscureBox.getChildren().get(1)).setText("Mazzo: " + stato.getMazzoArtiOscure().size());
         }
         
-        if (stato.getScartiArtiOscure() != null && !stato.getScartiArtiOscure().isEmpty()) {
-            ArteOscura ultima = stato.getScartiArtiOscure().get(stato.getScartiArtiOscure().size() - 1);
+        List<ArteOscura> scarti = stato.getScartiArtiOscure();
+        ArteOscura ultima = scarti != null && !scarti.isEmpty() ? scarti.get(scarti.size() - 1) : null;
+        if (arteOscuraMostrata && ultima == ultimaArteMostrata) {
+            return;
+        }
+        arteOscuraMostrata = true;
+        ultimaArteMostrata = ultima;
+        
+        // Pulisci tutto tranne il titolo
+        while (ultimaArtiOscureBox.getChildren().size() > 1) {
+            ultimaArtiOscureBox.getChildren().remove(1);
+        }
+        
+        if (ultima != null) {
+            if (rigaArteOscura == null) {
+                creaNodiArteOscura();
+            }
             
-            if (ultima != null) {
-                // ... (Codice esistente per caricare l'immagine nel imageArtiOscureContainer) ...
-                if (ultima.getPathImmagine() != null && !ultima.getPathImmagine().isEmpty()) {
-                    Image img = ImageLoader.caricaImmagine(ultima.getPathImmagine());
-                    if (img != null) {
-                        ImageView iv = new ImageView(img);
-                        iv.setFitWidth(180);
-                        iv.setFitHeight(100);
-                        iv.setPreserveRatio(true);
-                        iv.setSmooth(true);
-                        imageArtiOscureContainer.getChildren().add(iv);
-                    }
-                }
-                
-                Label nome = new Label(ultima.getNome());
-                nome.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-                nome.setTextFill(Color.WHITE);
-                nome.setWrapText(true);
-                nome.setMaxWidth(180);
-                
-                Label desc = new Label(ultima.getDescrizione());
-                desc.setFont(Font.font("Arial", 12));
-                desc.setTextFill(Color.web("#CCCCCC"));
-                desc.setWrapText(true);
-                desc.setMaxWidth(180);
-                
-                descrArtiOscureContainer.getChildren().addAll(nome, desc);
-                
-                HBox rigaContenuto = new HBox(10); // 10 è lo spazio tra immagine e descrizione
-                rigaContenuto.setAlignment(Pos.CENTER); // Centra il contenuto
-                
-                rigaContenuto.getChildren().addAll(imageArtiOscureContainer, descrArtiOscureContainer);
-                ultimaArtiOscureBox.getChildren().add(rigaContenuto);
-                
+            boolean conImmagine = ultima.getPathImmagine() != null && !ultima.getPathImmagine().isEmpty();
+            if (conImmagine) {
+                ImageLoader.caricaIn(imageArteOscura, ultima.getPathImmagine(), LARGHEZZA_ARTE_OSCURA, ALTEZZA_ARTE_OSCURA);
+            } else {
+                ImageLoader.annulla(imageArteOscura);
+                imageArteOscura.setImage(null);
             }
+            imageArteOscura.setVisible(conImmagine);
+            imageArteOscura.setManaged(conImmagine);
+            
+            nomeArteOscura.setText(ultima.getNome());
+            descArteOscura.setText(ultima.getDescrizione());
+            ultimaArtiOscureBox.getChildren().add(rigaArteOscura);
         } else {
             // Messaggio vuoto
-            Label vuota = new Label("Nessuna carta giocata");
-            vuota.setFont(Font.font("Arial", 14));
-            vuota.setTextFill(Color.GRAY);
-            ultimaArtiOscureBox.getChildren().add(vuota);
+            if (nessunaArteOscura == null) {
+                nessunaArteOscura = new Label("Nessuna carta giocata");
+                nessunaArteOscura.setFont(Font.font("Arial", 14));
+                nessunaArteOscura.setTextFill(Color.GRAY);
+            }
+            ultimaArtiOscureBox.getChildren().add(nessunaArteOscura);
         }
     }
     
-    private void aggiornaHorcrux() {
+    /**
+     * Nodi dell'ultima carta Arti Oscure, riusati a ogni nuova carta
+     */
+    private void creaNodiArteOscura() {
+        imageArteOscura = new ImageView();
+        imageArteOscura.setFitWidth(LARGHEZZA_ARTE_OSCURA);
+        imageArteOscura.setFitHeight(ALTEZZA_ARTE_OSCURA);
+        imageArteOscura.setPreserveRatio(true);
+        imageArteOscura.setSmooth(true);
+        imageArtiOscureContainer.getChildren().add(imageArteOscura);
+        
+        nomeArteOscura = new Label();
+        nomeArteOscura.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        nomeArteOscura.setTextFill(Color.WHITE);
+        nomeArteOscura.setWrapText(true);
+        nomeArteOscura.setMaxWidth(180);
+        
+        descArteOscura = new Label();
+        descArteOscura.setFont(Font.font("Arial", 12));
+        descArteOscura.setTextFill(Color.web("#CCCCCC"));
+        descArteOscura.setWrapText(true);
+        descArteOscura.setMaxWidth(180);
+        
+        descrArtiOscureContainer.getChildren().addAll(nomeArteOscura, descArteOscura);
+        
+        rigaArteOscura = new HBox(10); // 10 è lo spazio tra immagine e descrizione
+        rigaArteOscura.setAlignment(Pos.CENTER); // Centra il contenuto
+        rigaArteOscura.getChildren().addAll(imageArtiOscureContainer, descrArtiOscureContainer);
+    }
+    
+    public void aggiornaHorcrux() {
         if (!stato.isHasHorcruxes()) return;
-        while (horcruxBox.getChildren().size() > 1) horcruxBox.getChildren().remove(1);
+        if (listaHorcrux == null) {
+            while (horcruxBox.getChildren().size() > 1) horcruxBox.getChildren().remove(1);
+            listaHorcrux = new VBox(5);
+            listaHorcrux.setAlignment(Pos.TOP_CENTER);
+            horcruxBox.getChildren().add(listaHorcrux);
+        }
         
-        VBox list = new VBox(5);
-        list.setAlignment(Pos.TOP_CENTER);
+        List<Horcrux> horcrux = stato.getHorcruxAttivi();
+        rimuoviUsciti(nodiHorcrux, horcrux, null);
         
-        for (Horcrux h : stato.getHorcruxAttivi()) {
-            VBox b = new VBox(4);
-            b.setStyle("-fx-border-color: #FF6666; -fx-border-width: 2; -fx-background-color: #1a0a0a; -fx-padding: 8; -fx-border-radius: 3; -fx-background-radius: 3;");
-            b.setAlignment(Pos.CENTER);
-            
-            if(h.getPathImmagine() != null && !h.getPathImmagine().isEmpty()) {
-            	Image img = ImageLoader.caricaImmagine(h.getPathImmagine());
-                if (img != null) {
-                    ImageView iv = new ImageView(img);
-                    iv.setFitWidth(180);
-                    iv.setFitHeight(100);
-                    iv.setPreserveRatio(true);
-                    iv.setSmooth(true);
-                    horcruxBox.getChildren().add(iv);
+        List<Node> figli = new ArrayList<>(horcrux.size() + 1);
+        for (int i = 0; i < horcrux.size(); i++) {
+            Horcrux h = horcrux.get(i);
+            NodoHorcrux nodo = nodiHorcrux.get(h);
+            if (nodo == null) {
+                nodo = creaHorcruxBox(h);
+                nodiHorcrux.put(h, nodo);
+            }
+            nodo.aggiorna();
+            figli.add(nodo.box);
+        }
+        
+        if (horcrux.isEmpty()) {
+            if (tuttiHorcruxDistrutti == null) {
+                tuttiHorcruxDistrutti = new Label("✅ Tutti distrutti!");
+                tuttiHorcruxDistrutti.setFont(Font.font("Arial", FontWeight.BOLD, 11));
+                tuttiHorcruxDistrutti.setTextFill(Color.web("#00FF00"));
+            }
+            figli.add(tuttiHorcruxDistrutti);
+        }
+        impostaFigli(listaHorcrux, figli);
+    }
+    
+    private NodoHorcrux creaHorcruxBox(Horcrux h) {
+        VBox b = new VBox(4);
+        b.setStyle("-fx-border-color: #FF6666; -fx-border-width: 2; -fx-background-color: #1a0a0a; -fx-padding: 8; -fx-border-radius: 3; -fx-background-radius: 3;");
+        b.setAlignment(Pos.CENTER);
+        
+        if(h.getPathImmagine() != null && !h.getPathImmagine().isEmpty()) {
+            ImageView iv = new ImageView();
+            iv.setFitWidth(LARGHEZZA_HORCRUX);
+            iv.setFitHeight(ALTEZZA_HORCRUX);
+            iv.setPreserveRatio(true);
+            iv.setSmooth(true);
+            ImageLoader.caricaIn(iv, h.getPathImmagine(), LARGHEZZA_HORCRUX, ALTEZZA_HORCRUX);
+            b.getChildren().add(iv);
+        }
+        
+        // Nome
+        Label nome = new Label(h.getNome());
+        nome.setFont(Font.font("Arial", FontWeight.BOLD, 10));
+        nome.setTextFill(Color.web("#FF6666"));
+        nome.setWrapText(true);
+        nome.setMaxWidth(140);
+        nome.setAlignment(Pos.CENTER);
+        
+        // Segnalini visuali
+        HBox segnalini = new HBox(3);
+        segnalini.setAlignment(Pos.CENTER);
+        
+        // Contatore
+        HBox contatoreRow = new HBox(5);
+        contatoreRow.setAlignment(Pos.CENTER);
+        Label contatoreLabel = new Label("Progresso:");
+        contatoreLabel.setFont(Font.font("Arial", 9));
+        contatoreLabel.setTextFill(Color.web("#CCCCCC"));
+        Label contatoreValue = new Label();
+        contatoreValue.setFont(Font.font("Arial", FontWeight.BOLD, 10));
+        contatoreValue.setTextFill(Color.web("#00FF00"));
+        contatoreRow.getChildren().addAll(contatoreLabel, contatoreValue);
+        
+        b.getChildren().addAll(nome, segnalini, contatoreRow);
+        return new NodoHorcrux(h, b, segnalini, contatoreValue);
+    }
+    
+    // ============================================
+    // RICONCILIAZIONE NODI
+    // ============================================
+    
+    /**
+     * Toglie dalla mappa (e dal contenitore, se indicato) i nodi degli
+     * oggetti non più presenti nella lista
+     */
+    private static <K, N> void rimuoviUsciti(Map<K, N> nodi, List<? extends K> presenti, Pane contenitore) {
+        Iterator<Map.Entry<K, N>> it = nodi.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, N> voce = it.next();
+            if (indiceDi(presenti, voce.getKey()) < 0) {
+                if (contenitore != null) {
+                    contenitore.getChildren().remove(voce.getValue());
                 }
+                it.remove();
             }
+        }
+    }
+    
+    /**
+     * Posizione dell'oggetto nella lista per identità, -1 se assente
+     */
+    private static int indiceDi(List<?> lista, Object elemento) {
+        for (int i = 0; i < lista.size(); i++) {
+            if (lista.get(i) == elemento) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Sostituisce i figli solo se sono diversi, per non staccare e
+     * riattaccare nodi già al loro posto
+     */
+    private static void impostaFigli(Pane contenitore, List<Node> figli) {
+        List<Node> attuali = contenitore.getChildren();
+        boolean uguali = attuali.size() == figli.size();
+        for (int i = 0; uguali && i < figli.size(); i++) {
+            uguali = attuali.get(i) == figli.get(i);
+        }
+        if (!uguali) {
+            contenitore.getChildren().setAll(figli);
+        }
+    }
+    
+    /**
+     * Nodi di un malvagio attivo che cambiano durante la partita
+     */
+    private static final class NodoMalvagio {
+        private final Malvagio malvagio;
+        private final HBox box;
+        private final Label salute, danno;
+        
+        private NodoMalvagio(Malvagio malvagio, HBox box, Label salute, Label danno) {
+            this.malvagio = malvagio;
+            this.box = box;
+            this.salute = salute;
+            this.danno = danno;
+        }
+        
+        private void aggiorna() {
+            salute.setText("❤️ " + malvagio.getDanno() + "/" + malvagio.getVita());
+            danno.setText("⚔️ " + malvagio.getDanno());
+        }
+    }
+    
+    /**
+     * Nodi di un horcrux attivo; i segnalini si ricreano solo se cambia il conteggio
+     */
+    private static final class NodoHorcrux {
+        private final Horcrux horcrux;
+        private final VBox box;
+        private final HBox segnalini;
+        private final Label contatore;
+        private int attualiMostrati = -1;
+        
+        private NodoHorcrux(Horcrux horcrux, VBox box, HBox segnalini, Label contatore) {
+            this.horcrux = horcrux;
+            this.box = box;
+            this.segnalini = segnalini;
+            this.contatore = contatore;
+        }
+        
+        private void aggiorna() {
+            int attuali = horcrux.getSegnaliniAssegnati().size();
+            int totali = horcrux.getSegnaliniRichiesti().size();
+            if (attuali == attualiMostrati) {
+                return;
+            }
+            attualiMostrati = attuali;
             
-            // Nome
-            Label nome = new Label(h.getNome());
-            nome.setFont(Font.font("Arial", FontWeight.BOLD, 10));
-            nome.setTextFill(Color.web("#FF6666"));
-            nome.setWrapText(true);
-            nome.setMaxWidth(140);
-            nome.setAlignment(Pos.CENTER);
-            
-            // Segnalini visuali
-            HBox segnalini = new HBox(3);
-            segnalini.setAlignment(Pos.CENTER);
-            int attuali = h.getSegnaliniAssegnati().size();
-            int totali = h.getSegnaliniRichiesti().size();
-            
+            segnalini.getChildren().clear();
             for (int i = 0; i < totali; i++) {
                 Label seg = new Label(i < attuali ? "⬤" : "⭕");
                 seg.setTextFill(i < attuali ? Color.web("#00FF00") : Color.web("#666666"));
                 seg.setFont(Font.font("Arial", 10));
                 segnalini.getChildren().add(seg);
             }
-            
-            // Contatore
-            HBox contatoreRow = new HBox(5);
-            contatoreRow.setAlignment(Pos.CENTER);
-            Label contatoreLabel = new Label("Progresso:");
-            contatoreLabel.setFont(Font.font("Arial", 9));
-            contatoreLabel.setTextFill(Color.web("#CCCCCC"));
-            Label contatoreValue = new Label(attuali + "/" + totali);
-            contatoreValue.setFont(Font.font("Arial", FontWeight.BOLD, 10));
-            contatoreValue.setTextFill(Color.web("#00FF00"));
-            contatoreRow.getChildren().addAll(contatoreLabel, contatoreValue);
-            
-            b.getChildren().addAll(nome, segnalini, contatoreRow);
-            list.getChildren().add(b);
+            contatore.setText(attuali + "/" + totali);
         }
-        
-        if (stato.getHorcruxAttivi().isEmpty()) {
-            Label vuoto = new Label("✅ Tutti distrutti!");
-            vuoto.setFont(Font.font("Arial", FontWeight.BOLD, 11));
-            vuoto.setTextFill(Color.web("#00FF00"));
-            list.getChildren().add(vuoto);
-        }
-        
-        horcruxBox.getChildren().add(list);
     }
     
+    /**
+     * Ridisegna tutto il tabellone; per aggiornare solo una zona usare i
+     * metodi aggiornaXxx (vedi GameBoardUI)
+     */
     public void aggiorna() {
         aggiornaLuogo();
         aggiornaMercato();
         aggiornaMalvagiAttivi();
         aggiornaArtiOscure();
         aggiornaHorcrux();
-        
-        if (mazzoMalvagiBox.getChildren().size() >= 2) {
-            ((Label)mazzoMalvagiBox.getChildren().get(1)).setText("Carte rimanenti: " + stato.getMazzoMalvagi().size());
-        }
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package grafica.panels;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.layout.HBox;
@@ -14,10 +17,14 @@ import gioco.Giocatore;
 
 /**
  * PlayersStatsPanel - Mostra info complete di tutti i giocatori
+ *
+ * Le schede dei giocatori sono create una volta; aggiorna() cambia solo
+ * valori e bordo del giocatore corrente.
  */
 public class PlayersStatsPanel extends HBox {
     
     private StatoDiGioco stato;
+    private final List<SchedaGiocatore> schede = new ArrayList<>();
     
     public PlayersStatsPanel(StatoDiGioco stato) {
         this.stato = stato;
@@ -30,17 +37,10 @@ public class PlayersStatsPanel extends HBox {
         aggiorna();
     }
     
-    private VBox creaPlayerCard(int indice) {
+    private SchedaGiocatore creaPlayerCard(int indice) {
         Giocatore g = stato.getGiocatori().get(indice);
         
         VBox card = new VBox(5);
-        card.setStyle(
-            "-fx-border-width: 2;" +
-            "-fx-background-color: #2a2a2a;" +
-            "-fx-border-radius: 5;" +
-            "-fx-background-radius: 5;" +
-            "-fx-border-color: " + (indice == stato.getGiocatoreCorrente() ? "#00FF00" : "#666") + ";"
-        );
         card.setPadding(new Insets(10));
         card.setAlignment(Pos.CENTER);
         HBox.setHgrow(card, Priority.ALWAYS);
@@ -61,7 +61,7 @@ public class PlayersStatsPanel extends HBox {
         Label saluteLabel = new Label("Salute:");
         saluteLabel.setFont(Font.font("Arial", 14));
         saluteLabel.setTextFill(Color.web("#CCCCCC"));
-        Label saluteValue = new Label("❤️ " + g.getSalute() + "/" + g.getSaluteMax());
+        Label saluteValue = new Label();
         saluteValue.setTextFill(Color.web("#FF6666"));
         saluteValue.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         saluteRow.getChildren().addAll(saluteLabel, saluteValue);
@@ -72,7 +72,7 @@ public class PlayersStatsPanel extends HBox {
         Label attaccoLabel = new Label("Attacco:");
         attaccoLabel.setFont(Font.font("Arial", 14));
         attaccoLabel.setTextFill(Color.web("#CCCCCC"));
-        Label attaccoValue = new Label("⚔️ " + g.getAttacco());
+        Label attaccoValue = new Label();
         attaccoValue.setTextFill(Color.web("#FFAA66"));
         attaccoValue.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         attaccoRow.getChildren().addAll(attaccoLabel, attaccoValue);
@@ -83,7 +83,7 @@ public class PlayersStatsPanel extends HBox {
         Label influenzaLabel = new Label("Influenza:");
         influenzaLabel.setFont(Font.font("Arial", 14));
         influenzaLabel.setTextFill(Color.web("#CCCCCC"));
-        Label influenzaValue = new Label("🪙 " + g.getGettone());
+        Label influenzaValue = new Label();
         influenzaValue.setTextFill(Color.web("#FFD700"));
         influenzaValue.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         influenzaRow.getChildren().addAll(influenzaLabel, influenzaValue);
@@ -93,13 +93,70 @@ public class PlayersStatsPanel extends HBox {
         containerEroi.getChildren().addAll(saluteRow, attaccoRow, influenzaRow);
         
         card.getChildren().addAll(nome, containerEroi);
-        return card;
+        return new SchedaGiocatore(g, card, saluteValue, attaccoValue, influenzaValue);
     }
     
     public void aggiorna() {
-        getChildren().clear();
-        for (int i = 0; i < stato.getGiocatori().size(); i++) {
-            getChildren().add(creaPlayerCard(i));
+        List<Giocatore> giocatori = stato.getGiocatori();
+        if (!stessiGiocatori(giocatori)) {
+            schede.clear();
+            getChildren().clear();
+            for (int i = 0; i < giocatori.size(); i++) {
+                SchedaGiocatore scheda = creaPlayerCard(i);
+                schede.add(scheda);
+                getChildren().add(scheda.card);
+            }
+        }
+        
+        for (int i = 0; i < schede.size(); i++) {
+            schede.get(i).aggiorna(i == stato.getGiocatoreCorrente());
+        }
+    }
+    
+    private boolean stessiGiocatori(List<Giocatore> giocatori) {
+        if (giocatori.size() != schede.size()) {
+            return false;
+        }
+        for (int i = 0; i < giocatori.size(); i++) {
+            if (schede.get(i).giocatore != giocatori.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Nodi di un giocatore che cambiano durante la partita
+     */
+    private static final class SchedaGiocatore {
+        private final Giocatore giocatore;
+        private final VBox card;
+        private final Label salute, attacco, influenza;
+        private Boolean corrente; // null finché non è stato impostato il bordo
+        
+        private SchedaGiocatore(Giocatore giocatore, VBox card, Label salute, Label attacco, Label influenza) {
+            this.giocatore = giocatore;
+            this.card = card;
+            this.salute = salute;
+            this.attacco = attacco;
+            this.influenza = influenza;
+        }
+        
+        private void aggiorna(boolean eCorrente) {
+            salute.setText("❤️ " + giocatore.getSalute() + "/" + giocatore.getSaluteMax());
+            attacco.setText("⚔️ " + giocatore.getAttacco());
+            influenza.setText("🪙 " + giocatore.getGettone());
+            
+            if (corrente == null || corrente != eCorrente) {
+                corrente = eCorrente;
+                card.setStyle(
+                    "-fx-border-width: 2;" +
+                    "-fx-background-color: #2a2a2a;" +
+                    "-fx-border-radius: 5;" +
+                    "-fx-background-radius: 5;" +
+                    "-fx-border-color: " + (eCorrente ? "#00FF00" : "#666") + ";"
+                );
+            }
         }
     }
 }
\ No newline at end of file
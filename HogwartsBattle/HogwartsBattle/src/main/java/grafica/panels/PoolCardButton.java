@@ -0,0 +1,45 @@
+package grafica.panels;
+
+import java.util.ArrayDeque;
+
+import carte.Carta;
+
+/**
+ * PoolCardButton - Bottoni delle carte in mano non più visibili, pronti per
+ * essere riusati invece di crearne di nuovi.
+ *
+ * Ogni pannello ha il suo pool: i bottoni tengono il gestore dei click della
+ * partita in cui sono stati creati. Va usato dal thread JavaFX.
+ */
+public class PoolCardButton {
+    
+    private static final int MASSIMO = 20; // Oltre questo i bottoni restituiti vengono lasciati al GC
+    
+    private final ArrayDeque<CardButton> liberi = new ArrayDeque<>();
+    
+    /**
+     * @return Un bottone riusato se disponibile, altrimenti nuovo, che mostra la carta
+     */
+    public CardButton prendi(Carta carta, int indice) {
+        CardButton bottone = liberi.poll();
+        if (bottone == null) {
+            bottone = new CardButton();
+        }
+        bottone.mostra(carta, indice);
+        return bottone;
+    }
+    
+    /**
+     * Rimette nel pool un bottone già tolto dalla scena
+     */
+    public void restituisci(CardButton bottone) {
+        bottone.svuota();
+        if (liberi.size() < MASSIMO) {
+            liberi.push(bottone);
+        }
+    }
+    
+    public int getLiberi() {
+        return liberi.size();
+    }
+}
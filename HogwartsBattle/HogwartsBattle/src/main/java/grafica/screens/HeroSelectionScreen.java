@@ -8,7 +8,6 @@ import grafica.utils.ImageLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -137,11 +136,11 @@ public class HeroSelectionScreen extends StackPane {
         box.setEffect(shadow);
 
         // ⭐ USA ImageLoader
-        Image heroImage = ImageLoader.caricaImmagine(eroe.getPathImmagine());
-        ImageView img = new ImageView(heroImage);
+        ImageView img = new ImageView();
         img.setFitHeight(320);
         img.setFitWidth(250);
         img.setPreserveRatio(true);
+        ImageLoader.caricaIn(img, eroe.getPathImmagine(), 250, 320);
         
         // Clip arrotondato
         Rectangle clip = new Rectangle(250, 320);
@@ -21,6 +21,7 @@ import java.util.function.Consumer;
 public class MainMenuScreen extends StackPane {
     
     private Consumer<String> onMenuChoice;
+    private Text statoCaricamento;
     
     public MainMenuScreen(Consumer<String> onMenuChoice) {
         this.onMenuChoice = onMenuChoice;
@@ -94,16 +95,30 @@ public class MainMenuScreen extends StackPane {
         versionText.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
         versionText.setFill(Color.GRAY);
         
+        // Avanzamento del caricamento dei cataloghi in background
+        statoCaricamento = new Text("");
+        statoCaricamento.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
+        statoCaricamento.setFill(Color.GRAY);
+        
         mainContainer.getChildren().addAll(
             titleText,
             subtitle,
             buttonsBox,
-            versionText
+            versionText,
+            statoCaricamento
         );
         
         this.getChildren().add(mainContainer);
     }
     
+    /**
+     * Aggiorna la riga di avanzamento del caricamento dei cataloghi; vuota a
+     * caricamento finito
+     */
+    public void mostraAvanzamento(int completati, int totale) {
+        statoCaricamento.setText(completati < totale ? "Caricamento carte... " + completati + "/" + totale : "");
+    }
+    
     private VBox creaBottoneMenu(String testo, String azione) {
         VBox button = new VBox(10);
         button.setAlignment(Pos.CENTER);
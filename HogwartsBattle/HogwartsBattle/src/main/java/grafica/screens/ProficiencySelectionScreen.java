@@ -8,7 +8,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -20,6 +19,7 @@ import javafx.scene.text.Text;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 /**
@@ -46,6 +46,10 @@ public class ProficiencySelectionScreen extends StackPane {
         "lezioniVolo6"
     );
     
+    // Dimensioni dell'immagine di una competenza, usate sia per mostrarla sia per precaricarla
+    private static final int LARGHEZZA_IMMAGINE = 170;
+    private static final int ALTEZZA_IMMAGINE = 220;
+    
     private int numeroGiocatori;
     private int giocatoreCorrente;
     private List<String> eroiGiocatori; // Nomi degli eroi
@@ -154,6 +158,29 @@ public class ProficiencySelectionScreen extends StackPane {
         mostraCompetenze();
     }
     
+    /**
+     * Fa decodificare in background le immagini delle competenze, alla
+     * dimensione delle carte di questa schermata; si può chiamare da
+     * qualsiasi thread
+     *
+     * @return I compiti avviati, annullabili
+     */
+    public static List<Future<?>> precaricaImmagini() {
+        List<Future<?>> compiti = new ArrayList<>();
+        for (String idCompetenza : COMPETENZE_GIOCO_6) {
+            try {
+                Competenza comp = ProficiencyFactory.creaCompetenza(idCompetenza);
+                Future<?> compito = comp != null ? ImageLoader.precarica(comp.getPathImmagine(), LARGHEZZA_IMMAGINE, ALTEZZA_IMMAGINE) : null;
+                if (compito != null) {
+                    compiti.add(compito);
+                }
+            } catch (Exception e) {
+                System.err.println("Errore caricamento competenza: " + idCompetenza);
+            }
+        }
+        return compiti;
+    }
+    
     /**
      * Mostra tutte le competenze disponibili
      */
@@ -198,13 +225,13 @@ public class ProficiencySelectionScreen extends StackPane {
         
         try {
             // ⭐ USA ImageLoader
-            Image compImage = ImageLoader.caricaImmagine(competenza.getPathImmagine());
-            ImageView imageView = new ImageView(compImage);
-            imageView.setFitWidth(170);
-            imageView.setFitHeight(220);
+            ImageView imageView = new ImageView();
+            imageView.setFitWidth(LARGHEZZA_IMMAGINE);
+            imageView.setFitHeight(ALTEZZA_IMMAGINE);
             imageView.setPreserveRatio(true);
+            ImageLoader.caricaIn(imageView, competenza.getPathImmagine(), LARGHEZZA_IMMAGINE, ALTEZZA_IMMAGINE);
             
-            Rectangle clip = new Rectangle(170, 220);
+            Rectangle clip = new Rectangle(LARGHEZZA_IMMAGINE, ALTEZZA_IMMAGINE);
             clip.setArcWidth(12);
             clip.setArcHeight(12);
             imageView.setClip(clip);
@@ -0,0 +1,126 @@
+package grafica.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * CacheLru - Cache limitata da un budget in byte: quando il peso totale dei
+ * valori supera il budget vengono tolti quelli usati meno di recente.
+ *
+ * Il peso di ogni valore lo calcola la funzione passata al costruttore (per
+ * le immagini, i byte dei pixel decodificati). Tiene i contatori di
+ * successi, mancati ed espulsioni. Thread-safe.
+ */
+public class CacheLru<K, V> {
+
+    private final LinkedHashMap<K, V> voci = new LinkedHashMap<>(64, 0.75f, true);
+    private final ToLongFunction<V> peso;
+    private long budget;
+    private long pesoTotale;
+
+    private long successi;
+    private long mancati;
+    private long espulsioni;
+
+    /**
+     * @param budget Peso massimo dei valori tenuti, in byte
+     * @param peso   Peso di un valore, in byte
+     */
+    public CacheLru(long budget, ToLongFunction<V> peso) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Budget negativo: " + budget);
+        }
+        this.budget = budget;
+        this.peso = peso;
+    }
+
+    /**
+     * @return Il valore, che diventa il più recente, o null se assente
+     */
+    public synchronized V get(K chiave) {
+        V valore = voci.get(chiave);
+        if (valore != null) {
+            successi++;
+        } else {
+            mancati++;
+        }
+        return valore;
+    }
+
+    /**
+     * Come get != null, ma non cambia l'ordine né i contatori
+     */
+    public synchronized boolean contiene(K chiave) {
+        return voci.containsKey(chiave);
+    }
+
+    /**
+     * Inserisce un valore ed espelle i meno recenti finché si rientra nel
+     * budget. Un valore più pesante dell'intero budget non viene tenuto.
+     */
+    public synchronized void put(K chiave, V valore) {
+        long p = peso.applyAsLong(valore);
+        V vecchio = voci.remove(chiave);
+        if (vecchio != null) {
+            pesoTotale -= peso.applyAsLong(vecchio);
+        }
+        if (p > budget) {
+            return;
+        }
+
+        voci.put(chiave, valore);
+        pesoTotale += p;
+        riduciA(budget);
+    }
+
+    /**
+     * Cambia il budget, espellendo subito se il nuovo è più piccolo
+     */
+    public synchronized void setBudget(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Budget negativo: " + budget);
+        }
+        this.budget = budget;
+        riduciA(budget);
+    }
+
+    public synchronized void svuota() {
+        voci.clear();
+        pesoTotale = 0;
+    }
+
+    private void riduciA(long limite) {
+        Iterator<Map.Entry<K, V>> it = voci.entrySet().iterator();
+        while (pesoTotale > limite && it.hasNext()) {
+            pesoTotale -= peso.applyAsLong(it.next().getValue());
+            it.remove();
+            espulsioni++;
+        }
+    }
+
+    public synchronized long getBudget() {
+        return budget;
+    }
+
+    public synchronized long getPesoTotale() {
+        return pesoTotale;
+    }
+
+    public synchronized int getDimensione() {
+        return voci.size();
+    }
+
+    public synchronized long getSuccessi() {
+        return successi;
+    }
+
+    public synchronized long getMancati() {
+        return mancati;
+    }
+
+    public synchronized long getEspulsioni() {
+        return espulsioni;
+    }
+}
@@ -0,0 +1,263 @@
+package grafica.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * CacheMiniature - Copie già ridotte delle immagini delle carte, salvate
+ * nella cartella dell'utente tra un avvio e l'altro.
+ *
+ * Ogni miniatura è un file con i pixel ARGB già scalati: rileggerla costa
+ * una lettura di poche decine di KB invece della decodifica del PNG
+ * originale. Il nome del file è l'hash della risorsa più la dimensione;
+ * nell'intestazione c'è la data di modifica della sorgente (file, voce del
+ * jar o del PacchettoImmagini), e se la sorgente cambia la miniatura viene
+ * rifatta.
+ *
+ * Cartella: ~/.hogwartsbattle/miniature, o la proprietà di sistema
+ * "hogwarts.miniature". Gli errori di lettura e scrittura non sono fatali:
+ * ImageLoader decodifica l'originale come prima.
+ *
+ * La cartella ha un limite di DIMENSIONE_MASSIMA byte: alla prima scrittura
+ * di ogni avvio si tolgono i temporanei rimasti e le miniature lette meno di
+ * recente finché si rientra nel limite (leggere una miniatura ne aggiorna la
+ * data di modifica del file).
+ */
+public final class CacheMiniature {
+
+    private static final int MAGIA = 0x4D494E49; // "MINI"
+    private static final int VERSIONE = 1;
+    private static final int INTESTAZIONE = 4 + 4 + 8 + 4 + 4;
+    private static final long DIMENSIONE_MASSIMA = 64L * 1024 * 1024;
+    private static final String ESTENSIONE = ".mini";
+
+    private static final Path cartella = Paths.get(System.getProperty("hogwarts.miniature",
+            System.getProperty("user.home") + File.separator + ".hogwartsbattle" + File.separator + "miniature"));
+
+    private static final AtomicInteger lette = new AtomicInteger();
+    private static final AtomicInteger scritte = new AtomicInteger();
+    private static final AtomicBoolean pulita = new AtomicBoolean();
+
+    private CacheMiniature() {
+    }
+
+    /**
+     * @param risorsa    Risorsa del classpath dell'immagine originale
+     * @param modificata Data di modifica attuale della sorgente
+     * @return La miniatura salvata della sorgente a quella dimensione, o null
+     *         se manca o la sorgente è stata modificata dopo
+     */
+    public static Image leggi(String risorsa, long modificata, int larghezza, int altezza) {
+        Path file = fileMiniatura(risorsa, larghezza, altezza);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel canale = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer dati = ByteBuffer.allocate((int) canale.size());
+            while (dati.hasRemaining() && canale.read(dati) >= 0) {
+                // legge tutto il file
+            }
+            dati.flip();
+
+            if (dati.remaining() < INTESTAZIONE || dati.getInt() != MAGIA || dati.getInt() != VERSIONE
+                    || dati.getLong() != modificata) {
+                return null;
+            }
+            int w = dati.getInt();
+            int h = dati.getInt();
+            if (w <= 0 || h <= 0 || dati.remaining() != w * h * 4) {
+                return null;
+            }
+
+            int[] pixel = new int[w * h];
+            dati.asIntBuffer().get(pixel);
+            WritableImage img = new WritableImage(w, h);
+            img.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixel, 0, w);
+            lette.incrementAndGet();
+            segnaUsata(file);
+            return img;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Miniatura illeggibile " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Salva l'immagine già ridotta come miniatura della sorgente
+     */
+    public static void scrivi(String risorsa, long modificata, int larghezza, int altezza, Image img) {
+        int w = (int) img.getWidth();
+        int h = (int) img.getHeight();
+        if (w <= 0 || h <= 0 || img.getPixelReader() == null) {
+            return;
+        }
+
+        if (pulita.compareAndSet(false, true)) {
+            pulisci();
+        }
+
+        Path file = fileMiniatura(risorsa, larghezza, altezza);
+        Path temporaneo = null;
+        try {
+            int[] pixel = new int[w * h];
+            img.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixel, 0, w);
+
+            ByteBuffer dati = ByteBuffer.allocate(INTESTAZIONE + pixel.length * 4);
+            dati.putInt(MAGIA).putInt(VERSIONE).putLong(modificata).putInt(w).putInt(h);
+            dati.asIntBuffer().put(pixel);
+            dati.position(0);
+
+            // Scritta a parte e poi spostata: chi legge non vede mai un file a metà
+            Files.createDirectories(cartella);
+            temporaneo = Files.createTempFile(cartella, "mini", ".tmp");
+            try (FileChannel canale = FileChannel.open(temporaneo, StandardOpenOption.WRITE)) {
+                while (dati.hasRemaining()) {
+                    canale.write(dati);
+                }
+            }
+            Files.move(temporaneo, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            scritte.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Impossibile salvare la miniatura " + file + ": " + e.getMessage());
+            try {
+                if (temporaneo != null) {
+                    Files.deleteIfExists(temporaneo);
+                }
+            } catch (IOException ignorata) {
+            }
+        }
+    }
+
+    /**
+     * Toglie i temporanei lasciati da scritture interrotte e, se la cartella
+     * supera DIMENSIONE_MASSIMA, le miniature usate meno di recente
+     */
+    static void pulisci() {
+        if (!Files.isDirectory(cartella)) {
+            return;
+        }
+
+        Map<Path, BasicFileAttributes> miniature = new HashMap<>();
+        long totale = 0;
+        try (DirectoryStream<Path> voci = Files.newDirectoryStream(cartella)) {
+            for (Path voce : voci) {
+                String nome = voce.getFileName().toString();
+                if (nome.endsWith(".tmp")) {
+                    Files.deleteIfExists(voce);
+                } else if (nome.endsWith(ESTENSIONE)) {
+                    BasicFileAttributes attributi = Files.readAttributes(voce, BasicFileAttributes.class);
+                    miniature.put(voce, attributi);
+                    totale += attributi.size();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Impossibile pulire le miniature in " + cartella + ": " + e.getMessage());
+            return;
+        }
+        if (totale <= DIMENSIONE_MASSIMA) {
+            return;
+        }
+
+        List<Path> ordine = new ArrayList<>(miniature.keySet());
+        ordine.sort(Comparator.comparing(file -> miniature.get(file).lastModifiedTime()));
+        int eliminate = 0;
+        for (int i = 0; i < ordine.size() && totale > DIMENSIONE_MASSIMA; i++) {
+            Path file = ordine.get(i);
+            try {
+                Files.deleteIfExists(file);
+                totale -= miniature.get(file).size();
+                eliminate++;
+            } catch (IOException e) {
+                System.err.println("Impossibile eliminare la miniatura " + file + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Miniature: " + eliminate + " eliminate, " + (totale / 1024) + " KB nella cartella");
+    }
+
+    private static void segnaUsata(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Conta solo per l'ordine di pulizia
+        }
+    }
+
+    public static int getLette() {
+        return lette.get();
+    }
+
+    public static int getScritte() {
+        return scritte.get();
+    }
+
+    public static Path getCartella() {
+        return cartella;
+    }
+
+    private static Path fileMiniatura(String risorsa, int larghezza, int altezza) {
+        return cartella.resolve(hash(risorsa) + "_" + larghezza + "x" + altezza + ESTENSIONE);
+    }
+
+    /**
+     * Data di modifica di una risorsa del classpath: del file, o della voce nel jar
+     *
+     * @return La data, o -1 se non si può sapere: in quel caso la miniatura
+     *         non va né letta né scritta, perché non si vedrebbe una modifica
+     */
+    public static long dataModifica(URL sorgente) {
+        try {
+            long data;
+            if ("file".equals(sorgente.getProtocol())) {
+                data = new File(sorgente.toURI()).lastModified();
+            } else {
+                URLConnection connessione = sorgente.openConnection();
+                data = connessione.getLastModified();
+            }
+            // 0 è la risposta di entrambi quando la data non c'è
+            return data > 0 ? data : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static String hash(String testo) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(testo.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(40);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1 c'è in ogni JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package grafica.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * GeneratoreManifestImmagini - Eseguito dalla build (exec-maven-plugin, fase
+ * process-classes): legge tutti i JSON delle risorse, raccoglie i path delle
+ * immagini (pathImmagine, path-img, pathImg) e scrive il ManifestImmagini
+ * con la risorsa che ciascuno indica.
+ *
+ * Un path che differisce da un file solo per maiuscole/minuscole viene
+ * risolto su quel file (funziona anche dentro al jar, dove i nomi sono
+ * case-sensitive). Un path con le cartelle sbagliate viene risolto sull'unico
+ * file con lo stesso nome; se i file con quel nome sono più di uno la build
+ * fallisce, perché si sceglierebbe a caso. Le immagini non trovate e quelle
+ * risolte per maiuscole o per nome sono elencate su System.err.
+ *
+ * Uso: GeneratoreManifestImmagini <cartella risorse> <file di output>
+ */
+public final class GeneratoreManifestImmagini {
+
+    private static final String[] CHIAVI = { "pathImmagine", "path-img", "pathImg" };
+    private static final String[] PREFISSI = { "src/main/resources/", "resources/" };
+
+    private final Path risorse;
+    // Nome del file -> risorse con quel nome, per i path con cartelle sbagliate
+    private final Map<String, List<String>> perNomeFile = new HashMap<>();
+    // Risorsa in minuscolo -> risorsa
+    private final Map<String, String> perMinuscolo = new HashMap<>();
+    private final List<String> maiuscoleDiverse = new ArrayList<>();
+    private final List<String> soloPerNome = new ArrayList<>();
+    private final List<String> ambigui = new ArrayList<>();
+
+    private GeneratoreManifestImmagini(Path risorse) throws IOException {
+        this.risorse = risorse;
+        try (Stream<Path> file = Files.walk(risorse)) {
+            file.filter(Files::isRegularFile)
+                    .map(this::nomeRisorsa)
+                    .sorted()
+                    .forEach(r -> {
+                        perNomeFile.computeIfAbsent(r.substring(r.lastIndexOf('/') + 1), n -> new ArrayList<>()).add(r);
+                        perMinuscolo.putIfAbsent(r.toLowerCase(), r);
+                    });
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: GeneratoreManifestImmagini <cartella risorse> <file di output>");
+        }
+
+        Path risorse = Paths.get(args[0]);
+        Path uscita = Paths.get(args[1]);
+        GeneratoreManifestImmagini generatore = new GeneratoreManifestImmagini(risorse);
+
+        Map<String, String> manifest = new TreeMap<>();
+        try (Stream<Path> file = Files.walk(risorse.resolve("json"))) {
+            for (Path json : (Iterable<Path>) file.filter(p -> p.toString().endsWith(".json")).sorted()::iterator) {
+                generatore.raccogli(json, manifest);
+            }
+        }
+
+        List<String> mancanti = new ArrayList<>();
+        Files.createDirectories(uscita.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(uscita, StandardCharsets.UTF_8)) {
+            out.write("# Generato da GeneratoreManifestImmagini: path nel JSON<TAB>risorsa\n");
+            for (Map.Entry<String, String> voce : manifest.entrySet()) {
+                if (voce.getValue().equals(ManifestImmagini.MANCANTE)) {
+                    mancanti.add(voce.getKey());
+                }
+                out.write(voce.getKey() + "\t" + voce.getValue() + "\n");
+            }
+        }
+
+        System.out.println("Manifest immagini: " + manifest.size() + " path, " + mancanti.size() + " mancanti -> " + uscita);
+        for (String path : generatore.maiuscoleDiverse) {
+            System.err.println("ATTENZIONE: maiuscole diverse dal file: " + path + " -> " + manifest.get(path));
+        }
+        for (String path : generatore.soloPerNome) {
+            System.err.println("ATTENZIONE: cartelle diverse dal file: " + path + " -> " + manifest.get(path));
+        }
+        for (String path : mancanti) {
+            System.err.println("ATTENZIONE: immagine non trovata: " + path);
+        }
+
+        if (!generatore.ambigui.isEmpty()) {
+            for (String errore : generatore.ambigui) {
+                System.err.println("ERRORE: " + errore);
+            }
+            throw new IllegalStateException(generatore.ambigui.size() + " path di immagini ambigui nei JSON");
+        }
+    }
+
+    private void raccogli(Path json, Map<String, String> manifest) throws IOException {
+        try (Reader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+            visita(JsonParser.parseReader(reader), manifest);
+        } catch (RuntimeException e) {
+            System.err.println("Errore lettura " + json + ": " + e.getMessage());
+        }
+    }
+
+    private void visita(JsonElement elemento, Map<String, String> manifest) {
+        if (elemento.isJsonArray()) {
+            for (JsonElement figlio : elemento.getAsJsonArray()) {
+                visita(figlio, manifest);
+            }
+        } else if (elemento.isJsonObject()) {
+            JsonObject oggetto = elemento.getAsJsonObject();
+            for (String chiave : CHIAVI) {
+                JsonElement valore = oggetto.get(chiave);
+                if (valore != null && valore.isJsonPrimitive()) {
+                    String path = valore.getAsString();
+                    if (!path.isEmpty()) {
+                        manifest.computeIfAbsent(path, this::risolvi);
+                    }
+                }
+            }
+            for (Map.Entry<String, JsonElement> voce : oggetto.entrySet()) {
+                visita(voce.getValue(), manifest);
+            }
+        }
+    }
+
+    /**
+     * Stesse regole delle strategie di ImageLoader, ma su disco e una volta sola
+     */
+    private String risolvi(String pathJson) {
+        String path = pathJson.trim().replace("\\", "/").replaceAll("/+", "/");
+        while (path.startsWith("../")) {
+            path = path.substring(3);
+        }
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        for (String prefisso : PREFISSI) {
+            if (path.startsWith(prefisso)) {
+                path = path.substring(prefisso.length());
+            }
+        }
+
+        // Confronto sull'indice e non con Files.exists: su Windows e macOS il
+        // disco ignora le maiuscole, il jar no
+        String risorsa = "/" + path;
+        String ignorandoMaiuscole = perMinuscolo.get(risorsa.toLowerCase());
+        if (risorsa.equals(ignorandoMaiuscole)) {
+            return risorsa;
+        }
+        if (ignorandoMaiuscole != null) {
+            maiuscoleDiverse.add(pathJson);
+            return ignorandoMaiuscole;
+        }
+
+        List<String> perNome = perNomeFile.get(path.substring(path.lastIndexOf('/') + 1));
+        if (perNome == null) {
+            return ManifestImmagini.MANCANTE;
+        }
+        if (perNome.size() > 1) {
+            ambigui.add(pathJson + " non esiste e il nome del file è di " + perNome.size() + " risorse: " + perNome);
+            return ManifestImmagini.MANCANTE;
+        }
+        soloPerNome.add(pathJson);
+        return perNome.get(0);
+    }
+
+    private String nomeRisorsa(Path file) {
+        return "/" + risorse.relativize(file).toString().replace('\\', '/');
+    }
+}
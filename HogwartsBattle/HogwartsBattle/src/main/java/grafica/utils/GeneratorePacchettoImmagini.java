@@ -0,0 +1,104 @@
+package grafica.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * GeneratorePacchettoImmagini - Eseguito dalla build (exec-maven-plugin, fase
+ * process-classes): mette tutte le immagini di Immagini_carte in un unico
+ * PacchettoImmagini.
+ *
+ * Formato (big endian):
+ * <pre>
+ * int MAGIA, int VERSIONE, int voci
+ * per ogni voce: UTF risorsa, long inizio, int lunghezza, long modificata
+ * byte delle immagini, così come sono su disco
+ * </pre>
+ * inizio è la posizione dei byte dall'inizio del file.
+ *
+ * Uso: GeneratorePacchettoImmagini <cartella risorse> <file di output>
+ */
+public final class GeneratorePacchettoImmagini {
+
+    private static final String CARTELLA_IMMAGINI = "Immagini_carte";
+
+    private GeneratorePacchettoImmagini() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: GeneratorePacchettoImmagini <cartella risorse> <file di output>");
+        }
+
+        Path risorse = Paths.get(args[0]);
+        Path uscita = Paths.get(args[1]);
+
+        List<Path> immagini;
+        try (Stream<Path> file = Files.walk(risorse.resolve(CARTELLA_IMMAGINI))) {
+            immagini = file.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        // La tabella ha la stessa lunghezza qualunque sia l'inizio dei dati:
+        // la prima serve solo a misurarla
+        byte[] tabella = tabella(risorse, immagini, 0);
+        tabella = tabella(risorse, immagini, tabella.length);
+
+        Files.createDirectories(uscita.toAbsolutePath().getParent());
+        try (FileChannel canale = FileChannel.open(uscita, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            scriviTutto(canale, ByteBuffer.wrap(tabella));
+            for (Path immagine : immagini) {
+                try (FileChannel sorgente = FileChannel.open(immagine, StandardOpenOption.READ)) {
+                    long copiati = 0;
+                    long lunghezza = sorgente.size();
+                    while (copiati < lunghezza) {
+                        copiati += sorgente.transferTo(copiati, lunghezza - copiati, canale);
+                    }
+                }
+            }
+        }
+
+        System.out.println("Pacchetto immagini: " + immagini.size() + " immagini, " + (Files.size(uscita) / 1024)
+                + " KB -> " + uscita);
+    }
+
+    private static byte[] tabella(Path risorse, List<Path> immagini, long inizioDati) throws IOException {
+        ByteArrayOutputStream tabella = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(tabella);
+        out.writeInt(PacchettoImmagini.MAGIA);
+        out.writeInt(PacchettoImmagini.VERSIONE);
+        out.writeInt(immagini.size());
+
+        long inizio = inizioDati;
+        for (Path immagine : immagini) {
+            long lunghezza = Files.size(immagine);
+            out.writeUTF(risorsa(risorse, immagine));
+            out.writeLong(inizio);
+            out.writeInt((int) lunghezza);
+            out.writeLong(Files.getLastModifiedTime(immagine).toMillis());
+            inizio += lunghezza;
+        }
+        out.flush();
+        return tabella.toByteArray();
+    }
+
+    private static String risorsa(Path risorse, Path immagine) {
+        return "/" + risorse.relativize(immagine).toString().replace('\\', '/');
+    }
+
+    private static void scriviTutto(FileChannel canale, ByteBuffer dati) throws IOException {
+        while (dati.hasRemaining()) {
+            canale.write(dati);
+        }
+    }
+}
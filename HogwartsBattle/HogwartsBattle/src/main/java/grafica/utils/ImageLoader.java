@@ -1,71 +1,400 @@
 package grafica.utils;
 
+import javafx.application.Platform;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utility per caricare immagini con strategia multi-livello
  * VERSIONE CORRETTA: NON usa path hardcodati, segue i path dai JSON
+ *
+ * Le immagini vengono decodificate alla dimensione a cui sono mostrate e
+ * tenute in una CacheLru per (path, larghezza, altezza) limitata in byte:
+ * la stessa carta ridisegnata non viene più riletta né decodificata.
+ * Le immagini ridotte del classpath sono salvate anche su disco nella
+ * CacheMiniature, per gli avvii successivi. I byte delle immagini vengono
+ * dal PacchettoImmagini mappato in memoria, se c'è.
+ *
+ * L'interfaccia usa caricaIn, che non blocca il thread JavaFX: la
+ * decodifica avviene su un pool in background e l'immagine sostituisce un
+ * segnaposto quando è pronta.
  */
 public class ImageLoader {
     
     private static final boolean DEBUG = false;
-    private static List<String> immaginiMancanti = new ArrayList<>();
-    private static List<String> immaginiCaricate = new ArrayList<>();
+    private static final long BUDGET_CACHE_PREDEFINITO = 64L * 1024 * 1024;
+    
+    // Peso di un'immagine: pixel decodificati, 4 byte ciascuno
+    private static final CacheLru<Chiave, Image> cache = new CacheLru<>(BUDGET_CACHE_PREDEFINITO,
+            img -> (long) img.getWidth() * (long) img.getHeight() * 4);
+    // Path già cercati senza successo: non si ritentano le strategie
+    private static final Set<String> immaginiMancanti = Collections.synchronizedSet(new LinkedHashSet<>());
+    private static final AtomicInteger immaginiDecodificate = new AtomicInteger();
+    private static final AtomicInteger immaginiPrecaricate = new AtomicInteger();
+    private static Image placeholder;
+    
+    private static final Object RICHIESTA = new Object();
+    private static final Object SOSPESA = new Object();
+    private static final Object ASCOLTA_SCENA = new Object();
+    private static final int COLORE_SEGNAPOSTO = 0xFF2D2D37;
+    
+    private static final AtomicInteger numeroDecodificatori = new AtomicInteger();
+    private static final ExecutorService decodificatori = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), ImageLoader::nuovoDecodificatore);
+    // Stato dei caricamenti in background: usato solo dal thread JavaFX
+    private static final Map<Chiave, Caricamento> inCorso = new HashMap<>();
+    private static final Map<Long, Image> segnaposti = new HashMap<>();
+    private static int caricamentiAnnullati;
     
     /**
-     * Carica un'immagine provando diverse strategie
+     * Carica un'immagine a piena risoluzione provando diverse strategie
      */
     public static Image caricaImmagine(String path) {
+        return caricaImmagine(path, 0, 0);
+    }
+    
+    /**
+     * Carica un'immagine ridotta per stare in larghezza x altezza (mantenendo
+     * le proporzioni), dalla cache se già decodificata a quella dimensione
+     *
+     * @param larghezza Larghezza di visualizzazione, 0 per l'originale
+     * @param altezza   Altezza di visualizzazione, 0 per l'originale
+     */
+    public static Image caricaImmagine(String path, double larghezza, double altezza) {
         if (path == null || path.isEmpty()) {
-            if (DEBUG) System.out.println("   Path null o vuoto");
-            return createPlaceholder(100, 150);
+            if (DEBUG) System.out.println("   Path null o vuoto");
+            return getPlaceholder();
+        }
+        if (immaginiMancanti.contains(path)) {
+            return getPlaceholder();
+        }
+        
+        Chiave chiave = new Chiave(path, (int) Math.round(larghezza), (int) Math.round(altezza));
+        Image img = cache.get(chiave);
+        if (img != null) {
+            return img;
+        }
+        
+        img = decodifica(path, chiave.larghezza, chiave.altezza);
+        if (img == null) {
+            // FALLIMENTO: Nessuna strategia ha funzionato
+            if (DEBUG) System.out.println("     ERRORE: Immagine non trovata");
+            immaginiMancanti.add(path);
+            return getPlaceholder();
         }
         
+        cache.put(chiave, img);
+        return img;
+    }
+    
+    /**
+     * Cache delle immagini decodificate: contatori e budget
+     */
+    public static CacheLru<?, Image> getCache() {
+        return cache;
+    }
+    
+    /**
+     * Cambia il budget in byte della cache (espelle subito se serve)
+     */
+    public static void setBudgetCache(long byteMassimi) {
+        cache.setBudget(byteMassimi);
+    }
+    
+    // ============================================
+    // CARICAMENTO IN BACKGROUND
+    // ============================================
+    
+    /**
+     * Mostra nella vista l'immagine ridotta a larghezza x altezza senza
+     * bloccare il thread JavaFX. Se è in cache la imposta subito, altrimenti
+     * mette un segnaposto e la decodifica in background.
+     *
+     * Più viste che chiedono la stessa immagine aspettano una sola
+     * decodifica. Una nuova richiesta sulla stessa vista sostituisce la
+     * precedente; una vista tolta dalla scena smette di aspettare e
+     * riprende se ci viene rimessa.
+     *
+     * Va chiamato dal thread JavaFX.
+     */
+    public static void caricaIn(ImageView vista, String path, double larghezza, double altezza) {
+        annulla(vista);
+        if (path == null || path.isEmpty() || immaginiMancanti.contains(path)) {
+            vista.setImage(getPlaceholder());
+            return;
+        }
+        
+        Chiave chiave = new Chiave(path, (int) Math.round(larghezza), (int) Math.round(altezza));
+        Image img = cache.get(chiave);
+        if (img != null) {
+            vista.setImage(img);
+            return;
+        }
+        
+        vista.setImage(getSegnaposto(chiave.larghezza, chiave.altezza));
+        Caricamento caricamento = inCorso.get(chiave);
+        if (caricamento == null) {
+            Caricamento nuovo = new Caricamento(chiave);
+            nuovo.futuro = decodificatori.submit(() -> decodificaInBackground(nuovo));
+            inCorso.put(chiave, nuovo);
+            caricamento = nuovo;
+        }
+        caricamento.viste.add(vista);
+        vista.getProperties().put(RICHIESTA, caricamento);
+        
+        if (vista.getProperties().put(ASCOLTA_SCENA, Boolean.TRUE) == null) {
+            vista.sceneProperty().addListener((osservato, prima, dopo) -> {
+                if (dopo == null) {
+                    sospendi(vista);
+                } else if (prima == null) {
+                    riprendi(vista);
+                }
+            });
+        }
+    }
+    
+    /**
+     * La vista non aspetta più l'immagine richiesta. Se nessun'altra vista
+     * la aspetta, la decodifica viene annullata (se non è già iniziata).
+     *
+     * Va chiamato dal thread JavaFX.
+     */
+    public static void annulla(ImageView vista) {
+        vista.getProperties().remove(SOSPESA);
+        Caricamento caricamento = (Caricamento) vista.getProperties().remove(RICHIESTA);
+        if (caricamento == null) {
+            return;
+        }
+        
+        caricamento.viste.remove(vista);
+        if (caricamento.viste.isEmpty()) {
+            inCorso.remove(caricamento.chiave, caricamento);
+            caricamento.futuro.cancel(false);
+            caricamentiAnnullati++;
+        }
+    }
+    
+    /**
+     * Decodifica in background e mette in cache un'immagine che servirà a
+     * breve, senza una vista che la aspetti: la caricaIn successiva alla
+     * stessa dimensione la trova pronta. Non fa nulla se è già in cache.
+     *
+     * Si può chiamare da qualsiasi thread.
+     *
+     * @return Il compito, da annullare se l'immagine non serve più; null se
+     *         non c'è niente da decodificare
+     */
+    public static Future<?> precarica(String path, double larghezza, double altezza) {
+        if (path == null || path.isEmpty() || immaginiMancanti.contains(path)) {
+            return null;
+        }
+        
+        Chiave chiave = new Chiave(path, (int) Math.round(larghezza), (int) Math.round(altezza));
+        if (cache.contiene(chiave)) {
+            return null;
+        }
+        return decodificatori.submit(() -> {
+            // Intanto una caricaIn potrebbe averla già decodificata
+            if (cache.contiene(chiave)) {
+                return;
+            }
+            Image img = decodifica(chiave.path, chiave.larghezza, chiave.altezza);
+            if (img != null) {
+                cache.put(chiave, img);
+                immaginiPrecaricate.incrementAndGet();
+            } else {
+                immaginiMancanti.add(chiave.path);
+            }
+        });
+    }
+    
+    private static void sospendi(ImageView vista) {
+        Caricamento caricamento = (Caricamento) vista.getProperties().get(RICHIESTA);
+        if (caricamento != null) {
+            annulla(vista);
+            vista.getProperties().put(SOSPESA, caricamento.chiave);
+        }
+    }
+    
+    private static void riprendi(ImageView vista) {
+        Chiave chiave = (Chiave) vista.getProperties().remove(SOSPESA);
+        if (chiave != null) {
+            caricaIn(vista, chiave.path, chiave.larghezza, chiave.altezza);
+        }
+    }
+    
+    /**
+     * Sul pool: decodifica, mette in cache e consegna sul thread JavaFX
+     */
+    private static void decodificaInBackground(Caricamento caricamento) {
+        Chiave chiave = caricamento.chiave;
+        Image img = decodifica(chiave.path, chiave.larghezza, chiave.altezza);
+        if (img != null) {
+            cache.put(chiave, img);
+        } else {
+            immaginiMancanti.add(chiave.path);
+        }
+        Platform.runLater(() -> consegna(caricamento, img));
+    }
+    
+    private static void consegna(Caricamento caricamento, Image img) {
+        inCorso.remove(caricamento.chiave, caricamento);
+        Image mostrata = img != null ? img : getPlaceholder();
+        for (ImageView vista : caricamento.viste) {
+            vista.getProperties().remove(RICHIESTA);
+            vista.setImage(mostrata);
+        }
+        caricamento.viste.clear();
+    }
+    
+    /**
+     * Rettangolo scuro delle dimensioni finali, mostrato durante la decodifica
+     */
+    private static Image getSegnaposto(int larghezza, int altezza) {
+        int w = larghezza > 0 ? larghezza : 100;
+        int h = altezza > 0 ? altezza : 150;
+        return segnaposti.computeIfAbsent(((long) w << 32) | h, k -> {
+            WritableImage img = new WritableImage(w, h);
+            PixelWriter pw = img.getPixelWriter();
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    pw.setArgb(x, y, COLORE_SEGNAPOSTO);
+                }
+            }
+            return img;
+        });
+    }
+    
+    private static Thread nuovoDecodificatore(Runnable compito) {
+        Thread t = new Thread(compito, "decodifica-immagini-" + numeroDecodificatori.incrementAndGet());
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    }
+    
+    private static Image decodifica(String path, int larghezza, int altezza) {
         if (DEBUG) {
-            System.out.println("  Caricamento immagine: " + path);
+            System.out.println("  Caricamento immagine: " + path + " " + larghezza + "x" + altezza);
+        }
+        
+        String risorsa = larghezza > 0 && altezza > 0 ? risorsaClasspath(path) : null;
+        long modificata = risorsa != null ? dataModifica(risorsa) : -1;
+        if (modificata >= 0) {
+            Image miniatura = CacheMiniature.leggi(risorsa, modificata, larghezza, altezza);
+            if (miniatura != null) {
+                return miniatura;
+            }
+        }
+        
+        InputStream stream = apri(path);
+        if (stream == null) {
+            return null;
+        }
+        
+        try (InputStream in = stream) {
+            Image img = new Image(in, larghezza, altezza, true, true);
+            if (img.isError()) {
+                return null;
+            }
+            immaginiDecodificate.incrementAndGet();
+            if (modificata >= 0) {
+                CacheMiniature.scrivi(risorsa, modificata, larghezza, altezza, img);
+            }
+            return img;
+        } catch (IOException e) {
+            if (DEBUG) System.out.println("        Errore: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Nome della risorsa nel classpath per il path del JSON, null se dal
+     * manifest risulta mancante
+     */
+    private static String risorsaClasspath(String path) {
+        String risorsa = ManifestImmagini.risolvi(path);
+        if (risorsa == null) {
+            String cleanPath = pulisciPath(path);
+            return cleanPath.startsWith("/") ? cleanPath : "/" + cleanPath;
+        }
+        return risorsa.equals(ManifestImmagini.MANCANTE) ? null : risorsa;
+    }
+    
+    /**
+     * Data di modifica della sorgente per la CacheMiniature: dal
+     * PacchettoImmagini o dal classpath, -1 se la risorsa non c'è o la data
+     * non si può sapere (la miniatura allora non si usa)
+     */
+    private static long dataModifica(String risorsa) {
+        long nelPacchetto = PacchettoImmagini.getDataModifica(risorsa);
+        if (nelPacchetto >= 0) {
+            return nelPacchetto;
+        }
+        URL url = ImageLoader.class.getResource(risorsa);
+        return url != null ? CacheMiniature.dataModifica(url) : -1;
+    }
+    
+    /**
+     * Apre il file dell'immagine: dal ManifestImmagini se il path è lì,
+     * altrimenti provando le strategie in ordine
+     *
+     * @return Lo stream da leggere e chiudere, o null se non trovato
+     */
+    private static InputStream apri(String path) {
+        // Path dei JSON: già risolto dalla build, una sola lettura
+        String risorsa = ManifestImmagini.risolvi(path);
+        if (risorsa != null) {
+            if (DEBUG) System.out.println("     Dal manifest: " + risorsa);
+            if (risorsa.equals(ManifestImmagini.MANCANTE)) {
+                return null;
+            }
+            InputStream stream = PacchettoImmagini.apri(risorsa);
+            return stream != null ? stream : ImageLoader.class.getResourceAsStream(risorsa);
         }
         
         String cleanPath = pulisciPath(path);
         if (DEBUG) System.out.println("   Path pulito: " + cleanPath);
         
         // STRATEGIA 1: Classpath (resources)
-        Image img = caricaDaClasspath(cleanPath);
-        if (img != null) {
-            immaginiCaricate.add(path);
+        InputStream stream = caricaDaClasspath(cleanPath);
+        if (stream != null) {
             if (DEBUG) System.out.println("     Caricata da: classpath");
-            return img;
+            return stream;
         }
         
         // STRATEGIA 2: Path esatto come indicato nel JSON
-        img = caricaDaJSON(path, cleanPath);
-        if (img != null) {
-            immaginiCaricate.add(path);
-            return img;
+        stream = caricaDaJSON(path, cleanPath);
+        if (stream != null) {
+            return stream;
         }
         
         // STRATEGIA 3: Working directory
-        img = caricaDaWorkingDir(path, cleanPath);
-        if (img != null) {
-            immaginiCaricate.add(path);
-            return img;
+        stream = caricaDaWorkingDir(path, cleanPath);
+        if (stream != null) {
+            return stream;
         }
         
         // STRATEGIA 4: Solo nome file in posizioni comuni
-        img = caricaSoloNomeFile(path);
-        if (img != null) {
-            immaginiCaricate.add(path);
-            return img;
-        }
-        
-        // FALLIMENTO: Nessuna strategia ha funzionato
-        if (DEBUG) System.out.println("     ERRORE: Immagine non trovata");
-        immaginiMancanti.add(path);
-        return createPlaceholder(100, 150);
+        return caricaSoloNomeFile(path);
     }
     
     /**
@@ -104,30 +433,37 @@ public class ImageLoader {
     /**
      * STRATEGIA 1: Carica da classpath (resources/)
      */
-    private static Image caricaDaClasspath(String path) {
+    private static InputStream caricaDaClasspath(String path) {
         if (DEBUG) System.out.println("     Strategia 1: Classpath");
         
         try {
+            // Prova nel pacchetto
+            InputStream stream = PacchettoImmagini.apri(path.startsWith("/") ? path : "/" + path);
+            if (stream != null) {
+                if (DEBUG) System.out.println("        Trovato nel pacchetto");
+                return stream;
+            }
+            
             // Prova con slash
             String resourcePath = "/" + path;
-            InputStream stream = ImageLoader.class.getResourceAsStream(resourcePath);
+            stream = ImageLoader.class.getResourceAsStream(resourcePath);
             if (stream != null) {
                 if (DEBUG) System.out.println("        Trovato con: " + resourcePath);
-                return new Image(stream);
+                return stream;
             }
             
             // Prova senza slash
             stream = ImageLoader.class.getResourceAsStream(path);
             if (stream != null) {
                 if (DEBUG) System.out.println("        Trovato: " + path);
-                return new Image(stream);
+                return stream;
             }
             
             // Prova con ClassLoader
             stream = ImageLoader.class.getClassLoader().getResourceAsStream(path);
             if (stream != null) {
                 if (DEBUG) System.out.println("        Trovato via ClassLoader");
-                return new Image(stream);
+                return stream;
             }
         } catch (Exception e) {
             if (DEBUG) System.out.println("        Classpath fallito");
@@ -139,7 +475,7 @@ public class ImageLoader {
      * STRATEGIA 2: Path esatto come nei JSON
      * NON usa path hardcoded - prova il path così com'è
      */
-    private static Image caricaDaJSON(String originalPath, String cleanPath) {
+    private static InputStream caricaDaJSON(String originalPath, String cleanPath) {
         if (DEBUG) System.out.println("     Strategia 2: Path dai JSON");
         
         try {
@@ -148,7 +484,7 @@ public class ImageLoader {
             File file = new File(originalPath);
             if (file.exists() && file.isFile()) {
                 if (DEBUG) System.out.println("        TROVATO con path originale!");
-                return new Image(new FileInputStream(file));
+                return new FileInputStream(file);
             }
             
             // 2. Path pulito
@@ -157,7 +493,7 @@ public class ImageLoader {
                 file = new File(cleanPath);
                 if (file.exists() && file.isFile()) {
                     if (DEBUG) System.out.println("        TROVATO con path pulito!");
-                    return new Image(new FileInputStream(file));
+                    return new FileInputStream(file);
                 }
             }
             
@@ -168,7 +504,7 @@ public class ImageLoader {
                 file = new File(withoutDotDot);
                 if (file.exists() && file.isFile()) {
                     if (DEBUG) System.out.println("        TROVATO senza ../!");
-                    return new Image(new FileInputStream(file));
+                    return new FileInputStream(file);
                 }
                 
                 // Prova come assoluto
@@ -177,7 +513,7 @@ public class ImageLoader {
                 file = new File(assoluto);
                 if (file.exists() && file.isFile()) {
                     if (DEBUG) System.out.println("        TROVATO come assoluto!");
-                    return new Image(new FileInputStream(file));
+                    return new FileInputStream(file);
                 }
             }
             
@@ -190,7 +526,7 @@ public class ImageLoader {
     /**
      * STRATEGIA 3: Working directory
      */
-    private static Image caricaDaWorkingDir(String originalPath, String cleanPath) {
+    private static InputStream caricaDaWorkingDir(String originalPath, String cleanPath) {
         if (DEBUG) System.out.println("     Strategia 3: Working directory");
         
         try {
@@ -203,7 +539,7 @@ public class ImageLoader {
             File file = new File(fullPath);
             if (file.exists() && file.isFile()) {
                 if (DEBUG) System.out.println("        TROVATO!");
-                return new Image(new FileInputStream(file));
+                return new FileInputStream(file);
             }
             
             // 2. Working dir + path pulito
@@ -212,7 +548,7 @@ public class ImageLoader {
             file = new File(fullPath);
             if (file.exists() && file.isFile()) {
                 if (DEBUG) System.out.println("        TROVATO!");
-                return new Image(new FileInputStream(file));
+                return new FileInputStream(file);
             }
             
             // 3. Working dir + path senza ../
@@ -222,7 +558,7 @@ public class ImageLoader {
                 file = new File(fullPath);
                 if (file.exists() && file.isFile()) {
                     if (DEBUG) System.out.println("        TROVATO!");
-                    return new Image(new FileInputStream(file));
+                    return new FileInputStream(file);
                 }
             }
             
@@ -235,7 +571,7 @@ public class ImageLoader {
     /**
      * STRATEGIA 4: Solo nome file in varie posizioni
      */
-    private static Image caricaSoloNomeFile(String path) {
+    private static InputStream caricaSoloNomeFile(String path) {
         if (DEBUG) System.out.println("    Strategia 4: Solo nome file");
         
         String fileName = estraiNomeFile(path);
@@ -259,7 +595,7 @@ public class ImageLoader {
                 File file = new File(location);
                 if (file.exists() && file.isFile()) {
                     if (DEBUG) System.out.println("      TROVATO!");
-                    return new Image(new FileInputStream(file));
+                    return new FileInputStream(file);
                 }
             }
             
@@ -271,6 +607,13 @@ public class ImageLoader {
         return null;
     }
     
+    private static synchronized Image getPlaceholder() {
+        if (placeholder == null) {
+            placeholder = createPlaceholder(100, 150);
+        }
+        return placeholder;
+    }
+    
     /**
      * Crea immagine placeholder personalizzata
      */
@@ -311,15 +654,67 @@ public class ImageLoader {
         System.out.println("\n" + "=".repeat(60));
         System.out.println("REPORT CARICAMENTO IMMAGINI");
         System.out.println("=".repeat(60));
-        System.out.println("Caricate: " + immaginiCaricate.size());
+        System.out.println("Decodificate: " + immaginiDecodificate.get());
+        System.out.println("Precaricate: " + immaginiPrecaricate.get());
         System.out.println("Mancanti: " + immaginiMancanti.size());
+        System.out.println("Caricamenti annullati: " + caricamentiAnnullati);
+        System.out.println("Pacchetto: " + (PacchettoImmagini.isCaricato()
+                ? PacchettoImmagini.getDimensione() + " immagini" : "non caricato"));
+        System.out.println("Miniature: " + CacheMiniature.getLette() + " lette, " + CacheMiniature.getScritte()
+                + " scritte in " + CacheMiniature.getCartella());
+        System.out.println("Cache: " + cache.getDimensione() + " immagini, "
+                + (cache.getPesoTotale() / 1024) + "/" + (cache.getBudget() / 1024) + " KB - successi "
+                + cache.getSuccessi() + ", mancati " + cache.getMancati() + ", espulse " + cache.getEspulsioni());
         
-        if (!immaginiMancanti.isEmpty()) {
-            System.out.println("Immagini non trovate:");
-            for (String path : immaginiMancanti) {
-                System.out.println("   - " + path);
+        synchronized (immaginiMancanti) {
+            if (!immaginiMancanti.isEmpty()) {
+                System.out.println("Immagini non trovate:");
+                for (String path : immaginiMancanti) {
+                    System.out.println("   - " + path);
+                }
             }
         }
         System.out.println("=".repeat(60));
     }
-}
\ No newline at end of file
+    
+    /**
+     * Una decodifica in background e le viste che la aspettano
+     */
+    private static final class Caricamento {
+        private final Chiave chiave;
+        private final List<ImageView> viste = new ArrayList<>(1);
+        private Future<?> futuro;
+        
+        private Caricamento(Chiave chiave) {
+            this.chiave = chiave;
+        }
+    }
+    
+    /**
+     * Chiave della cache: la stessa immagine a dimensioni diverse è una voce diversa
+     */
+    private static final class Chiave {
+        private final String path;
+        private final int larghezza;
+        private final int altezza;
+        
+        private Chiave(String path, int larghezza, int altezza) {
+            this.path = path;
+            this.larghezza = larghezza;
+            this.altezza = altezza;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chiave)) return false;
+            Chiave altra = (Chiave) o;
+            return larghezza == altra.larghezza && altezza == altra.altezza && path.equals(altra.path);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, larghezza, altezza);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package grafica.utils;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ManifestImmagini - Path delle immagini dei JSON già risolti in fase di
+ * build da GeneratoreManifestImmagini.
+ *
+ * Il file (RISORSA, nel classpath) ha una riga per path: il path così come
+ * è scritto nel JSON, un tab e la risorsa trovata, vuota se l'immagine
+ * manca. Viene letto una volta sola; senza file (es. avvio dall'IDE senza
+ * build Maven) il manifest è vuoto e ImageLoader usa le sue strategie.
+ */
+public final class ManifestImmagini {
+
+    public static final String RISORSA = "manifest_immagini.txt";
+
+    /**
+     * Valore di risolvi per un path del manifest senza immagine
+     */
+    public static final String MANCANTE = "";
+
+    private static final Map<String, String> risorse = carica();
+
+    private ManifestImmagini() {
+    }
+
+    /**
+     * @return La risorsa del classpath (con / iniziale), MANCANTE se in fase di
+     *         build non è stata trovata, null se il path non è nel manifest
+     */
+    public static String risolvi(String pathJson) {
+        return risorse.get(pathJson);
+    }
+
+    public static boolean isCaricato() {
+        return !risorse.isEmpty();
+    }
+
+    public static int getDimensione() {
+        return risorse.size();
+    }
+
+    private static Map<String, String> carica() {
+        InputStream is = ManifestImmagini.class.getClassLoader().getResourceAsStream(RISORSA);
+        if (is == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> lette = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String riga;
+            while ((riga = reader.readLine()) != null) {
+                int tab = riga.indexOf('\t');
+                if (riga.startsWith("#") || tab < 0) {
+                    continue;
+                }
+                lette.put(riga.substring(0, tab), riga.substring(tab + 1));
+            }
+        } catch (Exception e) {
+            System.err.println("Errore lettura " + RISORSA + ": " + e.getMessage());
+            e.printStackTrace();
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(lette);
+    }
+}
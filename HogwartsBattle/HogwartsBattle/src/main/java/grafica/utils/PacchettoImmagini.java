@@ -0,0 +1,288 @@
+package grafica.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PacchettoImmagini - Tutte le immagini delle carte in un unico file
+ * (generato da GeneratorePacchettoImmagini), mappato in memoria.
+ *
+ * Aprire un'immagine è una ricerca nella tabella e uno slice del buffer
+ * mappato: niente ricerca della voce nel jar, niente inflate, nessuna copia.
+ *
+ * Il pacchetto si trova in quest'ordine:
+ * <ol>
+ * <li>il file indicato dalla proprietà di sistema "hogwarts.pacchetto";</li>
+ * <li>la risorsa RISORSA, se il classpath è una cartella (IDE, mvn);</li>
+ * <li>la risorsa RISORSA dentro il jar, che non si può mappare: se ne legge
+ * subito solo la tabella, e un thread in background la copia in
+ * ~/.hogwartsbattle (una volta per jar, togliendo le copie vecchie) e la
+ * mappa. Finché la copia non è pronta, o se non si può fare (cartella in
+ * sola lettura, disco pieno), apri restituisce null.</li>
+ * </ol>
+ * Quando apri restituisce null ImageLoader legge l'immagine dal classpath,
+ * quindi le immagini restano anche sciolte nel jar. getDataModifica viene
+ * dalla tabella in ogni caso, così la CacheMiniature non cambia quando il
+ * pacchetto diventa disponibile.
+ */
+public final class PacchettoImmagini {
+
+    public static final String RISORSA = "immagini.pack";
+    static final int MAGIA = 0x4842504B; // "HBPK"
+    static final int VERSIONE = 1;
+
+    private static final String PREFISSO_COPIA = "immagini-";
+    private static final String ESTENSIONE_COPIA = ".pack";
+
+    private static final Map<String, Voce> voci;
+    // Null finché il pacchetto non è mappato (nel jar, fino alla fine della copia)
+    private static volatile ByteBuffer dati;
+
+    static {
+        Map<String, Voce> lette = Collections.emptyMap();
+        try {
+            String indicato = System.getProperty("hogwarts.pacchetto");
+            URL url = indicato == null ? PacchettoImmagini.class.getClassLoader().getResource(RISORSA) : null;
+            if (indicato != null || (url != null && "file".equals(url.getProtocol()))) {
+                ByteBuffer mappato = mappaFile(indicato != null ? Paths.get(indicato) : Paths.get(url.toURI()));
+                lette = leggiTabella(mappato.duplicate(), mappato.capacity());
+                dati = mappato;
+            } else if (url != null) {
+                URLConnection voce = url.openConnection();
+                long dimensione = voce.getContentLengthLong();
+                try (InputStream in = voce.getInputStream()) {
+                    lette = leggiTabella(ByteBuffer.wrap(leggiIntestazione(in)),
+                            dimensione >= 0 ? dimensione : Long.MAX_VALUE);
+                }
+                Map<String, Voce> tabella = lette;
+                Thread copia = new Thread(() -> estraiEMappa(url, tabella), "estrazione-pacchetto-immagini");
+                copia.setDaemon(true);
+                copia.setPriority(Thread.MIN_PRIORITY);
+                copia.start();
+            }
+        } catch (Exception e) {
+            System.err.println("Pacchetto immagini non disponibile: " + e.getMessage());
+            lette = Collections.emptyMap();
+            dati = null;
+        }
+        voci = lette;
+    }
+
+    private PacchettoImmagini() {
+    }
+
+    /**
+     * @param risorsa Nome della risorsa nel classpath, es. "/Immagini_carte/..."
+     * @return I byte dell'immagine, da chiudere come ogni stream, o null se
+     *         l'immagine non è nel pacchetto
+     */
+    public static InputStream apri(String risorsa) {
+        ByteBuffer mappato = dati;
+        Voce voce = voci.get(risorsa);
+        if (mappato == null || voce == null) {
+            return null;
+        }
+        return new FlussoBuffer(mappato.slice(voce.inizio, voce.lunghezza));
+    }
+
+    /**
+     * @return Data di modifica dell'immagine quando è stato fatto il
+     *         pacchetto, -1 se non è nel pacchetto
+     */
+    public static long getDataModifica(String risorsa) {
+        Voce voce = voci.get(risorsa);
+        return voce != null ? voce.modificata : -1;
+    }
+
+    public static boolean isCaricato() {
+        return dati != null;
+    }
+
+    public static int getDimensione() {
+        return voci.size();
+    }
+
+    /**
+     * I byte dall'inizio del pacchetto fino alla fine della tabella
+     */
+    private static byte[] leggiIntestazione(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        ByteArrayOutputStream letti = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(letti);
+        out.writeInt(in.readInt());
+        out.writeInt(in.readInt());
+        int numero = in.readInt();
+        out.writeInt(numero);
+        for (int i = 0; i < numero; i++) {
+            byte[] nome = new byte[in.readUnsignedShort()];
+            in.readFully(nome);
+            out.writeShort(nome.length);
+            out.write(nome);
+            out.writeLong(in.readLong());
+            out.writeInt(in.readInt());
+            out.writeLong(in.readLong());
+        }
+        return letti.toByteArray();
+    }
+
+    /**
+     * @param dimensione Byte dell'intero pacchetto, per controllare le voci
+     */
+    private static Map<String, Voce> leggiTabella(ByteBuffer buffer, long dimensione) {
+        if (buffer.getInt() != MAGIA || buffer.getInt() != VERSIONE) {
+            throw new IllegalArgumentException("intestazione sconosciuta");
+        }
+
+        int numero = buffer.getInt();
+        Map<String, Voce> lette = new HashMap<>(numero * 2);
+        for (int i = 0; i < numero; i++) {
+            byte[] nome = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(nome);
+            long inizio = buffer.getLong();
+            int lunghezza = buffer.getInt();
+            long modificata = buffer.getLong();
+            if (inizio < 0 || inizio + lunghezza > dimensione) {
+                throw new IllegalArgumentException("voce fuori dal file");
+            }
+            lette.put(new String(nome, StandardCharsets.UTF_8), new Voce((int) inizio, lunghezza, modificata));
+        }
+        return Collections.unmodifiableMap(lette);
+    }
+
+    private static ByteBuffer mappaFile(Path file) throws IOException {
+        try (FileChannel canale = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Il mapping resta valido anche dopo la chiusura del canale
+            return canale.map(FileChannel.MapMode.READ_ONLY, 0, canale.size());
+        }
+    }
+
+    /**
+     * Sul thread di copia: copia il pacchetto dal jar nella cartella
+     * dell'utente, se non c'è già la copia di questo jar, e lo mappa. Se
+     * non riesce ImageLoader continua a leggere dal classpath.
+     */
+    private static void estraiEMappa(URL url, Map<String, Voce> tabella) {
+        try {
+            Path copia = estrai(url);
+            ByteBuffer mappato = mappaFile(copia);
+            if (leggiTabella(mappato.duplicate(), mappato.capacity()).size() != tabella.size()) {
+                throw new IOException("la copia " + copia + " non corrisponde al jar");
+            }
+            dati = mappato;
+        } catch (Exception e) {
+            System.err.println("Pacchetto immagini non estratto, uso il classpath: " + e.getMessage());
+        }
+    }
+
+    private static Path estrai(URL url) throws IOException {
+        URLConnection voce = url.openConnection();
+        String firma = Long.toHexString(voce.getLastModified()) + "-" + Long.toHexString(voce.getContentLengthLong());
+        Path cartella = Paths.get(System.getProperty("user.home"), ".hogwartsbattle");
+        Path copia = cartella.resolve(PREFISSO_COPIA + firma + ESTENSIONE_COPIA);
+        if (Files.isRegularFile(copia)) {
+            return copia;
+        }
+
+        Files.createDirectories(cartella);
+        Path temporaneo = Files.createTempFile(cartella, "immagini", ".tmp");
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, temporaneo, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporaneo, copia, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaneo);
+        }
+        eliminaCopieVecchie(cartella, copia);
+        return copia;
+    }
+
+    /**
+     * Toglie le copie dei jar precedenti; una ancora aperta da un'altra
+     * istanza (su Windows non si cancella) resta per la prossima volta
+     */
+    private static void eliminaCopieVecchie(Path cartella, Path attuale) {
+        try (DirectoryStream<Path> copie = Files.newDirectoryStream(cartella,
+                PREFISSO_COPIA + "*" + ESTENSIONE_COPIA)) {
+            for (Path vecchia : copie) {
+                if (!vecchia.equals(attuale)) {
+                    try {
+                        Files.deleteIfExists(vecchia);
+                    } catch (IOException e) {
+                        System.err.println("Copia del pacchetto non eliminata: " + vecchia);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Copie vecchie del pacchetto non controllate: " + e.getMessage());
+        }
+    }
+
+    private static final class Voce {
+        private final int inizio;
+        private final int lunghezza;
+        private final long modificata;
+
+        private Voce(int inizio, int lunghezza, long modificata) {
+            this.inizio = inizio;
+            this.lunghezza = lunghezza;
+            this.modificata = modificata;
+        }
+    }
+
+    /**
+     * InputStream su uno slice del buffer mappato
+     */
+    private static final class FlussoBuffer extends InputStream {
+        private final ByteBuffer buffer;
+
+        private FlussoBuffer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int saltati = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + saltati);
+            return saltati;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
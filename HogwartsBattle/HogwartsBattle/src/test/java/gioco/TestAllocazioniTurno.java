@@ -0,0 +1,90 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test sulla memoria allocata da un turno headless con il log disattivato.
+ * Misura i byte allocati dal thread del test con ThreadMXBean, dopo qualche
+ * partita di riscaldamento per il JIT.
+ */
+public class TestAllocazioniTurno {
+
+    private static final List<String> EROI = Arrays.asList("Harry Potter", "Ron Weasley");
+    private static final int PARTITE_RISCALDAMENTO = 20;
+    private static final int PARTITE_MISURATE = 10;
+    private static final int TURNI_SALTATI = 5;
+    private static final int TURNI_MISURATI = 30;
+
+    // Misurati circa 2,2 KB per turno (erano 4-5 KB prima della bitmask dei
+    // bersagli e del registro spegnibile): il margine è del 15% circa
+    private static final long BYTE_MASSIMI_PER_TURNO = 2560;
+
+    @BeforeAll
+    static void setupClass() {
+        MotoreHeadless.inizializzaFactory();
+    }
+
+    @Test
+    @DisplayName("Un turno senza log alloca meno di 2,5 KB")
+    void testByteAllocatiPerTurno() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "ThreadMXBean senza conteggio delle allocazioni");
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled(),
+                "Conteggio delle allocazioni non attivo");
+
+        // Come nel simulatore: registro spento, il motore non scrive altrove
+        LivelloLog livello = RegistroPartita.getLivello();
+        RegistroPartita.setLivello(LivelloLog.SPENTO);
+        long byteTotali = 0;
+        int turniTotali = 0;
+
+        try {
+            MotoreHeadless motore = new MotoreHeadless();
+
+            for (int i = 0; i < PARTITE_RISCALDAMENTO; i++) {
+                motore.giocaPartita(2, EROI, null, 1000L + i);
+            }
+
+            long threadId = Thread.currentThread().getId();
+
+            for (int p = 0; p < PARTITE_MISURATE; p++) {
+                StatoDiGioco stato = motore.preparaPartita(2, EROI, null, 1L + p);
+                TurnManager turnManager = new TurnManager(stato);
+                turnManager.iniziaTurno();
+
+                // I primi turni riempiono mappe e liste della partita: non contano
+                for (int t = 0; t < TURNI_SALTATI && !stato.isGameOver(); t++) {
+                    motore.giocaTurno(turnManager, stato);
+                }
+
+                long prima = mx.getThreadAllocatedBytes(threadId);
+                int turni = 0;
+                while (turni < TURNI_MISURATI && !stato.isGameOver()) {
+                    motore.giocaTurno(turnManager, stato);
+                    turni++;
+                }
+                byteTotali += mx.getThreadAllocatedBytes(threadId) - prima;
+                turniTotali += turni;
+            }
+        } finally {
+            RegistroPartita.setLivello(livello);
+        }
+
+        assertTrue(turniTotali > 0, "Nessun turno misurato");
+        long bytePerTurno = byteTotali / turniTotali;
+        System.out.println("Byte allocati per turno: " + bytePerTurno + " (" + turniTotali + " turni)");
+
+        assertTrue(bytePerTurno < BYTE_MASSIMI_PER_TURNO,
+                "Un turno alloca " + bytePerTurno + " byte, limite " + BYTE_MASSIMI_PER_TURNO);
+    }
+}
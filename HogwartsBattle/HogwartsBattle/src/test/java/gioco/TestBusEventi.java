@@ -0,0 +1,93 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test sul BusEventi: ordine e contenuto degli eventi di una partita headless,
+ * sottoscrizioni indipendenti e consumatori rimasti indietro.
+ */
+public class TestBusEventi {
+
+    private static final List<String> EROI = Arrays.asList("Harry Potter", "Ron Weasley");
+
+    @BeforeAll
+    static void setupClass() {
+        MotoreHeadless.inizializzaFactory();
+    }
+
+    @Test
+    @DisplayName("Una partita pubblica gli eventi in ordine a ogni sottoscrizione")
+    void testEventiPartita() {
+        LivelloLog livello = RegistroPartita.getLivello();
+        RegistroPartita.setLivello(LivelloLog.SPENTO);
+
+        try {
+            MotoreHeadless motore = new MotoreHeadless();
+            StatoDiGioco stato = motore.preparaPartita(1, EROI, null, 42L);
+            BusEventi.Sottoscrizione perTurno = stato.getEventi().iscrivi();
+            BusEventi.Sottoscrizione aFinePartita = stato.getEventi().iscrivi();
+
+            Map<TipoEventoPartita, Integer> conteggi = new EnumMap<>(TipoEventoPartita.class);
+            long[] attesa = {0};
+
+            TurnManager turnManager = new TurnManager(stato);
+            turnManager.iniziaTurno();
+            for (int t = 0; t < 200 && !stato.isGameOver(); t++) {
+                motore.giocaTurno(turnManager, stato);
+                perTurno.leggi(evento -> {
+                    assertEquals(attesa[0]++, evento.getSequenza(), "Eventi fuori ordine");
+                    conteggi.merge(evento.getTipo(), 1, Integer::sum);
+                });
+            }
+
+            assertTrue(conteggi.getOrDefault(TipoEventoPartita.CAMBIO_FASE, 0) > 0, "Nessun cambio di fase");
+            assertTrue(conteggi.getOrDefault(TipoEventoPartita.CARTA_GIOCATA, 0) > 0, "Nessuna carta giocata");
+            assertEquals(0, perTurno.getPersi());
+            assertEquals(0, perTurno.getInAttesa());
+
+            // L'altra sottoscrizione non ha letto nulla: trova solo gli ultimi eventi
+            long pubblicati = stato.getEventi().getPubblicati();
+            int letti = aFinePartita.leggi(evento -> {
+            });
+            assertEquals(Math.min(pubblicati, BusEventi.CAPACITA_PREDEFINITA), letti);
+            assertEquals(pubblicati - letti, aFinePartita.getPersi());
+        } finally {
+            RegistroPartita.setLivello(livello);
+        }
+    }
+
+    @Test
+    @DisplayName("Senza iscritti il bus non registra eventi")
+    void testSenzaIscritti() {
+        BusEventi bus = new BusEventi(8);
+        bus.pubblica(TipoEventoPartita.CAMBIO_FASE, 1, FaseTurno.ARTI_OSCURE, 0, null, 0);
+        assertEquals(0, bus.getPubblicati());
+
+        BusEventi.Sottoscrizione sottoscrizione = bus.iscrivi();
+        bus.pubblica(TipoEventoPartita.DADO_LANCIATO, 1, FaseTurno.GIOCA_CARTE, 0, "dadoGrifondoro", 3);
+        sottoscrizione.annulla();
+        bus.pubblica(TipoEventoPartita.CAMBIO_FASE, 1, FaseTurno.ARTI_OSCURE, 0, null, 0);
+
+        assertEquals(1, bus.getPubblicati());
+        assertEquals(1, sottoscrizione.leggi(evento -> {
+            assertEquals(TipoEventoPartita.DADO_LANCIATO, evento.getTipo());
+            assertEquals("dadoGrifondoro", evento.getIdCarta());
+            assertEquals(3, evento.getQuantita());
+        }));
+    }
+
+    @Test
+    @DisplayName("Capacità non potenza di 2")
+    void testCapacitaNonValida() {
+        assertThrows(IllegalArgumentException.class, () -> new BusEventi(12));
+    }
+}
@@ -0,0 +1,53 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import grafica.utils.CacheLru;
+
+/**
+ * Test sulla CacheLru usata da ImageLoader: budget in byte, ordine di
+ * espulsione e contatori.
+ */
+public class TestCacheLru {
+
+    @Test
+    @DisplayName("Oltre il budget esce la voce usata meno di recente")
+    void testEspulsioneLru() {
+        CacheLru<String, byte[]> cache = new CacheLru<>(100, v -> v.length);
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", new byte[40]);
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.getPesoTotale());
+        assertEquals(1, cache.getEspulsioni());
+        assertEquals(3, cache.getSuccessi());
+        assertEquals(1, cache.getMancati());
+    }
+
+    @Test
+    @DisplayName("Valori più grandi del budget e budget ridotto")
+    void testBudget() {
+        CacheLru<String, byte[]> cache = new CacheLru<>(100, v -> v.length);
+        cache.put("grande", new byte[150]);
+        assertEquals(0, cache.getDimensione());
+
+        cache.put("a", new byte[30]);
+        cache.put("b", new byte[30]);
+        cache.put("a", new byte[50]);
+        assertEquals(80, cache.getPesoTotale());
+
+        cache.setBudget(60);
+        assertEquals(1, cache.getDimensione());
+        assertNotNull(cache.get("a"));
+
+        assertThrows(IllegalArgumentException.class, () -> cache.setBudget(-1));
+    }
+}
@@ -0,0 +1,85 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import gestoreEffetti.BersaglioEffetto;
+import gestoreEffetti.CodificaBinaria;
+import gestoreEffetti.DurataEffetto;
+import gestoreEffetti.Effetto;
+import gestoreEffetti.LettoreJson;
+import gestoreEffetti.TipoEffetto;
+
+/**
+ * Test sul formato dello SnapshotCataloghi: un effetto scritto e riletto
+ * resta uguale, compresi null e numeri negativi.
+ */
+public class TestCodificaBinaria {
+
+    @Test
+    @DisplayName("Effetto con opzioni: andata e ritorno")
+    void testEffetto() throws Exception {
+        Effetto originale = LettoreJson.leggi(new StringReader("{\"type\": \"SCELTA\", \"target\": \"EROE_ATTIVO\","
+                + " \"opzioni\": [{\"type\": \"PESCARE_CARTA\", \"qta\": -2, \"durata\": \"ISTANTANEO\"}, null]}"),
+                Effetto.ADATTATORE_JSON);
+
+        CodificaBinaria.Scrittore out = new CodificaBinaria.Scrittore();
+        out.scriviOggetto(originale, Effetto.FORMATO_BINARIO);
+        Effetto letto = rileggi(out).leggiOggetto(Effetto.FORMATO_BINARIO);
+
+        assertEquals(TipoEffetto.SCELTA, letto.getType());
+        assertEquals(BersaglioEffetto.EROE_ATTIVO, letto.getTarget());
+        assertNull(letto.getQta());
+        assertNull(letto.getDurata());
+        assertEquals(2, letto.getOpzioni().size());
+        assertEquals(TipoEffetto.PESCARE_CARTA, letto.getOpzioni().get(0).getType());
+        assertEquals(Integer.valueOf(-2), letto.getOpzioni().get(0).getQta());
+        assertEquals(DurataEffetto.ISTANTANEO, letto.getOpzioni().get(0).getDurata());
+        assertNull(letto.getOpzioni().get(1));
+    }
+
+    @Test
+    @DisplayName("Numeri e stringhe: varint e tabella condivisa")
+    void testNumeriEStringhe() throws Exception {
+        CodificaBinaria.Scrittore out = new CodificaBinaria.Scrittore();
+        int[] numeri = { 0, 1, -1, 63, -64, 300, Integer.MAX_VALUE, Integer.MIN_VALUE };
+        for (int n : numeri) {
+            out.scriviNumero(n);
+        }
+        out.scriviStringa("Expelliarmus");
+        out.scriviStringa(null);
+        out.scriviStringa("Expelliarmus");
+
+        CodificaBinaria.Lettore in = rileggi(out);
+        for (int n : numeri) {
+            assertEquals(n, in.leggiNumero());
+        }
+        String prima = in.leggiStringa();
+        assertNull(in.leggiStringa());
+        assertSame(prima, in.leggiStringa());
+        assertEquals("Expelliarmus", prima);
+    }
+
+    private static CodificaBinaria.Lettore rileggi(CodificaBinaria.Scrittore out) throws Exception {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        out.chiudi(new DataOutputStream(file));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.toByteArray()));
+        String[] stringhe = new String[in.readInt() + 1];
+        for (int i = 1; i < stringhe.length; i++) {
+            stringhe[i] = in.readUTF();
+        }
+        byte[] corpo = new byte[in.readInt()];
+        in.readFully(corpo);
+        return new CodificaBinaria.Lettore(ByteBuffer.wrap(corpo), stringhe);
+    }
+}
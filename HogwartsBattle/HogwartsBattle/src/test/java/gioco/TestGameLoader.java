@@ -0,0 +1,62 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.GameConfig;
+import data.GameLoader;
+
+/**
+ * Test sulle configurazioni degli anni: i modelli in memoria non cambiano
+ * quando si modifica una configurazione consegnata, e le carte negozio del
+ * salvataggio si uniscono senza duplicati.
+ */
+public class TestGameLoader {
+
+    @Test
+    @DisplayName("Ogni configurazione è una copia indipendente")
+    void testCopieIndipendenti() {
+        GameLoader loader = new GameLoader();
+        GameConfig prima = loader.caricaConfigurazione(3);
+        int malvagi = prima.getMalvagiId().size();
+        assertTrue(malvagi > 0);
+        assertFalse(prima.getLuoghiId().isEmpty());
+
+        prima.getMalvagiId().clear();
+        prima.getLuoghiId().clear();
+        prima.getCarteNegozioId().add("inventata");
+
+        GameConfig seconda = loader.caricaConfigurazione(3);
+        assertEquals(malvagi, seconda.getMalvagiId().size());
+        assertFalse(seconda.getLuoghiId().isEmpty());
+        assertFalse(seconda.getCarteNegozioId().contains("inventata"));
+        assertEquals(3, seconda.getAnno());
+
+        // Gli anni successivi aggiungono malvagi a quelli precedenti
+        assertTrue(loader.caricaConfigurazione(4).getMalvagiId().size() > malvagi);
+    }
+
+    @Test
+    @DisplayName("Carte negozio da salvataggio più le nuove dell'anno, senza duplicati")
+    void testCarteNegozioSalvate() {
+        GameLoader loader = new GameLoader();
+        List<String> nuove = loader.caricaConfigurazione(2).getCarteNegozioId();
+        assertFalse(nuove.isEmpty());
+
+        List<String> salvate = new ArrayList<>();
+        salvate.add("dal_salvataggio");
+        salvate.add(nuove.get(0));
+
+        List<String> negozio = loader.caricaConfigurazione(2, salvate).getCarteNegozioId();
+        assertEquals(salvate, negozio.subList(0, 2));
+        assertEquals(1, negozio.stream().filter(nuove.get(0)::equals).count());
+        // Anche le copie ripetute di una carta già salvata restano fuori
+        long giaSalvate = nuove.stream().filter(nuove.get(0)::equals).count();
+        assertEquals(salvate.size() + nuove.size() - giaSalvate, negozio.size());
+    }
+}
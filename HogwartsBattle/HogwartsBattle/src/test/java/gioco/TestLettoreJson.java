@@ -0,0 +1,57 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonParseException;
+
+import carte.DefinizioneCarta;
+import gestoreEffetti.BersaglioEffetto;
+import gestoreEffetti.LettoreJson;
+import gestoreEffetti.TipoEffetto;
+
+/**
+ * Test sui TypeAdapter dei cataloghi: nomi alternativi dei campi, chiavi
+ * sconosciute e posizione degli errori.
+ */
+public class TestLettoreJson {
+
+    @Test
+    @DisplayName("Nomi alternativi, chiavi sconosciute e JSON permissivo")
+    void testCatalogo() throws Exception {
+        String json = "{\"gioco1\": [{\"id\": \"x\", \"class\": \"Alleato\", \"costo\": \"3\", \"path-img\": \"a.png\","
+                + " \"sconosciuta\": {\"a\": [1, 2]},"
+                + " \"effetti\": [{\"type\": \"SCELTA\", target: EROE_ATTIVO, \"options\": [{\"type\": \"PESCARE_CARTA\", \"qta\": 1}]}],"
+                + " \"triggers\": [{\"type\": \"GIOCA_ALLEATO\", \"qtaQuorum\": 2, \"effectToExecute\": []}]}]}";
+
+        Map<String, List<DefinizioneCarta>> catalogo = LettoreJson.leggiCatalogo(new StringReader(json),
+                DefinizioneCarta.ADATTATORE_JSON);
+
+        DefinizioneCarta d = catalogo.get("gioco1").get(0);
+        assertEquals("x", d.getId());
+        assertEquals("Alleato", d.getClasse());
+        assertEquals(3, d.getCosto());
+        assertEquals("a.png", d.getPathImmagine());
+        assertEquals(TipoEffetto.SCELTA, d.getEffetti().get(0).getType());
+        assertEquals(BersaglioEffetto.EROE_ATTIVO, d.getEffetti().get(0).getTarget());
+        assertEquals(TipoEffetto.PESCARE_CARTA, d.getEffetti().get(0).getOpzioni().get(0).getType());
+        assertEquals(Integer.valueOf(2), d.getTriggers().get(0).getQtaQuorum());
+    }
+
+    @Test
+    @DisplayName("Un valore del tipo sbagliato ferma la lettura con la posizione")
+    void testErrore() {
+        String json = "{\"gioco1\": [\n{\"id\": \"x\", \"costo\": \"tre\"}]}";
+
+        JsonParseException e = assertThrows(JsonParseException.class,
+                () -> LettoreJson.leggiCatalogo(new StringReader(json), DefinizioneCarta.ADATTATORE_JSON));
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+        assertTrue(e.getMessage().contains("$.gioco1[0].costo"), e.getMessage());
+    }
+}
@@ -0,0 +1,166 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import carte.Carta;
+import carte.Mazzo;
+
+/**
+ * Test sul buffer circolare del Mazzo: giro del buffer, crescita, vista List
+ * e riciclo degli scarti.
+ */
+public class TestMazzo {
+
+    @Test
+    @DisplayName("Pescate e aggiunte fanno il giro del buffer senza perdere l'ordine")
+    void testGiroDelBuffer() {
+        Mazzo mazzo = new Mazzo();
+        Carta[] carte = creaCarte(40);
+        int prossimaDaAggiungere = 0;
+        int prossimaDaPescare = 0;
+
+        // Tiene 10 carte nel mazzo mentre la cima avanza oltre la fine del buffer da 16
+        for (; prossimaDaAggiungere < 10; prossimaDaAggiungere++) {
+            mazzo.aggiungiCarta(carte[prossimaDaAggiungere]);
+        }
+        while (prossimaDaAggiungere < carte.length) {
+            assertSame(carte[prossimaDaPescare++], mazzo.pescaCarta());
+            mazzo.aggiungiCarta(carte[prossimaDaAggiungere++]);
+        }
+
+        assertEquals(10, mazzo.size());
+        for (int i = 0; i < 10; i++) {
+            assertSame(carte[prossimaDaPescare + i], mazzo.get(i));
+        }
+        while (!mazzo.isEmpty()) {
+            assertSame(carte[prossimaDaPescare++], mazzo.pescaCarta());
+        }
+        assertNull(mazzo.pescaCarta());
+    }
+
+    @Test
+    @DisplayName("Il buffer cresce anche con la cima spostata da aggiungiInCima")
+    void testCrescitaDopoAggiungiInCima() {
+        Mazzo mazzo = new Mazzo();
+        Carta[] carte = creaCarte(40);
+
+        // Le prime in cima portano la testa in fondo al buffer, poi si riempie oltre la capacità
+        for (int i = 4; i >= 0; i--) {
+            mazzo.aggiungiInCima(carte[i]);
+        }
+        for (int i = 5; i < carte.length; i++) {
+            mazzo.aggiungiCarta(carte[i]);
+        }
+
+        assertEquals(carte.length, mazzo.size());
+        for (int i = 0; i < carte.length; i++) {
+            assertSame(carte[i], mazzo.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("La vista inserisce e rimuove in mezzo spostando le carte successive")
+    void testVistaInMezzo() {
+        Mazzo mazzo = new Mazzo();
+        Carta[] carte = creaCarte(6);
+        // Testa non a zero, così gli spostamenti attraversano la fine del buffer
+        for (int i = 2; i < carte.length; i++) {
+            mazzo.aggiungiCarta(carte[i]);
+        }
+        mazzo.aggiungiInCima(carte[1]);
+        mazzo.aggiungiInCima(carte[0]);
+        List<Carta> vista = mazzo.getCarte();
+        Carta nuova = new Carta(null);
+
+        vista.add(3, nuova);
+        assertEquals(7, mazzo.size());
+        assertSame(carte[2], vista.get(2));
+        assertSame(nuova, vista.get(3));
+        assertSame(carte[3], vista.get(4));
+        assertSame(carte[5], vista.get(6));
+
+        assertSame(nuova, vista.remove(3));
+        assertSame(carte[4], vista.remove(4));
+        assertEquals(5, mazzo.size());
+        assertSame(carte[3], vista.get(3));
+        assertSame(carte[5], vista.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> vista.get(5));
+    }
+
+    @Test
+    @DisplayName("Pescare dal Mazzo invalida gli iteratori aperti sulla vista")
+    void testVistaFailFast() {
+        Mazzo mazzo = new Mazzo();
+        for (Carta carta : creaCarte(3)) {
+            mazzo.aggiungiCarta(carta);
+        }
+        Iterator<Carta> it = mazzo.getCarte().iterator();
+        it.next();
+
+        mazzo.pescaCarta();
+
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    @DisplayName("Riciclare con il mazzo non vuoto accoda tutti gli scarti")
+    void testRiciclaMazzoNonVuoto() {
+        Mazzo mazzo = new Mazzo();
+        Mazzo scarti = new Mazzo();
+        Carta[] carte = creaCarte(20);
+        for (int i = 0; i < 3; i++) {
+            mazzo.aggiungiCarta(carte[i]);
+        }
+        for (int i = 3; i < carte.length; i++) {
+            scarti.aggiungiCarta(carte[i]);
+        }
+
+        mazzo.ricicla(scarti, new GeneratoreCasuale(1));
+
+        assertTrue(scarti.isEmpty());
+        assertEquals(carte.length, mazzo.size());
+        for (Carta carta : carte) {
+            assertTrue(mazzo.getCarte().contains(carta));
+        }
+
+        // Gli scarti restano utilizzabili
+        scarti.aggiungiCarta(carte[0]);
+        assertSame(carte[0], scarti.pescaCarta());
+    }
+
+    @Test
+    @DisplayName("Riciclare con il mazzo vuoto scambia i buffer")
+    void testRiciclaMazzoVuoto() {
+        Mazzo mazzo = new Mazzo();
+        Mazzo scarti = new Mazzo();
+        Carta[] carte = creaCarte(5);
+        for (Carta carta : carte) {
+            scarti.aggiungiCarta(carta);
+        }
+
+        mazzo.ricicla(scarti, new GeneratoreCasuale(1));
+
+        assertTrue(scarti.isEmpty());
+        assertEquals(carte.length, mazzo.size());
+        for (Carta carta : carte) {
+            assertTrue(mazzo.getCarte().contains(carta));
+        }
+        scarti.aggiungiInCima(carte[0]);
+        assertEquals(1, scarti.size());
+    }
+
+    private static Carta[] creaCarte(int quante) {
+        Carta[] carte = new Carta[quante];
+        for (int i = 0; i < quante; i++) {
+            carte[i] = new Carta(null);
+        }
+        return carte;
+    }
+}
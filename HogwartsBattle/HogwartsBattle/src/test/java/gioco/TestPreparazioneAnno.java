@@ -0,0 +1,81 @@
+package gioco;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import carte.Eroe;
+import data.GameLoader;
+import data.HeroFactory;
+import data.PreparazioneAnno;
+
+/**
+ * Test sulla preparazione in background dell'anno successivo, come durante
+ * la schermata di vittoria.
+ */
+public class TestPreparazioneAnno {
+
+    @Test
+    @DisplayName("L'anno successivo è pronto con mazzi trasferiti e stato creato")
+    void testAnnoPreparato() {
+        StatoDiGioco vinto = creaStato(2);
+        int carteHarry = contaCarte(vinto.getGiocatori().get(0));
+        AtomicReference<PreparazioneAnno> notificata = new AtomicReference<>();
+
+        PreparazioneAnno preparazione = PreparazioneAnno.avvia(vinto, notificata::set);
+
+        assertTrue(preparazione.attendi());
+        assertSame(preparazione, notificata.get());
+        assertEquals(3, preparazione.getAnno());
+        assertEquals(2, preparazione.getGiocatori().size());
+        assertEquals(carteHarry, contaCarte(preparazione.getGiocatori().get(0)));
+
+        StatoDiGioco prossimo = preparazione.getStato();
+        assertNotNull(prossimo);
+        assertEquals(3, prossimo.getAnnoCorrente());
+        assertSame(preparazione.getGiocatori(), prossimo.getGiocatori());
+        assertFalse(prossimo.getMercato().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verso l'anno 6 senza competenze lo stato non viene creato")
+    void testCompetenzeDaScegliere() {
+        PreparazioneAnno preparazione = PreparazioneAnno.avvia(creaStato(5), null);
+
+        assertTrue(preparazione.attendi());
+        assertEquals(6, preparazione.getAnno());
+        assertTrue(PreparazioneAnno.richiedeCompetenze(6, preparazione.getGiocatori()));
+        assertNotNull(preparazione.getConfig());
+        assertNull(preparazione.getStato());
+    }
+
+    @Test
+    @DisplayName("Una preparazione scartata non si usa")
+    void testScartata() {
+        PreparazioneAnno preparazione = PreparazioneAnno.avvia(creaStato(1), null);
+        preparazione.scarta();
+
+        assertFalse(preparazione.attendi());
+        assertTrue(preparazione.isScartata());
+    }
+
+    private static StatoDiGioco creaStato(int anno) {
+        List<Giocatore> giocatori = new ArrayList<>();
+        for (String nome : new String[] { "Harry Potter", "Hermione Granger" }) {
+            Eroe eroe = HeroFactory.creaEroe(nome, anno);
+            Giocatore giocatore = new Giocatore(eroe);
+            giocatore.getMazzo().inizializzaMazzo(eroe.getNome());
+            giocatori.add(giocatore);
+        }
+        return new StatoDiGioco(new GameLoader().caricaConfigurazione(anno), giocatori);
+    }
+
+    private static int contaCarte(Giocatore g) {
+        return g.getMazzo().getCarte().size() + g.getScarti().getCarte().size() + g.getMano().size();
+    }
+}